@@ -0,0 +1,387 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * <p>
+ * Measures the compilation of synthetic Winter modules by the Winter compiler.
+ * </p>
+ * 
+ * <p>
+ * Synthetic modules are generated by a {@link SyntheticModuleGenerator} and
+ * compiled in-process with the system Java compiler, the Winter compiler and its
+ * dependencies being resolved from the specified module path. Each iteration
+ * starts from empty output directories and records the compilation time and
+ * the peak heap usage.
+ * </p>
+ * 
+ * <p>
+ * It can be run from the command line:
+ * </p>
+ * 
+ * <blockquote><pre>
+ * $ java -p target/classes:target/dependency -m io.winterframework.benchmark/io.winterframework.benchmark.compiler.CompilerBenchmark --beans=10,100,1000 --sockets=10 --componentModules=5
+ * </pre></blockquote>
+ * 
+ * <p>
+ * Supported arguments are {@code --beans} (comma separated list),
+ * {@code --dependencies}, {@code --sockets}, {@code --multiSockets},
+ * {@code --selectors}, {@code --nestedBeans}, {@code --wrapperBeans},
+ * {@code --componentModules}, {@code --componentBeans}, {@code --warmup},
+ * {@code --iterations}, {@code --workDir}, {@code --modulePath},
+ * {@code --stackSize}, {@code --procOnly} and {@code --profile}.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public class CompilerBenchmark {
+
+	private static final String MODULE_SOURCE = "src";
+	
+	private static final String MODULE_SOURCE_TARGET = "generated-sources";
+	
+	private static final String MODULE_TARGET = "mods";
+	
+	private static final String PROFILE_RESOURCE = "META-INF/winter/core/profile.yml";
+	
+	private final List<File> modulePaths;
+	
+	private final Path workDir;
+	
+	private final JavaCompiler compiler;
+	
+	private final SyntheticModuleGenerator generator;
+	
+	private int warmupIterations = 2;
+	
+	private int iterations = 5;
+	
+	private boolean procOnly;
+	
+	private boolean profile;
+	
+	private long stackSize;
+	
+	/**
+	 * <p>
+	 * Creates a compiler benchmark.
+	 * </p>
+	 * 
+	 * @param modulePaths the module path containing the Winter compiler and the
+	 *                    Winter core modules
+	 * @param workDir     the directory where synthetic modules are generated and
+	 *                    compiled
+	 */
+	public CompilerBenchmark(List<File> modulePaths, Path workDir) {
+		this.modulePaths = modulePaths;
+		this.workDir = workDir;
+		this.compiler = ToolProvider.getSystemJavaCompiler();
+		this.generator = new SyntheticModuleGenerator();
+	}
+	
+	/**
+	 * <p>
+	 * Sets the number of warmup iterations to run before measuring.
+	 * </p>
+	 * 
+	 * @param warmupIterations a number of iterations
+	 * 
+	 * @return this benchmark
+	 */
+	public CompilerBenchmark warmupIterations(int warmupIterations) {
+		this.warmupIterations = Math.max(0, warmupIterations);
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Sets the number of measured iterations.
+	 * </p>
+	 * 
+	 * @param iterations a number of iterations
+	 * 
+	 * @return this benchmark
+	 */
+	public CompilerBenchmark iterations(int iterations) {
+		this.iterations = Math.max(1, iterations);
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Only runs annotation processing (-proc:only), sources generated by the Winter
+	 * compiler are then not compiled.
+	 * </p>
+	 * 
+	 * @param procOnly true to only run annotation processing
+	 * 
+	 * @return this benchmark
+	 */
+	public CompilerBenchmark procOnly(boolean procOnly) {
+		this.procOnly = procOnly;
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Activates the Winter compiler profiler (-Awinter.profile) and reports the
+	 * profile of the synthetic module in the result.
+	 * </p>
+	 * 
+	 * @param profile true to profile the Winter compiler
+	 * 
+	 * @return this benchmark
+	 */
+	public CompilerBenchmark profile(boolean profile) {
+		this.profile = profile;
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Sets the stack size of the thread running the compiler.
+	 * </p>
+	 * 
+	 * <p>
+	 * The default stack size of the virtual machine is used by default, a bigger
+	 * stack might be required by the Java compiler to compile very large generated
+	 * module classes.
+	 * </p>
+	 * 
+	 * @param stackSize a stack size in bytes or 0 to use the default stack size
+	 * 
+	 * @return this benchmark
+	 */
+	public CompilerBenchmark stackSize(long stackSize) {
+		this.stackSize = stackSize;
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Generates and compiles the specified synthetic module once.
+	 * </p>
+	 * 
+	 * @param module the synthetic module to compile
+	 * 
+	 * @return the module output path containing one directory per compiled module
+	 * @throws IOException if something goes wrong when generating the module or
+	 *                     compiling the module
+	 */
+	public Path compile(SyntheticModule module) throws IOException {
+		Path moduleWorkDir = this.workDir.resolve(module.getName());
+		this.deleteDir(moduleWorkDir);
+		Path moduleSourcePath = moduleWorkDir.resolve(MODULE_SOURCE);
+		Path sourceOutputPath = moduleWorkDir.resolve(MODULE_SOURCE_TARGET);
+		Path moduleOutputPath = moduleWorkDir.resolve(MODULE_TARGET);
+		
+		List<String> moduleNames = this.generator.generate(module, moduleSourcePath);
+		Files.createDirectories(sourceOutputPath);
+		Files.createDirectories(moduleOutputPath);
+		this.compile(moduleNames, moduleSourcePath, sourceOutputPath, moduleOutputPath);
+		return moduleOutputPath;
+	}
+	
+	/**
+	 * <p>
+	 * Generates and compiles the specified synthetic module.
+	 * </p>
+	 * 
+	 * @param module the synthetic module to compile
+	 * 
+	 * @return the result of the benchmark
+	 * @throws IOException if something goes wrong when generating the module or
+	 *                     compiling the module
+	 */
+	public CompilerBenchmarkResult run(SyntheticModule module) throws IOException {
+		Path moduleWorkDir = this.workDir.resolve(module.getName());
+		this.deleteDir(moduleWorkDir);
+		Path moduleSourcePath = moduleWorkDir.resolve(MODULE_SOURCE);
+		Path sourceOutputPath = moduleWorkDir.resolve(MODULE_SOURCE_TARGET);
+		Path moduleOutputPath = moduleWorkDir.resolve(MODULE_TARGET);
+		
+		List<String> moduleNames = this.generator.generate(module, moduleSourcePath);
+		
+		List<CompilerBenchmarkResult.Iteration> measuredIterations = new ArrayList<>();
+		for(int i=0;i<this.warmupIterations + this.iterations;i++) {
+			this.deleteDir(sourceOutputPath);
+			this.deleteDir(moduleOutputPath);
+			Files.createDirectories(sourceOutputPath);
+			Files.createDirectories(moduleOutputPath);
+			
+			List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid()).collect(Collectors.toList());
+			System.gc();
+			heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+			
+			long t0 = System.nanoTime();
+			this.compile(moduleNames, moduleSourcePath, sourceOutputPath, moduleOutputPath);
+			long time = System.nanoTime() - t0;
+			
+			long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+			if(i >= this.warmupIterations) {
+				measuredIterations.add(new CompilerBenchmarkResult.Iteration(time, peakHeap));
+			}
+		}
+		
+		long generatedSourceFiles;
+		long generatedSourceSize;
+		try(Stream<Path> generatedSources = Files.walk(sourceOutputPath)) {
+			List<Path> generatedSourcePaths = generatedSources.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList());
+			generatedSourceFiles = generatedSourcePaths.size();
+			generatedSourceSize = 0;
+			for(Path generatedSourcePath : generatedSourcePaths) {
+				generatedSourceSize += Files.size(generatedSourcePath);
+			}
+		}
+		
+		String profileReport = null;
+		Path profilePath = moduleOutputPath.resolve(module.getName()).resolve(PROFILE_RESOURCE);
+		if(this.profile && Files.exists(profilePath)) {
+			profileReport = new String(Files.readAllBytes(profilePath), StandardCharsets.UTF_8);
+		}
+		return new CompilerBenchmarkResult(module, measuredIterations, generatedSourceFiles, generatedSourceSize, profileReport);
+	}
+	
+	private void compile(List<String> moduleNames, Path moduleSourcePath, Path sourceOutputPath, Path moduleOutputPath) throws IOException {
+		Throwable[] error = new Throwable[1];
+		Thread compilerThread = new Thread(null, () -> {
+			try {
+				this.doCompile(moduleNames, moduleSourcePath, sourceOutputPath, moduleOutputPath);
+			}
+			catch (Throwable t) {
+				error[0] = t;
+			}
+		}, "winter-compiler", this.stackSize);
+		compilerThread.start();
+		try {
+			compilerThread.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while compiling synthetic modules " + moduleNames, e);
+		}
+		if(error[0] instanceof IOException) {
+			throw (IOException)error[0];
+		}
+		else if(error[0] != null) {
+			throw new IOException("Error compiling synthetic modules " + moduleNames, error[0]);
+		}
+	}
+	
+	private void doCompile(List<String> moduleNames, Path moduleSourcePath, Path sourceOutputPath, Path moduleOutputPath) throws IOException {
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try(StandardJavaFileManager fileManager = this.compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+			fileManager.setLocation(StandardLocation.MODULE_PATH, this.modulePaths);
+			fileManager.setLocation(StandardLocation.ANNOTATION_PROCESSOR_MODULE_PATH, this.modulePaths);
+			fileManager.setLocation(StandardLocation.MODULE_SOURCE_PATH, List.of(moduleSourcePath.toFile()));
+			fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(sourceOutputPath.toFile()));
+			fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(moduleOutputPath.toFile()));
+			
+			List<String> options = new ArrayList<>();
+			options.add("--module");
+			options.add(String.join(",", moduleNames));
+			if(this.procOnly) {
+				options.add("-proc:only");
+			}
+			if(this.profile) {
+				options.add("-Awinter.profile=true");
+			}
+			
+			StringWriter out = new StringWriter();
+			CompilationTask task = this.compiler.getTask(out, fileManager, diagnostics, options, null, null);
+			if(!task.call()) {
+				throw new IOException("Error compiling synthetic modules " + moduleNames + ":\n" + diagnostics.getDiagnostics().stream().filter(d -> d.getKind() == Diagnostic.Kind.ERROR).map(Object::toString).collect(Collectors.joining("\n")) + out);
+			}
+		}
+	}
+	
+	private void deleteDir(Path dir) throws IOException {
+		if(Files.exists(dir)) {
+			try(Stream<Path> paths = Files.walk(dir)) {
+				for(Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+					Files.delete(path);
+				}
+			}
+		}
+	}
+	
+	public static void main(String[] args) throws IOException {
+		Map<String, String> arguments = new HashMap<>();
+		for(String arg : args) {
+			if(!arg.startsWith("--")) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			int index = arg.indexOf('=');
+			arguments.put(index > 0 ? arg.substring(2, index) : arg.substring(2), index > 0 ? arg.substring(index + 1) : "true");
+		}
+		
+		String modulePath = arguments.getOrDefault("modulePath", System.getProperty("jdk.module.path", System.getProperty("java.class.path")));
+		CompilerBenchmark benchmark = new CompilerBenchmark(Arrays.stream(modulePath.split(File.pathSeparator)).map(File::new).collect(Collectors.toList()), Paths.get(arguments.getOrDefault("workDir", "target/benchmark/compiler")))
+			.warmupIterations(Integer.parseInt(arguments.getOrDefault("warmup", "2")))
+			.iterations(Integer.parseInt(arguments.getOrDefault("iterations", "5")))
+			.procOnly(Boolean.parseBoolean(arguments.getOrDefault("procOnly", "false")))
+			.profile(Boolean.parseBoolean(arguments.getOrDefault("profile", "false")))
+			.stackSize(Long.parseLong(arguments.getOrDefault("stackSize", "0")));
+		
+		for(String beans : arguments.getOrDefault("beans", "10,100,1000").split(",")) {
+			SyntheticModule module = new SyntheticModule("io.winterframework.benchmark.synthetic.beans" + beans.trim())
+				.beans(Integer.parseInt(beans.trim()))
+				.dependencies(Integer.parseInt(arguments.getOrDefault("dependencies", "1")))
+				.sockets(Integer.parseInt(arguments.getOrDefault("sockets", "0")))
+				.multiSockets(Integer.parseInt(arguments.getOrDefault("multiSockets", "0")))
+				.selectors(Integer.parseInt(arguments.getOrDefault("selectors", "0")))
+				.nestedBeans(Integer.parseInt(arguments.getOrDefault("nestedBeans", "0")))
+				.wrapperBeans(Integer.parseInt(arguments.getOrDefault("wrapperBeans", "0")))
+				.componentModules(Integer.parseInt(arguments.getOrDefault("componentModules", "0")))
+				.componentBeans(Integer.parseInt(arguments.getOrDefault("componentBeans", "10")));
+			
+			CompilerBenchmarkResult result = benchmark.run(module);
+			System.out.print(result);
+			if(result.getProfile() != null) {
+				System.out.println(result.getProfile());
+			}
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.compiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>
+ * The result of the execution of a {@link CompilerBenchmark} on a
+ * {@link SyntheticModule}.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public class CompilerBenchmarkResult {
+
+	private final SyntheticModule module;
+	
+	private final List<Iteration> iterations;
+	
+	private final long generatedSourceFiles;
+	
+	private final long generatedSourceSize;
+	
+	private final String profile;
+	
+	/**
+	 * <p>
+	 * Creates a compiler benchmark result.
+	 * </p>
+	 * 
+	 * @param module               the synthetic module
+	 * @param iterations           the measured iterations
+	 * @param generatedSourceFiles the number of source files generated by the
+	 *                             Winter compiler
+	 * @param generatedSourceSize  the size in bytes of the source files generated
+	 *                             by the Winter compiler
+	 * @param profile              the compiler profile of the module or null
+	 */
+	public CompilerBenchmarkResult(SyntheticModule module, List<Iteration> iterations, long generatedSourceFiles, long generatedSourceSize, String profile) {
+		this.module = module;
+		this.iterations = Collections.unmodifiableList(new ArrayList<>(iterations));
+		this.generatedSourceFiles = generatedSourceFiles;
+		this.generatedSourceSize = generatedSourceSize;
+		this.profile = profile;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the synthetic module.
+	 * </p>
+	 * 
+	 * @return the synthetic module
+	 */
+	public SyntheticModule getModule() {
+		return module;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the measured iterations.
+	 * </p>
+	 * 
+	 * @return a list of iterations
+	 */
+	public List<Iteration> getIterations() {
+		return iterations;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of source files generated by the Winter compiler.
+	 * </p>
+	 * 
+	 * @return a number of files
+	 */
+	public long getGeneratedSourceFiles() {
+		return generatedSourceFiles;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the size of the source files generated by the Winter compiler.
+	 * </p>
+	 * 
+	 * @return a size in bytes
+	 */
+	public long getGeneratedSourceSize() {
+		return generatedSourceSize;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the compiler profile report of the synthetic module when profiling
+	 * was activated.
+	 * </p>
+	 * 
+	 * @return a YAML report or null
+	 */
+	public String getProfile() {
+		return profile;
+	}
+	
+	private long min(ToLongFunction<Iteration> measure) {
+		return this.iterations.stream().mapToLong(measure).min().orElse(-1);
+	}
+	
+	private long avg(ToLongFunction<Iteration> measure) {
+		return (long)this.iterations.stream().mapToLong(measure).average().orElse(-1);
+	}
+	
+	private long max(ToLongFunction<Iteration> measure) {
+		return this.iterations.stream().mapToLong(measure).max().orElse(-1);
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append(this.module.getName()).append(" (").append(this.module).append(")\n");
+		str.append("  iterations: ").append(this.iterations.size()).append("\n");
+		str.append("  time (ms): min ").append(this.min(Iteration::getTime) / 1000000).append(", avg ").append(this.avg(Iteration::getTime) / 1000000).append(", max ").append(this.max(Iteration::getTime) / 1000000).append("\n");
+		str.append("  peak heap (KB): min ").append(this.min(Iteration::getPeakHeap) / 1024).append(", avg ").append(this.avg(Iteration::getPeakHeap) / 1024).append(", max ").append(this.max(Iteration::getPeakHeap) / 1024).append("\n");
+		str.append("  generated sources: ").append(this.generatedSourceFiles).append(" files, ").append(this.generatedSourceSize).append(" bytes\n");
+		return str.toString();
+	}
+	
+	/**
+	 * <p>
+	 * A measured compilation.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 *
+	 */
+	public static class Iteration {
+		
+		private final long time;
+		
+		private final long peakHeap;
+
+		/**
+		 * <p>
+		 * Creates an iteration.
+		 * </p>
+		 * 
+		 * @param time     the compilation time in nanoseconds
+		 * @param peakHeap the peak heap usage during the compilation in bytes
+		 */
+		public Iteration(long time, long peakHeap) {
+			this.time = time;
+			this.peakHeap = peakHeap;
+		}
+		
+		/**
+		 * <p>
+		 * Returns the compilation time.
+		 * </p>
+		 * 
+		 * @return a time in nanoseconds
+		 */
+		public long getTime() {
+			return time;
+		}
+		
+		/**
+		 * <p>
+		 * Returns the peak heap usage during the compilation.
+		 * </p>
+		 * 
+		 * @return a size in bytes
+		 */
+		public long getPeakHeap() {
+			return peakHeap;
+		}
+	}
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.compiler;
+
+/**
+ * <p>
+ * Describes the shape of a synthetic Winter module generated by a
+ * {@link SyntheticModuleGenerator}.
+ * </p>
+ * 
+ * <p>
+ * The module is composed of a chain of beans, each bean depending on the
+ * specified number of preceding beans in the chain, to which are added
+ * module sockets, multiple sockets, selectors, nested beans, wrapper beans and
+ * component modules in the specified quantities.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public class SyntheticModule {
+
+	/**
+	 * <p>
+	 * The maximum number of beans in a chain of beans when distributing beans in
+	 * component modules.
+	 * </p>
+	 * 
+	 * <p>
+	 * The size of a generated module class is bound by the limits of the class file
+	 * format (maximum method size, constant pool size) which are exceeded with ten
+	 * thousand beans.
+	 * </p>
+	 */
+	public static final int MAX_MODULE_BEANS = 1000;
+	
+	/**
+	 * <p>
+	 * The line printed by the application main class once the application is
+	 * started.
+	 * </p>
+	 */
+	public static final String APPLICATION_STARTED = "winter.benchmark.started";
+	
+	private final String name;
+	
+	private int beans = 100;
+	
+	private int dependencies = 1;
+	
+	private int sockets;
+	
+	private int multiSockets;
+	
+	private int selectors;
+	
+	private int nestedBeans;
+	
+	private int wrapperBeans;
+	
+	private int componentModules;
+	
+	private int componentBeans = 10;
+	
+	private boolean handWired;
+	
+	private boolean application;
+	
+	/**
+	 * <p>
+	 * Creates a synthetic module description.
+	 * </p>
+	 * 
+	 * @param name the name of the module
+	 */
+	public SyntheticModule(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * <p>
+	 * Returns the name of the module.
+	 * </p>
+	 * 
+	 * @return the name of the module
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the name of the specified component module.
+	 * </p>
+	 * 
+	 * @param index the index of the component module
+	 * 
+	 * @return the name of the component module
+	 */
+	public String getComponentModuleName(int index) {
+		return this.name + ".component" + index;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of beans in the chain of beans.
+	 * </p>
+	 * 
+	 * @return a number of beans
+	 */
+	public int getBeans() {
+		return beans;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of beans in the chain of beans.
+	 * </p>
+	 * 
+	 * @param beans a number of beans
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule beans(int beans) {
+		this.beans = Math.max(1, beans);
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of preceding beans in the chain each bean depends on.
+	 * </p>
+	 * 
+	 * @return a number of dependencies
+	 */
+	public int getDependencies() {
+		return dependencies;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of preceding beans in the chain each bean depends on.
+	 * </p>
+	 * 
+	 * <p>
+	 * A value greater than 1 results in a bean graph with shared dependencies
+	 * where the number of distinct paths grows exponentially with the number of
+	 * beans.
+	 * </p>
+	 * 
+	 * @param dependencies a number of dependencies
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule dependencies(int dependencies) {
+		this.dependencies = Math.max(1, dependencies);
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of module sockets, each one injected in a dedicated bean.
+	 * </p>
+	 * 
+	 * @return a number of sockets
+	 */
+	public int getSockets() {
+		return sockets;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of module sockets.
+	 * </p>
+	 * 
+	 * @param sockets a number of sockets
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule sockets(int sockets) {
+		this.sockets = Math.max(0, sockets);
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of beans with a multiple socket resolved to all the beans
+	 * of the chain.
+	 * </p>
+	 * 
+	 * @return a number of multiple sockets
+	 */
+	public int getMultiSockets() {
+		return multiSockets;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of beans with a multiple socket.
+	 * </p>
+	 * 
+	 * @param multiSockets a number of multiple sockets
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule multiSockets(int multiSockets) {
+		this.multiSockets = Math.max(0, multiSockets);
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of beans with a multiple socket filtered with an
+	 * annotation selector matching half of the beans of the chain.
+	 * </p>
+	 * 
+	 * @return a number of selectors
+	 */
+	public int getSelectors() {
+		return selectors;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of beans with a multiple socket filtered with an annotation
+	 * selector.
+	 * </p>
+	 * 
+	 * @param selectors a number of selectors
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule selectors(int selectors) {
+		this.selectors = Math.max(0, selectors);
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of nested beans, each one provided by a dedicated bean and
+	 * injected in another one.
+	 * </p>
+	 * 
+	 * @return a number of nested beans
+	 */
+	public int getNestedBeans() {
+		return nestedBeans;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of nested beans.
+	 * </p>
+	 * 
+	 * @param nestedBeans a number of nested beans
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule nestedBeans(int nestedBeans) {
+		this.nestedBeans = Math.max(0, nestedBeans);
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of wrapper beans, each one injected in a dedicated bean.
+	 * </p>
+	 * 
+	 * @return a number of wrapper beans
+	 */
+	public int getWrapperBeans() {
+		return wrapperBeans;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of wrapper beans.
+	 * </p>
+	 * 
+	 * @param wrapperBeans a number of wrapper beans
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule wrapperBeans(int wrapperBeans) {
+		this.wrapperBeans = Math.max(0, wrapperBeans);
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of component modules required by the module.
+	 * </p>
+	 * 
+	 * @return a number of component modules
+	 */
+	public int getComponentModules() {
+		return componentModules;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of component modules required by the module.
+	 * </p>
+	 * 
+	 * @param componentModules a number of component modules
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule componentModules(int componentModules) {
+		this.componentModules = Math.max(0, componentModules);
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of beans in the chain of beans of each component module.
+	 * </p>
+	 * 
+	 * @return a number of beans
+	 */
+	public int getComponentBeans() {
+		return componentBeans;
+	}
+
+	/**
+	 * <p>
+	 * Sets the number of beans in the chain of beans of each component module.
+	 * </p>
+	 * 
+	 * @param componentBeans a number of beans
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule componentBeans(int componentBeans) {
+		this.componentBeans = Math.max(1, componentBeans);
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether a hand-wired equivalent of the chains of beans is
+	 * generated.
+	 * </p>
+	 * 
+	 * @return true to generate a hand-wired equivalent, false otherwise
+	 */
+	public boolean isHandWired() {
+		return handWired;
+	}
+
+	/**
+	 * <p>
+	 * Generates a {@code HandWired} class in the module, and in the component
+	 * modules, which creates the chain of beans with plain constructor invocations
+	 * when it is run and releases them when it is closed.
+	 * </p>
+	 * 
+	 * <p>
+	 * This class is meant to be used as baseline when measuring the start and the
+	 * stop of a synthetic module only composed of chains of beans.
+	 * </p>
+	 * 
+	 * @param handWired true to generate a hand-wired equivalent, false otherwise
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule handWired(boolean handWired) {
+		this.handWired = handWired;
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Sets the total number of beans in the chains of beans of the module and its
+	 * component modules.
+	 * </p>
+	 * 
+	 * <p>
+	 * Beyond {@link #MAX_MODULE_BEANS} beans, beans are distributed in component
+	 * modules of {@link #MAX_MODULE_BEANS} beans each, the remaining beans being
+	 * defined in the module.
+	 * </p>
+	 * 
+	 * @param totalBeans a total number of beans
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule totalBeans(int totalBeans) {
+		int componentModules = Math.max(0, totalBeans - 1) / MAX_MODULE_BEANS;
+		if(componentModules > 0) {
+			this.componentBeans(MAX_MODULE_BEANS);
+		}
+		return this.beans(totalBeans - componentModules * MAX_MODULE_BEANS).componentModules(componentModules);
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether an application main class is generated.
+	 * </p>
+	 * 
+	 * @return true to generate an application main class, false otherwise
+	 */
+	public boolean isApplication() {
+		return application;
+	}
+
+	/**
+	 * <p>
+	 * Generates an {@code App} class in the module whose main method runs the
+	 * module with {@code Application.run()}, prints {@link #APPLICATION_STARTED}
+	 * on the standard output and waits for the standard input to be closed before
+	 * returning.
+	 * </p>
+	 * 
+	 * @param application true to generate an application main class, false
+	 *                    otherwise
+	 * 
+	 * @return this synthetic module
+	 */
+	public SyntheticModule application(boolean application) {
+		this.application = application;
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the canonical name of the module class generated by the Winter
+	 * compiler.
+	 * </p>
+	 * 
+	 * @return a class name
+	 */
+	public String getModuleClassName() {
+		String[] moduleNameParts = this.name.split("\\.");
+		String simpleClassName = moduleNameParts[moduleNameParts.length - 1];
+		return this.name + "." + Character.toUpperCase(simpleClassName.charAt(0)) + simpleClassName.substring(1);
+	}
+	
+	@Override
+	public String toString() {
+		return "beans=" + this.beans + ", dependencies=" + this.dependencies + ", sockets=" + this.sockets + ", multiSockets=" + this.multiSockets + ", selectors=" + this.selectors + ", nestedBeans=" + this.nestedBeans + ", wrapperBeans=" + this.wrapperBeans + ", componentModules=" + this.componentModules + ", componentBeans=" + this.componentBeans;
+	}
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.compiler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * Generates the sources of a {@link SyntheticModule} and of its component
+ * modules in a module source path.
+ * </p>
+ * 
+ * <p>
+ * Each module is generated in a directory named after the module with a single
+ * package named after the module as well.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public class SyntheticModuleGenerator {
+
+	private static final int HAND_WIRED_CHUNK_SIZE = 100;
+
+	/**
+	 * <p>
+	 * Generates the sources of the specified synthetic module in the specified
+	 * module source path.
+	 * </p>
+	 * 
+	 * @param module           the synthetic module to generate
+	 * @param moduleSourcePath the module source path
+	 * 
+	 * @return the names of the generated modules, component modules first
+	 * @throws IOException if something goes wrong when writing the sources
+	 */
+	public List<String> generate(SyntheticModule module, Path moduleSourcePath) throws IOException {
+		List<String> moduleNames = new ArrayList<>();
+		for(int i=0;i<module.getComponentModules();i++) {
+			String componentModuleName = module.getComponentModuleName(i);
+			this.generateComponentModule(componentModuleName, module.getComponentBeans(), module.getDependencies(), module.isHandWired(), moduleSourcePath.resolve(componentModuleName));
+			moduleNames.add(componentModuleName);
+		}
+		this.generateModule(module, moduleSourcePath.resolve(module.getName()));
+		moduleNames.add(module.getName());
+		return moduleNames;
+	}
+	
+	private void generateModule(SyntheticModule module, Path moduleDir) throws IOException {
+		String packageName = module.getName();
+		Path packageDir = this.createPackageDir(moduleDir, packageName);
+		
+		StringBuilder moduleInfo = new StringBuilder();
+		moduleInfo.append("@io.winterframework.core.annotation.Module\n");
+		moduleInfo.append("module ").append(module.getName()).append(" {\n");
+		moduleInfo.append("\trequires io.winterframework.core;\n");
+		moduleInfo.append("\trequires io.winterframework.core.annotation;\n");
+		for(int i=0;i<module.getComponentModules();i++) {
+			moduleInfo.append("\trequires ").append(module.getComponentModuleName(i)).append(";\n");
+		}
+		moduleInfo.append("\n\texports ").append(packageName).append(";\n");
+		moduleInfo.append("}\n");
+		Files.write(moduleDir.resolve("module-info.java"), moduleInfo.toString().getBytes(StandardCharsets.UTF_8));
+		
+		this.generateBeanChain(packageName, module.getBeans(), module.getDependencies(), packageDir, false);
+		this.writeType(packageDir, packageName, "Selected", "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\npublic @interface Selected {}");
+		
+		for(int i=0;i<module.getSockets();i++) {
+			this.writeType(packageDir, packageName, "Service" + i, "public interface Service" + i + " {}");
+			this.writeType(packageDir, packageName, "Socket" + i, "@io.winterframework.core.annotation.Bean\npublic interface Socket" + i + " extends java.util.function.Supplier<Service" + i + "> {}");
+			this.writeConsumer(packageDir, packageName, "SocketConsumer" + i, "Service" + i + " service");
+		}
+		for(int i=0;i<module.getMultiSockets();i++) {
+			this.writeConsumer(packageDir, packageName, "MultiConsumer" + i, "Contribution[] contributions");
+		}
+		for(int i=0;i<module.getSelectors();i++) {
+			this.writeConsumer(packageDir, packageName, "SelectorConsumer" + i, "@io.winterframework.core.annotation.AnnotationSelector(Selected.class) java.util.List<Contribution> contributions");
+		}
+		for(int i=0;i<module.getNestedBeans();i++) {
+			this.writeType(packageDir, packageName, "Nested" + i, "public class Nested" + i + " {}");
+			this.writeType(packageDir, packageName, "NestedProvider" + i, "@io.winterframework.core.annotation.Bean\npublic class NestedProvider" + i + " {\n\n\t@io.winterframework.core.annotation.NestedBean\n\tpublic Nested" + i + " nested() {\n\t\treturn new Nested" + i + "();\n\t}\n}");
+			this.writeConsumer(packageDir, packageName, "NestedConsumer" + i, "Nested" + i + " nested");
+		}
+		for(int i=0;i<module.getWrapperBeans();i++) {
+			this.writeType(packageDir, packageName, "Wrapped" + i, "public class Wrapped" + i + " {}");
+			this.writeType(packageDir, packageName, "Wrapper" + i, "@io.winterframework.core.annotation.Bean\n@io.winterframework.core.annotation.Wrapper\npublic class Wrapper" + i + " implements java.util.function.Supplier<Wrapped" + i + "> {\n\n\tpublic Wrapped" + i + " get() {\n\t\treturn new Wrapped" + i + "();\n\t}\n}");
+			this.writeConsumer(packageDir, packageName, "WrappedConsumer" + i, "Wrapped" + i + " wrapped");
+		}
+		if(module.getComponentModules() > 0) {
+			this.writeType(packageDir, packageName, "ComponentInput", "@io.winterframework.core.annotation.Bean\npublic class ComponentInput implements Runnable {\n\n\tpublic void run() {}\n}");
+			for(int i=0;i<module.getComponentModules();i++) {
+				String componentBeanType = module.getComponentModuleName(i) + ".Bean" + (module.getComponentBeans() - 1);
+				this.writeType(packageDir, packageName, "ComponentConsumer" + i, "@io.winterframework.core.annotation.Bean\npublic class ComponentConsumer" + i + " implements java.util.function.Supplier<Object> {\n\n\tprivate java.util.function.Supplier<" + componentBeanType + "> lazyBean;\n\n\tpublic ComponentConsumer" + i + "(" + componentBeanType + " bean, @io.winterframework.core.annotation.Lazy java.util.function.Supplier<" + componentBeanType + "> lazyBean) {\n\t\tthis.lazyBean = lazyBean;\n\t}\n\n\tpublic Object get() {\n\t\treturn this.lazyBean.get();\n\t}\n}");
+			}
+		}
+		if(module.isHandWired()) {
+			this.generateHandWired(packageName, module.getBeans(), module.getDependencies(), packageDir, false, IntStream.range(0, module.getComponentModules()).mapToObj(module::getComponentModuleName).collect(Collectors.toList()));
+		}
+		if(module.isApplication()) {
+			this.writeType(packageDir, packageName, "App", "public class App {\n\n\tpublic static void main(String[] args) throws java.io.IOException {\n\t\tio.winterframework.core.v1.Application.run(new " + module.getModuleClassName() + ".Builder());\n\t\tSystem.out.println(\"" + SyntheticModule.APPLICATION_STARTED + "\");\n\t\tSystem.out.flush();\n\t\twhile(System.in.read() != -1);\n\t}\n}");
+		}
+	}
+	
+	private void generateComponentModule(String moduleName, int beans, int dependencies, boolean handWired, Path moduleDir) throws IOException {
+		Path packageDir = this.createPackageDir(moduleDir, moduleName);
+		
+		StringBuilder moduleInfo = new StringBuilder();
+		moduleInfo.append("@io.winterframework.core.annotation.Module\n");
+		moduleInfo.append("module ").append(moduleName).append(" {\n");
+		moduleInfo.append("\trequires io.winterframework.core;\n");
+		moduleInfo.append("\trequires io.winterframework.core.annotation;\n");
+		moduleInfo.append("\n\texports ").append(moduleName).append(";\n");
+		moduleInfo.append("}\n");
+		Files.write(moduleDir.resolve("module-info.java"), moduleInfo.toString().getBytes(StandardCharsets.UTF_8));
+		
+		this.generateBeanChain(moduleName, beans, dependencies, packageDir, true);
+		this.writeType(packageDir, moduleName, "Input", "@io.winterframework.core.annotation.Bean\npublic interface Input extends java.util.function.Supplier<Runnable> {}");
+		if(handWired) {
+			this.generateHandWired(moduleName, beans, dependencies, packageDir, true, List.of());
+		}
+	}
+	
+	private void generateHandWired(String packageName, int beans, int dependencies, Path packageDir, boolean input, List<String> componentModuleNames) throws IOException {
+		StringBuilder handWired = new StringBuilder();
+		handWired.append("public final class HandWired implements Runnable, AutoCloseable {\n\n");
+		if(input) {
+			handWired.append("\tprivate final Runnable input;\n\n");
+		}
+		handWired.append("\tprivate Object[] beans;\n\n");
+		for(int i=0;i<componentModuleNames.size();i++) {
+			handWired.append("\tprivate ").append(componentModuleNames.get(i)).append(".HandWired component").append(i).append(";\n\n");
+		}
+		if(input) {
+			handWired.append("\tpublic HandWired(Runnable input) {\n\t\tthis.input = input;\n\t}\n\n");
+		}
+		handWired.append("\tpublic void run() {\n");
+		for(int i=0;i<componentModuleNames.size();i++) {
+			handWired.append("\t\tthis.component").append(i).append(" = new ").append(componentModuleNames.get(i)).append(".HandWired(() -> {});\n");
+			handWired.append("\t\tthis.component").append(i).append(".run();\n");
+		}
+		handWired.append("\t\tthis.beans = new Object[").append(beans).append("];\n");
+		// Bean creations are split in several methods to stay below the maximum size of JIT compiled methods
+		for(int chunk=0;chunk<beans;chunk+=HAND_WIRED_CHUNK_SIZE) {
+			handWired.append("\t\tthis.create").append(chunk / HAND_WIRED_CHUNK_SIZE).append("();\n");
+		}
+		handWired.append("\t}\n\n");
+		// Stopping releases the beans and then stops the component modules like a Winter module does
+		handWired.append("\tpublic void close() {\n");
+		handWired.append("\t\tthis.beans = null;\n");
+		for(int i=componentModuleNames.size() - 1;i>=0;i--) {
+			handWired.append("\t\tthis.component").append(i).append(".close();\n");
+			handWired.append("\t\tthis.component").append(i).append(" = null;\n");
+		}
+		handWired.append("\t}\n");
+		for(int chunk=0;chunk<beans;chunk+=HAND_WIRED_CHUNK_SIZE) {
+			handWired.append("\n\tprivate void create").append(chunk / HAND_WIRED_CHUNK_SIZE).append("() {\n");
+			for(int i=chunk;i<Math.min(chunk + HAND_WIRED_CHUNK_SIZE, beans);i++) {
+				List<String> arguments = new ArrayList<>();
+				for(int j=1;j<=Math.min(dependencies, i);j++) {
+					arguments.add("(Bean" + (i - j) + ")this.beans[" + (i - j) + "]");
+				}
+				if(i == 0 && input) {
+					arguments.add("this.input");
+				}
+				handWired.append("\t\tthis.beans[").append(i).append("] = new Bean").append(i).append("(").append(String.join(", ", arguments)).append(");\n");
+			}
+			handWired.append("\t}\n");
+		}
+		handWired.append("}");
+		this.writeType(packageDir, packageName, "HandWired", handWired.toString());
+	}
+	
+	private void generateBeanChain(String packageName, int beans, int dependencies, Path packageDir, boolean input) throws IOException {
+		this.writeType(packageDir, packageName, "Contribution", "public interface Contribution {}");
+		for(int i=0;i<beans;i++) {
+			List<String> parameterTypes = new ArrayList<>();
+			for(int j=1;j<=Math.min(dependencies, i);j++) {
+				parameterTypes.add("Bean" + (i - j));
+			}
+			if(i == 0 && input) {
+				parameterTypes.add("Runnable");
+			}
+			
+			StringBuilder bean = new StringBuilder();
+			bean.append("@io.winterframework.core.annotation.Bean\n");
+			if(!input && i % 2 == 1) {
+				bean.append("@Selected\n");
+			}
+			bean.append("public class Bean").append(i).append(" implements Contribution {\n\n");
+			bean.append("\tpublic Bean").append(i).append("(").append(IntStream.range(0, parameterTypes.size()).mapToObj(j -> parameterTypes.get(j) + " dep" + j).collect(Collectors.joining(", "))).append(") {\n\t}\n");
+			bean.append("}");
+			this.writeType(packageDir, packageName, "Bean" + i, bean.toString());
+		}
+	}
+	
+	private void writeConsumer(Path packageDir, String packageName, String name, String parameter) throws IOException {
+		this.writeType(packageDir, packageName, name, "@io.winterframework.core.annotation.Bean\npublic class " + name + " {\n\n\tpublic " + name + "(" + parameter + ") {\n\t}\n}");
+	}
+	
+	private Path createPackageDir(Path moduleDir, String packageName) throws IOException {
+		Path packageDir = moduleDir.resolve(packageName.replace('.', '/'));
+		Files.createDirectories(packageDir);
+		return packageDir;
+	}
+	
+	private void writeType(Path packageDir, String packageName, String name, String body) throws IOException {
+		Files.write(packageDir.resolve(name + ".java"), ("package " + packageName + ";\n\n" + body + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.plugin;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.util.ElementFilter;
+
+import io.winterframework.core.annotation.Bean;
+import io.winterframework.core.compiler.spi.ModuleBeanInfo;
+import io.winterframework.core.compiler.spi.ModuleQualifiedName;
+import io.winterframework.core.compiler.spi.SocketBeanInfo;
+import io.winterframework.core.compiler.spi.plugin.CompilerPlugin;
+import io.winterframework.core.compiler.spi.plugin.PluginContext;
+import io.winterframework.core.compiler.spi.plugin.PluginExecution;
+import io.winterframework.core.compiler.spi.plugin.PluginExecutionException;
+
+/**
+ * <p>
+ * A Winter compiler plugin generating a <a href="https://github.com/openjdk/jmh">JMH</a>
+ * benchmark for a compiled module.
+ * </p>
+ * 
+ * <p>
+ * The generated benchmark is named after the module class with a
+ * {@code Benchmark} suffix (eg. {@code com.example.someModule.SomeModuleBenchmark})
+ * and measures:
+ * </p>
+ * 
+ * <ul>
+ * <li>the creation, start and stop of the module ({@code startStop})</li>
+ * <li>each public singleton bean accessor ({@code bean_<name>})</li>
+ * <li>the instantiation of each public prototype bean
+ * ({@code prototype_<name>})</li>
+ * </ul>
+ * 
+ * <p>
+ * The plugin is activated per module with the {@code winter.benchmark} option
+ * which is either {@code true} to generate a benchmark for every compiled
+ * module or a comma separated list of module names (eg.
+ * {@code -Awinter.benchmark=com.example.someModule}). A benchmark is only
+ * generated for a module requiring the {@code jmh.core} module, the JMH
+ * annotation processor must also be on the processor path to generate the
+ * benchmark harness.
+ * </p>
+ * 
+ * <p>
+ * The benchmark creates the module from the no-arg constructor of its builder.
+ * Sockets are not yet resolved when the plugin is executed so it is not
+ * possible to know whether a module socket will be required by the builder, a
+ * benchmark is then not generated for a module defining sockets and a warning
+ * is reported instead.
+ * </p>
+ * 
+ * <p>
+ * Note that prototype beans with a destroy method are retained by the module
+ * until it is stopped, which happens at the end of the benchmark.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public class JmhBenchmarkPlugin implements CompilerPlugin {
+
+	/**
+	 * <p>
+	 * The option activating the plugin.
+	 * </p>
+	 */
+	public static final String OPTION_BENCHMARK = "winter.benchmark";
+	
+	private static final String JMH_MODULE = "jmh.core";
+	
+	private static final String JMH_ANNOTATIONS_PACKAGE = "org.openjdk.jmh.annotations";
+	
+	private boolean allModules;
+	
+	private Set<String> modules;
+	
+	@Override
+	public Set<String> getSupportedOptions() {
+		return Set.of(OPTION_BENCHMARK);
+	}
+	
+	@Override
+	public void init(PluginContext pluginContext) {
+		String benchmark = pluginContext.getOptions().containsOption(OPTION_BENCHMARK) ? pluginContext.getOptions().getOption(OPTION_BENCHMARK).orElse("true").trim() : "false";
+		if(benchmark.isEmpty() || benchmark.equalsIgnoreCase("true")) {
+			this.allModules = true;
+			this.modules = Set.of();
+		}
+		else if(benchmark.equalsIgnoreCase("false")) {
+			this.modules = Set.of();
+		}
+		else {
+			this.modules = Arrays.stream(benchmark.split(",")).map(String::trim).filter(module -> !module.isEmpty()).collect(Collectors.toSet());
+		}
+	}
+
+	@Override
+	public boolean canExecute(ModuleElement moduleElement) {
+		if(!this.allModules && !this.modules.contains(moduleElement.getQualifiedName().toString())) {
+			return false;
+		}
+		return ElementFilter.requiresIn(moduleElement.getDirectives()).stream().anyMatch(directive -> directive.getDependency().getQualifiedName().toString().equals(JMH_MODULE));
+	}
+
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+
+	@Override
+	public void execute(PluginExecution execution) throws PluginExecutionException {
+		ModuleQualifiedName moduleQualifiedName = execution.getModuleQualifiedName();
+		List<ModuleBeanInfo> publicBeans = Arrays.stream(execution.getBeans())
+			.filter(bean -> bean instanceof ModuleBeanInfo && !(bean instanceof SocketBeanInfo))
+			.map(bean -> (ModuleBeanInfo)bean)
+			.filter(bean -> bean.getQualifiedName().getModuleQName().equals(moduleQualifiedName))
+			.filter(bean -> bean.getVisibility() == Bean.Visibility.PUBLIC)
+			.collect(Collectors.toList());
+		
+		List<String> moduleSockets = Arrays.stream(execution.getBeans())
+			.filter(bean -> bean instanceof SocketBeanInfo)
+			.filter(bean -> bean.getQualifiedName().getModuleQName().equals(moduleQualifiedName))
+			.map(bean -> bean.getQualifiedName().getSimpleValue())
+			.collect(Collectors.toList());
+		if(!moduleSockets.isEmpty()) {
+			execution.getReporter(execution.getModuleElement()).warning("Benchmark is not generated for module " + moduleQualifiedName + " which defines sockets: " + String.join(", ", moduleSockets));
+			return;
+		}
+		
+		try {
+			execution.createSourceFile(moduleQualifiedName.getClassName() + "Benchmark", new Element[] { execution.getModuleElement() }, () -> this.generateBenchmark(moduleQualifiedName, publicBeans));
+		}
+		catch (IOException e) {
+			throw new PluginExecutionException("Error generating benchmark for module " + moduleQualifiedName, e);
+		}
+	}
+	
+	private String generateBenchmark(ModuleQualifiedName moduleQualifiedName, List<ModuleBeanInfo> beans) {
+		String moduleClassName = moduleQualifiedName.getClassName();
+		String packageName = moduleClassName.substring(0, Math.max(0, moduleClassName.lastIndexOf('.')));
+		String moduleSimpleClassName = moduleClassName.substring(moduleClassName.lastIndexOf('.') + 1);
+		
+		StringBuilder benchmark = new StringBuilder();
+		if(!packageName.isEmpty()) {
+			benchmark.append("package ").append(packageName).append(";\n\n");
+		}
+		benchmark.append("import java.util.concurrent.TimeUnit;\n\n");
+		Arrays.asList("Benchmark", "BenchmarkMode", "Mode", "OutputTimeUnit", "Scope", "Setup", "State", "TearDown").stream()
+			.forEach(annotation -> benchmark.append("import ").append(JMH_ANNOTATIONS_PACKAGE).append(".").append(annotation).append(";\n"));
+		benchmark.append("\n");
+		
+		benchmark.append("@BenchmarkMode(Mode.AverageTime)\n");
+		benchmark.append("@OutputTimeUnit(TimeUnit.NANOSECONDS)\n");
+		benchmark.append("@State(Scope.Benchmark)\n");
+		benchmark.append("public class ").append(moduleSimpleClassName).append("Benchmark {\n\n");
+		
+		benchmark.append("\tprivate ").append(moduleSimpleClassName).append(" module;\n\n");
+		
+		benchmark.append("\t@Setup\n");
+		benchmark.append("\tpublic void setup() {\n");
+		benchmark.append("\t\tthis.module = new ").append(moduleSimpleClassName).append(".Builder().build();\n");
+		benchmark.append("\t\tthis.module.start();\n");
+		benchmark.append("\t}\n\n");
+		
+		benchmark.append("\t@TearDown\n");
+		benchmark.append("\tpublic void tearDown() {\n");
+		benchmark.append("\t\tthis.module.stop();\n");
+		benchmark.append("\t}\n\n");
+		
+		benchmark.append("\t@Benchmark\n");
+		benchmark.append("\t@OutputTimeUnit(TimeUnit.MICROSECONDS)\n");
+		benchmark.append("\tpublic void startStop() {\n");
+		benchmark.append("\t\t").append(moduleSimpleClassName).append(" module = new ").append(moduleSimpleClassName).append(".Builder().build();\n");
+		benchmark.append("\t\tmodule.start();\n");
+		benchmark.append("\t\tmodule.stop();\n");
+		benchmark.append("\t}\n");
+		
+		for(ModuleBeanInfo bean : beans) {
+			String accessor = bean.getQualifiedName().normalize();
+			benchmark.append("\n\t@Benchmark\n");
+			benchmark.append("\tpublic Object ").append(bean.getStrategy() == Bean.Strategy.PROTOTYPE ? "prototype_" : "bean_").append(accessor).append("() {\n");
+			benchmark.append("\t\treturn this.module.").append(accessor).append("();\n");
+			benchmark.append("\t}\n");
+		}
+		benchmark.append("}\n");
+		return benchmark.toString();
+	}
+}
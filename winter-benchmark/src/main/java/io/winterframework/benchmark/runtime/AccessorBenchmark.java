@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.winterframework.benchmark.runtime.fixture.BenchmarkModule;
+import io.winterframework.benchmark.runtime.fixture.HandWiredModule;
+import io.winterframework.benchmark.runtime.fixture.SingletonBean;
+
+/**
+ * <p>
+ * Measures the throughput of a singleton bean accessor on a started module,
+ * uncontended and with 64 threads.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessorBenchmark {
+
+	private BenchmarkModule module;
+	
+	private HandWiredModule handWiredModule;
+	
+	@Setup
+	public void setup() {
+		this.module = new BenchmarkModule.Builder().build();
+		this.module.start();
+		this.handWiredModule = new HandWiredModule();
+		this.handWiredModule.start();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.module.stop();
+		this.handWiredModule.stop();
+	}
+	
+	@Benchmark
+	public SingletonBean winterSingleton() {
+		return this.module.singletonBean();
+	}
+	
+	@Benchmark
+	public SingletonBean handWiredSingleton() {
+		return this.handWiredModule.singletonBean();
+	}
+	
+	@Benchmark
+	@Threads(64)
+	public SingletonBean winterSingletonContended() {
+		return this.module.singletonBean();
+	}
+	
+	@Benchmark
+	@Threads(64)
+	public SingletonBean handWiredSingletonContended() {
+		return this.handWiredModule.singletonBean();
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.winterframework.benchmark.runtime.fixture.BenchmarkModule;
+import io.winterframework.benchmark.runtime.fixture.DestroyablePrototypeBean;
+import io.winterframework.benchmark.runtime.fixture.PrototypeBean;
+
+/**
+ * <p>
+ * Compares the creation of a batch of prototype beans by invoking the bean
+ * accessor for each instance or by invoking the bulk accessor generated with
+ * the {@code winter.bulkAccessors} option.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkPrototypeBenchmark {
+
+	@Param({"16"})
+	private int batchSize;
+	
+	private BenchmarkModule module;
+	
+	private PrototypeBean[] prototypeBeans;
+	
+	private DestroyablePrototypeBean[] destroyablePrototypeBeans;
+	
+	@Setup
+	public void setup() {
+		this.module = new BenchmarkModule.Builder().build();
+		this.module.start();
+		this.prototypeBeans = new PrototypeBean[this.batchSize];
+		this.destroyablePrototypeBeans = new DestroyablePrototypeBean[this.batchSize];
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.module.stop();
+	}
+	
+	@Benchmark
+	public PrototypeBean[] winterPrototypeLoop() {
+		for(int i=0;i<this.prototypeBeans.length;i++) {
+			this.prototypeBeans[i] = this.module.prototypeBean();
+		}
+		return this.prototypeBeans;
+	}
+	
+	@Benchmark
+	public PrototypeBean[] winterPrototypeBulk() {
+		return this.module.prototypeBean(this.prototypeBeans);
+	}
+	
+	@Benchmark
+	public DestroyablePrototypeBean[] winterDestroyablePrototypeLoop() {
+		for(int i=0;i<this.destroyablePrototypeBeans.length;i++) {
+			this.destroyablePrototypeBeans[i] = this.module.destroyablePrototypeBean();
+		}
+		return this.destroyablePrototypeBeans;
+	}
+	
+	@Benchmark
+	public DestroyablePrototypeBean[] winterDestroyablePrototypeBulk() {
+		return this.module.destroyablePrototypeBean(this.destroyablePrototypeBeans);
+	}
+}
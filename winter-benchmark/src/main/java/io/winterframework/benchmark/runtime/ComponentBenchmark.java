@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.runtime;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.winterframework.benchmark.compiler.SyntheticModule;
+
+/**
+ * <p>
+ * Measures the access to a bean of a component module from a bean of the
+ * enclosing module through a lazy socket.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComponentBenchmark {
+
+	private SyntheticModuleLoader moduleLoader;
+	
+	private io.winterframework.core.v1.Module module;
+	
+	private Supplier<Object> componentConsumer;
+	
+	private Supplier<Object> handWiredComponentConsumer;
+	
+	@Setup
+	public void setup() throws IOException, ReflectiveOperationException {
+		this.moduleLoader = new SyntheticModuleLoader(new SyntheticModule("io.winterframework.benchmark.synthetic.component").beans(1).componentModules(1).componentBeans(1));
+		this.module = this.moduleLoader.buildModule();
+		this.module.start();
+		this.componentConsumer = this.moduleLoader.getBean(this.module, "componentConsumer0");
+		
+		Object componentBean = this.componentConsumer.get();
+		this.handWiredComponentConsumer = () -> componentBean;
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		this.module.stop();
+		this.moduleLoader.close();
+	}
+	
+	@Benchmark
+	public Object winterComponentAccess() {
+		return this.componentConsumer.get();
+	}
+	
+	@Benchmark
+	public Object handWiredComponentAccess() {
+		return this.handWiredComponentConsumer.get();
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+
+import io.winterframework.benchmark.runtime.fixture.BenchmarkModule;
+
+/**
+ * <p>
+ * Measures the retained heap of a module instance.
+ * </p>
+ * 
+ * <p>
+ * A large number of {@link BenchmarkModule} instances are built, and optionally
+ * started, and the used heap is measured after a full garbage collection before
+ * and after their creation. The retained heap per module instance is the
+ * difference divided by the number of instances, it includes the bean instances
+ * when modules are started.
+ * </p>
+ * 
+ * <p>
+ * It can be run from the command line:
+ * </p>
+ * 
+ * <blockquote><pre>
+ * $ java -Xmx1g -p target/classes:target/dependency -m io.winterframework.benchmark/io.winterframework.benchmark.runtime.ModuleFootprint 10000
+ * </pre></blockquote>
+ * 
+ * @author jkuhn
+ *
+ */
+public class ModuleFootprint {
+
+	private static final MemoryMXBean MEMORY_MXBEAN = ManagementFactory.getMemoryMXBean();
+	
+	private static long getUsedHeap() {
+		for(int i=0;i<3;i++) {
+			System.gc();
+		}
+		return MEMORY_MXBEAN.getHeapMemoryUsage().getUsed();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the retained heap in bytes per module instance.
+	 * </p>
+	 * 
+	 * @param instances the number of module instances to create
+	 * @param start     true to start the modules
+	 * 
+	 * @return a number of bytes
+	 */
+	public static long measure(int instances, boolean start) {
+		BenchmarkModule[] modules = new BenchmarkModule[instances];
+		long before = getUsedHeap();
+		for(int i=0;i<instances;i++) {
+			modules[i] = new BenchmarkModule.Builder().build();
+			if(start) {
+				modules[i].start();
+			}
+		}
+		long after = getUsedHeap();
+		Reference.reachabilityFence(modules);
+		return (after - before) / instances;
+	}
+	
+	public static void main(String[] args) {
+		int instances = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		// warm up so that classes and shared lambdas are not accounted
+		measure(100, true);
+		
+		System.out.println("Module instances: " + instances);
+		System.out.println("Built module    : " + measure(instances, false) + " bytes/instance");
+		System.out.println("Started module  : " + measure(instances, true) + " bytes/instance");
+	}
+}
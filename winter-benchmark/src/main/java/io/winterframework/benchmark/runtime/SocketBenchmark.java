@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.winterframework.benchmark.runtime.fixture.BenchmarkModule;
+import io.winterframework.benchmark.runtime.fixture.HandWiredModule;
+import io.winterframework.benchmark.runtime.fixture.MultiSocketBean;
+import io.winterframework.benchmark.runtime.fixture.SingletonBean;
+import io.winterframework.benchmark.runtime.fixture.Wrapped;
+
+/**
+ * <p>
+ * Measures the injection of a multiple socket in a prototype bean, the
+ * resolution of a lazy socket and the creation of a prototype wrapper bean.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SocketBenchmark {
+
+	private BenchmarkModule module;
+	
+	private HandWiredModule handWiredModule;
+	
+	@Setup
+	public void setup() {
+		this.module = new BenchmarkModule.Builder().build();
+		this.module.start();
+		this.handWiredModule = new HandWiredModule();
+		this.handWiredModule.start();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.module.stop();
+		this.handWiredModule.stop();
+	}
+	
+	@Benchmark
+	public MultiSocketBean winterMultiSocket() {
+		return this.module.multiSocketBean();
+	}
+	
+	@Benchmark
+	public MultiSocketBean handWiredMultiSocket() {
+		return this.handWiredModule.multiSocketBean();
+	}
+	
+	@Benchmark
+	public SingletonBean winterLazySocket() {
+		return this.module.lazySocketBean().getSingletonBean();
+	}
+	
+	@Benchmark
+	public SingletonBean handWiredLazySocket() {
+		return this.handWiredModule.lazySocketBean().getSingletonBean();
+	}
+	
+	@Benchmark
+	public Wrapped winterWrapper() {
+		return this.module.wrapperBean();
+	}
+	
+	@Benchmark
+	public Wrapped handWiredWrapper() {
+		return this.handWiredModule.wrapperBean();
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.runtime;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.winterframework.benchmark.compiler.SyntheticModule;
+
+/**
+ * <p>
+ * Measures the start and the stop of synthetic modules composed of chains of
+ * singleton beans.
+ * </p>
+ * 
+ * <p>
+ * The hand-wired baseline goes through the same lifecycle: each invocation
+ * creates the beans and then releases them.
+ * </p>
+ * 
+ * <p>
+ * Beyond {@link SyntheticModule#MAX_MODULE_BEANS} beans, beans are distributed
+ * in component modules.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartStopBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	private int beans;
+	
+	private SyntheticModuleLoader moduleLoader;
+	
+	private io.winterframework.core.v1.Module module;
+	
+	private Runnable handWired;
+	
+	private AutoCloseable handWiredStop;
+	
+	@Setup
+	public void setup() throws IOException, ReflectiveOperationException {
+		this.moduleLoader = new SyntheticModuleLoader(new SyntheticModule("io.winterframework.benchmark.synthetic.startStop" + this.beans).totalBeans(this.beans).handWired(true));
+		this.module = this.moduleLoader.buildModule();
+		this.handWired = this.moduleLoader.newInstance("HandWired");
+		this.handWiredStop = (AutoCloseable)this.handWired;
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		this.moduleLoader.close();
+	}
+	
+	@Benchmark
+	public io.winterframework.core.v1.Module winterStartStop() {
+		this.module.start();
+		this.module.stop();
+		return this.module;
+	}
+	
+	@Benchmark
+	public Runnable handWiredStartStop() throws Exception {
+		this.handWired.run();
+		this.handWiredStop.close();
+		return this.handWired;
+	}
+}
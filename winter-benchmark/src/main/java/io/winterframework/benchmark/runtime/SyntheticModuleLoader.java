@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.winterframework.benchmark.compiler.CompilerBenchmark;
+import io.winterframework.benchmark.compiler.SyntheticModule;
+
+/**
+ * <p>
+ * Compiles a synthetic module with the Winter compiler and loads the resulting
+ * classes so they can be used in runtime benchmarks.
+ * </p>
+ * 
+ * <p>
+ * The module path used to compile the synthetic module is resolved from the
+ * {@code winter.benchmark.modulePath} system property when specified,
+ * otherwise from the Winter core and Log4j entries of the module path or the
+ * class path of the running JVM. Synthetic modules are generated in the
+ * directory specified in the {@code winter.benchmark.workDir} system property,
+ * which defaults to {@code target/benchmark/runtime}.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+class SyntheticModuleLoader implements AutoCloseable {
+
+	private static final String MODULE_PATH_PROPERTY = "winter.benchmark.modulePath";
+	
+	private static final String WORK_DIR_PROPERTY = "winter.benchmark.workDir";
+	
+	private final SyntheticModule module;
+	
+	private final URLClassLoader classLoader;
+	
+	/**
+	 * <p>
+	 * Compiles the specified synthetic module and creates a class loader to load
+	 * the resulting classes.
+	 * </p>
+	 * 
+	 * @param module the synthetic module
+	 * 
+	 * @throws IOException if something goes wrong when compiling the module
+	 */
+	public SyntheticModuleLoader(SyntheticModule module) throws IOException {
+		this.module = module;
+		
+		String modulePath = System.getProperty(MODULE_PATH_PROPERTY);
+		List<File> modulePaths;
+		if(modulePath != null) {
+			modulePaths = Arrays.stream(modulePath.split(File.pathSeparator)).map(File::new).collect(Collectors.toList());
+		}
+		else {
+			modulePaths = Stream.of(System.getProperty("jdk.module.path", ""), System.getProperty("java.class.path", ""))
+				.flatMap(path -> Arrays.stream(path.split(File.pathSeparator)))
+				.filter(path -> path.contains("winter-core") || path.contains("log4j-api"))
+				.distinct()
+				.map(File::new)
+				.collect(Collectors.toList());
+		}
+		
+		Path moduleOutputPath = new CompilerBenchmark(modulePaths, Paths.get(System.getProperty(WORK_DIR_PROPERTY, "target/benchmark/runtime"))).compile(module);
+		
+		URL[] moduleUrls;
+		try(Stream<Path> moduleDirs = Files.list(moduleOutputPath)) {
+			moduleUrls = moduleDirs.map(moduleDir -> {
+				try {
+					return moduleDir.toUri().toURL();
+				}
+				catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}).toArray(URL[]::new);
+		}
+		this.classLoader = new URLClassLoader(moduleUrls, SyntheticModuleLoader.class.getClassLoader());
+	}
+	
+	/**
+	 * <p>
+	 * Builds a new instance of the synthetic module.
+	 * </p>
+	 * 
+	 * @return a module instance
+	 * 
+	 * @throws ReflectiveOperationException if the module can't be built
+	 */
+	public io.winterframework.core.v1.Module buildModule() throws ReflectiveOperationException {
+		Object moduleBuilder = this.classLoader.loadClass(this.module.getModuleClassName() + "$Builder").getConstructor().newInstance();
+		return (io.winterframework.core.v1.Module)moduleBuilder.getClass().getMethod("build").invoke(moduleBuilder);
+	}
+	
+	/**
+	 * <p>
+	 * Creates a new instance of the specified class of the synthetic module using
+	 * its default constructor.
+	 * </p>
+	 * 
+	 * @param <T>       the expected type
+	 * @param className the simple name of the class in the module package
+	 * 
+	 * @return a new instance
+	 * 
+	 * @throws ReflectiveOperationException if the instance can't be created
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T newInstance(String className) throws ReflectiveOperationException {
+		return (T)this.classLoader.loadClass(this.module.getName() + "." + className).getConstructor().newInstance();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the bean exposed by the specified accessor of the specified module
+	 * instance.
+	 * </p>
+	 * 
+	 * @param <T>            the expected type
+	 * @param moduleInstance a module instance
+	 * @param beanName       the name of the bean
+	 * 
+	 * @return a bean instance
+	 * 
+	 * @throws ReflectiveOperationException if the bean can't be retrieved
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getBean(io.winterframework.core.v1.Module moduleInstance, String beanName) throws ReflectiveOperationException {
+		return (T)moduleInstance.getClass().getMethod(beanName).invoke(moduleInstance);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.classLoader.close();
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.runtime.fixture;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Hand-written wiring of the fixture beans used as zero-overhead baseline for
+ * the runtime benchmarks: singletons are plain fields and prototypes are
+ * created with plain constructor invocations.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public class HandWiredModule {
+
+	private SingletonBean singletonBean;
+	
+	private Contribution[] contributions;
+	
+	private LazySocketBean lazySocketBean;
+	
+	/**
+	 * <p>
+	 * Creates the singleton beans.
+	 * </p>
+	 */
+	public void start() {
+		this.singletonBean = new SingletonBean();
+		this.contributions = new Contribution[] { new ContributionA(), new ContributionB(), new ContributionC(), new ContributionD(), new ContributionE(), new ContributionF(), new ContributionG(), new ContributionH() };
+		this.lazySocketBean = new LazySocketBean(() -> this.singletonBean);
+	}
+	
+	/**
+	 * <p>
+	 * Releases the singleton beans.
+	 * </p>
+	 */
+	public void stop() {
+		this.singletonBean = null;
+		this.contributions = null;
+		this.lazySocketBean = null;
+	}
+	
+	public SingletonBean singletonBean() {
+		return this.singletonBean;
+	}
+	
+	public PrototypeBean prototypeBean() {
+		return new PrototypeBean();
+	}
+	
+	public DestroyablePrototypeBean destroyablePrototypeBean() {
+		return new DestroyablePrototypeBean();
+	}
+	
+	public MultiSocketBean multiSocketBean() {
+		return new MultiSocketBean(Arrays.asList(this.contributions.clone()));
+	}
+	
+	public LazySocketBean lazySocketBean() {
+		return this.lazySocketBean;
+	}
+	
+	public Wrapped wrapperBean() {
+		return new WrapperBean().get();
+	}
+}
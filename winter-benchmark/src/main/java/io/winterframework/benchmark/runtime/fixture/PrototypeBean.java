@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.runtime.fixture;
+
+import io.winterframework.core.annotation.Bean;
+import io.winterframework.core.annotation.Bean.Strategy;
+
+/**
+ * <p>
+ * A prototype bean with no dependency and no destroy method.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+@Bean(strategy = Strategy.PROTOTYPE)
+public class PrototypeBean {
+
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.startup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.winterframework.benchmark.compiler.CompilerBenchmark;
+import io.winterframework.benchmark.compiler.SyntheticModule;
+
+/**
+ * <p>
+ * Measures the cold start of synthetic Winter applications, each run being
+ * executed in a freshly forked JVM.
+ * </p>
+ * 
+ * <p>
+ * A synthetic application is a {@link SyntheticModule} compiled with an
+ * {@code App} class which runs the module with
+ * {@link io.winterframework.core.v1.Application#run(io.winterframework.core.v1.Module.ModuleBuilder)
+ * Application.run()} and then waits for its standard input to be closed. A run
+ * measures the time elapsed between the launch of the JVM and the return of
+ * {@code Application.run()}, the JVM is then inspected with {@code jcmd} to
+ * report the number of loaded classes and the used metaspace and its resident
+ * set size is read from {@code /proc/<pid>/status} (or {@code ps} when not
+ * available).
+ * </p>
+ * 
+ * <p>
+ * It can be run from the command line:
+ * </p>
+ * 
+ * <blockquote><pre>
+ * $ java -p target/classes:target/dependency -m io.winterframework.benchmark/io.winterframework.benchmark.startup.StartupBenchmark --beans=10,100,1000,10000 --runs=10
+ * </pre></blockquote>
+ * 
+ * <p>
+ * Supported arguments are {@code --beans} (comma separated list of total
+ * numbers of beans), {@code --runs}, {@code --warmup}, {@code --workDir},
+ * {@code --modulePath}, {@code --jvmArgs} (space separated list of arguments
+ * passed to the forked JVMs) and {@code --timeout} (in seconds).
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public class StartupBenchmark {
+
+	private static final Pattern METASPACE_USED_PATTERN = Pattern.compile("Metaspace\\s+used\\s+(\\d+)K");
+	
+	private final List<File> modulePaths;
+	
+	private final Path workDir;
+	
+	private final String javaCommand;
+	
+	private final String jcmdCommand;
+	
+	private int warmupRuns = 1;
+	
+	private int runs = 5;
+	
+	private List<String> jvmArgs = List.of();
+	
+	private long timeout = 60;
+	
+	/**
+	 * <p>
+	 * Creates a startup benchmark.
+	 * </p>
+	 * 
+	 * <p>
+	 * The Winter compiler is only required to compile synthetic applications, it
+	 * is excluded from the module path of the forked JVMs.
+	 * </p>
+	 * 
+	 * @param modulePaths the module path containing the Winter compiler and the
+	 *                    Winter core modules
+	 * @param workDir     the directory where synthetic applications are generated
+	 *                    and compiled
+	 */
+	public StartupBenchmark(List<File> modulePaths, Path workDir) {
+		this.modulePaths = modulePaths;
+		this.workDir = workDir;
+		Path javaBin = Paths.get(System.getProperty("java.home"), "bin");
+		this.javaCommand = javaBin.resolve("java").toString();
+		this.jcmdCommand = Files.exists(javaBin.resolve("jcmd")) ? javaBin.resolve("jcmd").toString() : "jcmd";
+	}
+	
+	/**
+	 * <p>
+	 * Sets the number of runs to execute and discard before measuring, typically
+	 * to warm up the file system cache.
+	 * </p>
+	 * 
+	 * @param warmupRuns a number of runs
+	 * 
+	 * @return this benchmark
+	 */
+	public StartupBenchmark warmupRuns(int warmupRuns) {
+		this.warmupRuns = Math.max(0, warmupRuns);
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Sets the number of measured runs.
+	 * </p>
+	 * 
+	 * @param runs a number of runs
+	 * 
+	 * @return this benchmark
+	 */
+	public StartupBenchmark runs(int runs) {
+		this.runs = Math.max(1, runs);
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Sets the arguments passed to the forked JVMs.
+	 * </p>
+	 * 
+	 * @param jvmArgs a list of JVM arguments
+	 * 
+	 * @return this benchmark
+	 */
+	public StartupBenchmark jvmArgs(List<String> jvmArgs) {
+		this.jvmArgs = jvmArgs != null ? jvmArgs : List.of();
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Sets the maximum time to wait for a forked application to start or to stop.
+	 * </p>
+	 * 
+	 * @param timeout a timeout in seconds
+	 * 
+	 * @return this benchmark
+	 */
+	public StartupBenchmark timeout(long timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Compiles the specified synthetic application and measures its startup.
+	 * </p>
+	 * 
+	 * @param module the synthetic application to benchmark
+	 * 
+	 * @return the result of the benchmark
+	 * @throws IOException if something goes wrong when compiling or running the
+	 *                     application
+	 */
+	public StartupBenchmarkResult run(SyntheticModule module) throws IOException {
+		if(!module.isApplication()) {
+			throw new IllegalArgumentException("Synthetic module is not an application: " + module.getName());
+		}
+		Path moduleOutputPath = new CompilerBenchmark(this.modulePaths, this.workDir).compile(module);
+		
+		List<String> runtimeModulePaths = new ArrayList<>();
+		try(Stream<Path> compiledModules = Files.list(moduleOutputPath)) {
+			compiledModules.map(Path::toString).forEach(runtimeModulePaths::add);
+		}
+		this.modulePaths.stream().map(File::getPath).filter(path -> !path.contains("winter-core-compiler")).forEach(runtimeModulePaths::add);
+		
+		List<String> command = new ArrayList<>();
+		command.add(this.javaCommand);
+		command.addAll(this.jvmArgs);
+		command.add("-p");
+		command.add(String.join(File.pathSeparator, runtimeModulePaths));
+		command.add("-m");
+		command.add(module.getName() + "/" + module.getName() + ".App");
+		
+		List<StartupBenchmarkResult.Run> measuredRuns = new ArrayList<>();
+		for(int i=0;i<this.warmupRuns + this.runs;i++) {
+			StartupBenchmarkResult.Run run = this.launch(command);
+			if(i >= this.warmupRuns) {
+				measuredRuns.add(run);
+			}
+		}
+		return new StartupBenchmarkResult(module, this.jvmArgs, measuredRuns);
+	}
+	
+	private StartupBenchmarkResult.Run launch(List<String> command) throws IOException {
+		long t0 = System.nanoTime();
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			StringBuilder output = new StringBuilder();
+			String line;
+			while( (line = reader.readLine()) != null && !line.equals(SyntheticModule.APPLICATION_STARTED)) {
+				output.append(line).append("\n");
+			}
+			long time = System.nanoTime() - t0;
+			if(line == null) {
+				throw new IOException("Synthetic application exited before starting:\n" + output);
+			}
+			
+			long loadedClasses = -1;
+			long metaspace = -1;
+			long rss = -1;
+			try {
+				Map<String, Long> perfCounters = this.getPerfCounters(process.pid());
+				if(perfCounters.containsKey("java.cls.loadedClasses")) {
+					loadedClasses = perfCounters.get("java.cls.loadedClasses") 
+						+ perfCounters.getOrDefault("java.cls.sharedLoadedClasses", 0l) 
+						- perfCounters.getOrDefault("java.cls.unloadedClasses", 0l) 
+						- perfCounters.getOrDefault("java.cls.sharedUnloadedClasses", 0l);
+				}
+				metaspace = this.getMetaspaceUsed(process.pid());
+				rss = this.getResidentSetSize(process.pid());
+			}
+			finally {
+				process.getOutputStream().close();
+				// drain the output so that the application can't block on shutdown
+				while(reader.readLine() != null);
+			}
+			if(!process.waitFor(this.timeout, TimeUnit.SECONDS)) {
+				throw new IOException("Synthetic application did not stop within " + this.timeout + "s");
+			}
+			return new StartupBenchmarkResult.Run(time, loadedClasses, metaspace, rss);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while running synthetic application", e);
+		}
+		finally {
+			process.destroyForcibly();
+		}
+	}
+	
+	private Map<String, Long> getPerfCounters(long pid) throws IOException, InterruptedException {
+		Map<String, Long> perfCounters = new HashMap<>();
+		for(String line : this.exec(this.jcmdCommand, Long.toString(pid), "PerfCounter.print")) {
+			int index = line.indexOf('=');
+			if(index > 0) {
+				try {
+					perfCounters.put(line.substring(0, index), Long.parseLong(line.substring(index + 1).trim()));
+				}
+				catch(NumberFormatException e) {
+					// not a numeric counter
+				}
+			}
+		}
+		return perfCounters;
+	}
+	
+	private long getMetaspaceUsed(long pid) throws IOException, InterruptedException {
+		for(String line : this.exec(this.jcmdCommand, Long.toString(pid), "GC.heap_info")) {
+			Matcher matcher = METASPACE_USED_PATTERN.matcher(line.trim());
+			if(matcher.find()) {
+				return Long.parseLong(matcher.group(1)) * 1024;
+			}
+		}
+		return -1;
+	}
+	
+	private long getResidentSetSize(long pid) throws IOException, InterruptedException {
+		Path status = Paths.get("/proc", Long.toString(pid), "status");
+		if(Files.exists(status)) {
+			for(String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+				if(line.startsWith("VmRSS:")) {
+					return Long.parseLong(line.substring(6).replace("kB", "").trim()) * 1024;
+				}
+			}
+		}
+		List<String> ps = this.exec("ps", "-o", "rss=", "-p", Long.toString(pid));
+		if(!ps.isEmpty()) {
+			return Long.parseLong(ps.get(0).trim()) * 1024;
+		}
+		return -1;
+	}
+	
+	private List<String> exec(String... command) throws IOException, InterruptedException {
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		List<String> lines;
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			lines = reader.lines().collect(Collectors.toList());
+		}
+		if(!process.waitFor(this.timeout, TimeUnit.SECONDS) || process.exitValue() != 0) {
+			process.destroyForcibly();
+			throw new IOException("Error executing " + String.join(" ", command) + ":\n" + String.join("\n", lines));
+		}
+		return lines;
+	}
+	
+	public static void main(String[] args) throws IOException {
+		Map<String, String> arguments = new HashMap<>();
+		for(String arg : args) {
+			if(!arg.startsWith("--")) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			int index = arg.indexOf('=');
+			arguments.put(index > 0 ? arg.substring(2, index) : arg.substring(2), index > 0 ? arg.substring(index + 1) : "true");
+		}
+		
+		String modulePath = arguments.getOrDefault("modulePath", System.getProperty("jdk.module.path", System.getProperty("java.class.path")));
+		String jvmArgs = arguments.getOrDefault("jvmArgs", "").trim();
+		StartupBenchmark benchmark = new StartupBenchmark(Arrays.stream(modulePath.split(File.pathSeparator)).map(File::new).collect(Collectors.toList()), Paths.get(arguments.getOrDefault("workDir", "target/benchmark/startup")))
+			.warmupRuns(Integer.parseInt(arguments.getOrDefault("warmup", "1")))
+			.runs(Integer.parseInt(arguments.getOrDefault("runs", "5")))
+			.jvmArgs(jvmArgs.isEmpty() ? List.of() : Arrays.asList(jvmArgs.split("\\s+")))
+			.timeout(Long.parseLong(arguments.getOrDefault("timeout", "60")));
+		
+		for(String beans : arguments.getOrDefault("beans", "10,100,1000,10000").split(",")) {
+			SyntheticModule module = new SyntheticModule("io.winterframework.benchmark.synthetic.startup" + beans.trim())
+				.totalBeans(Integer.parseInt(beans.trim()))
+				.application(true);
+			
+			System.out.print(benchmark.run(module));
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import io.winterframework.benchmark.compiler.SyntheticModule;
+
+/**
+ * <p>
+ * The result of the execution of a {@link StartupBenchmark} on a synthetic
+ * application.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public class StartupBenchmarkResult {
+
+	private final SyntheticModule module;
+	
+	private final List<String> jvmArgs;
+	
+	private final List<Run> runs;
+	
+	/**
+	 * <p>
+	 * Creates a startup benchmark result.
+	 * </p>
+	 * 
+	 * @param module  the synthetic application
+	 * @param jvmArgs the arguments passed to the forked JVMs
+	 * @param runs    the measured runs
+	 */
+	public StartupBenchmarkResult(SyntheticModule module, List<String> jvmArgs, List<Run> runs) {
+		this.module = module;
+		this.jvmArgs = Collections.unmodifiableList(new ArrayList<>(jvmArgs));
+		this.runs = Collections.unmodifiableList(new ArrayList<>(runs));
+	}
+	
+	/**
+	 * <p>
+	 * Returns the synthetic application.
+	 * </p>
+	 * 
+	 * @return the synthetic module
+	 */
+	public SyntheticModule getModule() {
+		return module;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the arguments passed to the forked JVMs.
+	 * </p>
+	 * 
+	 * @return a list of JVM arguments
+	 */
+	public List<String> getJvmArgs() {
+		return jvmArgs;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the measured runs.
+	 * </p>
+	 * 
+	 * @return a list of runs
+	 */
+	public List<Run> getRuns() {
+		return runs;
+	}
+	
+	private long min(ToLongFunction<Run> measure) {
+		return this.runs.stream().mapToLong(measure).min().orElse(-1);
+	}
+	
+	private long median(ToLongFunction<Run> measure) {
+		long[] values = this.runs.stream().mapToLong(measure).sorted().toArray();
+		return values.length > 0 ? values[values.length / 2] : -1;
+	}
+	
+	private long max(ToLongFunction<Run> measure) {
+		return this.runs.stream().mapToLong(measure).max().orElse(-1);
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append(this.module.getName()).append(" (").append(this.module).append(")\n");
+		if(!this.jvmArgs.isEmpty()) {
+			str.append("  jvm args: ").append(String.join(" ", this.jvmArgs)).append("\n");
+		}
+		str.append("  runs: ").append(this.runs.size()).append("\n");
+		str.append("  time to run (ms): min ").append(this.min(Run::getTime) / 1000000).append(", median ").append(this.median(Run::getTime) / 1000000).append(", max ").append(this.max(Run::getTime) / 1000000).append("\n");
+		str.append("  loaded classes: min ").append(this.min(Run::getLoadedClasses)).append(", median ").append(this.median(Run::getLoadedClasses)).append(", max ").append(this.max(Run::getLoadedClasses)).append("\n");
+		str.append("  metaspace (KB): min ").append(this.min(Run::getMetaspace) / 1024).append(", median ").append(this.median(Run::getMetaspace) / 1024).append(", max ").append(this.max(Run::getMetaspace) / 1024).append("\n");
+		str.append("  rss (KB): min ").append(this.min(Run::getRss) / 1024).append(", median ").append(this.median(Run::getRss) / 1024).append(", max ").append(this.max(Run::getRss) / 1024).append("\n");
+		return str.toString();
+	}
+	
+	/**
+	 * <p>
+	 * A measured application run.
+	 * </p>
+	 * 
+	 * <p>
+	 * Measures that could not be obtained from the forked JVM are reported as -1.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 *
+	 */
+	public static class Run {
+		
+		private final long time;
+		
+		private final long loadedClasses;
+		
+		private final long metaspace;
+		
+		private final long rss;
+
+		/**
+		 * <p>
+		 * Creates a run.
+		 * </p>
+		 * 
+		 * @param time          the time elapsed between the launch of the JVM and
+		 *                      the return of {@code Application.run()} in
+		 *                      nanoseconds
+		 * @param loadedClasses the number of classes loaded by the JVM
+		 * @param metaspace     the metaspace used by the JVM in bytes
+		 * @param rss           the resident set size of the JVM in bytes
+		 */
+		public Run(long time, long loadedClasses, long metaspace, long rss) {
+			this.time = time;
+			this.loadedClasses = loadedClasses;
+			this.metaspace = metaspace;
+			this.rss = rss;
+		}
+		
+		/**
+		 * <p>
+		 * Returns the time elapsed between the launch of the JVM and the return of
+		 * {@code Application.run()}.
+		 * </p>
+		 * 
+		 * @return a time in nanoseconds
+		 */
+		public long getTime() {
+			return time;
+		}
+		
+		/**
+		 * <p>
+		 * Returns the number of classes loaded by the JVM once the application is
+		 * started.
+		 * </p>
+		 * 
+		 * @return a number of classes
+		 */
+		public long getLoadedClasses() {
+			return loadedClasses;
+		}
+		
+		/**
+		 * <p>
+		 * Returns the metaspace used by the JVM once the application is started.
+		 * </p>
+		 * 
+		 * @return a size in bytes
+		 */
+		public long getMetaspace() {
+			return metaspace;
+		}
+		
+		/**
+		 * <p>
+		 * Returns the resident set size of the JVM once the application is started.
+		 * </p>
+		 * 
+		 * @return a size in bytes
+		 */
+		public long getRss() {
+			return rss;
+		}
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * <p>
+ * Winter benchmark module.
+ * </p>
+ * 
+ * <p>
+ * This module is also a Winter module providing the fixture beans used by the
+ * runtime benchmarks.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+@io.winterframework.core.annotation.Module(className = "io.winterframework.benchmark.runtime.fixture.BenchmarkModule")
+module io.winterframework.benchmark {
+	requires io.winterframework.core;
+	requires io.winterframework.core.annotation;
+	requires io.winterframework.core.compiler;
+	requires java.compiler;
+	requires java.management;
+	requires jmh.core;
+	
+	exports io.winterframework.benchmark.compiler;
+	exports io.winterframework.benchmark.plugin;
+	exports io.winterframework.benchmark.runtime;
+	exports io.winterframework.benchmark.runtime.fixture;
+	exports io.winterframework.benchmark.startup;
+	
+	provides io.winterframework.core.compiler.spi.plugin.CompilerPlugin with io.winterframework.benchmark.plugin.JmhBenchmarkPlugin;
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.benchmark.compiler;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestCompilerBenchmark {
+
+	private static final Duration COMPILATION_TIMEOUT = Duration.ofMinutes(2);
+	
+	@TempDir
+	public Path workDir;
+	
+	private CompilerBenchmark createBenchmark() {
+		String modulePath = System.getProperty("jdk.module.path", System.getProperty("java.class.path"));
+		return new CompilerBenchmark(Arrays.stream(modulePath.split(File.pathSeparator)).map(File::new).collect(Collectors.toList()), this.workDir)
+			.warmupIterations(0)
+			.iterations(1);
+	}
+	
+	@Test
+	public void testSharedDependencies() {
+		// Every bean depends on the five preceding beans: the number of paths between two beans grows exponentially with their distance
+		SyntheticModule module = new SyntheticModule("io.winterframework.benchmark.synthetic.shared")
+			.beans(200)
+			.dependencies(5)
+			.sockets(5)
+			.componentModules(2);
+		
+		CompilerBenchmarkResult result = Assertions.assertTimeoutPreemptively(COMPILATION_TIMEOUT, () -> this.createBenchmark().procOnly(true).run(module));
+		Assertions.assertEquals(3, result.getGeneratedSourceFiles());
+	}
+	
+	@Test
+	public void testLongChain() {
+		// The compiler must not require a larger stack than the default one on a long chain of beans
+		SyntheticModule module = new SyntheticModule("io.winterframework.benchmark.synthetic.chain")
+			.beans(3000)
+			.sockets(1);
+		
+		CompilerBenchmarkResult result = Assertions.assertTimeoutPreemptively(COMPILATION_TIMEOUT, () -> this.createBenchmark().stackSize(0).procOnly(true).run(module));
+		Assertions.assertEquals(1, result.getGeneratedSourceFiles());
+	}
+}
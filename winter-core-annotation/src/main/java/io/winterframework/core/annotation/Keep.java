@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Used in conjunction with {@link Bean} to indicate that a private bean must be
+ * kept in the module even if it is not reachable from any public bean.
+ * </p>
+ * 
+ * <p>
+ * The Winter compiler can be configured to report or remove private beans which
+ * are not injected, directly or indirectly, in a public bean or in a component
+ * module. This annotation should then be used on beans which are only created
+ * for the side effects of their instantiation.
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ * 
+ * @see Bean
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ ElementType.TYPE })
+public @interface Keep {
+
+}
@@ -47,6 +47,11 @@ import java.lang.annotation.Target;
  * modules it imports otherwise it won't be able to instantiate them. You can
  * use includes and/or excludes values to control that behavior.
  * </p>
+ * <p>
+ * Imported modules are started with the enclosing module unless they are
+ * listed in lazy values in which case they are started when one of their
+ * beans is first requested.
+ * </p>
  * 
  * @author jkuhn
  * @since 1.0
@@ -85,6 +90,19 @@ public @interface Module {
 	 */
 	String[] excludes() default {};
 	
+	/**
+	 * <p>
+	 * List required Winter modules included in the generated module class that
+	 * must be started lazily, when one of their beans is first requested, instead
+	 * of when the enclosing module is started.
+	 * </p>
+	 * 
+	 * @return A list of modules to start lazily
+	 * 
+	 * @since 1.0.2
+	 */
+	String[] lazy() default {};
+	
 	/**
 	 * <p>
 	 * Indicates the package in the module where to place source files generated by
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.compiler;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * A compiler profiler records wall-clock time and allocated bytes of the
+ * different phases of the compilation of a module as well as of the execution
+ * of each compiler plugin.
+ * </p>
+ *
+ * <p>
+ * Profiling is activated with the {@link GenericCompilerOptions#PROFILE}
+ * option, when disabled {@link #start(String, String)} returns a no-op probe
+ * and nothing is recorded.
+ * </p>
+ *
+ * <p>
+ * Measures are inclusive: a phase nested in another phase is also accounted in
+ * the enclosing phase. Allocation is measured for the current thread and is
+ * reported as -1 when the JVM does not support thread allocation accounting.
+ * </p>
+ *
+ * @author jkuhn
+ *
+ */
+public class CompilerProfiler {
+
+	public static final String PHASE_MODULES = "modules";
+	public static final String PHASE_BEANS = "beans";
+	public static final String PHASE_SOCKETS = "sockets";
+	public static final String PHASE_COMPONENT_MODULES = "componentModules";
+	public static final String PHASE_NAME_CONFLICTS = "nameConflicts";
+	public static final String PHASE_SOCKET_RESOLUTION = "socketResolution";
+	public static final String PHASE_CYCLE_DETECTION = "cycleDetection";
+	public static final String PHASE_REACHABILITY = "reachability";
+	public static final String PHASE_BUILD = "build";
+	public static final String PHASE_PLUGINS = "plugins";
+	public static final String PHASE_DESCRIPTOR_GENERATION = "descriptorGeneration";
+	public static final String PHASE_CLASS_LIST_GENERATION = "classListGeneration";
+	public static final String PHASE_SOURCE_GENERATION = "sourceGeneration";
+
+	/**
+	 * <p>
+	 * The path of the profiling report generated for each module.
+	 * </p>
+	 */
+	public static final String PROFILE_RESOURCE = "META-INF/winter/core/profile.yml";
+
+	private static final Probe NOOP_PROBE = () -> {};
+
+	private final boolean enabled;
+
+	private com.sun.management.ThreadMXBean threadMXBean;
+
+	private Map<String, ModuleProfile> moduleProfiles;
+
+	/**
+	 * <p>
+	 * Creates a compiler profiler.
+	 * </p>
+	 *
+	 * @param options the compiler options
+	 */
+	public CompilerProfiler(GenericCompilerOptions options) {
+		this.enabled = options.isProfile();
+		this.moduleProfiles = new HashMap<>();
+		if(this.enabled) {
+			try {
+				if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+					com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+					if(sunThreadMXBean.isThreadAllocatedMemorySupported()) {
+						sunThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+						this.threadMXBean = sunThreadMXBean;
+					}
+				}
+			}
+			catch(Throwable t) {
+				// jdk.management might not be available in the compiler layer, allocation won't be reported
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Determines whether profiling is enabled.
+	 * </p>
+	 *
+	 * @return true if profiling is enabled, false otherwise
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * <p>
+	 * Starts measuring a compilation phase of the specified module.
+	 * </p>
+	 *
+	 * @param module the name of the module
+	 * @param phase  the name of the phase
+	 *
+	 * @return a probe to close at the end of the phase
+	 */
+	public Probe start(String module, String phase) {
+		if(!this.enabled) {
+			return NOOP_PROBE;
+		}
+		return this.start(this.getModuleProfile(module).phases, phase);
+	}
+
+	/**
+	 * <p>
+	 * Starts measuring the execution of a compiler plugin on the specified module.
+	 * </p>
+	 *
+	 * @param module the name of the module
+	 * @param plugin the name of the plugin
+	 *
+	 * @return a probe to close at the end of the plugin execution
+	 */
+	public Probe startPlugin(String module, String plugin) {
+		if(!this.enabled) {
+			return NOOP_PROBE;
+		}
+		return this.start(this.getModuleProfile(module).plugins, plugin);
+	}
+
+	private ModuleProfile getModuleProfile(String module) {
+		ModuleProfile moduleProfile = this.moduleProfiles.get(module);
+		if(moduleProfile == null) {
+			moduleProfile = new ModuleProfile();
+			this.moduleProfiles.put(module, moduleProfile);
+		}
+		return moduleProfile;
+	}
+
+	private Probe start(Map<String, Measure> measures, String name) {
+		long startTime = System.nanoTime();
+		long startAllocation = this.getAllocatedBytes();
+		return () -> {
+			long time = System.nanoTime() - startTime;
+			long allocation = startAllocation >= 0 ? this.getAllocatedBytes() - startAllocation : -1;
+
+			Measure measure = measures.get(name);
+			if(measure == null) {
+				measure = new Measure();
+				measures.put(name, measure);
+			}
+			measure.count++;
+			measure.time += time;
+			measure.allocation = allocation >= 0 && measure.allocation >= 0 ? measure.allocation + allocation : -1;
+		};
+	}
+
+	private long getAllocatedBytes() {
+		if(this.threadMXBean == null) {
+			return -1;
+		}
+		return this.threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * <p>
+	 * Records the heap retained by the compiler once the specified module has
+	 * been generated.
+	 * </p>
+	 *
+	 * <p>
+	 * A full garbage collection is requested before measuring the used heap so
+	 * that garbage left by the compilation is not accounted, this is costly and
+	 * only done when profiling is enabled.
+	 * </p>
+	 *
+	 * @param module the name of the module
+	 */
+	public void recordHeapUsage(String module) {
+		if(this.enabled) {
+			System.gc();
+			this.getModuleProfile(module).heapUsage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Determines whether measures were recorded for the specified module.
+	 * </p>
+	 *
+	 * @param module the name of the module
+	 *
+	 * @return true if the module was profiled, false otherwise
+	 */
+	public boolean hasProfile(String module) {
+		return this.moduleProfiles.containsKey(module);
+	}
+
+	/**
+	 * <p>
+	 * Returns the profiling report of the specified module in YAML format.
+	 * </p>
+	 *
+	 * @param module the name of the module
+	 *
+	 * @return a YAML report
+	 */
+	public String getReport(String module) {
+		ModuleProfile moduleProfile = this.getModuleProfile(module);
+
+		StringBuilder report = new StringBuilder();
+		report.append("module: \"").append(module).append("\"\n");
+		report.append("unit: { time: ns, allocation: bytes, heap: bytes }\n");
+		report.append("heap: ").append(moduleProfile.heapUsage).append("\n");
+		report.append("phases:");
+		report.append(this.reportMeasures(moduleProfile.phases));
+		report.append("plugins:");
+		report.append(this.reportMeasures(moduleProfile.plugins));
+		return report.toString();
+	}
+
+	private String reportMeasures(Map<String, Measure> measures) {
+		if(measures.isEmpty()) {
+			return " {}\n";
+		}
+		return "\n" + measures.entrySet().stream()
+			.map(e -> "  \"" + e.getKey() + "\": { count: " + e.getValue().count + ", time: " + e.getValue().time + ", allocation: " + e.getValue().allocation + " }\n")
+			.collect(Collectors.joining());
+	}
+
+	/**
+	 * <p>
+	 * A probe measuring a phase which is closed when the phase completes.
+	 * </p>
+	 *
+	 * @author jkuhn
+	 *
+	 */
+	@FunctionalInterface
+	public static interface Probe extends AutoCloseable {
+
+		@Override
+		void close();
+	}
+
+	private static class ModuleProfile {
+
+		private Map<String, Measure> phases = new LinkedHashMap<>();
+
+		private Map<String, Measure> plugins = new LinkedHashMap<>();
+
+		private long heapUsage = -1;
+	}
+
+	private static class Measure {
+
+		private int count;
+
+		private long time;
+
+		private long allocation;
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.compiler;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import io.winterframework.core.annotation.Bean;
+import io.winterframework.core.compiler.spi.BeanInfo;
+import io.winterframework.core.compiler.spi.ModuleBeanInfo;
+import io.winterframework.core.compiler.spi.ModuleBeanSocketInfo;
+import io.winterframework.core.compiler.spi.ModuleInfo;
+import io.winterframework.core.compiler.spi.ModuleQualifiedName;
+import io.winterframework.core.compiler.spi.MultiSocketInfo;
+import io.winterframework.core.compiler.spi.NestedBeanInfo;
+import io.winterframework.core.compiler.spi.QualifiedName;
+import io.winterframework.core.compiler.spi.SingleSocketInfo;
+import io.winterframework.core.compiler.spi.SocketInfo;
+
+/**
+ * <p>
+ * Represents the dependencies between the beans and the component modules of a
+ * module.
+ * </p>
+ * 
+ * <p>
+ * A bean or a component module depends on the beans of the module and the
+ * component modules providing the beans injected in its sockets, either
+ * directly or through a nested bean. When a component module is restarted, the
+ * beans and the component modules that transitively depend on it hold
+ * references to stale instances and must be restarted as well.
+ * </p>
+ * 
+ * <p>
+ * Lazy sockets are ignored since they resolve the bean each time they are
+ * accessed, except when they are wired to a singleton bean of the module in
+ * which case the instance is memoized.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+class ComponentModuleGraph {
+
+	private final ModuleQualifiedName moduleQName;
+	
+	private final List<ModuleInfo> modules;
+	
+	private final List<ModuleBeanInfo> beans;
+	
+	private final Set<ModuleQualifiedName> moduleQNames;
+	
+	private final Map<QualifiedName, Set<QualifiedName>> dependents;
+	
+	/**
+	 * <p>
+	 * Creates the component module graph of the specified module.
+	 * </p>
+	 * 
+	 * @param moduleInfo the module
+	 */
+	public ComponentModuleGraph(ModuleInfo moduleInfo) {
+		this.moduleQName = moduleInfo.getQualifiedName();
+		this.modules = Arrays.asList(moduleInfo.getModules());
+		this.beans = Arrays.asList(moduleInfo.getBeans());
+		this.moduleQNames = this.modules.stream().map(ModuleInfo::getQualifiedName).collect(Collectors.toSet());
+		
+		this.dependents = new HashMap<>();
+		for(ModuleBeanInfo beanInfo : this.beans) {
+			for(ModuleBeanSocketInfo socketInfo : beanInfo.getSockets()) {
+				if(!socketInfo.isLazy() || this.isMemoized(socketInfo)) {
+					this.addDependencies(beanInfo.getQualifiedName(), socketInfo);
+				}
+			}
+		}
+		for(ModuleInfo componentModuleInfo : this.modules) {
+			for(SocketInfo socketInfo : componentModuleInfo.getSockets()) {
+				this.addDependencies(componentModuleInfo.getQualifiedName(), socketInfo);
+			}
+		}
+	}
+	
+	private boolean isMemoized(ModuleBeanSocketInfo socketInfo) {
+		if(socketInfo instanceof SingleSocketInfo && socketInfo.isResolved()) {
+			BeanInfo beanInfo = ((SingleSocketInfo)socketInfo).getBean();
+			return beanInfo instanceof ModuleBeanInfo && beanInfo.getQualifiedName().getModuleQName().equals(this.moduleQName) && ((ModuleBeanInfo)beanInfo).getStrategy().equals(Bean.Strategy.SINGLETON);
+		}
+		return false;
+	}
+	
+	private void addDependencies(QualifiedName dependent, SocketInfo socketInfo) {
+		if(!socketInfo.isResolved()) {
+			return;
+		}
+		if(socketInfo instanceof SingleSocketInfo) {
+			this.addDependency(dependent, ((SingleSocketInfo)socketInfo).getBean());
+		}
+		else if(socketInfo instanceof MultiSocketInfo) {
+			for(BeanInfo dependency : ((MultiSocketInfo)socketInfo).getBeans()) {
+				this.addDependency(dependent, dependency);
+			}
+		}
+	}
+	
+	private void addDependency(QualifiedName dependent, BeanInfo dependency) {
+		while(dependency instanceof NestedBeanInfo) {
+			dependency = ((NestedBeanInfo)dependency).getProvidingBean();
+		}
+		if(dependency == null) {
+			return;
+		}
+		QualifiedName dependencyQName;
+		ModuleQualifiedName dependencyModuleQName = dependency.getQualifiedName().getModuleQName();
+		if(dependencyModuleQName.equals(this.moduleQName) && dependency instanceof ModuleBeanInfo) {
+			dependencyQName = dependency.getQualifiedName();
+		}
+		else if(this.moduleQNames.contains(dependencyModuleQName)) {
+			dependencyQName = dependencyModuleQName;
+		}
+		else {
+			// module socket
+			return;
+		}
+		Set<QualifiedName> dependencyDependents = this.dependents.get(dependencyQName);
+		if(dependencyDependents == null) {
+			dependencyDependents = new LinkedHashSet<>();
+			this.dependents.put(dependencyQName, dependencyDependents);
+		}
+		dependencyDependents.add(dependent);
+	}
+	
+	private Set<QualifiedName> getDependents(ModuleInfo componentModuleInfo) {
+		Set<QualifiedName> visited = new HashSet<>();
+		Deque<QualifiedName> queue = new ArrayDeque<>();
+		queue.add(componentModuleInfo.getQualifiedName());
+		while(!queue.isEmpty()) {
+			Set<QualifiedName> currentDependents = this.dependents.get(queue.poll());
+			if(currentDependents != null) {
+				for(QualifiedName dependent : currentDependents) {
+					if(visited.add(dependent)) {
+						queue.add(dependent);
+					}
+				}
+			}
+		}
+		visited.remove(componentModuleInfo.getQualifiedName());
+		return visited;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the component modules that must be restarted when the specified
+	 * component module is restarted.
+	 * </p>
+	 * 
+	 * @param componentModuleInfo a component module of the module
+	 * 
+	 * @return a list of component modules in the order they are defined in the
+	 *         module
+	 */
+	public List<ModuleInfo> getDependentModules(ModuleInfo componentModuleInfo) {
+		Set<QualifiedName> dependents = this.getDependents(componentModuleInfo);
+		return this.modules.stream().filter(moduleInfo -> dependents.contains(moduleInfo.getQualifiedName())).collect(Collectors.toList());
+	}
+	
+	/**
+	 * <p>
+	 * Returns the beans of the module that must be re-created when the specified
+	 * component module is restarted.
+	 * </p>
+	 * 
+	 * @param componentModuleInfo a component module of the module
+	 * 
+	 * @return a list of beans in the order they are defined in the module
+	 */
+	public List<ModuleBeanInfo> getDependentBeans(ModuleInfo componentModuleInfo) {
+		Set<QualifiedName> dependents = this.getDependents(componentModuleInfo);
+		return this.beans.stream().filter(beanInfo -> dependents.contains(beanInfo.getQualifiedName())).collect(Collectors.toList());
+	}
+}
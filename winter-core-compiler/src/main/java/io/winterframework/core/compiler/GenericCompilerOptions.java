@@ -15,9 +15,16 @@
  */
 package io.winterframework.core.compiler;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic.Kind;
 
 import io.winterframework.core.compiler.spi.CompilerOptions;
 
@@ -30,6 +37,37 @@ public class GenericCompilerOptions implements CompilerOptions {
 	public static final String DEBUG = "winter.debug";
 	public static final String VERBOSE = "winter.verbose";
 	public static final String GENERATE_DESCRIPTOR = "winter.generateDescriptor";
+	public static final String PROFILE = "winter.profile";
+	public static final String UNREACHABLE_BEANS = "winter.unreachableBeans";
+	public static final String INSTRUMENT = "winter.instrument";
+	public static final String CLASS_LIST = "winter.classList";
+	public static final String LAZY_MODULES = "winter.lazyModules";
+	public static final String BULK_ACCESSORS = "winter.bulkAccessors";
+	public static final String BEAN_REGISTRY = "winter.beanRegistry";
+	public static final String PLUGIN_CACHE = "winter.pluginCache";
+	
+	/**
+	 * <p>
+	 * Indicates how unreachable private beans must be handled by the compiler.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 *
+	 */
+	public static enum UnreachableBeansPolicy {
+		/**
+		 * Unreachable beans are generated without notice.
+		 */
+		IGNORE,
+		/**
+		 * A warning is reported on unreachable beans which are still generated.
+		 */
+		WARN,
+		/**
+		 * A warning is reported on unreachable beans which are removed from the generated module.
+		 */
+		DROP;
+	}
 	
 	private Predicate<String> nameFilter;
 	private Map<String, String> processingEnvOptions;
@@ -37,13 +75,39 @@ public class GenericCompilerOptions implements CompilerOptions {
 	private boolean debug;
 	private boolean verbose;
 	private boolean generateModuleDescriptor;
+	private boolean profile;
+	private boolean instrument;
+	private boolean classList;
+	private boolean lazyModules;
+	private boolean bulkAccessors;
+	private boolean beanRegistry;
+	private Path pluginCache;
+	private UnreachableBeansPolicy unreachableBeans;
 	
-	public GenericCompilerOptions(Map<String, String> processingEnvOptions) {
+	public GenericCompilerOptions(Map<String, String> processingEnvOptions, Messager messager) {
 		this.processingEnvOptions = processingEnvOptions;
 		this.nameFilter = name -> true;
 		this.debug = processingEnvOptions.containsKey(DEBUG) && (processingEnvOptions.get(DEBUG) == null || Boolean.valueOf(processingEnvOptions.get(DEBUG)));
 		this.verbose = processingEnvOptions.containsKey(VERBOSE) && (processingEnvOptions.get(VERBOSE) == null || Boolean.valueOf(processingEnvOptions.get(VERBOSE)));
 		this.generateModuleDescriptor = processingEnvOptions.containsKey(GENERATE_DESCRIPTOR) && (processingEnvOptions.get(GENERATE_DESCRIPTOR) == null || Boolean.valueOf(processingEnvOptions.get(GENERATE_DESCRIPTOR)));
+		this.profile = processingEnvOptions.containsKey(PROFILE) && (processingEnvOptions.get(PROFILE) == null || Boolean.valueOf(processingEnvOptions.get(PROFILE)));
+		this.instrument = processingEnvOptions.containsKey(INSTRUMENT) && (processingEnvOptions.get(INSTRUMENT) == null || Boolean.valueOf(processingEnvOptions.get(INSTRUMENT)));
+		this.classList = processingEnvOptions.containsKey(CLASS_LIST) && (processingEnvOptions.get(CLASS_LIST) == null || Boolean.valueOf(processingEnvOptions.get(CLASS_LIST)));
+		this.lazyModules = processingEnvOptions.containsKey(LAZY_MODULES) && (processingEnvOptions.get(LAZY_MODULES) == null || Boolean.valueOf(processingEnvOptions.get(LAZY_MODULES)));
+		this.bulkAccessors = processingEnvOptions.containsKey(BULK_ACCESSORS) && (processingEnvOptions.get(BULK_ACCESSORS) == null || Boolean.valueOf(processingEnvOptions.get(BULK_ACCESSORS)));
+		this.beanRegistry = processingEnvOptions.containsKey(BEAN_REGISTRY) && (processingEnvOptions.get(BEAN_REGISTRY) == null || Boolean.valueOf(processingEnvOptions.get(BEAN_REGISTRY)));
+		if(processingEnvOptions.get(PLUGIN_CACHE) != null && !processingEnvOptions.get(PLUGIN_CACHE).isBlank()) {
+			this.pluginCache = Paths.get(processingEnvOptions.get(PLUGIN_CACHE).trim());
+		}
+		this.unreachableBeans = UnreachableBeansPolicy.IGNORE;
+		if(processingEnvOptions.get(UNREACHABLE_BEANS) != null) {
+			try {
+				this.unreachableBeans = UnreachableBeansPolicy.valueOf(processingEnvOptions.get(UNREACHABLE_BEANS).toUpperCase());
+			}
+			catch(IllegalArgumentException e) {
+				messager.printMessage(Kind.WARNING, "Invalid value for option " + UNREACHABLE_BEANS + ": " + processingEnvOptions.get(UNREACHABLE_BEANS) + ", expected one of " + Arrays.stream(UnreachableBeansPolicy.values()).map(policy -> policy.toString().toLowerCase()).collect(Collectors.joining(", ")) + " (unreachable beans are ignored)");
+			}
+		}
 	}
 	
 	private GenericCompilerOptions(GenericCompilerOptions parentOptions, Predicate<String> nameFilter) {
@@ -52,6 +116,14 @@ public class GenericCompilerOptions implements CompilerOptions {
 		this.debug = parentOptions.debug;
 		this.verbose = parentOptions.verbose;
 		this.generateModuleDescriptor = parentOptions.generateModuleDescriptor;
+		this.profile = parentOptions.profile;
+		this.instrument = parentOptions.instrument;
+		this.classList = parentOptions.classList;
+		this.lazyModules = parentOptions.lazyModules;
+		this.bulkAccessors = parentOptions.bulkAccessors;
+		this.beanRegistry = parentOptions.beanRegistry;
+		this.pluginCache = parentOptions.pluginCache;
+		this.unreachableBeans = parentOptions.unreachableBeans;
 	}
 	
 	public GenericCompilerOptions withFilter(Predicate<String> namefilter) {
@@ -69,6 +141,38 @@ public class GenericCompilerOptions implements CompilerOptions {
 	public boolean isGenerateModuleDescriptor() {
 		return generateModuleDescriptor;
 	}
+	
+	public boolean isProfile() {
+		return profile;
+	}
+	
+	public boolean isInstrument() {
+		return instrument;
+	}
+	
+	public boolean isClassList() {
+		return classList;
+	}
+	
+	public boolean isLazyModules() {
+		return lazyModules;
+	}
+	
+	public boolean isBulkAccessors() {
+		return bulkAccessors;
+	}
+	
+	public boolean isBeanRegistry() {
+		return beanRegistry;
+	}
+	
+	public Optional<Path> getPluginCache() {
+		return Optional.ofNullable(pluginCache);
+	}
+	
+	public UnreachableBeansPolicy getUnreachableBeans() {
+		return unreachableBeans;
+	}
 
 	@Override
 	public boolean containsOption(String name) {
@@ -15,6 +15,7 @@
  */
 package io.winterframework.core.compiler;
 
+import java.util.Set;
 import java.util.function.Supplier;
 
 import javax.lang.model.element.TypeElement;
@@ -57,12 +58,32 @@ class ModuleClassGenerationContext extends AbstractSourceGenerationContext<Modul
 	
 	private TypeMirror supplierType = this.typeUtils.erasure(this.elementUtils.getTypeElement(Supplier.class.getCanonicalName()).asType());
 	
+	private boolean instrument;
+	
+	private Set<String> lazyModules;
+	
+	private boolean bulkAccessors;
+	
+	private boolean beanRegistry;
+	
 	public ModuleClassGenerationContext(Types typeUtils, Elements elementUtils, GenerationMode mode) {
+		this(typeUtils, elementUtils, mode, false, Set.of(), false, false);
+	}
+	
+	public ModuleClassGenerationContext(Types typeUtils, Elements elementUtils, GenerationMode mode, boolean instrument, Set<String> lazyModules, boolean bulkAccessors, boolean beanRegistry) {
 		super(typeUtils, elementUtils, mode);
+		this.instrument = instrument;
+		this.lazyModules = lazyModules;
+		this.bulkAccessors = bulkAccessors;
+		this.beanRegistry = beanRegistry;
 	}
 	
 	private ModuleClassGenerationContext(ModuleClassGenerationContext parentGeneration) {
 		super(parentGeneration);
+		this.instrument = parentGeneration.instrument;
+		this.lazyModules = parentGeneration.lazyModules;
+		this.bulkAccessors = parentGeneration.bulkAccessors;
+		this.beanRegistry = parentGeneration.beanRegistry;
 	}
 	
 	@Override
@@ -86,6 +107,57 @@ class ModuleClassGenerationContext extends AbstractSourceGenerationContext<Modul
 		return context;
 	}
 	
+	/**
+	 * <p>
+	 * Determines whether an instrumented module class collecting bean statistics
+	 * must be generated.
+	 * </p>
+	 * 
+	 * @return true to generate an instrumented module class, false otherwise
+	 */
+	public boolean isInstrument() {
+		return this.instrument;
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether the specified component module must be activated lazily,
+	 * when one of its beans is first requested, instead of when the enclosing
+	 * module is started.
+	 * </p>
+	 * 
+	 * @param moduleQualifiedName the qualified name of a component module
+	 * 
+	 * @return true if the component module must be activated lazily, false otherwise
+	 */
+	public boolean isLazyModule(ModuleQualifiedName moduleQualifiedName) {
+		return this.lazyModules.contains(moduleQualifiedName.getValue());
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether bulk accessors must be generated for public prototype
+	 * beans.
+	 * </p>
+	 * 
+	 * @return true to generate bulk accessors, false otherwise
+	 */
+	public boolean isBulkAccessors() {
+		return this.bulkAccessors;
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether the static bean registry and the index-based bean
+	 * accessor must be generated.
+	 * </p>
+	 * 
+	 * @return true to generate the bean registry, false otherwise
+	 */
+	public boolean isBeanRegistry() {
+		return this.beanRegistry;
+	}
+	
 	public String getMultiTypeName(TypeMirror type, MultiSocketType multiType) {
 		if(multiType.equals(MultiSocketType.ARRAY)) {
 			return this.getTypeName(this.getTypeUtils().getArrayType(type));
@@ -16,13 +16,20 @@
 package io.winterframework.core.compiler;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.WildcardType;
@@ -65,7 +72,17 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 	private static final String WINTER_CORE_MODULE_WRAPPERBEANBUILDER_CLASS = WINTER_CORE_PACKAGE + ".Module.WrapperBeanBuilder";
 	private static final String WINTER_CORE_MODULE_MODULEBEANBUILDER_CLASS = WINTER_CORE_PACKAGE + ".Module.ModuleBeanBuilder";
 	private static final String WINTER_CORE_MODULE_BEANAGGREGATOR_CLASS = WINTER_CORE_PACKAGE + ".Module.BeanAggregator";
+	private static final String WINTER_CORE_MODULE_MEMOIZEDSUPPLIER_CLASS = WINTER_CORE_PACKAGE + ".Module.MemoizedSupplier";
 	private static final String WINTER_CORE_MODULE_SOCKET_ANNOTATION = WINTER_CORE_PACKAGE + ".Module.Socket";
+	private static final String WINTER_CORE_BEANSTATS_CLASS = WINTER_CORE_PACKAGE + ".BeanStats";
+	private static final String WINTER_CORE_BEANREGISTRY_CLASS = WINTER_CORE_PACKAGE + ".BeanRegistry";
+	
+	private static final String BEAN_REGISTRY_FIELD = "BEAN_REGISTRY";
+	
+	private static final String BEAN_STATS_SUFFIX = "_stats";
+	private static final String BEAN_START_TIME_SUFFIX = "_t0";
+	private static final String BEAN_INITS_SUFFIX = "_inits";
+	private static final String BEAN_DESTROYS_SUFFIX = "_destroys";
 	
 	@Override
 	public StringBuilder visit(ModuleInfo moduleInfo, ModuleClassGenerationContext context) {
@@ -105,6 +122,69 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 				.map(moduleBeanInfo -> this.visit(moduleBeanInfo, context.withModule(moduleInfo.getQualifiedName()).withMode(GenerationMode.BEAN_ACCESSOR)))
 				.collect(context.joining("\n"));
 			
+			// Operations are visited after the beans so that they don't change how bean type names are imported
+			StringBuilder module_field_bean_operations = new StringBuilder();
+			if(!context.isInstrument()) {
+				// Instrumented operations record bean stats and therefore can't be shared by module instances
+				module_field_bean_operations = Arrays.stream(moduleInfo.getBeans())
+					.map(moduleBeanInfo -> this.visitBeanOperations(moduleBeanInfo, context))
+					.filter(operations -> operations.length() > 0)
+					.collect(context.joining("\n"));
+			}
+			
+			StringBuilder module_field_bean_stats = new StringBuilder();
+			StringBuilder module_method_bean_stats = new StringBuilder();
+			if(context.isInstrument()) {
+				// Stats are declared in startup order so that they can reference the stats of the bean dependencies
+				ModuleStartupGraph startupGraph = new ModuleStartupGraph(moduleInfo);
+				String beanStatsType = context.getTypeName(WINTER_CORE_BEANSTATS_CLASS);
+				module_field_bean_stats = startupGraph.getBeans().stream()
+					.map(moduleBeanInfo -> {
+						StringBuilder beanStatsField = new StringBuilder().append(context.indent(1)).append("private final ").append(beanStatsType).append(" ").append(moduleBeanInfo.getQualifiedName().normalize()).append(BEAN_STATS_SUFFIX).append(" = new ").append(beanStatsType).append("(\"").append(moduleBeanInfo.getQualifiedName().getSimpleValue()).append("\"");
+						for(ModuleBeanInfo dependency : startupGraph.getDependencies(moduleBeanInfo)) {
+							beanStatsField.append(", this.").append(dependency.getQualifiedName().normalize()).append(BEAN_STATS_SUFFIX);
+						}
+						return beanStatsField.append(");");
+					})
+					.collect(context.joining("\n"));
+				
+				module_method_bean_stats.append(context.indent(1)).append("@Override\n");
+				module_method_bean_stats.append(context.indent(1)).append("public ").append(context.getTypeName(List.class.getCanonicalName())).append("<").append(context.getTypeName(WINTER_CORE_BEANSTATS_CLASS)).append("> getBeanStats() {\n");
+				module_method_bean_stats.append(context.indent(2)).append("return ").append(context.getTypeName(List.class.getCanonicalName())).append(".of(");
+				module_method_bean_stats.append(Arrays.stream(moduleInfo.getBeans()).map(moduleBeanInfo -> new StringBuilder().append("this.").append(moduleBeanInfo.getQualifiedName().normalize()).append(BEAN_STATS_SUFFIX)).collect(context.joining(", ")));
+				module_method_bean_stats.append(");\n");
+				module_method_bean_stats.append(context.indent(1)).append("}\n");
+			}
+			
+			StringBuilder module_field_bean_registry = new StringBuilder();
+			StringBuilder module_method_bean_registry = new StringBuilder();
+			if(context.isBeanRegistry() && moduleInfo.getBeans().length > 0) {
+				module_field_bean_registry = this.visitBeanRegistry(moduleInfo, context);
+				
+				module_method_bean_registry.append(context.indent(1)).append("@Override\n");
+				module_method_bean_registry.append(context.indent(1)).append("public ").append(context.getTypeName(WINTER_CORE_BEANREGISTRY_CLASS)).append(" getBeanRegistry() {\n");
+				module_method_bean_registry.append(context.indent(2)).append("return ").append(BEAN_REGISTRY_FIELD).append(";\n");
+				module_method_bean_registry.append(context.indent(1)).append("}\n\n");
+				module_method_bean_registry.append(context.indent(1)).append("@Override\n");
+				module_method_bean_registry.append(context.indent(1)).append("protected Object getBean(int index) {\n");
+				module_method_bean_registry.append(context.indent(2)).append("switch(index) {\n");
+				// Private beans are registered but can't be retrieved by index
+				ModuleBeanInfo[] beans = moduleInfo.getBeans();
+				for(int i=0;i<beans.length;i++) {
+					if(beans[i].getVisibility().equals(Bean.Visibility.PUBLIC)) {
+						module_method_bean_registry.append(context.indent(3)).append("case ").append(i).append(": return this.").append(beans[i].getQualifiedName().normalize()).append("();\n");
+					}
+				}
+				module_method_bean_registry.append(context.indent(3)).append("default: throw new IndexOutOfBoundsException(index);\n");
+				module_method_bean_registry.append(context.indent(2)).append("}\n");
+				module_method_bean_registry.append(context.indent(1)).append("}\n");
+			}
+			
+			StringBuilder module_method_dependents = new StringBuilder();
+			if(moduleInfo.getModules().length > 0) {
+				module_method_dependents = this.visitDependents(moduleInfo, context);
+			}
+			
 			StringBuilder module_builder = this.visit(moduleInfo, context.withModule(moduleInfo.getQualifiedName()).withMode(GenerationMode.MODULE_BUILDER_CLASS));
 			StringBuilder module_linker = this.visit(moduleInfo, context.withModule(moduleInfo.getQualifiedName()).withMode(GenerationMode.MODULE_LINKER_CLASS));
 			
@@ -122,6 +202,7 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 			context.removeImport("WrapperBeanBuilder");
 			context.removeImport("ModuleBeanBuilder");
 			context.removeImport("BeanAggregator");
+			context.removeImport("MemoizedSupplier");
 			context.removeImport("Socket");
 			
 			context.getTypeName(generatedType);
@@ -132,12 +213,21 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 			moduleClass.append("@").append(context.getTypeName(generatedType)).append("(value= {\"").append(WinterCompiler.class.getCanonicalName()).append("\", \"").append(moduleInfo.getVersion()).append("\"}, date = \"").append(ZonedDateTime.now().toString() +"\")\n");
 			moduleClass.append("public final class ").append(className).append(" extends ").append(context.getTypeName(moduleType)).append(" {").append("\n\n");
 
+			if(module_field_bean_registry.length() > 0) {
+				moduleClass.append(module_field_bean_registry).append("\n\n");
+			}
+			if(module_field_bean_operations.length() > 0) {
+				moduleClass.append(module_field_bean_operations).append("\n\n");
+			}
 			if(module_field_modules.length() > 0) {
 				moduleClass.append(module_field_modules).append("\n\n");
 			}
 			if(module_field_beans.length() > 0) {
 				moduleClass.append(module_field_beans).append("\n\n");
 			}
+			if(module_field_bean_stats.length() > 0) {
+				moduleClass.append(module_field_bean_stats).append("\n\n");
+			}
 			
 			moduleClass.append(context.indent(1)).append("private ").append(className).append("(").append(module_constructor_parameters).append(") {\n");
 			moduleClass.append(context.indent(2)).append("super(\"").append(moduleInfo.getQualifiedName().getValue()).append("\");\n");
@@ -154,6 +244,15 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 			if(module_method_beans.length() > 0) {
 				moduleClass.append("\n").append(module_method_beans).append("\n");
 			}
+			if(module_method_bean_stats.length() > 0) {
+				moduleClass.append("\n").append(module_method_bean_stats).append("\n");
+			}
+			if(module_method_bean_registry.length() > 0) {
+				moduleClass.append("\n").append(module_method_bean_registry).append("\n");
+			}
+			if(module_method_dependents.length() > 0) {
+				moduleClass.append("\n").append(module_method_dependents).append("\n");
+			}
 			
 			moduleClass.append(module_builder).append("\n\n");
 			moduleClass.append(module_linker);
@@ -250,7 +349,7 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 			linkerClass.append(context.indent(2)).append("}\n\n");
 
 			
-			linkerClass.append(context.indent(2)).append("@SuppressWarnings(\"unchecked\")\n");
+			linkerClass.append(context.indent(2)).append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
 			linkerClass.append(context.indent(2)).append("protected ").append(className).append(" link() {\n");
 			linkerClass.append(context.indent(3)).append("return new ").append(className).append("(\n");
 			linkerClass.append(linker_module_args).append("\n");
@@ -284,7 +383,11 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 			else {
 				moduleNew.append(context.getTypeName(mapType)).append(".of()");
 			}
-			moduleNew.append("));");
+			moduleNew.append(")");
+			if(context.isLazyModule(moduleInfo.getQualifiedName())) {
+				moduleNew.append(", true");
+			}
+			moduleNew.append(");");
 			
 			return moduleNew;
 		}
@@ -312,10 +415,9 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 	@Override
 	public StringBuilder visit(NestedBeanInfo nestedBeanInfo, ModuleClassGenerationContext context) {
 		if(context.getMode() == GenerationMode.BEAN_REFERENCE) {
-			TypeMirror optionalType = context.getTypeUtils().erasure(context.getElementUtils().getTypeElement(Optional.class.getCanonicalName()).asType());
-			TypeMirror npeType = context.getElementUtils().getTypeElement(NullPointerException.class.getCanonicalName()).asType();
+			TypeMirror objectsType = context.getElementUtils().getTypeElement(Objects.class.getCanonicalName()).asType();
 			
-			return new StringBuilder().append(context.getTypeName(optionalType)).append(".ofNullable(").append(this.visit(nestedBeanInfo.getProvidingBean(), context)).append(".").append(nestedBeanInfo.getName()).append("()).orElseThrow(() -> new ").append(context.getTypeName(npeType)).append("(\"").append(nestedBeanInfo.getQualifiedName().getSimpleValue()).append("\"))");
+			return new StringBuilder().append(context.getTypeName(objectsType)).append(".requireNonNull(").append(this.visit(nestedBeanInfo.getProvidingBean(), context)).append(".").append(nestedBeanInfo.getName()).append("(), \"").append(nestedBeanInfo.getQualifiedName().getSimpleValue()).append("\")");
 		}
 		return new StringBuilder();
 	}
@@ -330,9 +432,28 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 			StringBuilder beanAccessor = new StringBuilder();
 			TypeMirror type = moduleBeanInfo.getProvidedType() != null ? moduleBeanInfo.getProvidedType() : moduleBeanInfo.getType(); 
 			beanAccessor.append(context.indent(1)).append(moduleBeanInfo.getVisibility().equals(Bean.Visibility.PUBLIC) ? "public " : "private ").append(context.getTypeName(type)).append(" ").append(moduleBeanInfo.getQualifiedName().normalize()).append("() {\n");
+			if(context.isInstrument()) {
+				beanAccessor.append(context.indent(2)).append("this.").append(moduleBeanInfo.getQualifiedName().normalize()).append(BEAN_STATS_SUFFIX).append(".recordAccess();\n");
+			}
 			beanAccessor.append(context.indent(2)).append("return this.").append(moduleBeanInfo.getQualifiedName().normalize()).append(".get()").append(";\n");
 			beanAccessor.append(context.indent(1)).append("}\n");
 			
+			// Bulk accessors can't be generated for parameterized types since generic arrays can't be created
+			if(context.isBulkAccessors() && moduleBeanInfo.getVisibility().equals(Bean.Visibility.PUBLIC) && moduleBeanInfo.getStrategy().equals(Bean.Strategy.PROTOTYPE) && context.getTypeUtils().isSameType(type, context.getTypeUtils().erasure(type))) {
+				String arrayTypeName = context.getTypeName(type) + "[]";
+				
+				beanAccessor.append("\n").append(context.indent(1)).append("public ").append(arrayTypeName).append(" ").append(moduleBeanInfo.getQualifiedName().normalize()).append("(int count) {\n");
+				beanAccessor.append(context.indent(2)).append("return this.").append(moduleBeanInfo.getQualifiedName().normalize()).append("(new ").append(context.getTypeName(type)).append("[count]);\n");
+				beanAccessor.append(context.indent(1)).append("}\n");
+				
+				beanAccessor.append("\n").append(context.indent(1)).append("public ").append(arrayTypeName).append(" ").append(moduleBeanInfo.getQualifiedName().normalize()).append("(").append(arrayTypeName).append(" instances) {\n");
+				if(context.isInstrument()) {
+					beanAccessor.append(context.indent(2)).append("this.").append(moduleBeanInfo.getQualifiedName().normalize()).append(BEAN_STATS_SUFFIX).append(".recordAccess();\n");
+				}
+				beanAccessor.append(context.indent(2)).append("return this.").append(moduleBeanInfo.getQualifiedName().normalize()).append(".get(instances)").append(";\n");
+				beanAccessor.append(context.indent(1)).append("}\n");
+			}
+			
 			return beanAccessor;
 		}
 		else if(context.getMode() == GenerationMode.BEAN_NEW) {
@@ -373,7 +494,13 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 					throw new IllegalArgumentException("Unkown bean strategy: " + moduleBeanInfo.getStrategy());
 				}
 				
-				beanNew.append(context.indent(4)).append(context.getTypeName(beanType)).append(" ").append(variable).append(" = new ").append(context.getTypeName(beanType)).append("(");
+				// Instrumented creations are ended in a finally block so that a failed creation doesn't leave a stale frame in the current thread
+				int depth = context.isInstrument() ? 5 : 4;
+				if(context.isInstrument()) {
+					beanNew.append(context.indent(4)).append("long ").append(variable).append(BEAN_START_TIME_SUFFIX).append(" = this.").append(variable).append(BEAN_STATS_SUFFIX).append(".startCreation();\n");
+					beanNew.append(context.indent(4)).append("try {\n");
+				}
+				beanNew.append(context.indent(depth)).append(context.getTypeName(beanType)).append(" ").append(variable).append(" = new ").append(context.getTypeName(beanType)).append("(");
 				if(moduleBeanInfo.getRequiredSockets().length > 0) {
 					beanNew.append("\n");
 					beanNew.append(Arrays.stream(moduleBeanInfo.getRequiredSockets())
@@ -386,9 +513,9 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 								return orderedDependencyNames.indexOf(s1.getQualifiedName().getSimpleValue()) - orderedDependencyNames.indexOf(s2.getQualifiedName().getSimpleValue());
 							}
 						})
-						.map(socketInfo -> new StringBuilder().append(context.indent(5)).append((socketInfo.isLazy() ? "() -> " : "")).append(this.visit(socketInfo, context.withMode(GenerationMode.BEAN_REFERENCE).withIndentDepth(5))))
+						.map(socketInfo -> new StringBuilder().append(context.indent(depth + 1)).append(this.visitSocketReference(socketInfo, context.withIndentDepth(depth + 1))))
 						.collect(context.joining(", \n")));
-					beanNew.append("\n").append(context.indent(4)).append(");\n");
+					beanNew.append("\n").append(context.indent(depth)).append(");\n");
 				}
 				else {
 					beanNew.append(");\n");
@@ -396,22 +523,38 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 				// TODO: optionalSocket.ifPresent(bean::setXxx)
 				beanNew.append(Arrays.stream(moduleBeanInfo.getOptionalSockets())
 					.filter(socketInfo -> socketInfo.isResolved())
-					.map(socketInfo -> new StringBuilder().append(context.indent(4)).append(variable).append(".").append(socketInfo.getSocketElement().get().getSimpleName().toString()).append("(").append((socketInfo.isLazy() ? "() -> " : "")).append(this.visit(socketInfo, context.withMode(GenerationMode.BEAN_REFERENCE).withIndentDepth(4))).append(");"))
+					.map(socketInfo -> new StringBuilder().append(context.indent(depth)).append(variable).append(".").append(socketInfo.getSocketElement().get().getSimpleName().toString()).append("(").append(this.visitSocketReference(socketInfo, context.withIndentDepth(depth))).append(");"))
 					.collect(context.joining("\n"))).append("\n");
 	
-				beanNew.append(context.indent(4)).append("return ").append(variable).append(";\n");
+				if(context.isInstrument()) {
+					beanNew.append(context.indent(5)).append("this.").append(variable).append(BEAN_STATS_SUFFIX).append(".recordCreation(System.nanoTime() - ").append(variable).append(BEAN_START_TIME_SUFFIX).append(");\n");
+					beanNew.append(context.indent(5)).append("return ").append(variable).append(";\n");
+					beanNew.append(context.indent(4)).append("}\n");
+					beanNew.append(context.indent(4)).append("finally {\n");
+					beanNew.append(context.indent(5)).append("this.").append(variable).append(BEAN_STATS_SUFFIX).append(".endCreation();\n");
+					beanNew.append(context.indent(4)).append("}\n");
+				}
+				else {
+					beanNew.append(context.indent(4)).append("return ").append(variable).append(";\n");
+				}
 				beanNew.append(context.indent(3)).append("})\n");
 	
 				if(moduleBeanInfo.getInitElements().length > 0) {
-					beanNew.append(Arrays.stream(moduleBeanInfo.getInitElements())
-						.map(element -> new StringBuilder().append(context.indent(3)).append(".init(").append(context.getTypeName(beanType)).append("::").append(element.getSimpleName().toString()).append(")"))
-						.collect(context.joining("\n"))).append("\n");
+					if(context.isInstrument()) {
+						beanNew.append(this.visitInstrumentedLifecycle(variable, moduleBeanInfo.getInitElements(), "init", "recordInit", context));
+					}
+					else {
+						beanNew.append(context.indent(3)).append(".inits(").append(variable).append(BEAN_INITS_SUFFIX).append(")\n");
+					}
 				}
 					
 				if(moduleBeanInfo.getDestroyElements().length > 0) {
-					beanNew.append(Arrays.stream(moduleBeanInfo.getDestroyElements())
-						.map(element -> new StringBuilder().append(context.indent(3)).append(".destroy(").append(context.getTypeName(beanType)).append("::").append(element.getSimpleName().toString()).append(")"))
-						.collect(context.joining("\n"))).append("\n");
+					if(context.isInstrument()) {
+						beanNew.append(this.visitInstrumentedLifecycle(variable, moduleBeanInfo.getDestroyElements(), "destroy", "recordDestruction", context));
+					}
+					else {
+						beanNew.append(context.indent(3)).append(".destroys(").append(variable).append(BEAN_DESTROYS_SUFFIX).append(")\n");
+					}
 				}	
 	
 				beanNew.append(context.indent(2)).append(");");
@@ -430,6 +573,262 @@ class ModuleClassGenerator implements ModuleInfoVisitor<StringBuilder, ModuleCla
 		}
 		return new StringBuilder();
 	}
+	
+	/**
+	 * <p>
+	 * Generates the reference injected in a bean socket.
+	 * </p>
+	 * 
+	 * <p>
+	 * A lazy socket wired to a singleton bean of the module is resolved with a
+	 * memoized supplier which only goes through the bean lifecycle on first
+	 * access, other lazy sockets are resolved with a supplier invoking the bean
+	 * reference on each access.
+	 * </p>
+	 * 
+	 * @param socketInfo the bean socket
+	 * @param context    the generation context
+	 * 
+	 * @return a bean reference
+	 */
+	private StringBuilder visitSocketReference(ModuleBeanSocketInfo socketInfo, ModuleClassGenerationContext context) {
+		if(!socketInfo.isLazy()) {
+			return this.visit(socketInfo, context.withMode(GenerationMode.BEAN_REFERENCE));
+		}
+		if(socketInfo instanceof SingleSocketInfo && socketInfo.isResolved()) {
+			BeanInfo beanInfo = ((SingleSocketInfo)socketInfo).getBean();
+			if(beanInfo instanceof ModuleBeanInfo && beanInfo.getQualifiedName().getModuleQName().equals(context.getModule()) && ((ModuleBeanInfo)beanInfo).getStrategy().equals(Bean.Strategy.SINGLETON)) {
+				TypeMirror memoizedSupplierType = context.getTypeUtils().erasure(context.getElementUtils().getTypeElement(WINTER_CORE_MODULE_MEMOIZEDSUPPLIER_CLASS).asType());
+				return new StringBuilder().append("new ").append(context.getTypeName(memoizedSupplierType)).append("<>(this.").append(beanInfo.getQualifiedName().normalize()).append(")");
+			}
+		}
+		return new StringBuilder().append("() -> ").append(this.visit(socketInfo, context.withMode(GenerationMode.BEAN_REFERENCE)));
+	}
+	
+	/**
+	 * <p>
+	 * Generates the methods returning the component modules and the beans of the
+	 * module to restart with each component module.
+	 * </p>
+	 * 
+	 * @param moduleInfo the module
+	 * @param context    the generation context
+	 * 
+	 * @return the dependents methods
+	 */
+	private StringBuilder visitDependents(ModuleInfo moduleInfo, ModuleClassGenerationContext context) {
+		ComponentModuleGraph componentModuleGraph = new ComponentModuleGraph(moduleInfo);
+		String listType = context.getTypeName(List.class.getCanonicalName());
+		String moduleType = context.getTypeName(WINTER_CORE_MODULE_CLASS);
+		
+		StringBuilder dependentModules = new StringBuilder();
+		StringBuilder dependentBeans = new StringBuilder();
+		List<ModuleInfo> exposingModules = new ArrayList<>();
+		for(ModuleInfo componentModuleInfo : moduleInfo.getModules()) {
+			List<ModuleInfo> componentModuleDependentModules = componentModuleGraph.getDependentModules(componentModuleInfo);
+			if(!componentModuleDependentModules.isEmpty()) {
+				dependentModules.append(context.indent(2)).append("if(module == this.").append(componentModuleInfo.getQualifiedName().normalize()).append(") {\n");
+				dependentModules.append(context.indent(3)).append("return ").append(listType).append(".of(").append(componentModuleDependentModules.stream().map(dependentModuleInfo -> new StringBuilder().append("this.").append(dependentModuleInfo.getQualifiedName().normalize())).collect(context.joining(", "))).append(");\n");
+				dependentModules.append(context.indent(2)).append("}\n");
+			}
+			List<ModuleBeanInfo> componentModuleDependentBeans = componentModuleGraph.getDependentBeans(componentModuleInfo);
+			if(!componentModuleDependentBeans.isEmpty()) {
+				dependentBeans.append(context.indent(2)).append("if(module == this.").append(componentModuleInfo.getQualifiedName().normalize()).append(") {\n");
+				dependentBeans.append(context.indent(3)).append("return ").append(listType).append(".of(").append(componentModuleDependentBeans.stream().map(dependentBeanInfo -> new StringBuilder().append("this.").append(dependentBeanInfo.getQualifiedName().normalize())).collect(context.joining(", "))).append(");\n");
+				dependentBeans.append(context.indent(2)).append("}\n");
+				if(componentModuleDependentBeans.stream().anyMatch(dependentBeanInfo -> dependentBeanInfo.getVisibility().equals(Bean.Visibility.PUBLIC))) {
+					exposingModules.add(componentModuleInfo);
+				}
+			}
+		}
+		
+		StringBuilder result = new StringBuilder();
+		if(dependentModules.length() > 0) {
+			result.append(context.indent(1)).append("@Override\n");
+			result.append(context.indent(1)).append("protected ").append(listType).append("<").append(moduleType).append("> getDependentModules(").append(moduleType).append(" module) {\n");
+			result.append(dependentModules);
+			result.append(context.indent(2)).append("return ").append(listType).append(".of();\n");
+			result.append(context.indent(1)).append("}\n");
+		}
+		if(dependentBeans.length() > 0) {
+			if(result.length() > 0) {
+				result.append("\n");
+			}
+			result.append(context.indent(1)).append("@Override\n");
+			result.append(context.indent(1)).append("protected ").append(listType).append("<Bean<?>> getDependentBeans(").append(moduleType).append(" module) {\n");
+			result.append(dependentBeans);
+			result.append(context.indent(2)).append("return ").append(listType).append(".of();\n");
+			result.append(context.indent(1)).append("}\n");
+		}
+		if(!exposingModules.isEmpty()) {
+			result.append("\n");
+			result.append(context.indent(1)).append("@Override\n");
+			result.append(context.indent(1)).append("protected boolean hasPublicDependentBeans(").append(moduleType).append(" module) {\n");
+			result.append(context.indent(2)).append("return ").append(exposingModules.stream().map(exposingModuleInfo -> new StringBuilder().append("module == this.").append(exposingModuleInfo.getQualifiedName().normalize())).collect(context.joining(" || "))).append(";\n");
+			result.append(context.indent(1)).append("}\n");
+		}
+		return result;
+	}
+	
+	/**
+	 * <p>
+	 * Generates the static bean registry of the module.
+	 * </p>
+	 * 
+	 * <p>
+	 * Beans are indexed in the order they are defined in the module, the index of
+	 * the types each bean can be assigned to is computed here so that nothing but
+	 * the name index has to be built at runtime.
+	 * </p>
+	 * 
+	 * @param moduleInfo the module
+	 * @param context    the generation context
+	 * 
+	 * @return the bean registry field declaration
+	 */
+	private StringBuilder visitBeanRegistry(ModuleInfo moduleInfo, ModuleClassGenerationContext context) {
+		String beanRegistryType = context.getTypeName(WINTER_CORE_BEANREGISTRY_CLASS);
+		String mapType = context.getTypeName(Map.class.getCanonicalName());
+		ModuleBeanInfo[] beans = moduleInfo.getBeans();
+		
+		Map<String, List<Integer>> typeIndex = new LinkedHashMap<>();
+		StringBuilder names = new StringBuilder();
+		StringBuilder types = new StringBuilder();
+		StringBuilder strategies = new StringBuilder();
+		StringBuilder visibilities = new StringBuilder();
+		for(int i=0;i<beans.length;i++) {
+			TypeMirror type = context.getTypeUtils().erasure(beans[i].getProvidedType() != null ? beans[i].getProvidedType() : beans[i].getType());
+			if(i > 0) {
+				names.append(", ");
+				types.append(", ");
+				strategies.append(", ");
+				visibilities.append(", ");
+			}
+			names.append("\"").append(beans[i].getQualifiedName().getSimpleValue()).append("\"");
+			types.append(context.getTypeName(type)).append(".class");
+			strategies.append(beanRegistryType).append(".Strategy.").append(beans[i].getStrategy().equals(Bean.Strategy.PROTOTYPE) ? "PROTOTYPE" : "SINGLETON");
+			visibilities.append(beanRegistryType).append(".Visibility.").append(beans[i].getVisibility().equals(Bean.Visibility.PUBLIC) ? "PUBLIC" : "PRIVATE");
+			
+			Set<String> assignableTypes = new LinkedHashSet<>();
+			this.collectAssignableTypes(type, assignableTypes, context);
+			for(String assignableType : assignableTypes) {
+				typeIndex.computeIfAbsent(assignableType, key -> new ArrayList<>()).add(i);
+			}
+		}
+		
+		StringBuilder beanRegistry = new StringBuilder();
+		beanRegistry.append(context.indent(1)).append("private static final ").append(beanRegistryType).append(" ").append(BEAN_REGISTRY_FIELD).append(" = new ").append(beanRegistryType).append("(\n");
+		beanRegistry.append(context.indent(2)).append("new String[] { ").append(names).append(" },\n");
+		beanRegistry.append(context.indent(2)).append("new Class<?>[] { ").append(types).append(" },\n");
+		beanRegistry.append(context.indent(2)).append("new ").append(beanRegistryType).append(".Strategy[] { ").append(strategies).append(" },\n");
+		beanRegistry.append(context.indent(2)).append("new ").append(beanRegistryType).append(".Visibility[] { ").append(visibilities).append(" },\n");
+		if(typeIndex.isEmpty()) {
+			beanRegistry.append(context.indent(2)).append(mapType).append(".of()\n");
+		}
+		else {
+			beanRegistry.append(context.indent(2)).append(mapType).append(".ofEntries(\n");
+			beanRegistry.append(typeIndex.entrySet().stream()
+				.map(e -> new StringBuilder().append(context.indent(3)).append(mapType).append(".entry(\"").append(e.getKey()).append("\", new int[] { ").append(e.getValue().stream().map(Object::toString).collect(Collectors.joining(", "))).append(" })"))
+				.collect(context.joining(",\n"))
+			);
+			beanRegistry.append("\n").append(context.indent(2)).append(")\n");
+		}
+		beanRegistry.append(context.indent(1)).append(");");
+		return beanRegistry;
+	}
+	
+	private void collectAssignableTypes(TypeMirror type, Set<String> assignableTypes, ModuleClassGenerationContext context) {
+		if(type.getKind() != TypeKind.DECLARED) {
+			return;
+		}
+		String typeName = context.getElementUtils().getBinaryName((TypeElement)context.getTypeUtils().asElement(type)).toString();
+		if(typeName.equals(Object.class.getCanonicalName()) || !assignableTypes.add(typeName)) {
+			return;
+		}
+		for(TypeMirror supertype : context.getTypeUtils().directSupertypes(type)) {
+			this.collectAssignableTypes(context.getTypeUtils().erasure(supertype), assignableTypes, context);
+		}
+	}
+	
+	private StringBuilder visitInstrumentedLifecycle(String variable, ExecutableElement[] elements, String operation, String record, ModuleClassGenerationContext context) {
+		// Lifecycle methods are grouped in a single operation in order to record the bean lifecycle once
+		StringBuilder lifecycle = new StringBuilder().append(context.indent(3)).append(".").append(operation).append("(").append(variable).append(" -> {\n");
+		lifecycle.append(context.indent(4)).append("long ").append(variable).append(BEAN_START_TIME_SUFFIX).append(" = System.nanoTime();\n");
+		lifecycle.append(Arrays.stream(elements)
+			.map(element -> new StringBuilder().append(context.indent(4)).append(variable).append(".").append(element.getSimpleName().toString()).append("();"))
+			.collect(context.joining("\n"))).append("\n");
+		lifecycle.append(context.indent(4)).append("this.").append(variable).append(BEAN_STATS_SUFFIX).append(".").append(record).append("(System.nanoTime() - ").append(variable).append(BEAN_START_TIME_SUFFIX).append(");\n");
+		lifecycle.append(context.indent(3)).append("})\n");
+		return lifecycle;
+	}
+	
+	/**
+	 * <p>
+	 * Generates the static fields holding the initialization and destruction
+	 * operations of a bean.
+	 * </p>
+	 * 
+	 * <p>
+	 * These operations only depend on the module type, declaring them statically
+	 * allows all the instances of the module to share them.
+	 * </p>
+	 * 
+	 * @param moduleBeanInfo the bean
+	 * @param context        the generation context
+	 * 
+	 * @return the operations fields or an empty string if the bean has no operations
+	 */
+	private StringBuilder visitBeanOperations(ModuleBeanInfo moduleBeanInfo, ModuleClassGenerationContext context) {
+		if(moduleBeanInfo instanceof OverridableBeanInfo) {
+			return this.visitBeanOperations(((OverridableBeanInfo)moduleBeanInfo).getOverridableBean(), context);
+		}
+		if(moduleBeanInfo.getInitElements().length == 0 && moduleBeanInfo.getDestroyElements().length == 0) {
+			return new StringBuilder();
+		}
+		String variable = moduleBeanInfo.getQualifiedName().normalize();
+		TypeMirror beanType = moduleBeanInfo instanceof WrapperBeanInfo ? ((WrapperBeanInfo)moduleBeanInfo).getWrapperType() : moduleBeanInfo.getType();
+		String operationType = "BeanBuilder.FallibleConsumer<" + context.getTypeName(beanType) + ">";
+		
+		StringBuilder operations = new StringBuilder();
+		if(moduleBeanInfo.getInitElements().length > 0) {
+			operations.append(this.visitBeanOperationsField(variable + BEAN_INITS_SUFFIX, operationType, beanType, moduleBeanInfo.getInitElements(), context));
+		}
+		if(moduleBeanInfo.getDestroyElements().length > 0) {
+			if(operations.length() > 0) {
+				operations.append("\n");
+			}
+			operations.append(this.visitBeanOperationsField(variable + BEAN_DESTROYS_SUFFIX, operationType, beanType, moduleBeanInfo.getDestroyElements(), context));
+		}
+		return operations;
+	}
+	
+	/**
+	 * <p>
+	 * Generates a static field holding an array of bean operations.
+	 * </p>
+	 * 
+	 * <p>
+	 * Generic arrays can't be created, the array is created with the raw operation
+	 * type and each method reference is cast to the parameterized operation type.
+	 * </p>
+	 * 
+	 * @param field         the name of the field
+	 * @param operationType the parameterized operation type
+	 * @param beanType      the type of the bean
+	 * @param elements      the bean methods invoked by the operations
+	 * @param context       the generation context
+	 * 
+	 * @return the operations field
+	 */
+	private StringBuilder visitBeanOperationsField(String field, String operationType, TypeMirror beanType, ExecutableElement[] elements, ModuleClassGenerationContext context) {
+		StringBuilder operationsField = new StringBuilder();
+		operationsField.append(context.indent(1)).append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+		operationsField.append(context.indent(1)).append("private static final ").append(operationType).append("[] ").append(field).append(" = new BeanBuilder.FallibleConsumer[] {");
+		operationsField.append(Arrays.stream(elements)
+			.map(element -> new StringBuilder().append("(").append(operationType).append(")").append(context.getTypeName(beanType)).append("::").append(element.getSimpleName().toString()))
+			.collect(context.joining(", "))).append("};");
+		return operationsField;
+	}
 
 	@Override
 	public StringBuilder visit(WrapperBeanInfo moduleWrapperBeanInfo, ModuleClassGenerationContext context) {
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.compiler;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import io.winterframework.core.annotation.Bean;
+import io.winterframework.core.compiler.spi.BeanInfo;
+import io.winterframework.core.compiler.spi.ModuleBeanInfo;
+import io.winterframework.core.compiler.spi.ModuleBeanMultiSocketInfo;
+import io.winterframework.core.compiler.spi.ModuleBeanSingleSocketInfo;
+import io.winterframework.core.compiler.spi.ModuleBeanSocketInfo;
+import io.winterframework.core.compiler.spi.ModuleInfo;
+import io.winterframework.core.compiler.spi.ModuleInfoVisitor;
+import io.winterframework.core.compiler.spi.MultiSocketBeanInfo;
+import io.winterframework.core.compiler.spi.MultiSocketInfo;
+import io.winterframework.core.compiler.spi.NestedBeanInfo;
+import io.winterframework.core.compiler.spi.OverridableBeanInfo;
+import io.winterframework.core.compiler.spi.OverridingSocketBeanInfo;
+import io.winterframework.core.compiler.spi.SingleSocketBeanInfo;
+import io.winterframework.core.compiler.spi.SingleSocketInfo;
+import io.winterframework.core.compiler.spi.SocketBeanInfo;
+import io.winterframework.core.compiler.spi.SocketInfo;
+import io.winterframework.core.compiler.spi.WrapperBeanInfo;
+
+/**
+ * <p>
+ * A {@link ModuleInfoVisitor} used to generate the list of classes loaded when
+ * a module is built and started.
+ * </p>
+ * 
+ * <p>
+ * The list includes the generated module class, its builder and linker, the
+ * types of the beans, wrappers and sockets as well as the component modules and
+ * the Winter core classes used by the generated code. It uses the format
+ * expected by {@code -XX:SharedClassListFile}: one binary class name per line
+ * using {@code /} as separator, lines starting with {@code #} being comments.
+ * </p>
+ * 
+ * <p>
+ * Lambdas and anonymous classes can't be listed, they can still be archived
+ * with a dynamic archive created from a training run of the application.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+class ModuleClassListGenerator implements ModuleInfoVisitor<Stream<String>, Void> {
+
+	/**
+	 * <p>
+	 * The path of the class list generated for each module.
+	 * </p>
+	 */
+	public static final String CLASS_LIST_RESOURCE = "META-INF/winter/core/classlist";
+	
+	private static final String WINTER_CORE_PACKAGE = "io/winterframework/core/v1/";
+	
+	private static final String[] WINTER_CORE_MODULE_CLASSES = {
+		"Module", 
+		"Module$ModuleBuilder", 
+		"Module$ModuleLinker", 
+		"Module$Bean", 
+		"Module$BeanAggregator", 
+		"Module$MemoizedSupplier", 
+		"Module$BeanBuilder", 
+		"Module$BeanBuilder$FallibleConsumer", 
+		"Module$ModuleBeanBuilder", 
+		"Module$WrapperBeanBuilder", 
+		"AbstractBeanBuilder",
+		"BeanCreationWatchdog",
+		"Logger",
+		"Logger$Level",
+		"LoggerProviders"
+	};
+	
+	private final Types typeUtils;
+	
+	private final Elements elementUtils;
+	
+	private final boolean instrument;
+	
+	private final boolean beanRegistry;
+	
+	public ModuleClassListGenerator(Types typeUtils, Elements elementUtils, boolean instrument, boolean beanRegistry) {
+		this.typeUtils = typeUtils;
+		this.elementUtils = elementUtils;
+		this.instrument = instrument;
+		this.beanRegistry = beanRegistry;
+	}
+	
+	/**
+	 * <p>
+	 * Generates the class list of the specified module.
+	 * </p>
+	 * 
+	 * @param moduleInfo the module info
+	 * 
+	 * @return a class list
+	 */
+	public String generate(ModuleInfo moduleInfo) {
+		StringBuilder result = new StringBuilder();
+		result.append("# Classes loaded by module ").append(moduleInfo.getQualifiedName().getValue()).append("\n");
+		result.append(moduleInfo.accept(this, null).distinct().collect(Collectors.joining("\n"))).append("\n");
+		return result.toString();
+	}
+	
+	private Stream<String> getClassNames(TypeMirror type) {
+		if(type == null) {
+			return Stream.empty();
+		}
+		TypeMirror erasure = this.typeUtils.erasure(type);
+		while(erasure.getKind() == TypeKind.ARRAY) {
+			erasure = ((ArrayType)erasure).getComponentType();
+		}
+		if(erasure.getKind() == TypeKind.DECLARED) {
+			return Stream.of(this.elementUtils.getBinaryName((TypeElement)((DeclaredType)erasure).asElement()).toString().replace('.', '/'));
+		}
+		return Stream.empty();
+	}
+	
+	private Stream<String> getCoreClassNames(String... classNames) {
+		return Arrays.stream(classNames).map(className -> WINTER_CORE_PACKAGE + className);
+	}
+	
+	@Override
+	public Stream<String> visit(ModuleInfo moduleInfo, Void p) {
+		String moduleClassName = moduleInfo.getQualifiedName().getClassName().replace('.', '/');
+		
+		Stream<String> result = Stream.of(moduleClassName, moduleClassName + "$Builder", moduleClassName + "$Linker");
+		result = Stream.concat(result, this.getCoreClassNames(WINTER_CORE_MODULE_CLASSES));
+		if(this.instrument) {
+			result = Stream.concat(result, this.getCoreClassNames("BeanStats", "BeanStats$Creation"));
+		}
+		if(this.beanRegistry && moduleInfo.getBeans().length > 0) {
+			result = Stream.concat(result, this.getCoreClassNames("BeanRegistry", "BeanRegistry$Strategy", "BeanRegistry$Visibility"));
+		}
+		result = Stream.concat(result, Arrays.stream(moduleInfo.getSockets()).flatMap(socket -> this.visit(socket, p)));
+		result = Stream.concat(result, Arrays.stream(moduleInfo.getBeans()).flatMap(bean -> this.visit((BeanInfo)bean, p)));
+		result = Stream.concat(result, Arrays.stream(moduleInfo.getModules()).flatMap(module -> this.visit(module, p)));
+		return result;
+	}
+
+	@Override
+	public Stream<String> visit(BeanInfo beanInfo, Void p) {
+		if(beanInfo instanceof NestedBeanInfo) {
+			return this.visit((NestedBeanInfo)beanInfo, p);
+		}
+		else if(beanInfo instanceof OverridableBeanInfo) {
+			return this.visit((OverridableBeanInfo)beanInfo, p);
+		}
+		else if(beanInfo instanceof WrapperBeanInfo) {
+			return this.visit((WrapperBeanInfo)beanInfo, p);
+		}
+		else if(beanInfo instanceof ModuleBeanInfo) {
+			return this.visit((ModuleBeanInfo)beanInfo, p);
+		}
+		else if(beanInfo instanceof SocketBeanInfo) {
+			return this.visit((SocketBeanInfo)beanInfo, p);
+		}
+		return Stream.empty();
+	}
+
+	@Override
+	public Stream<String> visit(NestedBeanInfo nestedBeanInfo, Void p) {
+		return Stream.concat(this.getClassNames(nestedBeanInfo.getType()), Arrays.stream(nestedBeanInfo.getNestedBeans()).flatMap(beanInfo -> this.visit(beanInfo, p)));
+	}
+
+	@Override
+	public Stream<String> visit(ModuleBeanInfo moduleBeanInfo, Void p) {
+		Stream<String> result = Stream.concat(this.getClassNames(moduleBeanInfo.getType()), this.getClassNames(moduleBeanInfo.getProvidedType()));
+		if(moduleBeanInfo.getStrategy().equals(Bean.Strategy.SINGLETON)) {
+			result = Stream.concat(result, this.getCoreClassNames("AbstractModuleBeanBuilder", "AbstractModuleBean", "SingletonModuleBeanBuilder", "SingletonModuleBean"));
+		}
+		else {
+			result = Stream.concat(result, this.getCoreClassNames("AbstractModuleBeanBuilder", "AbstractModuleBean", "PrototypeModuleBeanBuilder", moduleBeanInfo.getDestroyElements().length > 0 ? "PrototypeWeakModuleBean" : "PrototypeModuleBean"));
+		}
+		return Stream.concat(result, Arrays.stream(moduleBeanInfo.getNestedBeans()).flatMap(beanInfo -> this.visit(beanInfo, p)));
+	}
+
+	@Override
+	public Stream<String> visit(WrapperBeanInfo wrapperBeanInfo, Void p) {
+		Stream<String> result = Stream.concat(this.getClassNames(wrapperBeanInfo.getWrapperType()), Stream.concat(this.getClassNames(wrapperBeanInfo.getType()), this.getClassNames(wrapperBeanInfo.getProvidedType())));
+		if(wrapperBeanInfo.getStrategy().equals(Bean.Strategy.SINGLETON)) {
+			result = Stream.concat(result, this.getCoreClassNames("AbstractWrapperBeanBuilder", "AbstractWrapperBean", "SingletonWrapperBeanBuilder", "SingletonWrapperBean"));
+		}
+		else {
+			result = Stream.concat(result, this.getCoreClassNames("AbstractWrapperBeanBuilder", "AbstractWrapperBean", "PrototypeWrapperBeanBuilder", wrapperBeanInfo.getDestroyElements().length > 0 ? "PrototypeWeakWrapperBean" : "PrototypeWrapperBean"));
+		}
+		return Stream.concat(result, Arrays.stream(wrapperBeanInfo.getNestedBeans()).flatMap(beanInfo -> this.visit(beanInfo, p)));
+	}
+
+	@Override
+	public Stream<String> visit(OverridableBeanInfo overridableBeanInfo, Void p) {
+		return Stream.concat(this.visit((BeanInfo)overridableBeanInfo.getOverridableBean(), p), this.visit(overridableBeanInfo.getOverridingSocket(), p));
+	}
+
+	@Override
+	public Stream<String> visit(OverridingSocketBeanInfo overridingSocketBeanInfo, Void p) {
+		return this.visit((SingleSocketBeanInfo)overridingSocketBeanInfo, p);
+	}
+
+	@Override
+	public Stream<String> visit(SocketInfo socketInfo, Void p) {
+		if(socketInfo instanceof SocketBeanInfo) {
+			return this.visit((SocketBeanInfo)socketInfo, p);
+		}
+		return Stream.empty();
+	}
+
+	@Override
+	public Stream<String> visit(SingleSocketInfo singleSocketInfo, Void p) {
+		return this.visit((SocketInfo)singleSocketInfo, p);
+	}
+
+	@Override
+	public Stream<String> visit(MultiSocketInfo multiSocketInfo, Void p) {
+		return this.visit((SocketInfo)multiSocketInfo, p);
+	}
+
+	@Override
+	public Stream<String> visit(ModuleBeanSocketInfo beanSocketInfo, Void p) {
+		return Stream.empty();
+	}
+
+	@Override
+	public Stream<String> visit(ModuleBeanSingleSocketInfo beanSingleSocketInfo, Void p) {
+		return Stream.empty();
+	}
+
+	@Override
+	public Stream<String> visit(ModuleBeanMultiSocketInfo beanMultiSocketInfo, Void p) {
+		return Stream.empty();
+	}
+
+	@Override
+	public Stream<String> visit(SocketBeanInfo socketBeanInfo, Void p) {
+		return Stream.concat(this.getClassNames(socketBeanInfo.getSocketType()), this.getClassNames(socketBeanInfo.getType()));
+	}
+
+	@Override
+	public Stream<String> visit(SingleSocketBeanInfo singleSocketBeanInfo, Void p) {
+		return this.visit((SocketBeanInfo)singleSocketBeanInfo, p);
+	}
+
+	@Override
+	public Stream<String> visit(MultiSocketBeanInfo multiSocketBeanInfo, Void p) {
+		return this.visit((SocketBeanInfo)multiSocketBeanInfo, p);
+	}
+}
@@ -86,7 +86,41 @@ class ModuleDescriptorGenerator implements ModuleInfoVisitor<String, String> {
 		result.append(pad).append(this.indent).append(this.indent).append("public:").append("\n");
 		String publicBeans = Arrays.stream(moduleInfo.getPublicBeans()).map(bean -> this.visit(bean, pad + this.indent + this.indent + this.indent)).collect(Collectors.joining("\n"));
 		if(publicBeans != null && !publicBeans.equals("")) {
-			result.append(publicBeans);
+			result.append(publicBeans).append("\n");
+		}
+		
+		result.append(this.visitStartup(new ModuleStartupGraph(moduleInfo), pad + this.indent));
+		return result.toString();
+	}
+	
+	/**
+	 * <p>
+	 * Describes the startup dependency graph of a module: its depth, the beans
+	 * at each level and the critical path.
+	 * </p>
+	 * 
+	 * @param startupGraph the startup graph of the module
+	 * @param pad          the padding
+	 * 
+	 * @return a YAML fragment
+	 */
+	private String visitStartup(ModuleStartupGraph startupGraph, String pad) {
+		StringBuilder result = new StringBuilder();
+		
+		result.append(pad).append("startup:").append("\n");
+		result.append(pad).append(this.indent).append("depth: ").append(startupGraph.getDepth()).append("\n");
+		result.append(pad).append(this.indent).append("levels:");
+		if(!startupGraph.getLevels().isEmpty()) {
+			result.append("\n");
+			result.append(startupGraph.getLevels().stream()
+				.map(level -> pad + this.indent + this.indent + "- width: " + level.size() + "\n" + pad + this.indent + this.indent + "  beans: [" + level.stream().map(beanInfo -> beanInfo.getQualifiedName().getSimpleValue()).collect(Collectors.joining(", ")) + "]")
+				.collect(Collectors.joining("\n")));
+		}
+		result.append("\n");
+		result.append(pad).append(this.indent).append("criticalPath:");
+		if(startupGraph.getDepth() > 0) {
+			result.append("\n");
+			result.append(startupGraph.getCriticalPath().stream().map(beanInfo -> pad + this.indent + this.indent + "- " + beanInfo.getQualifiedName().getSimpleValue()).collect(Collectors.joining("\n")));
 		}
 		return result.toString();
 	}
@@ -17,14 +17,20 @@ package io.winterframework.core.compiler;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,6 +38,8 @@ import javax.annotation.processing.FilerException;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.QualifiedNameable;
 import javax.tools.Diagnostic.Kind;
 import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
@@ -58,13 +66,24 @@ import io.winterframework.core.compiler.spi.SocketBeanInfo;
  * compiled and generated yet.
  * </p>
  * 
+ * <p>
+ * In order to limit the memory used by the compiler across rounds, the
+ * generator only retains the elements of the modules that remain to be
+ * generated. A generated module is retained as long as a module requiring it
+ * remains to be generated, it is otherwise only referenced by name and resolved
+ * again from the generated module class if it is required later. Originating
+ * elements are kept as interned qualified names and resolved when sources and
+ * resources are created.
+ * </p>
+ * 
  * @author jkuhn
  */
 class ModuleGenerator {
 
 	private GenericCompilerOptions options;
 	
-	private Map<String, ModuleInfo> generatedModules;
+	private Set<String> generatedModules;
+	private Map<String, ModuleInfo> retainedModules;
 	private Map<String, ModuleInfo> componentModules;
 	private Set<String> faultyModules;
 	private Map<String, PluginsExecutionResult> pluginsExecutedModules;
@@ -75,20 +94,30 @@ class ModuleGenerator {
 	private ModuleDescriptorGenerator moduleDescriptorGenerator;
 	
 	private Map<String, ModuleInfoBuilder> moduleBuilders;
-	private Map<String, Set<Element>> moduleOriginatingElements;
+	private Map<String, Set<String>> moduleOriginatingElements;
 	private Map<String, List<ModuleBeanInfo>> moduleBeans;
 	private Map<String, List<SocketBeanInfo>> moduleSockets;
 	private Map<String, List<ModuleInfoBuilder>> componentModuleBuilders;
+	private Map<String, String> names;
+	
+	private List<String> moduleOrder;
+	private Map<String, List<BeanInfo>> moduleInjectableBeans;
+	
+	private BiFunction<ModuleElement, ModuleElement, ModuleInfoBuilder> componentModuleResolver;
 	
 	private PluginsExecutor pluginsExecutor;
 	
-	public ModuleGenerator(ProcessingEnvironment processingEnv, GenericCompilerOptions options) {
+	private CompilerProfiler profiler;
+	
+	public ModuleGenerator(ProcessingEnvironment processingEnv, GenericCompilerOptions options, BiFunction<ModuleElement, ModuleElement, ModuleInfoBuilder> componentModuleResolver) {
 		this.processingEnvironment = processingEnv;
 		this.options = options;
+		this.componentModuleResolver = componentModuleResolver;
 		this.moduleClassGenerator = new ModuleClassGenerator();
 		this.moduleDescriptorGenerator = new ModuleDescriptorGenerator();
 
-		this.generatedModules = new HashMap<>();
+		this.generatedModules = new HashSet<>();
+		this.retainedModules = new HashMap<>();
 		this.componentModules = new HashMap<>();
 		this.faultyModules = new HashSet<>();
 		this.pluginsExecutedModules = new HashMap<>();
@@ -98,16 +127,26 @@ class ModuleGenerator {
 		this.moduleBeans = new HashMap<>();
 		this.moduleSockets = new HashMap<>();
 		this.componentModuleBuilders = new HashMap<>();
+		this.names = new HashMap<>();
+		this.moduleInjectableBeans = new HashMap<>();
 		
-		this.pluginsExecutor = new PluginsExecutor(this.processingEnvironment, this.options);
+		this.profiler = new CompilerProfiler(this.options);
+		this.pluginsExecutor = new PluginsExecutor(this.processingEnvironment, this.options, this.profiler);
 	}
 	
 	public PluginsExecutor getPluginsExecutor() {
 		return pluginsExecutor;
 	}
 	
+	public CompilerProfiler getProfiler() {
+		return profiler;
+	}
+	
 	public ModuleGenerator putModules(Map<String, ModuleInfoBuilder> moduleBuilders) {
 		this.moduleBuilders.putAll(moduleBuilders);
+		if(!moduleBuilders.isEmpty()) {
+			this.moduleOrder = null;
+		}
 		return this;
 	}
 	
@@ -117,22 +156,43 @@ class ModuleGenerator {
 	
 	public ModuleGenerator putOriginatingElements(Map<String, Set<Element>> moduleOriginatingElements) {
 		moduleOriginatingElements.entrySet().stream().forEach(e -> {
+			// The module element is implied, we only keep the names of the types
+			Set<String> originatingTypeNames = e.getValue().stream()
+				.filter(element -> !(element instanceof ModuleElement) && element instanceof QualifiedNameable)
+				.map(element -> this.intern(((QualifiedNameable)element).getQualifiedName().toString()))
+				.collect(Collectors.toSet());
 			if(this.moduleOriginatingElements.containsKey(e.getKey())) {
-				this.moduleOriginatingElements.put(e.getKey(), Stream.concat(this.moduleOriginatingElements.get(e.getKey()).stream(), e.getValue().stream()).collect(Collectors.toSet()));
+				this.moduleOriginatingElements.put(e.getKey(), Stream.concat(this.moduleOriginatingElements.get(e.getKey()).stream(), originatingTypeNames.stream()).collect(Collectors.toSet()));
 			}
 			else {
-				this.moduleOriginatingElements.put(e.getKey(), Collections.unmodifiableSet(e.getValue()));
+				this.moduleOriginatingElements.put(this.intern(e.getKey()), originatingTypeNames);
 			}
 		});
 		return this;
 	}
 	
-	public Map<String, Set<Element>> originatingElements() {
+	private String intern(String name) {
+		String internedName = this.names.putIfAbsent(name, name);
+		return internedName != null ? internedName : name;
+	}
+	
+	private Element[] getOriginatingElements(String moduleName) {
+		ModuleElement moduleElement = this.processingEnvironment.getElementUtils().getModuleElement(moduleName);
+		return Stream.concat(
+				Stream.of(moduleElement), 
+				this.moduleOriginatingElements.getOrDefault(moduleName, Set.of()).stream().map(typeName -> this.processingEnvironment.getElementUtils().getTypeElement(moduleElement, typeName))
+			)
+			.filter(Objects::nonNull)
+			.toArray(Element[]::new);
+	}
+	
+	public Map<String, Set<String>> originatingElements() {
 		return Collections.unmodifiableMap(this.moduleOriginatingElements);
 	}
 	
 	public ModuleGenerator putModuleBeans(Map<String, List<ModuleBeanInfo>> moduleBeans) {
 		moduleBeans.entrySet().stream().forEach(e -> {
+			this.moduleInjectableBeans.remove(e.getKey());
 			if(this.moduleBeans.containsKey(e.getKey())) {
 				this.moduleBeans.put(e.getKey(), Stream.concat(this.moduleBeans.get(e.getKey()).stream(), e.getValue().stream()).collect(Collectors.toList()));
 			}
@@ -149,6 +209,7 @@ class ModuleGenerator {
 	
 	public ModuleGenerator putModuleSockets(Map<String, List<SocketBeanInfo>> moduleSockets) {
 		moduleSockets.entrySet().stream().forEach(e -> {
+			this.moduleInjectableBeans.remove(e.getKey());
 			if(this.moduleSockets.containsKey(e.getKey())) {
 				this.moduleSockets.put(e.getKey(), Stream.concat(this.moduleSockets.get(e.getKey()).stream(), e.getValue().stream()).collect(Collectors.toList()));
 			}
@@ -164,7 +225,11 @@ class ModuleGenerator {
 	}
 	
 	public ModuleGenerator putComponentModules(Map<String, List<ModuleInfoBuilder>> componentModuleBuilders) {
+		if(!componentModuleBuilders.isEmpty()) {
+			this.moduleOrder = null;
+		}
 		componentModuleBuilders.entrySet().stream().forEach(e -> {
+			this.moduleInjectableBeans.remove(e.getKey());
 			if(this.componentModuleBuilders.containsKey(e.getKey())) {
 				this.componentModuleBuilders.put(e.getKey(), Stream.concat(this.componentModuleBuilders.get(e.getKey()).stream(), e.getValue().stream()).collect(Collectors.toList()));
 			}
@@ -185,86 +250,145 @@ class ModuleGenerator {
 	
 	public boolean generateNextRound(RoundEnvironment roundEnv) {
 		if(this.generatedModules.size() + this.faultyModules.size() == this.moduleBuilders.size()) {
+			this.componentModules.clear();
 			return false;
 		}
 		Map<String, ModuleInfo> roundModules = new HashMap<>();
 		Map<String, ModuleInfo> roundGeneratedModules = new HashMap<>();
 		Set<String> roundFaultyModules = new HashSet<>();
 		Map<String, PluginsExecutionResult> roundPluginExecutedModules = new HashMap<>();
-		for(ModuleInfoBuilder moduleBuilder : this.moduleBuilders.values()) {
-			String moduleName = moduleBuilder.getQualifiedName().toString();
-			if(!this.generatedModules.containsKey(moduleName) && !this.faultyModules.contains(moduleName) && !roundModules.containsKey(moduleBuilder.getQualifiedName().toString())) {
-				this.generateModule(moduleBuilder, roundEnv, roundModules, roundGeneratedModules, roundFaultyModules, roundPluginExecutedModules);
+		for(String moduleName : this.getModuleOrder()) {
+			if(!this.generatedModules.contains(moduleName) && !this.faultyModules.contains(moduleName)) {
+				this.generateModule(this.moduleBuilders.get(moduleName), roundEnv, roundModules, roundGeneratedModules, roundFaultyModules, roundPluginExecutedModules);
 			}
 		}
 		if(roundGeneratedModules.size() == 0 && roundFaultyModules.size() == 0 && roundPluginExecutedModules.size() == 0) {
-			throw new IllegalStateException("Module generator round resulted in no module generation and no plugin execution. Unable to generate modules: " + this.moduleBuilders.keySet().stream().filter(moduleName -> !this.generatedModules.containsKey(moduleName)).collect(Collectors.joining(", ")));
+			throw new IllegalStateException("Module generator round resulted in no module generation and no plugin execution. Unable to generate modules: " + this.moduleBuilders.keySet().stream().filter(moduleName -> !this.generatedModules.contains(moduleName)).collect(Collectors.joining(", ")));
 		}
-		this.generatedModules.putAll(roundGeneratedModules);
+		this.generatedModules.addAll(roundGeneratedModules.keySet());
 		this.faultyModules.addAll(roundFaultyModules);
 		this.pluginsExecutedModules.putAll(roundPluginExecutedModules);
+		
+		// Release what is no longer needed to generate the remaining modules
+		this.retainedModules.putAll(roundGeneratedModules);
+		Stream.concat(roundGeneratedModules.keySet().stream(), roundFaultyModules.stream()).forEach(this::release);
+		Set<String> requiredModules = this.componentModuleBuilders.values().stream().flatMap(List::stream).map(componentModuleBuilder -> componentModuleBuilder.getQualifiedName().toString()).collect(Collectors.toSet());
+		this.retainedModules.keySet().retainAll(requiredModules);
+		this.componentModules.clear();
 		return true;
 	}
 	
-	private ModuleInfo generateModule(ModuleInfoBuilder moduleBuilder, RoundEnvironment roundEnv, Map<String, ModuleInfo> roundModules, Map<String, ModuleInfo> roundGeneratedModules, Set<String> roundFaultyModules, Map<String, PluginsExecutionResult> roundPluginExecutedModules) {
+	/**
+	 * <p>
+	 * Returns the names of the modules to generate sorted so that a module always
+	 * comes after the compiling modules it requires.
+	 * </p>
+	 * 
+	 * <p>
+	 * The order is only computed again when modules or component modules are added
+	 * to the generator.
+	 * </p>
+	 * 
+	 * @return a list of module names
+	 */
+	private List<String> getModuleOrder() {
+		if(this.moduleOrder == null) {
+			List<String> moduleOrder = new ArrayList<>(this.moduleBuilders.size());
+			Set<String> visitedModules = new HashSet<>();
+			Deque<Entry<String, Iterator<ModuleInfoBuilder>>> stack = new ArrayDeque<>();
+			for(String moduleName : this.moduleBuilders.keySet()) {
+				if(visitedModules.add(moduleName)) {
+					stack.push(Map.entry(moduleName, this.componentModuleBuilders.getOrDefault(moduleName, List.of()).iterator()));
+					while(!stack.isEmpty()) {
+						Iterator<ModuleInfoBuilder> componentModuleBuilders = stack.peek().getValue();
+						if(componentModuleBuilders.hasNext()) {
+							String componentModuleName = componentModuleBuilders.next().getQualifiedName().toString();
+							if(this.moduleBuilders.containsKey(componentModuleName) && visitedModules.add(componentModuleName)) {
+								stack.push(Map.entry(componentModuleName, this.componentModuleBuilders.getOrDefault(componentModuleName, List.of()).iterator()));
+							}
+						}
+						else {
+							moduleOrder.add(stack.pop().getKey());
+						}
+					}
+				}
+			}
+			this.moduleOrder = moduleOrder;
+		}
+		return this.moduleOrder;
+	}
+	
+	private void generateModule(ModuleInfoBuilder moduleBuilder, RoundEnvironment roundEnv, Map<String, ModuleInfo> roundModules, Map<String, ModuleInfo> roundGeneratedModules, Set<String> roundFaultyModules, Map<String, PluginsExecutionResult> roundPluginExecutedModules) {
 		String moduleName = moduleBuilder.getQualifiedName().toString();
 		
-		List<BeanInfo> moduleInjectableBeans = new ArrayList<>();
 		boolean generate = true;
-		if(this.moduleBeans.containsKey(moduleName)) {
-			moduleInjectableBeans.addAll(this.moduleBeans.get(moduleName));
-			moduleBuilder.beans(this.moduleBeans.get(moduleName).stream().toArray(ModuleBeanInfo[]::new));
-		}
-		if(this.moduleSockets.containsKey(moduleName)) {
-			moduleInjectableBeans.addAll(this.moduleSockets.get(moduleName));
-			moduleBuilder.sockets(this.moduleSockets.get(moduleName).stream().toArray(SocketBeanInfo[]::new));					
-		}
-		if(this.componentModuleBuilders.containsKey(moduleName)) {
-			List<ModuleInfo> componentModules = new ArrayList<>();
-			for(ModuleInfoBuilder componentModuleBuilder : this.componentModuleBuilders.get(moduleName)) {
-				String componentModuleName = componentModuleBuilder.getQualifiedName().toString();
-				if(this.generatedModules.containsKey(componentModuleName)) {
-					// Previous rounds
-					ModuleInfo componentModule = this.generatedModules.get(componentModuleName);
-					Arrays.stream(componentModule.getPublicBeans()).forEach(moduleInjectableBeans::add);
-					componentModules.add(componentModule);
-				}
-				else if(this.componentModules.containsKey(componentModuleName)) {
-					// compiled module
-					ModuleInfo componentModule = this.componentModules.get(componentModuleName);
-					Arrays.stream(componentModule.getPublicBeans()).forEach(moduleInjectableBeans::add);
-					componentModules.add(componentModule);
-				} 
-				else if(this.faultyModules.contains(componentModuleName)) {
-					// Faulty module
-					roundFaultyModules.add(moduleName);
-				}
-				else if(this.moduleBuilders.containsValue(componentModuleBuilder)) {
-					// Compiling Module
-					generate = false;
-					ModuleInfo componentModule = null;
-					if(roundModules.containsKey(componentModuleName)) {
-						componentModule = roundModules.get(componentModuleName);
+		List<BeanInfo> moduleInjectableBeans = this.moduleInjectableBeans.get(moduleName);
+		if(moduleInjectableBeans == null) {
+			// Module inputs have changed or some compiling component modules were not generated yet
+			moduleInjectableBeans = new ArrayList<>();
+			if(this.moduleBeans.containsKey(moduleName)) {
+				moduleInjectableBeans.addAll(this.moduleBeans.get(moduleName));
+				moduleBuilder.beans(this.moduleBeans.get(moduleName).stream().toArray(ModuleBeanInfo[]::new));
+			}
+			if(this.moduleSockets.containsKey(moduleName)) {
+				moduleInjectableBeans.addAll(this.moduleSockets.get(moduleName));
+				moduleBuilder.sockets(this.moduleSockets.get(moduleName).stream().toArray(SocketBeanInfo[]::new));					
+			}
+			if(this.componentModuleBuilders.containsKey(moduleName)) {
+				List<ModuleInfo> componentModules = new ArrayList<>();
+				for(ModuleInfoBuilder componentModuleBuilder : this.componentModuleBuilders.get(moduleName)) {
+					String componentModuleName = componentModuleBuilder.getQualifiedName().toString();
+					if(this.generatedModules.contains(componentModuleName)) {
+						// Previous rounds
+						ModuleInfo componentModule = this.retainedModules.get(componentModuleName);
+						if(componentModule == null) {
+							componentModule = this.componentModules.get(componentModuleName);
+						}
+						if(componentModule == null) {
+							// released module: resolved from the generated module class
+							ModuleElement componentModuleElement = this.processingEnvironment.getElementUtils().getModuleElement(componentModuleName);
+							componentModule = this.componentModuleResolver.apply(moduleBuilder.getElement(), componentModuleElement).build();
+							this.componentModules.put(componentModuleName, componentModule);
+						}
+						Arrays.stream(componentModule.getPublicBeans()).forEach(moduleInjectableBeans::add);
+						componentModules.add(componentModule);
 					}
-					else {
-						componentModule = this.generateModule(componentModuleBuilder, roundEnv, roundModules, roundGeneratedModules, roundFaultyModules, roundPluginExecutedModules);
+					else if(this.componentModules.containsKey(componentModuleName)) {
+						// compiled module
+						ModuleInfo componentModule = this.componentModules.get(componentModuleName);
+						Arrays.stream(componentModule.getPublicBeans()).forEach(moduleInjectableBeans::add);
+						componentModules.add(componentModule);
+					} 
+					else if(this.faultyModules.contains(componentModuleName) || roundFaultyModules.contains(componentModuleName)) {
+						// Faulty module
+						roundFaultyModules.add(moduleName);
+						generate = false;
 					}
-					
-					if(componentModule != null) {
+					else if(this.moduleBuilders.get(componentModuleName) == componentModuleBuilder) {
+						// Compiling Module: the module order guarantees it has been processed in this round, we
+						// must wait for the next round for the generated module class to be available
+						generate = false;
+						ModuleInfo componentModule = roundModules.get(componentModuleName);
+						if(componentModule != null) {
+							Arrays.stream(componentModule.getPublicBeans()).forEach(moduleInjectableBeans::add);
+							componentModules.add(componentModule);
+						}
+					}
+					else {
+						// Component Module
+						ModuleInfo componentModule = componentModuleBuilder.build();
+						this.componentModules.put(componentModuleName, componentModule);
 						Arrays.stream(componentModule.getPublicBeans()).forEach(moduleInjectableBeans::add);
 						componentModules.add(componentModule);
 					}
 				}
-				else {
-					// Component Module
-					ModuleInfo componentModule = componentModuleBuilder.build();
-					this.componentModules.put(componentModuleName, componentModule);
-					Arrays.stream(componentModule.getPublicBeans()).forEach(moduleInjectableBeans::add);
-					componentModules.add(componentModule);
+				if(generate) {
+					moduleBuilder.modules(componentModules.toArray(new ModuleInfo[componentModules.size()]));
 				}
 			}
 			if(generate) {
-				moduleBuilder.modules(componentModules.toArray(new ModuleInfo[componentModules.size()]));
+				// Inputs are complete, they can be reused if another round is required (eg. plugins generated sources)
+				this.moduleInjectableBeans.put(moduleName, moduleInjectableBeans);
 			}
 		}
 		
@@ -273,7 +397,13 @@ class ModuleGenerator {
 			PluginsExecutionTask pluginExecutionTask = this.pluginsExecutor.getTask(moduleBuilder.getElement(), moduleBuilder.getQualifiedName(), moduleInjectableBeans);
 			pluginExecutionTask.addRound(roundEnv);
 			if(generate) {
-				pluginsExecutionResult = pluginExecutionTask.call();
+				CompilerProfiler.Probe pluginsProbe = this.profiler.start(moduleName, CompilerProfiler.PHASE_PLUGINS);
+				try {
+					pluginsExecutionResult = pluginExecutionTask.call();
+				}
+				finally {
+					pluginsProbe.close();
+				}
 				roundPluginExecutedModules.put(moduleName, pluginsExecutionResult);
 				generate = !pluginsExecutionResult.hasGeneratedSourceFiles();
 			}
@@ -284,26 +414,35 @@ class ModuleGenerator {
 			if(this.options.isVerbose()) {
 				System.out.println("Generating module " + moduleBuilder.getQualifiedName().toString() + "...");
 			}
-			moduleInfo = moduleBuilder.build();
+			CompilerProfiler.Probe buildProbe = this.profiler.start(moduleName, CompilerProfiler.PHASE_BUILD);
+			try {
+				moduleInfo = moduleBuilder.build();
+			}
+			finally {
+				buildProbe.close();
+			}
 			if(moduleInfo.isFaulty() || pluginsExecutionResult.hasError()) {
 				roundFaultyModules.add(moduleName);
 			}
 			else {
+				Element[] originatingElements = this.getOriginatingElements(moduleName);
+				
 				// Descriptor
 				if(this.options.isVerbose()) {
 					System.out.println(moduleInfo.accept(this.moduleDescriptorGenerator, ""));
 				}
 				
 				if(this.options.isGenerateModuleDescriptor()) {
+					CompilerProfiler.Probe descriptorGenerationProbe = this.profiler.start(moduleName, CompilerProfiler.PHASE_DESCRIPTOR_GENERATION);
 					try {
 						FileObject moduleDescriptorFile;
 						try {
 							// module oriented
-							moduleDescriptorFile = this.processingEnvironment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, moduleInfo.getQualifiedName().getValue() + "/", "META-INF/winter/core/module.yml", this.moduleOriginatingElements.get(moduleName).stream().toArray(Element[]::new));
+							moduleDescriptorFile = this.processingEnvironment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, moduleInfo.getQualifiedName().getValue() + "/", "META-INF/winter/core/module.yml", originatingElements);
 						}
 						catch (FilerException e) {
 							// not module oriented after all
-							moduleDescriptorFile = this.processingEnvironment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/winter/core/module.yml", this.moduleOriginatingElements.get(moduleName).stream().toArray(Element[]::new));
+							moduleDescriptorFile = this.processingEnvironment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/winter/core/module.yml", originatingElements);
 						}
 						try (Writer writer = moduleDescriptorFile.openWriter()) {
 							writer.write(moduleInfo.accept(this.moduleDescriptorGenerator, ""));
@@ -316,12 +455,16 @@ class ModuleGenerator {
 							e.printStackTrace();
 						}
 					}
+					finally {
+						descriptorGenerationProbe.close();
+					}
 				}
 				
+				CompilerProfiler.Probe sourceGenerationProbe = this.profiler.start(moduleName, CompilerProfiler.PHASE_SOURCE_GENERATION);
 				try {
-					JavaFileObject moduleSourceFile = this.processingEnvironment.getFiler().createSourceFile(moduleInfo.getQualifiedName().getClassName(), this.moduleOriginatingElements.get(moduleName).stream().toArray(Element[]::new));
+					JavaFileObject moduleSourceFile = this.processingEnvironment.getFiler().createSourceFile(moduleInfo.getQualifiedName().getClassName(), originatingElements);
 					try (Writer writer = moduleSourceFile.openWriter()) {
-						writer.write(moduleInfo.accept(this.moduleClassGenerator, new ModuleClassGenerationContext(this.processingEnvironment.getTypeUtils(), this.processingEnvironment.getElementUtils(), GenerationMode.MODULE_CLASS)).toString());
+						writer.write(moduleInfo.accept(this.moduleClassGenerator, new ModuleClassGenerationContext(this.processingEnvironment.getTypeUtils(), this.processingEnvironment.getElementUtils(), GenerationMode.MODULE_CLASS, this.options.isInstrument(), this.getLazyModules(moduleInfo), this.options.isBulkAccessors(), this.options.isBeanRegistry())).toString());
 						writer.flush();
 					}
 					
@@ -336,11 +479,115 @@ class ModuleGenerator {
 						e.printStackTrace();
 					}
 				}
+				finally {
+					sourceGenerationProbe.close();
+				}
+				
+				if(this.options.isClassList()) {
+					this.generateClassList(moduleInfo, originatingElements);
+				}
+				
+				if(this.profiler.isEnabled()) {
+					this.generateProfile(moduleInfo, originatingElements);
+				}
 				roundGeneratedModules.put(moduleName, moduleInfo);
 			}
 		}
 		roundModules.put(moduleName, moduleInfo);
-		return moduleInfo;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the names of the component modules of the specified module that
+	 * must be activated lazily, either all of them when the
+	 * {@link GenericCompilerOptions#LAZY_MODULES} option is set or the ones
+	 * listed in the module annotation.
+	 * </p>
+	 * 
+	 * @param moduleInfo a module info
+	 * 
+	 * @return a set of module names
+	 */
+	private Set<String> getLazyModules(ModuleInfo moduleInfo) {
+		if(this.options.isLazyModules()) {
+			return Arrays.stream(moduleInfo.getModules()).map(componentModuleInfo -> componentModuleInfo.getQualifiedName().getValue()).collect(Collectors.toSet());
+		}
+		io.winterframework.core.annotation.Module moduleAnnotation = moduleInfo.getElement().getAnnotation(io.winterframework.core.annotation.Module.class);
+		return moduleAnnotation != null ? Set.of(moduleAnnotation.lazy()) : Set.of();
+	}
+	
+	private void release(String moduleName) {
+		ModuleInfoBuilder moduleBuilder = this.moduleBuilders.get(moduleName);
+		moduleBuilder.beans(null);
+		moduleBuilder.sockets(null);
+		moduleBuilder.modules(null);
+		this.moduleBeans.remove(moduleName);
+		this.moduleSockets.remove(moduleName);
+		this.componentModuleBuilders.remove(moduleName);
+		this.moduleInjectableBeans.remove(moduleName);
+		this.moduleOriginatingElements.remove(moduleName);
+		this.pluginsExecutedModules.remove(moduleName);
+		this.pluginsExecutor.releaseTask(moduleBuilder.getQualifiedName());
+	}
+	
+	private void generateClassList(ModuleInfo moduleInfo, Element[] originatingElements) {
+		String moduleName = moduleInfo.getQualifiedName().getValue();
+		CompilerProfiler.Probe classListGenerationProbe = this.profiler.start(moduleName, CompilerProfiler.PHASE_CLASS_LIST_GENERATION);
+		try {
+			String classList = new ModuleClassListGenerator(this.processingEnvironment.getTypeUtils(), this.processingEnvironment.getElementUtils(), this.options.isInstrument(), this.options.isBeanRegistry()).generate(moduleInfo);
+			FileObject moduleClassListFile;
+			try {
+				// module oriented
+				moduleClassListFile = this.processingEnvironment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, moduleName + "/", ModuleClassListGenerator.CLASS_LIST_RESOURCE, originatingElements);
+			}
+			catch (FilerException e) {
+				// not module oriented after all
+				moduleClassListFile = this.processingEnvironment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ModuleClassListGenerator.CLASS_LIST_RESOURCE, originatingElements);
+			}
+			try (Writer writer = moduleClassListFile.openWriter()) {
+				writer.write(classList);
+				writer.flush();
+			}
+		}
+		catch (IOException e) {
+			this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, "Error generating Module class list " + moduleName + ": " + e.getMessage());
+			if(this.options.isDebug()) {
+				e.printStackTrace();
+			}
+		}
+		finally {
+			classListGenerationProbe.close();
+		}
+	}
+	
+	private void generateProfile(ModuleInfo moduleInfo, Element[] originatingElements) {
+		String moduleName = moduleInfo.getQualifiedName().getValue();
+		this.profiler.recordHeapUsage(moduleName);
+		String report = this.profiler.getReport(moduleName);
+		if(this.options.isVerbose()) {
+			System.out.println("Module " + moduleName + " profile:\n" + report);
+		}
+		try {
+			FileObject moduleProfileFile;
+			try {
+				// module oriented
+				moduleProfileFile = this.processingEnvironment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, moduleName + "/", CompilerProfiler.PROFILE_RESOURCE, originatingElements);
+			}
+			catch (FilerException e) {
+				// not module oriented after all
+				moduleProfileFile = this.processingEnvironment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", CompilerProfiler.PROFILE_RESOURCE, originatingElements);
+			}
+			try (Writer writer = moduleProfileFile.openWriter()) {
+				writer.write(report);
+				writer.flush();
+			}
+		}
+		catch (IOException e) {
+			this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, "Error generating Module profile " + moduleName + ": " + e.getMessage());
+			if(this.options.isDebug()) {
+				e.printStackTrace();
+			}
+		}
 	}
 	
 	private PluginsExecutionResult getPreviousPluginsExecution(ModuleInfoBuilder moduleBuilder, Map<String, PluginsExecutionResult> roundPluginExecutedModules) {
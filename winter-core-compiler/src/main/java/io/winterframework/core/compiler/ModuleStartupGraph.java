@@ -0,0 +1,239 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.compiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.winterframework.core.compiler.spi.BeanInfo;
+import io.winterframework.core.compiler.spi.BeanQualifiedName;
+import io.winterframework.core.compiler.spi.ModuleBeanInfo;
+import io.winterframework.core.compiler.spi.ModuleBeanSocketInfo;
+import io.winterframework.core.compiler.spi.ModuleInfo;
+import io.winterframework.core.compiler.spi.MultiSocketInfo;
+import io.winterframework.core.compiler.spi.NestedBeanInfo;
+import io.winterframework.core.compiler.spi.SingleSocketInfo;
+
+/**
+ * <p>
+ * Represents the startup dependency graph of the beans of a module.
+ * </p>
+ * 
+ * <p>
+ * A bean depends on the beans of the module injected in its non-lazy sockets,
+ * either directly or through a nested bean, since they must be created before
+ * the bean can be instantiated. Lazy sockets, module sockets and beans exposed
+ * by component modules are not part of the graph since they are respectively
+ * resolved after startup, provided to the module or created when component
+ * modules are started.
+ * </p>
+ * 
+ * <p>
+ * Beans are assigned to levels: a bean at level <i>n</i> depends on at least
+ * one bean at level <i>n-1</i> and beans at level 0 have no dependency. The
+ * depth of the graph is then the length of the longest dependency chain, or
+ * critical path, and the width of a level is the number of beans that could be
+ * created in parallel once the previous levels have been created.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+class ModuleStartupGraph {
+
+	private final Map<BeanQualifiedName, ModuleBeanInfo> beans;
+	
+	private final Map<BeanQualifiedName, List<ModuleBeanInfo>> dependencies;
+	
+	private final Map<BeanQualifiedName, Integer> levels;
+	
+	private final List<ModuleBeanInfo> orderedBeans;
+	
+	private final List<List<ModuleBeanInfo>> beansByLevel;
+	
+	/**
+	 * <p>
+	 * Creates the startup graph of the specified module.
+	 * </p>
+	 * 
+	 * @param moduleInfo the module
+	 */
+	public ModuleStartupGraph(ModuleInfo moduleInfo) {
+		this.beans = new LinkedHashMap<>();
+		for(ModuleBeanInfo beanInfo : moduleInfo.getBeans()) {
+			this.beans.put(beanInfo.getQualifiedName(), beanInfo);
+		}
+		
+		this.dependencies = new HashMap<>();
+		for(ModuleBeanInfo beanInfo : this.beans.values()) {
+			Set<ModuleBeanInfo> beanDependencies = new LinkedHashSet<>();
+			for(ModuleBeanSocketInfo socketInfo : beanInfo.getSockets()) {
+				if(socketInfo.isLazy() || !socketInfo.isResolved()) {
+					continue;
+				}
+				if(socketInfo instanceof SingleSocketInfo) {
+					this.addDependency(beanDependencies, ((SingleSocketInfo)socketInfo).getBean());
+				}
+				else if(socketInfo instanceof MultiSocketInfo) {
+					for(BeanInfo dependency : ((MultiSocketInfo)socketInfo).getBeans()) {
+						this.addDependency(beanDependencies, dependency);
+					}
+				}
+			}
+			this.dependencies.put(beanInfo.getQualifiedName(), new ArrayList<>(beanDependencies));
+		}
+		
+		this.levels = new HashMap<>();
+		this.orderedBeans = new ArrayList<>();
+		for(ModuleBeanInfo beanInfo : this.beans.values()) {
+			this.visit(beanInfo, new LinkedHashSet<>());
+		}
+		
+		this.beansByLevel = new ArrayList<>();
+		for(ModuleBeanInfo beanInfo : this.beans.values()) {
+			int level = this.levels.get(beanInfo.getQualifiedName());
+			while(this.beansByLevel.size() <= level) {
+				this.beansByLevel.add(new ArrayList<>());
+			}
+			this.beansByLevel.get(level).add(beanInfo);
+		}
+	}
+	
+	private void addDependency(Set<ModuleBeanInfo> beanDependencies, BeanInfo dependency) {
+		while(dependency instanceof NestedBeanInfo) {
+			dependency = ((NestedBeanInfo)dependency).getProvidingBean();
+		}
+		if(dependency != null) {
+			ModuleBeanInfo moduleBeanDependency = this.beans.get(dependency.getQualifiedName());
+			if(moduleBeanDependency != null) {
+				beanDependencies.add(moduleBeanDependency);
+			}
+		}
+	}
+	
+	private int visit(ModuleBeanInfo beanInfo, Set<BeanQualifiedName> stack) {
+		Integer level = this.levels.get(beanInfo.getQualifiedName());
+		if(level != null) {
+			return level;
+		}
+		if(!stack.add(beanInfo.getQualifiedName())) {
+			// Cycles are reported by the compiler, this should never happen
+			return 0;
+		}
+		int beanLevel = 0;
+		for(ModuleBeanInfo dependency : this.dependencies.get(beanInfo.getQualifiedName())) {
+			beanLevel = Math.max(beanLevel, this.visit(dependency, stack) + 1);
+		}
+		stack.remove(beanInfo.getQualifiedName());
+		this.levels.put(beanInfo.getQualifiedName(), beanLevel);
+		this.orderedBeans.add(beanInfo);
+		return beanLevel;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the beans of the module sorted in a startup order: a bean always
+	 * comes after its dependencies.
+	 * </p>
+	 * 
+	 * @return a list of beans
+	 */
+	public List<ModuleBeanInfo> getBeans() {
+		return Collections.unmodifiableList(this.orderedBeans);
+	}
+	
+	/**
+	 * <p>
+	 * Returns the beans of the module the specified bean depends on at startup.
+	 * </p>
+	 * 
+	 * @param beanInfo a bean of the module
+	 * 
+	 * @return a list of beans
+	 */
+	public List<ModuleBeanInfo> getDependencies(ModuleBeanInfo beanInfo) {
+		return Collections.unmodifiableList(this.dependencies.get(beanInfo.getQualifiedName()));
+	}
+	
+	/**
+	 * <p>
+	 * Returns the level of the specified bean in the graph.
+	 * </p>
+	 * 
+	 * @param beanInfo a bean of the module
+	 * 
+	 * @return a level
+	 */
+	public int getLevel(ModuleBeanInfo beanInfo) {
+		return this.levels.get(beanInfo.getQualifiedName());
+	}
+	
+	/**
+	 * <p>
+	 * Returns the depth of the graph which is the number of beans in the longest
+	 * dependency chain.
+	 * </p>
+	 * 
+	 * @return the depth of the graph
+	 */
+	public int getDepth() {
+		return this.beansByLevel.size();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the beans at each level of the graph.
+	 * </p>
+	 * 
+	 * @return a list of levels
+	 */
+	public List<List<ModuleBeanInfo>> getLevels() {
+		return Collections.unmodifiableList(this.beansByLevel);
+	}
+	
+	/**
+	 * <p>
+	 * Returns the critical path of the graph which is the longest dependency
+	 * chain starting with a bean without dependency.
+	 * </p>
+	 * 
+	 * @return a list of beans
+	 */
+	public List<ModuleBeanInfo> getCriticalPath() {
+		if(this.beansByLevel.isEmpty()) {
+			return List.of();
+		}
+		List<ModuleBeanInfo> criticalPath = new ArrayList<>();
+		ModuleBeanInfo current = this.beansByLevel.get(this.beansByLevel.size() - 1).get(0);
+		criticalPath.add(current);
+		for(int level = this.beansByLevel.size() - 2;level >= 0;level--) {
+			for(ModuleBeanInfo dependency : this.dependencies.get(current.getQualifiedName())) {
+				if(this.levels.get(dependency.getQualifiedName()) == level) {
+					current = dependency;
+					break;
+				}
+			}
+			criticalPath.add(0, current);
+		}
+		return criticalPath;
+	}
+}
@@ -44,6 +44,7 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.ModuleElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.tools.Diagnostic.Kind;
 
 import io.winterframework.core.annotation.Bean;
@@ -70,20 +71,23 @@ import io.winterframework.core.compiler.spi.SocketBeanInfo;
  */
 //@SupportedAnnotationTypes({"io.winterframework.core.annotation/io.winterframework.core.annotation.Module","io.winterframework.core.annotation/io.winterframework.core.annotation.Bean"})
 @SupportedAnnotationTypes({"io.winterframework.core.annotation.Module","io.winterframework.core.annotation.Bean"})
-@SupportedOptions({GenericCompilerOptions.DEBUG, GenericCompilerOptions.VERBOSE, GenericCompilerOptions.GENERATE_DESCRIPTOR})
+@SupportedOptions({GenericCompilerOptions.DEBUG, GenericCompilerOptions.VERBOSE, GenericCompilerOptions.GENERATE_DESCRIPTOR, GenericCompilerOptions.PROFILE, GenericCompilerOptions.UNREACHABLE_BEANS, GenericCompilerOptions.INSTRUMENT, GenericCompilerOptions.CLASS_LIST, GenericCompilerOptions.LAZY_MODULES, GenericCompilerOptions.BULK_ACCESSORS, GenericCompilerOptions.BEAN_REGISTRY, GenericCompilerOptions.PLUGIN_CACHE})
 public class WinterCompiler extends AbstractProcessor {
 
 	public static final int VERSION = 1;
 	
 	private ModuleGenerator moduleGenerator;
 	
+	private CompilerProfiler profiler;
+	
 	private Map<String, SocketBeanInfoFactory> socketFactories = new TreeMap<>(Collections.reverseOrder());
 	private Map<String, ModuleBeanInfoFactory> beanFactories = new TreeMap<>(Collections.reverseOrder());
 	
 	@Override
 	public synchronized void init(ProcessingEnvironment processingEnv) {
 		super.init(processingEnv);
-		this.moduleGenerator = new ModuleGenerator(processingEnv, new GenericCompilerOptions(processingEnv.getOptions()));
+		this.moduleGenerator = new ModuleGenerator(processingEnv, new GenericCompilerOptions(processingEnv.getOptions(), processingEnv.getMessager()), this::processComponentModule);
+		this.profiler = this.moduleGenerator.getProfiler();
 		
 		this.socketFactories = new TreeMap<>(Collections.reverseOrder());
 		this.beanFactories = new TreeMap<>(Collections.reverseOrder());
@@ -114,24 +118,33 @@ public class WinterCompiler extends AbstractProcessor {
 		
 		Map<String, Set<Element>> moduleOriginatingElements = new HashMap<>();
 		
+		// Annotated elements are queried once per round
+		Set<? extends Element> moduleElements = roundEnv.getElementsAnnotatedWith(Module.class);
+		Map<ElementKind, List<Element>> beanElementsByKind = roundEnv.getElementsAnnotatedWith(Bean.class).stream().collect(Collectors.groupingBy(Element::getKind));
+		
 		this.moduleGenerator
-			.putModules(roundEnv.getElementsAnnotatedWith(Module.class).stream()
+			.putModules(moduleElements.stream()
 				.map(element -> (ModuleElement)element)
 				.map(moduleElement -> {
 					String moduleName = moduleElement.getQualifiedName().toString();
 					
-					ModuleInfoBuilder moduleInfoBuilder = ModuleInfoBuilderFactory.createModuleBuilder(this.processingEnv, moduleElement);
-					moduleOriginatingElements.put(moduleName, new HashSet<>(List.of(moduleElement)));
-					
-					this.beanFactories.put(moduleName, ModuleBeanInfoFactory.create(this.processingEnv, moduleElement));
-					this.socketFactories.put(moduleName, SocketBeanInfoFactory.create(this.processingEnv, moduleElement));
-					
-					return moduleInfoBuilder;
+					CompilerProfiler.Probe modulesProbe = this.profiler.start(moduleName, CompilerProfiler.PHASE_MODULES);
+					try {
+						ModuleInfoBuilder moduleInfoBuilder = ModuleInfoBuilderFactory.createModuleBuilder(this.processingEnv, moduleElement, this.moduleGenerator.getOptions(), this.profiler);
+						moduleOriginatingElements.put(moduleName, new HashSet<>(List.of(moduleElement)));
+						
+						this.beanFactories.put(moduleName, ModuleBeanInfoFactory.create(this.processingEnv, moduleElement));
+						this.socketFactories.put(moduleName, SocketBeanInfoFactory.create(this.processingEnv, moduleElement));
+						
+						return moduleInfoBuilder;
+					}
+					finally {
+						modulesProbe.close();
+					}
 				})
 				.collect(Collectors.toMap(moduleInfoBuilder -> moduleInfoBuilder.getQualifiedName().toString(), Function.identity()))
 			)
-			.putModuleBeans(roundEnv.getElementsAnnotatedWith(Bean.class).stream()
-				.filter(element -> element.getKind().equals(ElementKind.CLASS))
+			.putModuleBeans(beanElementsByKind.getOrDefault(ElementKind.CLASS, List.of()).stream()
 				.map(element -> {
 					AnnotationMirror beanAnnotation = element.getAnnotationMirrors().stream().filter(a -> this.processingEnv.getTypeUtils().isSameType(a.getAnnotationType(), beanAnnotationType)).findFirst().get();
 					ModuleElement moduleElement = this.processingEnv.getElementUtils().getModuleOf(element);
@@ -145,6 +158,7 @@ public class WinterCompiler extends AbstractProcessor {
 					}
 					ModuleBeanInfoFactory beanFactory = this.beanFactories.get(moduleName);
 					ModuleBeanInfo moduleBean;
+					CompilerProfiler.Probe beansProbe = this.profiler.start(moduleName, CompilerProfiler.PHASE_BEANS);
 					try {
 						moduleBean = beanFactory.createBean(element);
 					}
@@ -155,6 +169,9 @@ public class WinterCompiler extends AbstractProcessor {
 						this.processingEnv.getMessager().printMessage(Kind.WARNING, "Unable to create bean: " + e.getMessage(), element, beanAnnotation);
 						return null;
 					}
+					finally {
+						beansProbe.close();
+					}
 					
 					if(!moduleOriginatingElements.containsKey(moduleName)) {
 						moduleOriginatingElements.put(moduleName, new HashSet<>());
@@ -165,8 +182,7 @@ public class WinterCompiler extends AbstractProcessor {
 				.filter(Objects::nonNull)
 				.collect(Collectors.groupingBy(moduleBean -> moduleBean.getQualifiedName().getModuleQName().getValue()))
 			)
-			.putModuleSockets(roundEnv.getElementsAnnotatedWith(Bean.class).stream()
-				.filter(element -> element.getKind().equals(ElementKind.INTERFACE))
+			.putModuleSockets(beanElementsByKind.getOrDefault(ElementKind.INTERFACE, List.of()).stream()
 				.map(element -> {
 					AnnotationMirror beanAnnotation = element.getAnnotationMirrors().stream().filter(a -> this.processingEnv.getTypeUtils().isSameType(a.getAnnotationType(), beanAnnotationType)).findFirst().get();
 					ModuleElement moduleElement = this.processingEnv.getElementUtils().getModuleOf(element);
@@ -180,6 +196,7 @@ public class WinterCompiler extends AbstractProcessor {
 					}
 					SocketBeanInfoFactory socketFactory = this.socketFactories.get(moduleName);
 					SocketBeanInfo moduleSocket;
+					CompilerProfiler.Probe socketsProbe = this.profiler.start(moduleName, CompilerProfiler.PHASE_SOCKETS);
 					try {
 						moduleSocket = socketFactory.createSocketBean(element);
 					}
@@ -190,6 +207,9 @@ public class WinterCompiler extends AbstractProcessor {
 						this.processingEnv.getMessager().printMessage(Kind.WARNING, "Unable to create socket bean: " + e.getMessage(), element, beanAnnotation);
 						return null;
 					}
+					finally {
+						socketsProbe.close();
+					}
 
 					if(!moduleOriginatingElements.containsKey(moduleName)) {
 						moduleOriginatingElements.put(moduleName, new HashSet<>());
@@ -200,7 +220,7 @@ public class WinterCompiler extends AbstractProcessor {
 				.filter(Objects::nonNull)
 				.collect(Collectors.groupingBy(socket -> socket.getQualifiedName().getModuleQName().getValue()))
 			)
-			.putComponentModules(roundEnv.getElementsAnnotatedWith(Module.class).stream()
+			.putComponentModules(moduleElements.stream()
 				.collect(Collectors.toMap(
 					element -> ((ModuleElement)element).getQualifiedName().toString(), 
 					element -> {
@@ -241,7 +261,13 @@ public class WinterCompiler extends AbstractProcessor {
 									return this.moduleGenerator.modules().get(componentModuleName);
 								}
 							
-								return this.processComponentModule(moduleElement, componentModuleElement);
+								CompilerProfiler.Probe componentModulesProbe = this.profiler.start(moduleElement.getQualifiedName().toString(), CompilerProfiler.PHASE_COMPONENT_MODULES);
+								try {
+									return this.processComponentModule(moduleElement, componentModuleElement);
+								}
+								finally {
+									componentModulesProbe.close();
+								}
 							})
 							.collect(Collectors.toList());
 					}))
@@ -288,6 +314,7 @@ public class WinterCompiler extends AbstractProcessor {
 		ModuleBeanInfoFactory componentModuleBeanFactory = ModuleBeanInfoFactory.create(this.processingEnv, moduleElement, componentModuleElement, () -> componentModuleSockets, 1);
 		List<? extends ModuleBeanInfo> componentModuleBeans = moduleType.getEnclosedElements().stream()
 			.filter(e -> e.getKind().equals(ElementKind.METHOD) && e.getModifiers().contains(Modifier.PUBLIC) && !e.getModifiers().contains(Modifier.STATIC) && ((ExecutableElement)e).getParameters().size() == 0)
+			.filter(e -> !this.isModuleMethod((ExecutableElement)e, moduleType))
 			.map(e -> {
 				try {
 					return componentModuleBeanFactory.createBean(e);
@@ -303,4 +330,13 @@ public class WinterCompiler extends AbstractProcessor {
 	
 		return componentModuleBuilder;
 	}
+	
+	private boolean isModuleMethod(ExecutableElement method, TypeElement moduleType) {
+		// Methods overriding Module methods (eg. getBeanStats() in an instrumented module) are not beans
+		Element moduleBaseType = this.processingEnv.getTypeUtils().asElement(moduleType.getSuperclass());
+		if(moduleBaseType == null) {
+			return false;
+		}
+		return ElementFilter.methodsIn(moduleBaseType.getEnclosedElements()).stream().anyMatch(moduleMethod -> this.processingEnv.getElementUtils().overrides(method, moduleMethod, moduleType));
+	}
 }
@@ -18,9 +18,13 @@ package io.winterframework.core.compiler.module;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,8 +36,14 @@ import javax.lang.model.element.ModuleElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 
+import io.winterframework.core.annotation.Bean;
+import io.winterframework.core.annotation.Keep;
 import io.winterframework.core.annotation.Wire;
 import io.winterframework.core.annotation.Wires;
+import io.winterframework.core.compiler.CompilerProfiler;
+import io.winterframework.core.compiler.GenericCompilerOptions;
+import io.winterframework.core.compiler.GenericCompilerOptions.UnreachableBeansPolicy;
+import io.winterframework.core.compiler.common.GenericReporterInfo;
 import io.winterframework.core.compiler.common.MutableMultiSocketInfo;
 import io.winterframework.core.compiler.common.MutableSingleSocketInfo;
 import io.winterframework.core.compiler.common.MutableSocketBeanInfo;
@@ -48,6 +58,7 @@ import io.winterframework.core.compiler.spi.ModuleInfoBuilder;
 import io.winterframework.core.compiler.spi.ModuleQualifiedName;
 import io.winterframework.core.compiler.spi.MultiSocketInfo;
 import io.winterframework.core.compiler.spi.NestedBeanInfo;
+import io.winterframework.core.compiler.spi.OverridableBeanInfo;
 import io.winterframework.core.compiler.spi.QualifiedName;
 import io.winterframework.core.compiler.spi.SingleSocketInfo;
 import io.winterframework.core.compiler.spi.SocketBeanInfo;
@@ -75,9 +86,15 @@ class CompiledModuleInfoBuilder extends AbstractModuleInfoBuilder {
 	
 	private ModuleBeanSocketWireResolver moduleSocketWiredBeansResolver;
 	
-	public CompiledModuleInfoBuilder(ProcessingEnvironment processingEnvironment, ModuleElement moduleElement) {
+	private UnreachableBeansPolicy unreachableBeansPolicy;
+	
+	private CompilerProfiler profiler;
+	
+	public CompiledModuleInfoBuilder(ProcessingEnvironment processingEnvironment, ModuleElement moduleElement, GenericCompilerOptions options, CompilerProfiler profiler) {
 		super(processingEnvironment, moduleElement);
 		
+		this.unreachableBeansPolicy = options != null ? options.getUnreachableBeans() : UnreachableBeansPolicy.IGNORE;
+		this.profiler = profiler;
 		this.moduleSocketWiredBeansResolver = new ModuleBeanSocketWireResolver();
 		this.beans = new ModuleBeanInfo[0];
 		this.sockets = new SocketBeanInfo[0];
@@ -110,11 +127,43 @@ class CompiledModuleInfoBuilder extends AbstractModuleInfoBuilder {
 
 	@Override
 	public ModuleInfo build() {
-		boolean hasNameConflicts = this.checkNameConflicts();
-		boolean socketsResolved = this.resolveSockets();
-		boolean hasBeanCycles = this.checkBeanCycles();
+		String moduleName = this.moduleQName.getValue();
+		boolean hasNameConflicts;
+		CompilerProfiler.Probe nameConflictsProbe = this.startProbe(moduleName, CompilerProfiler.PHASE_NAME_CONFLICTS);
+		try {
+			hasNameConflicts = this.checkNameConflicts();
+		}
+		finally {
+			nameConflictsProbe.close();
+		}
+		boolean socketsResolved;
+		CompilerProfiler.Probe socketResolutionProbe = this.startProbe(moduleName, CompilerProfiler.PHASE_SOCKET_RESOLUTION);
+		try {
+			socketsResolved = this.resolveSockets();
+		}
+		finally {
+			socketResolutionProbe.close();
+		}
+		boolean hasBeanCycles;
+		CompilerProfiler.Probe cycleDetectionProbe = this.startProbe(moduleName, CompilerProfiler.PHASE_CYCLE_DETECTION);
+		try {
+			hasBeanCycles = this.checkBeanCycles();
+		}
+		finally {
+			cycleDetectionProbe.close();
+		}
+		ModuleBeanInfo[] moduleBeans = this.beans;
+		if(!this.unreachableBeansPolicy.equals(UnreachableBeansPolicy.IGNORE) && !hasNameConflicts && socketsResolved && !hasBeanCycles) {
+			CompilerProfiler.Probe reachabilityProbe = this.startProbe(moduleName, CompilerProfiler.PHASE_REACHABILITY);
+			try {
+				moduleBeans = this.checkUnreachableBeans();
+			}
+			finally {
+				reachabilityProbe.close();
+			}
+		}
 
-		CompiledModuleInfo moduleInfo = new CompiledModuleInfo(this.processingEnvironment, this.moduleElement, this.moduleAnnotation, this.moduleQName, this.version, Arrays.asList(this.beans), Arrays.asList(this.sockets), Arrays.asList(this.modules));
+		CompiledModuleInfo moduleInfo = new CompiledModuleInfo(this.processingEnvironment, this.moduleElement, this.moduleAnnotation, this.moduleQName, this.version, Arrays.asList(moduleBeans), Arrays.asList(this.sockets), Arrays.asList(this.modules));
 		moduleInfo.setFaulty(hasNameConflicts || hasBeanCycles || !socketsResolved);
 		if(!hasBeanCycles) {
 			moduleInfo.accept(this.moduleSocketWiredBeansResolver, null);
@@ -124,6 +173,10 @@ class CompiledModuleInfoBuilder extends AbstractModuleInfoBuilder {
 		return moduleInfo;
 	}
 	
+	private CompilerProfiler.Probe startProbe(String moduleName, String phase) {
+		return this.profiler != null ? this.profiler.start(moduleName, phase) : () -> {};
+	}
+	
 	private boolean checkNameConflicts() {
 		// Verify beans with identical name => report a compilation error on both beans at @Bean annotation level
 		List<BeanInfo> moduleBeanInfos = new ArrayList<>();
@@ -297,6 +350,82 @@ class CompiledModuleInfoBuilder extends AbstractModuleInfoBuilder {
 			});
 	}
 	
+	private ModuleBeanInfo[] checkUnreachableBeans() {
+		Set<ModuleBeanInfo> reachableBeans = this.findReachableBeans();
+		
+		List<ModuleBeanInfo> unreachableBeans = Arrays.stream(this.beans).filter(beanInfo -> !reachableBeans.contains(beanInfo)).collect(Collectors.toList());
+		if(unreachableBeans.isEmpty()) {
+			return this.beans;
+		}
+		
+		boolean drop = this.unreachableBeansPolicy.equals(UnreachableBeansPolicy.DROP);
+		for(ModuleBeanInfo beanInfo : unreachableBeans) {
+			if(drop) {
+				beanInfo.warning("Removing private bean " + beanInfo.getQualifiedName() + " which is not reachable from any public bean or component module, consider annotating it with " + Keep.class.getSimpleName() + " to keep it");
+			}
+			else {
+				beanInfo.warning("Private bean " + beanInfo.getQualifiedName() + " is not reachable from any public bean or component module");
+			}
+		}
+		
+		if(drop) {
+			return Arrays.stream(this.beans).filter(reachableBeans::contains).toArray(ModuleBeanInfo[]::new);
+		}
+		return this.beans;
+	}
+	
+	private Set<ModuleBeanInfo> findReachableBeans() {
+		Set<ModuleBeanInfo> moduleBeans = new HashSet<>(Arrays.asList(this.beans));
+		Set<ModuleBeanInfo> reachableBeans = new HashSet<>();
+		Deque<ModuleBeanInfo> beansToVisit = new LinkedList<>();
+		
+		BiConsumer<BeanInfo, Deque<ModuleBeanInfo>> reach = (beanInfo, toVisit) -> {
+			BeanInfo actualBeanInfo = beanInfo;
+			while(actualBeanInfo instanceof NestedBeanInfo) {
+				actualBeanInfo = ((NestedBeanInfo)actualBeanInfo).getProvidingBean();
+			}
+			if(moduleBeans.contains(actualBeanInfo) && reachableBeans.add((ModuleBeanInfo)actualBeanInfo)) {
+				toVisit.add((ModuleBeanInfo)actualBeanInfo);
+			}
+		};
+		
+		// Public beans, overridable beans, beans with lifecycle methods and beans annotated with @Keep are always reachable
+		for(ModuleBeanInfo beanInfo : this.beans) {
+			if(beanInfo.getVisibility().equals(Bean.Visibility.PUBLIC) || beanInfo instanceof OverridableBeanInfo || beanInfo.getInitElements().length > 0 || beanInfo.getDestroyElements().length > 0 || this.isKeep(beanInfo)) {
+				reach.accept(beanInfo, beansToVisit);
+			}
+		}
+		
+		// Beans wired into component modules sockets are reachable
+		for(ModuleInfo moduleInfo : this.modules) {
+			for(SocketBeanInfo socket : moduleInfo.getSockets()) {
+				this.getResolvedBeans(socket).forEach(beanInfo -> reach.accept(beanInfo, beansToVisit));
+			}
+		}
+		
+		while(!beansToVisit.isEmpty()) {
+			for(ModuleBeanSocketInfo socket : beansToVisit.poll().getSockets()) {
+				this.getResolvedBeans(socket).forEach(beanInfo -> reach.accept(beanInfo, beansToVisit));
+			}
+		}
+		return reachableBeans;
+	}
+	
+	private Stream<BeanInfo> getResolvedBeans(SocketInfo socket) {
+		if(socket instanceof MultiSocketInfo) {
+			return ((MultiSocketInfo)socket).getBeans() != null ? Arrays.stream(((MultiSocketInfo)socket).getBeans()) : Stream.empty();
+		}
+		else if(socket instanceof SingleSocketInfo) {
+			return Stream.ofNullable(((SingleSocketInfo)socket).getBean());
+		}
+		return Stream.empty();
+	}
+	
+	private boolean isKeep(ModuleBeanInfo beanInfo) {
+		ModuleBeanInfo actualBeanInfo = beanInfo instanceof OverridableBeanInfo ? ((OverridableBeanInfo)beanInfo).getOverridableBean() : beanInfo;
+		return actualBeanInfo instanceof GenericReporterInfo && ((GenericReporterInfo)actualBeanInfo).getElement().getAnnotation(Keep.class) != null;
+	}
+	
 	private boolean checkBeanCycles() {
 		BeanCycleDetector detector = new BeanCycleDetector(this.moduleQName, Stream.concat(Arrays.stream(this.beans), Arrays.stream(this.sockets)).collect(Collectors.toList()));
 		List<List<CycleInfo>> beanCycles = detector.findCycles();
@@ -15,8 +15,16 @@
  */
 package io.winterframework.core.compiler.module;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -48,153 +56,189 @@ import io.winterframework.core.compiler.spi.WrapperBeanInfo;
  * dependency cycles when a module is used as a component module
  * </p>
  * 
+ * <p>
+ * The bean graph is traversed once without recursion: each bean info is visited
+ * to collect the bean infos it directly depends on, the beans wired to a module
+ * socket are then the module beans from which the socket can be reached, they
+ * are determined by walking the reversed graph from the socket. This keeps the
+ * resolution linear in the number of dependencies for each socket whatever the
+ * number of paths between beans and the length of dependency chains.
+ * </p>
+ * 
  * @author jkuhn
  *
  */
-class ModuleBeanSocketWireResolver implements ModuleInfoVisitor<Void, Set<BeanQualifiedName>> {
+class ModuleBeanSocketWireResolver implements ModuleInfoVisitor<Void, List<BeanInfo>> {
 
 	private ModuleQualifiedName moduleQName;
 	
 	@Override
-	public Void visit(ModuleInfo moduleInfo, Set<BeanQualifiedName> wiredBeans) {
+	public Void visit(ModuleInfo moduleInfo, List<BeanInfo> dependencies) {
 		this.moduleQName = moduleInfo.getQualifiedName();
+		
+		// Bean info -> bean infos depending on it
+		Map<BeanInfo, List<BeanInfo>> dependents = new IdentityHashMap<>();
+		Set<SocketBeanInfo> moduleSockets = new LinkedHashSet<>();
+		
+		Deque<BeanInfo> beanStack = new ArrayDeque<>();
 		Arrays.stream(moduleInfo.getBeans()).forEach(bean -> {
-			this.visit(bean, new HashSet<>());
+			if(!dependents.containsKey(bean)) {
+				dependents.put(bean, new ArrayList<>());
+				beanStack.push(bean);
+			}
 		});
+		while(!beanStack.isEmpty()) {
+			BeanInfo bean = beanStack.pop();
+			if(this.isModuleSocket(bean)) {
+				moduleSockets.add((SocketBeanInfo)bean);
+				continue;
+			}
+			List<BeanInfo> beanDependencies = new ArrayList<>();
+			this.visit(bean, beanDependencies);
+			for(BeanInfo dependency : beanDependencies) {
+				// Optional unresolved sockets
+				if(dependency != null) {
+					List<BeanInfo> dependencyDependents = dependents.get(dependency);
+					if(dependencyDependents == null) {
+						dependencyDependents = new ArrayList<>();
+						dependents.put(dependency, dependencyDependents);
+						beanStack.push(dependency);
+					}
+					dependencyDependents.add(bean);
+				}
+			}
+		}
+		
+		for(SocketBeanInfo moduleSocket : moduleSockets) {
+			Set<BeanQualifiedName> wiredBeans = new HashSet<>(Arrays.asList(moduleSocket.getWiredBeans()));
+			Set<BeanInfo> visitedBeans = Collections.newSetFromMap(new IdentityHashMap<>());
+			Deque<BeanInfo> dependentStack = new ArrayDeque<>(dependents.get(moduleSocket));
+			while(!dependentStack.isEmpty()) {
+				BeanInfo dependent = dependentStack.pop();
+				if(visitedBeans.add(dependent)) {
+					if(dependent instanceof ModuleBeanInfo) {
+						wiredBeans.add(dependent.getQualifiedName());
+					}
+					dependents.get(dependent).forEach(dependentStack::push);
+				}
+			}
+			((WirableSocketBeanInfo)moduleSocket).setWiredBeans(wiredBeans.stream().filter(beanQName -> beanQName.getModuleQName().equals(this.moduleQName)).collect(Collectors.toSet()));
+		}
 		return null;
 	}
+	
+	private boolean isModuleSocket(BeanInfo beanInfo) {
+		return beanInfo instanceof SocketBeanInfo && beanInfo.getQualifiedName().getModuleQName().equals(this.moduleQName);
+	}
 
 	@Override
-	public Void visit(BeanInfo beanInfo, Set<BeanQualifiedName> wiredBeans) {
-		// Optional unresolved sockets
-		if(beanInfo == null) {
-			return null;
-		}
-		else if(NestedBeanInfo.class.isAssignableFrom(beanInfo.getClass())) {
-			return this.visit((NestedBeanInfo)beanInfo, wiredBeans);
+	public Void visit(BeanInfo beanInfo, List<BeanInfo> dependencies) {
+		if(NestedBeanInfo.class.isAssignableFrom(beanInfo.getClass())) {
+			return this.visit((NestedBeanInfo)beanInfo, dependencies);
 		}
 		else if(OverridableBeanInfo.class.isAssignableFrom(beanInfo.getClass())) {
-			return this.visit((OverridableBeanInfo)beanInfo, wiredBeans);
+			return this.visit((OverridableBeanInfo)beanInfo, dependencies);
 		}
 		else if(ModuleBeanInfo.class.isAssignableFrom(beanInfo.getClass())) {
-			return this.visit((ModuleBeanInfo)beanInfo, wiredBeans);
+			return this.visit((ModuleBeanInfo)beanInfo, dependencies);
 		}
 		else if(SocketBeanInfo.class.isAssignableFrom(beanInfo.getClass())) {
-			return this.visit((SocketBeanInfo)beanInfo, wiredBeans);
+			return this.visit((SocketBeanInfo)beanInfo, dependencies);
 		}
 		return null;
 	}
 	
 	@Override
-	public Void visit(NestedBeanInfo nestedBeanInfo, Set<BeanQualifiedName> wiredBeans) {
-		return this.visit(nestedBeanInfo.getProvidingBean(), wiredBeans);
+	public Void visit(NestedBeanInfo nestedBeanInfo, List<BeanInfo> dependencies) {
+		dependencies.add(nestedBeanInfo.getProvidingBean());
+		return null;
 	}
 
 	@Override
-	public Void visit(ModuleBeanInfo moduleBeanInfo, Set<BeanQualifiedName> wiredBeans) {
-		wiredBeans.add(moduleBeanInfo.getQualifiedName());
-		Arrays.stream(moduleBeanInfo.getSockets()).forEach(socket -> this.visit(socket, wiredBeans));
-		
+	public Void visit(ModuleBeanInfo moduleBeanInfo, List<BeanInfo> dependencies) {
+		Arrays.stream(moduleBeanInfo.getSockets()).forEach(socket -> this.visit(socket, dependencies));
 		return null;
 	}
 
 	@Override
-	public Void visit(WrapperBeanInfo wrapperBeanInfo, Set<BeanQualifiedName> wiredBeans) {
-		return this.visit((ModuleBeanInfo)wrapperBeanInfo, wiredBeans);
+	public Void visit(WrapperBeanInfo wrapperBeanInfo, List<BeanInfo> dependencies) {
+		return this.visit((ModuleBeanInfo)wrapperBeanInfo, dependencies);
 	}
 	
 	@Override
-	public Void visit(OverridableBeanInfo overridableBeanInfo, Set<BeanQualifiedName> wiredBeans) {
-		this.visit(overridableBeanInfo.getOverridingSocket(), wiredBeans);
-		this.visit((ModuleBeanInfo)overridableBeanInfo, wiredBeans);
-		return null;
+	public Void visit(OverridableBeanInfo overridableBeanInfo, List<BeanInfo> dependencies) {
+		dependencies.add(overridableBeanInfo.getOverridingSocket());
+		return this.visit((ModuleBeanInfo)overridableBeanInfo, dependencies);
 	}
 	
 	@Override
-	public Void visit(ModuleBeanSocketInfo beanSocketInfo, Set<BeanQualifiedName> wiredBeans) {
+	public Void visit(ModuleBeanSocketInfo beanSocketInfo, List<BeanInfo> dependencies) {
 		if(ModuleBeanSingleSocketInfo.class.isAssignableFrom(beanSocketInfo.getClass())) {
-			return this.visit((ModuleBeanSingleSocketInfo)beanSocketInfo, wiredBeans);
+			return this.visit((ModuleBeanSingleSocketInfo)beanSocketInfo, dependencies);
 		}
 		else if(ModuleBeanMultiSocketInfo.class.isAssignableFrom(beanSocketInfo.getClass())) {
-			return this.visit((ModuleBeanMultiSocketInfo)beanSocketInfo, wiredBeans);
+			return this.visit((ModuleBeanMultiSocketInfo)beanSocketInfo, dependencies);
 		}
 		return null;
 	}
 
 	@Override
-	public Void visit(ModuleBeanSingleSocketInfo beanSingleSocketInfo, Set<BeanQualifiedName> wiredBeans) {
-		if(beanSingleSocketInfo.getBean() != null) {
-			this.visit(beanSingleSocketInfo.getBean(), wiredBeans);
-		}
+	public Void visit(ModuleBeanSingleSocketInfo beanSingleSocketInfo, List<BeanInfo> dependencies) {
+		dependencies.add(beanSingleSocketInfo.getBean());
 		return null;
 	}
 
 	@Override
-	public Void visit(ModuleBeanMultiSocketInfo beanMultiSocketInfo, Set<BeanQualifiedName> wiredBeans) {
+	public Void visit(ModuleBeanMultiSocketInfo beanMultiSocketInfo, List<BeanInfo> dependencies) {
 		if(beanMultiSocketInfo.getBeans() != null) {
-			Arrays.stream(beanMultiSocketInfo.getBeans()).forEach(bean -> this.visit(bean, wiredBeans));
+			dependencies.addAll(Arrays.asList(beanMultiSocketInfo.getBeans()));
 		}
 		return null;
 	}
 
 	@Override
-	public Void visit(SocketBeanInfo moduleSocketInfo, Set<BeanQualifiedName> wiredBeans) {
-		if(moduleSocketInfo.getQualifiedName().getModuleQName().equals(this.moduleQName)) {
-			// this module
-			wiredBeans.addAll(Arrays.asList(moduleSocketInfo.getWiredBeans()));
-			((WirableSocketBeanInfo)moduleSocketInfo).setWiredBeans(wiredBeans.stream().filter(beanQName -> beanQName.getModuleQName().equals(this.moduleQName)).collect(Collectors.toSet()));
+	public Void visit(SocketBeanInfo moduleSocketInfo, List<BeanInfo> dependencies) {
+		// component module socket, module sockets are not traversed
+		if(SingleSocketBeanInfo.class.isAssignableFrom(moduleSocketInfo.getClass())) {
+			return this.visit((SingleSocketBeanInfo)moduleSocketInfo, dependencies);
 		}
-		else {
-			// component module
-			if(SingleSocketBeanInfo.class.isAssignableFrom(moduleSocketInfo.getClass())) {
-				return this.visit((SingleSocketBeanInfo)moduleSocketInfo, wiredBeans);
-			}
-			else if(MultiSocketBeanInfo.class.isAssignableFrom(moduleSocketInfo.getClass())) {
-				return this.visit((MultiSocketBeanInfo)moduleSocketInfo, wiredBeans);
-			}
+		else if(MultiSocketBeanInfo.class.isAssignableFrom(moduleSocketInfo.getClass())) {
+			return this.visit((MultiSocketBeanInfo)moduleSocketInfo, dependencies);
 		}
 		return null;
 	}
 
 	@Override
-	public Void visit(SingleSocketBeanInfo moduleSingleSocketInfo, Set<BeanQualifiedName> wiredBeans) {
-		if(moduleSingleSocketInfo.getBean() != null) {
-			/*wiredBeans.addAll(Arrays.stream(moduleSingleSocketInfo.getWiredBeans())
-				.filter(beanQName -> beanQName.getModuleQName().equals(this.moduleQName))
-				.collect(Collectors.toList()));*/
-			this.visit(moduleSingleSocketInfo.getBean(), wiredBeans);
-		}
+	public Void visit(SingleSocketBeanInfo moduleSingleSocketInfo, List<BeanInfo> dependencies) {
+		dependencies.add(moduleSingleSocketInfo.getBean());
 		return null;
 	}
 
 	@Override
-	public Void visit(MultiSocketBeanInfo moduleMultiSocketInfo, Set<BeanQualifiedName> wiredBeans) {
+	public Void visit(MultiSocketBeanInfo moduleMultiSocketInfo, List<BeanInfo> dependencies) {
 		if(moduleMultiSocketInfo.getBeans() != null) {
-			/*wiredBeans.addAll(Arrays.stream(moduleMultiSocketInfo.getWiredBeans())
-				.filter(beanQName -> beanQName.getModuleQName().equals(this.moduleQName))
-				.collect(Collectors.toList()));*/
-			Arrays.stream(moduleMultiSocketInfo.getBeans()).forEach(bean -> this.visit(bean, wiredBeans));
+			dependencies.addAll(Arrays.asList(moduleMultiSocketInfo.getBeans()));
 		}
 		return null;
 	}
 	
 	@Override
-	public Void visit(OverridingSocketBeanInfo overridingSocketBeanInfo, Set<BeanQualifiedName> wiredBeans) {
-		return this.visit((SocketBeanInfo)overridingSocketBeanInfo, wiredBeans);
+	public Void visit(OverridingSocketBeanInfo overridingSocketBeanInfo, List<BeanInfo> dependencies) {
+		return this.visit((SocketBeanInfo)overridingSocketBeanInfo, dependencies);
 	}
 
 	@Override
-	public Void visit(SocketInfo socketInfo, Set<BeanQualifiedName> wiredBeans) {
+	public Void visit(SocketInfo socketInfo, List<BeanInfo> dependencies) {
 		return null;
 	}
 
 	@Override
-	public Void visit(SingleSocketInfo singleSocketInfo, Set<BeanQualifiedName> wiredBeans) {
+	public Void visit(SingleSocketInfo singleSocketInfo, List<BeanInfo> dependencies) {
 		return null;
 	}
 
 	@Override
-	public Void visit(MultiSocketInfo multiSocketInfo, Set<BeanQualifiedName> wiredBeans) {
+	public Void visit(MultiSocketInfo multiSocketInfo, List<BeanInfo> dependencies) {
 		return null;
 	}
 }
@@ -18,6 +18,8 @@ package io.winterframework.core.compiler.module;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ModuleElement;
 
+import io.winterframework.core.compiler.CompilerProfiler;
+import io.winterframework.core.compiler.GenericCompilerOptions;
 import io.winterframework.core.compiler.spi.ModuleInfoBuilder;
 
 /**
@@ -32,7 +34,11 @@ import io.winterframework.core.compiler.spi.ModuleInfoBuilder;
 public abstract class ModuleInfoBuilderFactory {
 
 	public static ModuleInfoBuilder createModuleBuilder(ProcessingEnvironment processingEnvironment, ModuleElement moduleElement) {
-		return new CompiledModuleInfoBuilder(processingEnvironment, moduleElement);
+		return new CompiledModuleInfoBuilder(processingEnvironment, moduleElement, null, null);
+	}
+	
+	public static ModuleInfoBuilder createModuleBuilder(ProcessingEnvironment processingEnvironment, ModuleElement moduleElement, GenericCompilerOptions options, CompilerProfiler profiler) {
+		return new CompiledModuleInfoBuilder(processingEnvironment, moduleElement, options, profiler);
 	}
 	
 	public static ModuleInfoBuilder createModuleBuilder(ProcessingEnvironment processingEnvironment, ModuleElement moduleElement, ModuleElement requiredModuleElement, Integer version) {
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.compiler.nativeimage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.util.Elements;
+
+import io.winterframework.core.compiler.spi.ModuleQualifiedName;
+import io.winterframework.core.compiler.spi.plugin.CompilerPlugin;
+import io.winterframework.core.compiler.spi.plugin.PluginContext;
+import io.winterframework.core.compiler.spi.plugin.PluginExecution;
+import io.winterframework.core.compiler.spi.plugin.PluginExecutionException;
+
+/**
+ * <p>
+ * A Winter compiler plugin generating the
+ * <a href="https://www.graalvm.org/reference-manual/native-image/">GraalVM
+ * native image</a> configuration of a compiled module.
+ * </p>
+ * 
+ * <p>
+ * Generated module classes don't use reflection, the configuration is then
+ * limited to the following files generated in
+ * {@code META-INF/native-image/<module>/}:
+ * </p>
+ * 
+ * <ul>
+ * <li>{@code resource-config.json} which includes the Winter module descriptor
+ * and the log4j configuration resources</li>
+ * <li>{@code reflect-config.json} which registers the log4j message factories
+ * instantiated by reflection, it is only generated when log4j is part of the
+ * compilation</li>
+ * <li>{@code native-image.properties} which initializes the module class, its
+ * builder and its linker at build time, bean classes are left untouched since
+ * their static initializers are unknown</li>
+ * </ul>
+ * 
+ * <p>
+ * The plugin is activated per module with the {@code winter.nativeImage}
+ * option which is either {@code true} to generate the configuration of every
+ * compiled module or a comma separated list of module names (eg.
+ * {@code -Awinter.nativeImage=com.example.someModule}).
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ *
+ */
+public class NativeImagePlugin implements CompilerPlugin {
+
+	/**
+	 * <p>
+	 * The option activating the plugin.
+	 * </p>
+	 */
+	public static final String OPTION_NATIVE_IMAGE = "winter.nativeImage";
+	
+	/**
+	 * <p>
+	 * The path where native image configuration files are generated.
+	 * </p>
+	 */
+	public static final String NATIVE_IMAGE_PATH = "META-INF/native-image/";
+	
+	private static final String LOG4J_MODULE = "org.apache.logging.log4j";
+	
+	private static final String[] WINTER_CORE_RESOURCES = {
+		"META-INF/winter/core/module.yml"
+	};
+	
+	private static final String[] LOG4J_RESOURCES = {
+		"META-INF/log4j-provider.properties",
+		"log4j2.component.properties",
+		"log4j2.simplelog.properties"
+	};
+	
+	private static final String[] LOG4J_REFLECTIVE_CLASSES = {
+		"org.apache.logging.log4j.message.DefaultFlowMessageFactory",
+		"org.apache.logging.log4j.message.ParameterizedMessageFactory",
+		"org.apache.logging.log4j.message.ReusableMessageFactory"
+	};
+	
+	private static final String[] WINTER_CORE_BUILD_TIME_CLASSES = {
+		"io.winterframework.core.v1.Module",
+		"io.winterframework.core.v1.Module$ModuleBuilder",
+		"io.winterframework.core.v1.Module$ModuleLinker"
+	};
+	
+	private boolean allModules;
+	
+	private Set<String> modules;
+	
+	private Elements elementUtils;
+	
+	@Override
+	public Set<String> getSupportedOptions() {
+		return Set.of(OPTION_NATIVE_IMAGE);
+	}
+	
+	@Override
+	public void init(PluginContext pluginContext) {
+		this.elementUtils = pluginContext.getElementUtils();
+		String nativeImage = pluginContext.getOptions().containsOption(OPTION_NATIVE_IMAGE) ? pluginContext.getOptions().getOption(OPTION_NATIVE_IMAGE).orElse("true").trim() : "false";
+		if(nativeImage.isEmpty() || nativeImage.equalsIgnoreCase("true")) {
+			this.allModules = true;
+			this.modules = Set.of();
+		}
+		else if(nativeImage.equalsIgnoreCase("false")) {
+			this.modules = Set.of();
+		}
+		else {
+			this.modules = Arrays.stream(nativeImage.split(",")).map(String::trim).filter(module -> !module.isEmpty()).collect(Collectors.toSet());
+		}
+	}
+
+	@Override
+	public boolean canExecute(ModuleElement moduleElement) {
+		return this.allModules || this.modules.contains(moduleElement.getQualifiedName().toString());
+	}
+
+	@Override
+	public void execute(PluginExecution execution) throws PluginExecutionException {
+		ModuleQualifiedName moduleQualifiedName = execution.getModuleQualifiedName();
+		String path = NATIVE_IMAGE_PATH + moduleQualifiedName.getValue() + "/";
+		Element[] originatingElements = new Element[] { execution.getModuleElement() };
+		boolean log4j = this.elementUtils.getModuleElement(LOG4J_MODULE) != null;
+		
+		try {
+			execution.createResourceFile(path + "resource-config.json", originatingElements, () -> this.generateResourceConfig(log4j));
+			if(log4j) {
+				execution.createResourceFile(path + "reflect-config.json", originatingElements, () -> this.generateReflectConfig(LOG4J_REFLECTIVE_CLASSES));
+			}
+			execution.createResourceFile(path + "native-image.properties", originatingElements, () -> this.generateProperties(moduleQualifiedName));
+		}
+		catch (IOException e) {
+			throw new PluginExecutionException("Error generating native image configuration for module " + moduleQualifiedName, e);
+		}
+	}
+	
+	private String generateResourceConfig(boolean log4j) {
+		List<String> resources = new ArrayList<>(Arrays.asList(WINTER_CORE_RESOURCES));
+		if(log4j) {
+			resources.addAll(Arrays.asList(LOG4J_RESOURCES));
+		}
+		
+		StringBuilder resourceConfig = new StringBuilder();
+		resourceConfig.append("{\n");
+		resourceConfig.append("  \"resources\": {\n");
+		resourceConfig.append("    \"includes\": [\n");
+		resourceConfig.append(resources.stream().map(resource -> "      { \"pattern\": \"\\\\Q" + resource + "\\\\E\" }").collect(Collectors.joining(",\n"))).append("\n");
+		resourceConfig.append("    ]\n");
+		resourceConfig.append("  },\n");
+		resourceConfig.append("  \"bundles\": []\n");
+		resourceConfig.append("}\n");
+		return resourceConfig.toString();
+	}
+	
+	private String generateReflectConfig(String[] classes) {
+		StringBuilder reflectConfig = new StringBuilder();
+		reflectConfig.append("[\n");
+		reflectConfig.append(Arrays.stream(classes).map(className -> "  {\n    \"name\": \"" + className + "\",\n    \"methods\": [ { \"name\": \"<init>\", \"parameterTypes\": [] } ]\n  }").collect(Collectors.joining(",\n"))).append("\n");
+		reflectConfig.append("]\n");
+		return reflectConfig.toString();
+	}
+	
+	private String generateProperties(ModuleQualifiedName moduleQualifiedName) {
+		String moduleClassName = moduleQualifiedName.getClassName();
+		List<String> buildTimeClasses = new ArrayList<>(Arrays.asList(WINTER_CORE_BUILD_TIME_CLASSES));
+		buildTimeClasses.add(moduleClassName);
+		buildTimeClasses.add(moduleClassName + "$Builder");
+		buildTimeClasses.add(moduleClassName + "$Linker");
+		
+		StringBuilder properties = new StringBuilder();
+		properties.append("# Native image configuration of module ").append(moduleQualifiedName.getValue()).append("\n");
+		properties.append("Args = --initialize-at-build-time=").append(String.join(",", buildTimeClasses)).append("\n");
+		return properties.toString();
+	}
+}
@@ -57,6 +57,7 @@ class GenericPluginExecution implements PluginExecution {
 	private final List<ReporterInfo> reporters;
 	private final List<JavaFileObject> generatedSourceFiles;
 	private final List<FileObject> generatedResourceFiles;
+	private final List<PluginExecutionCache.GeneratedFile> generatedFiles;
 	
 	private boolean failed;
 	
@@ -69,6 +70,7 @@ class GenericPluginExecution implements PluginExecution {
 		this.reporters = new LinkedList<>();
 		this.generatedSourceFiles = new LinkedList<>();
 		this.generatedResourceFiles = new LinkedList<>();
+		this.generatedFiles = new LinkedList<>();
 	}
 	
 	public void setFailed(boolean failed) {
@@ -100,6 +102,10 @@ class GenericPluginExecution implements PluginExecution {
 		return this.generatedResourceFiles;
 	}
 	
+	public List<PluginExecutionCache.GeneratedFile> getGeneratedFiles() {
+		return this.generatedFiles;
+	}
+	
 	@Override
 	public ModuleElement getModuleElement() {
 		return this.moduleElement;
@@ -154,11 +160,13 @@ class GenericPluginExecution implements PluginExecution {
 	@Override
 	public void createSourceFile(String name, Element[] originatingElements, Supplier<String> source) throws IOException {
 		JavaFileObject sourceFile = this.processingEnvironment.getFiler().createSourceFile(name, originatingElements);
+		String content = source.get();
 		try(Writer writer = sourceFile.openWriter()) {
-			writer.write(source.get());
+			writer.write(content);
 			writer.flush();
 		}
 		this.generatedSourceFiles.add(sourceFile);
+		this.generatedFiles.add(new PluginExecutionCache.GeneratedFile(PluginExecutionCache.GeneratedFile.Kind.SOURCE, name, content));
 	}
 	
 	@Override
@@ -172,10 +180,12 @@ class GenericPluginExecution implements PluginExecution {
 			// not module oriented after all
 			resourceFile = this.processingEnvironment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path, originatingElements);
 		}
+		String content = resource.get();
 		try(Writer writer = resourceFile.openWriter()) {
-			writer.write(resource.get());
+			writer.write(content);
 			writer.flush();
 		}
 		this.generatedResourceFiles.add(resourceFile);
+		this.generatedFiles.add(new PluginExecutionCache.GeneratedFile(PluginExecutionCache.GeneratedFile.Kind.RESOURCE, path, content));
 	}
 }
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.compiler.plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import io.winterframework.core.compiler.spi.BeanInfo;
+import io.winterframework.core.compiler.spi.ModuleBeanInfo;
+import io.winterframework.core.compiler.spi.ModuleBeanSocketInfo;
+import io.winterframework.core.compiler.spi.ModuleQualifiedName;
+import io.winterframework.core.compiler.spi.WrapperBeanInfo;
+import io.winterframework.core.compiler.spi.plugin.CompilerPlugin;
+
+/**
+ * <p>
+ * A plugin execution cache stores the files generated by the executions of
+ * cacheable compiler plugins along with a fingerprint of their inputs so that
+ * they can be created again in a subsequent build without executing the plugin
+ * as long as the inputs don't change.
+ * </p>
+ * 
+ * <p>
+ * The cache is located in the directory specified in the
+ * {@code winter.pluginCache} option, an entry is stored for each module and
+ * each plugin in {@code <directory>/<module>/<plugin>/}.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ * @see CompilerPlugin#isCacheable()
+ */
+class PluginExecutionCache {
+
+	private static final String INDEX_FILE = "index.properties";
+	
+	private static final String FINGERPRINT_KEY = "fingerprint";
+	
+	private static final String COUNT_KEY = "count";
+	
+	private static final String KIND_KEY = ".kind";
+	
+	private static final String NAME_KEY = ".name";
+	
+	private final ProcessingEnvironment processingEnvironment;
+	
+	private final Path directory;
+	
+	/**
+	 * <p>
+	 * Creates a plugin execution cache.
+	 * </p>
+	 * 
+	 * @param processingEnvironment the processing environment
+	 * @param directory             the cache directory
+	 */
+	public PluginExecutionCache(ProcessingEnvironment processingEnvironment, Path directory) {
+		this.processingEnvironment = processingEnvironment;
+		this.directory = directory;
+	}
+	
+	/**
+	 * <p>
+	 * Computes the fingerprint of the inputs of a plugin execution.
+	 * </p>
+	 * 
+	 * <p>
+	 * The fingerprint covers the plugin class and version, the values of the
+	 * options supported by the plugin, the module element, the elements claimed by
+	 * the plugin and the module beans including the structure of their types.
+	 * </p>
+	 * 
+	 * @param plugin        the plugin
+	 * @param moduleElement the module element
+	 * @param elements      the elements claimed by the plugin
+	 * @param beans         the module beans
+	 * 
+	 * @return a fingerprint
+	 */
+	public String getFingerprint(CompilerPlugin plugin, ModuleElement moduleElement, Set<? extends Element> elements, List<? extends BeanInfo> beans) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		
+		StringBuilder description = new StringBuilder();
+		Class<?> pluginClass = plugin.getClass();
+		description.append("plugin ").append(pluginClass.getName()).append(" ");
+		if(pluginClass.getModule().isNamed() && pluginClass.getModule().getDescriptor() != null) {
+			pluginClass.getModule().getDescriptor().rawVersion().ifPresent(description::append);
+		}
+		else if(pluginClass.getPackage() != null && pluginClass.getPackage().getImplementationVersion() != null) {
+			description.append(pluginClass.getPackage().getImplementationVersion());
+		}
+		description.append("\n");
+		digest.update(description.toString().getBytes(StandardCharsets.UTF_8));
+		// the plugin version is not always bumped during development
+		try(InputStream pluginClassInput = pluginClass.getResourceAsStream(pluginClass.getName().substring(pluginClass.getName().lastIndexOf('.') + 1) + ".class")) {
+			if(pluginClassInput != null) {
+				digest.update(pluginClassInput.readAllBytes());
+			}
+		}
+		catch (IOException e) {
+			// ignore, the plugin version is still considered
+		}
+		
+		description.setLength(0);
+		if(plugin.getSupportedOptions() != null) {
+			for(String option : new TreeSet<>(plugin.getSupportedOptions())) {
+				description.append("option ").append(option).append("=").append(this.processingEnvironment.getOptions().get(option)).append("\n");
+			}
+		}
+		
+		description.append("module ").append(moduleElement.getQualifiedName());
+		this.describeAnnotations(moduleElement, description);
+		description.append(" {\n");
+		moduleElement.getDirectives().stream().forEach(directive -> description.append(directive.getKind()).append(" ").append(directive).append("\n"));
+		description.append("}\n");
+		
+		Set<String> elementDescriptions = new TreeSet<>();
+		for(Element element : elements) {
+			StringBuilder elementDescription = new StringBuilder();
+			this.describe(element, elementDescription);
+			elementDescriptions.add(elementDescription.toString());
+		}
+		elementDescriptions.stream().forEach(elementDescription -> description.append("element ").append(elementDescription).append("\n"));
+		
+		for(BeanInfo bean : beans) {
+			description.append("bean ").append(bean.getQualifiedName()).append(" ").append(bean.getType());
+			if(bean instanceof ModuleBeanInfo) {
+				ModuleBeanInfo moduleBean = (ModuleBeanInfo)bean;
+				description.append(" ").append(moduleBean.getProvidedType()).append(" ").append(moduleBean.getStrategy()).append(" ").append(moduleBean.getVisibility());
+				for(ModuleBeanSocketInfo socket : moduleBean.getSockets()) {
+					description.append(" socket ").append(socket.getQualifiedName()).append(" ").append(socket.getType()).append(socket.isLazy() ? " lazy" : "").append(socket.isOptional() ? " optional" : "");
+					for(AnnotationMirror selector : socket.getSelectors()) {
+						description.append(" ").append(selector);
+					}
+				}
+			}
+			TypeMirror beanType = bean instanceof WrapperBeanInfo ? ((WrapperBeanInfo)bean).getWrapperType() : bean.getType();
+			if(beanType.getKind() == TypeKind.DECLARED) {
+				description.append(" ");
+				this.describe(((DeclaredType)beanType).asElement(), description);
+			}
+			description.append("\n");
+		}
+		digest.update(description.toString().getBytes(StandardCharsets.UTF_8));
+		
+		StringBuilder fingerprint = new StringBuilder();
+		for(byte b : digest.digest()) {
+			fingerprint.append(String.format("%02x", b));
+		}
+		return fingerprint.toString();
+	}
+	
+	private void describe(Element element, StringBuilder description) {
+		description.append(element.getKind()).append(" ").append(element.getModifiers()).append(" ").append(element).append(" ").append(element.asType());
+		this.describeAnnotations(element, description);
+		String docComment = this.processingEnvironment.getElementUtils().getDocComment(element);
+		if(docComment != null) {
+			description.append(" /**").append(docComment).append("*/");
+		}
+		if(element instanceof TypeElement) {
+			TypeElement typeElement = (TypeElement)element;
+			description.append(" extends ").append(typeElement.getSuperclass()).append(" implements ").append(typeElement.getInterfaces());
+			description.append(" {");
+			for(Element enclosedElement : typeElement.getEnclosedElements()) {
+				this.describe(enclosedElement, description);
+				description.append(";");
+			}
+			description.append("}");
+		}
+		else if(element instanceof ExecutableElement) {
+			ExecutableElement executableElement = (ExecutableElement)element;
+			description.append(" (");
+			for(Element parameter : executableElement.getParameters()) {
+				this.describe(parameter, description);
+				description.append(",");
+			}
+			description.append(") throws ").append(executableElement.getThrownTypes());
+			if(executableElement.getDefaultValue() != null) {
+				description.append(" default ").append(executableElement.getDefaultValue());
+			}
+		}
+	}
+	
+	private void describeAnnotations(Element element, StringBuilder description) {
+		for(AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			description.append(" ").append(annotation);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Returns the files generated by the previous execution of a plugin if its
+	 * fingerprint matches the specified fingerprint.
+	 * </p>
+	 * 
+	 * @param module      the module
+	 * @param plugin      the plugin
+	 * @param fingerprint the fingerprint of the plugin inputs
+	 * 
+	 * @return an optional containing the generated files or an empty optional if
+	 *         there's no matching entry in the cache
+	 */
+	public Optional<List<GeneratedFile>> get(ModuleQualifiedName module, CompilerPlugin plugin, String fingerprint) {
+		Path entryDirectory = this.getEntryDirectory(module, plugin);
+		Path indexFile = entryDirectory.resolve(INDEX_FILE);
+		if(!Files.exists(indexFile)) {
+			return Optional.empty();
+		}
+		try {
+			Properties index = new Properties();
+			try(Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+				index.load(reader);
+			}
+			if(!fingerprint.equals(index.getProperty(FINGERPRINT_KEY))) {
+				return Optional.empty();
+			}
+			int count = Integer.parseInt(index.getProperty(COUNT_KEY));
+			List<GeneratedFile> generatedFiles = new ArrayList<>(count);
+			for(int i=0;i<count;i++) {
+				generatedFiles.add(new GeneratedFile(GeneratedFile.Kind.valueOf(index.getProperty(i + KIND_KEY)), index.getProperty(i + NAME_KEY), Files.readString(entryDirectory.resolve(Integer.toString(i)), StandardCharsets.UTF_8)));
+			}
+			return Optional.of(generatedFiles);
+		}
+		catch (IOException | IllegalArgumentException | NullPointerException e) {
+			// corrupted entry: the plugin must be executed
+			return Optional.empty();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Stores the files generated by the execution of a plugin.
+	 * </p>
+	 * 
+	 * @param module         the module
+	 * @param plugin         the plugin
+	 * @param fingerprint    the fingerprint of the plugin inputs
+	 * @param generatedFiles the files generated by the plugin
+	 * 
+	 * @throws IOException if an I/O error occurs while writing the cache entry
+	 */
+	public void put(ModuleQualifiedName module, CompilerPlugin plugin, String fingerprint, List<GeneratedFile> generatedFiles) throws IOException {
+		Path entryDirectory = this.getEntryDirectory(module, plugin);
+		Files.createDirectories(entryDirectory);
+		// The index is written last so that an incomplete entry is never matched
+		Path indexFile = entryDirectory.resolve(INDEX_FILE);
+		Files.deleteIfExists(indexFile);
+		
+		Properties index = new Properties();
+		index.setProperty(FINGERPRINT_KEY, fingerprint);
+		index.setProperty(COUNT_KEY, Integer.toString(generatedFiles.size()));
+		for(int i=0;i<generatedFiles.size();i++) {
+			GeneratedFile generatedFile = generatedFiles.get(i);
+			index.setProperty(i + KIND_KEY, generatedFile.getKind().toString());
+			index.setProperty(i + NAME_KEY, generatedFile.getName());
+			Files.writeString(entryDirectory.resolve(Integer.toString(i)), generatedFile.getContent(), StandardCharsets.UTF_8);
+		}
+		try(Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+			index.store(writer, plugin.getClass().getName() + " execution for module " + module);
+		}
+	}
+	
+	private Path getEntryDirectory(ModuleQualifiedName module, CompilerPlugin plugin) {
+		return this.directory.resolve(module.getValue()).resolve(plugin.getClass().getName());
+	}
+	
+	/**
+	 * <p>
+	 * A file generated during the execution of a plugin.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 *
+	 */
+	static class GeneratedFile {
+		
+		/**
+		 * <p>
+		 * The kind of generated file.
+		 * </p>
+		 * 
+		 * @author jkuhn
+		 *
+		 */
+		static enum Kind {
+			SOURCE,
+			RESOURCE;
+		}
+		
+		private final Kind kind;
+		
+		private final String name;
+		
+		private final String content;
+		
+		public GeneratedFile(Kind kind, String name, String content) {
+			this.kind = kind;
+			this.name = name;
+			this.content = content;
+		}
+		
+		public Kind getKind() {
+			return kind;
+		}
+		
+		public String getName() {
+			return name;
+		}
+		
+		public String getContent() {
+			return content;
+		}
+	}
+}
@@ -15,10 +15,12 @@
  */
 package io.winterframework.core.compiler.plugin;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
@@ -31,6 +33,7 @@ import javax.lang.model.element.ModuleElement;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic.Kind;
 
+import io.winterframework.core.compiler.CompilerProfiler;
 import io.winterframework.core.compiler.GenericCompilerOptions;
 import io.winterframework.core.compiler.spi.BeanInfo;
 import io.winterframework.core.compiler.spi.ModuleQualifiedName;
@@ -53,14 +56,20 @@ public class PluginsExecutionTask implements Callable<PluginsExecutionResult> {
 	
 	private final GenericCompilerOptions options;
 	
+	private final CompilerProfiler profiler;
+	
+	private final PluginExecutionCache cache;
+	
 	private final Map<CompilerPlugin, Set<Element>> elementsByPlugins;
 	
-	PluginsExecutionTask(ProcessingEnvironment processingEnvironment, ModuleElement moduleElement, ModuleQualifiedName module, GenericCompilerOptions options, Set<? extends CompilerPlugin> plugins, List<? extends BeanInfo> beans) {
+	PluginsExecutionTask(ProcessingEnvironment processingEnvironment, ModuleElement moduleElement, ModuleQualifiedName module, GenericCompilerOptions options, CompilerProfiler profiler, PluginExecutionCache cache, Set<? extends CompilerPlugin> plugins, List<? extends BeanInfo> beans) {
 		this.processingEnvironment = processingEnvironment;
 		this.moduleElement = moduleElement;
 		this.moduleQualifiedName = module;
 		this.beans = beans;
 		this.options = options;
+		this.profiler = profiler;
+		this.cache = cache;
 		this.elementsByPlugins = plugins.stream().collect(Collectors.toMap(Function.identity(), plugin -> new HashSet<>()));
 	}
 
@@ -109,13 +118,41 @@ public class PluginsExecutionTask implements Callable<PluginsExecutionResult> {
 				}
 				if(entry.getKey().canExecute(this.moduleElement)) {
 					GenericPluginExecution execution = new GenericPluginExecution(this.processingEnvironment, this.moduleElement, this.moduleQualifiedName, entry.getValue(), this.beans);
+					CompilerProfiler.Probe pluginProbe = this.profiler.startPlugin(this.moduleQualifiedName.getValue(), entry.getKey().getClass().getCanonicalName());
 					try {
-						// We want to execute a plugin even if annotated elements are not considered since we also want to process module beans
-						entry.getKey().execute(execution);
+						String fingerprint = null;
+						boolean cached = false;
+						if(this.cache != null && entry.getKey().isCacheable()) {
+							fingerprint = this.cache.getFingerprint(entry.getKey(), this.moduleElement, entry.getValue(), this.beans);
+							Optional<List<PluginExecutionCache.GeneratedFile>> generatedFiles = this.cache.get(this.moduleQualifiedName, entry.getKey(), fingerprint);
+							if(generatedFiles.isPresent()) {
+								// Inputs haven't changed since the previous execution
+								Element[] originatingElements = entry.getValue().isEmpty() ? new Element[] { this.moduleElement } : entry.getValue().stream().toArray(Element[]::new);
+								for(PluginExecutionCache.GeneratedFile generatedFile : generatedFiles.get()) {
+									if(generatedFile.getKind() == PluginExecutionCache.GeneratedFile.Kind.SOURCE) {
+										execution.createSourceFile(generatedFile.getName(), originatingElements, generatedFile::getContent);
+									}
+									else {
+										execution.createResourceFile(generatedFile.getName(), originatingElements, generatedFile::getContent);
+									}
+								}
+								cached = true;
+							}
+						}
+						if(!cached) {
+							// We want to execute a plugin even if annotated elements are not considered since we also want to process module beans
+							entry.getKey().execute(execution);
+							if(fingerprint != null && !execution.hasError()) {
+								this.storeExecution(entry.getKey(), fingerprint, execution);
+							}
+						}
 						if(this.options.isVerbose()) {
 							if(execution.hasError()) {
 								System.out.println("[  KO  ]");
 							}
+							else if(cached) {
+								System.out.println("[CACHED]");
+							}
 							else {
 								System.out.println("[  OK  ]");
 							}
@@ -145,10 +182,15 @@ public class PluginsExecutionTask implements Callable<PluginsExecutionResult> {
 						this.processingEnvironment.getMessager().printMessage(Kind.MANDATORY_WARNING, "Fatal error executing plugin " + entry.getKey().getClass() + " for module " + this.moduleQualifiedName);
 						t.printStackTrace();
 					}
+					finally {
+						pluginProbe.close();
+					}
 					return execution;
 				}
 				else {
-					System.out.println("[ SKIP ]");
+					if(this.options.isVerbose()) {
+						System.out.println("[ SKIP ]");
+					}
 					return null;
 				}
 				
@@ -161,4 +203,16 @@ public class PluginsExecutionTask implements Callable<PluginsExecutionResult> {
 		}
 		return result;
 	}
+	
+	private void storeExecution(CompilerPlugin plugin, String fingerprint, GenericPluginExecution execution) {
+		try {
+			this.cache.put(this.moduleQualifiedName, plugin, fingerprint, execution.getGeneratedFiles());
+		}
+		catch (IOException e) {
+			this.processingEnvironment.getMessager().printMessage(Kind.WARNING, "Error caching execution of plugin " + plugin.getClass() + " for module " + this.moduleQualifiedName + ": " + e.getMessage());
+			if(this.options.isDebug()) {
+				e.printStackTrace();
+			}
+		}
+	}
 }
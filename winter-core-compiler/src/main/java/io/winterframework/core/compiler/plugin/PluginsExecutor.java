@@ -26,6 +26,7 @@ import java.util.stream.Collectors;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ModuleElement;
 
+import io.winterframework.core.compiler.CompilerProfiler;
 import io.winterframework.core.compiler.GenericCompilerOptions;
 import io.winterframework.core.compiler.WinterCompiler;
 import io.winterframework.core.compiler.spi.BeanInfo;
@@ -42,14 +43,20 @@ public class PluginsExecutor {
 	
 	private GenericCompilerOptions options;
 	
+	private CompilerProfiler profiler;
+	
 	private Set<CompilerPlugin> plugins;
 	
+	private PluginExecutionCache cache;
+	
 	private Map<ModuleQualifiedName, PluginsExecutionTask> executionByModule;
 	
-	public PluginsExecutor(ProcessingEnvironment processingEnvironment, GenericCompilerOptions options) {
+	public PluginsExecutor(ProcessingEnvironment processingEnvironment, GenericCompilerOptions options, CompilerProfiler profiler) {
 		this.processingEnvironment = processingEnvironment;
 		this.options = options;
+		this.profiler = profiler;
 		this.executionByModule = new HashMap<>();
+		this.cache = this.options.getPluginCache().map(directory -> new PluginExecutionCache(this.processingEnvironment, directory)).orElse(null);
 		
 		this.loadPlugins();
 	}
@@ -81,8 +88,12 @@ public class PluginsExecutor {
 	
 	public PluginsExecutionTask getTask(ModuleElement moduleElement, ModuleQualifiedName moduleQualifiedName, List<? extends BeanInfo> beans) {
 		if(!this.executionByModule.containsKey(moduleQualifiedName)) {
-			this.executionByModule.put(moduleQualifiedName, new PluginsExecutionTask(this.processingEnvironment, moduleElement, moduleQualifiedName, this.options, this.plugins, beans));
+			this.executionByModule.put(moduleQualifiedName, new PluginsExecutionTask(this.processingEnvironment, moduleElement, moduleQualifiedName, this.options, this.profiler, this.cache, this.plugins, beans));
 		}
 		return this.executionByModule.get(moduleQualifiedName);
 	}
+	
+	public void releaseTask(ModuleQualifiedName moduleQualifiedName) {
+		this.executionByModule.remove(moduleQualifiedName);
+	}
 }
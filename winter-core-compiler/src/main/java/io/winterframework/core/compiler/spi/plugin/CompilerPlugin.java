@@ -92,6 +92,31 @@ public interface CompilerPlugin {
 	 */
 	boolean canExecute(ModuleElement moduleElement);
 	
+	/**
+	 * <p>
+	 * Determines whether the executions of the plugin can be cached.
+	 * </p>
+	 * 
+	 * <p>
+	 * When plugin caching is enabled ({@code -Awinter.pluginCache=<directory>}),
+	 * the compiler computes a fingerprint of the inputs of a cacheable plugin: the
+	 * module element, the elements claimed by the plugin, the module beans, the
+	 * plugin options and the plugin version. If it matches the fingerprint of the
+	 * previous execution, the files generated by the previous execution are
+	 * created again and the plugin is not executed.
+	 * </p>
+	 * 
+	 * <p>
+	 * A plugin whose output depends on anything else, such as modules in the
+	 * module graph or external resources, must not be cacheable.
+	 * </p>
+	 * 
+	 * @return true if the plugin executions can be cached, false otherwise
+	 */
+	default boolean isCacheable() {
+		return false;
+	}
+	
 	/**
 	 * <p>
 	 * Executes the plugin.
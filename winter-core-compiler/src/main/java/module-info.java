@@ -24,17 +24,20 @@
  * @author jkuhn
  *
  * @provides javax.annotation.processing.Processor
+ * @provides io.winterframework.core.compiler.spi.plugin.CompilerPlugin
  */
 module io.winterframework.core.compiler {
 	requires transitive java.compiler;
 	requires transitive jdk.compiler;
 	requires transitive io.winterframework.core.annotation;
+	requires static jdk.management;
 	
 	exports io.winterframework.core.compiler.spi;
 	exports io.winterframework.core.compiler.spi.plugin;
 	exports io.winterframework.core.compiler.spi.support;
 	
 	provides javax.annotation.processing.Processor with io.winterframework.core.compiler.WinterCompiler;
+	provides io.winterframework.core.compiler.spi.plugin.CompilerPlugin with io.winterframework.core.compiler.nativeimage.NativeImagePlugin;
 	
 	uses io.winterframework.core.compiler.spi.plugin.CompilerPlugin;
 }
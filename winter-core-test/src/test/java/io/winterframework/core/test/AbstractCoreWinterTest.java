@@ -28,6 +28,20 @@ import io.winterframework.test.AbstractWinterTest;
 public class AbstractCoreWinterTest extends AbstractWinterTest {
 
 	public AbstractCoreWinterTest() {
+		this(file -> null);
+	}
+	
+	/**
+	 * <p>
+	 * Creates a test adding modules to the annotation processor module path.
+	 * </p>
+	 * 
+	 * @param annotationProcessorModuleOverride a function returning the module to
+	 *                                          add to the annotation processor
+	 *                                          module path for a test dependency
+	 *                                          or null
+	 */
+	protected AbstractCoreWinterTest(Function<File, File> annotationProcessorModuleOverride) {
 		super((Function<File, File>)file -> {
 			if(new File("../winter-test").exists()) {
 				if(file.getName().startsWith("winter-core-annotation")) {
@@ -39,6 +53,9 @@ public class AbstractCoreWinterTest extends AbstractWinterTest {
 				else if(file.getName().startsWith("winter-core")) {
 					return Optional.of(new File("../winter-core/target/classes")).filter(File::exists).orElse(file);
 				}
+				else if(file.getName().startsWith("winter-benchmark")) {
+					return Optional.of(new File("../winter-benchmark/target/classes")).filter(File::exists).orElse(file);
+				}
 			}
 			return file;
 		},
@@ -49,7 +66,7 @@ public class AbstractCoreWinterTest extends AbstractWinterTest {
 			else if(file.getName().startsWith("winter-core-compiler")) {
 				return Optional.of(new File("../winter-core-compiler/target/classes")).filter(File::exists).orElse(file);
 			}
-			return null;
+			return annotationProcessorModuleOverride.apply(file);
 		});
 	}
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ModuleElement;
+
+import io.winterframework.core.compiler.spi.plugin.CompilerPlugin;
+import io.winterframework.core.compiler.spi.plugin.PluginContext;
+import io.winterframework.core.compiler.spi.plugin.PluginExecution;
+import io.winterframework.core.compiler.spi.plugin.PluginExecutionException;
+
+/**
+ * <p>
+ * A cacheable compiler plugin generating a resource whose content is unique to
+ * each execution.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public class CacheablePlugin implements CompilerPlugin {
+
+	public static final String OPTION_CACHEABLE_PLUGIN = "winter.test.cacheablePlugin";
+	
+	public static final String RESOURCE = "META-INF/winter/test/cacheable.txt";
+	
+	private String value;
+	
+	@Override
+	public Set<String> getSupportedOptions() {
+		return Set.of(OPTION_CACHEABLE_PLUGIN);
+	}
+	
+	@Override
+	public void init(PluginContext pluginContext) {
+		this.value = pluginContext.getOptions().getOption(OPTION_CACHEABLE_PLUGIN).orElse(null);
+	}
+
+	@Override
+	public boolean canExecute(ModuleElement moduleElement) {
+		return this.value != null;
+	}
+	
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+
+	@Override
+	public void execute(PluginExecution execution) throws PluginExecutionException {
+		try {
+			execution.createResourceFile(RESOURCE, new Element[] { execution.getModuleElement() }, () -> this.value + "\n" + UUID.randomUUID() + "\n" + Arrays.stream(execution.getBeans()).map(bean -> bean.getQualifiedName().toString()).collect(Collectors.joining(",")) + "\n");
+		}
+		catch (IOException e) {
+			throw new PluginExecutionException(e);
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleProxy;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestBeanRegistry extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.registry";
+	
+	@BeforeEach
+	public void clearModules() {
+		// the module is compiled with and without bean registry
+		this.clearModuleTarget();
+	}
+	
+	private Class<?> loadClass(WinterModuleProxy moduleProxy, String name) throws ClassNotFoundException {
+		return moduleProxy.getModule().getClass().getClassLoader().loadClass(MODULE + "." + name);
+	}
+	
+	private String getModuleSource(WinterTestCompiler compiler) throws IOException {
+		return Files.readString(new File(compiler.getSourceOutputPath(), MODULE + "/" + MODULE.replace('.', '/') + "/Registry.java").toPath());
+	}
+	
+	private Object invoke(Object target, String name, Object... args) {
+		// module classes and their winter core classes are loaded in a dedicated module layer
+		try {
+			Method method = Arrays.stream(target.getClass().getMethods()).filter(m -> m.getName().equals(name) && m.getParameterCount() == args.length).findFirst().orElseThrow(() -> new AssertionError("Missing method " + name));
+			return method.invoke(target, args);
+		}
+		catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+		catch (InvocationTargetException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+	
+	@Test
+	public void testBeanRegistry() throws IOException, WinterCompilationException, ClassNotFoundException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.beanRegistry").compile(MODULE).load(MODULE).build();
+		
+		Object registry = moduleProxy.getBean("getBeanRegistry");
+		Assertions.assertEquals(4, this.invoke(registry, "size"));
+		
+		int beanA = (int)this.invoke(registry, "indexOf", "beanA");
+		Assertions.assertTrue(beanA >= 0);
+		Assertions.assertEquals("beanA", this.invoke(registry, "getName", beanA));
+		Assertions.assertEquals(this.loadClass(moduleProxy, "BeanA"), this.invoke(registry, "getType", beanA));
+		Assertions.assertEquals("SINGLETON", this.invoke(registry, "getStrategy", beanA).toString());
+		Assertions.assertEquals("PUBLIC", this.invoke(registry, "getVisibility", beanA).toString());
+		
+		int beanB = (int)this.invoke(registry, "indexOf", "beanB");
+		Assertions.assertEquals("PROTOTYPE", this.invoke(registry, "getStrategy", beanB).toString());
+		
+		int beanC = (int)this.invoke(registry, "indexOf", "beanC");
+		Assertions.assertEquals("PRIVATE", this.invoke(registry, "getVisibility", beanC).toString());
+		
+		// wrapper beans are registered with the type they provide
+		int service = (int)this.invoke(registry, "indexOf", "service");
+		Assertions.assertEquals(this.loadClass(moduleProxy, "Service"), this.invoke(registry, "getType", service));
+		
+		Assertions.assertEquals(-1, this.invoke(registry, "indexOf", "unknown"));
+		
+		Assertions.assertArrayEquals(new int[] {service}, (int[])this.invoke(registry, "indicesOf", this.loadClass(moduleProxy, "AbstractService")));
+		Assertions.assertEquals(3, ((int[])this.invoke(registry, "indicesOf", this.loadClass(moduleProxy, "Handler"))).length);
+		Assertions.assertEquals(4, ((int[])this.invoke(registry, "indicesOf", Object.class)).length);
+		Assertions.assertEquals(0, ((int[])this.invoke(registry, "indicesOf", Runnable.class)).length);
+	}
+	
+	@Test
+	public void testBeanRegistryAccessor() throws IOException, WinterCompilationException {
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.beanRegistry");
+		compiler.compile(MODULE);
+		
+		String moduleSource = this.getModuleSource(compiler);
+		Assertions.assertTrue(Pattern.compile("case \\d+: return this\\.\\w*beanA\\(\\);").matcher(moduleSource).find(), moduleSource);
+		// private beans can't be retrieved by index
+		Assertions.assertFalse(Pattern.compile("case \\d+: return this\\.\\w*beanC\\(\\);").matcher(moduleSource).find(), moduleSource);
+	}
+	
+	@Test
+	public void testNoBeanRegistry() throws IOException, WinterCompilationException {
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		WinterModuleProxy moduleProxy = compiler.compile(MODULE).load(MODULE).build();
+		
+		String moduleSource = this.getModuleSource(compiler);
+		Assertions.assertFalse(moduleSource.contains("BEAN_REGISTRY"), moduleSource);
+		Assertions.assertFalse(moduleSource.contains("getBean(int index)"), moduleSource);
+		
+		Assertions.assertEquals(0, this.invoke(moduleProxy.getBean("getBeanRegistry"), "size"));
+	}
+	
+	@Test
+	public void testFindBean() throws IOException, WinterCompilationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.beanRegistry").compile(MODULE).load(MODULE).build();
+		Object module = moduleProxy.getModule();
+		
+		try {
+			moduleProxy.start();
+			
+			Optional<?> beanA = (Optional<?>)this.invoke(module, "findBean", "beanA");
+			Assertions.assertTrue(beanA.isPresent());
+			Assertions.assertSame(moduleProxy.getBean("beanA"), beanA.get());
+			
+			// a new prototype instance is returned on each lookup
+			Assertions.assertNotSame(((Optional<?>)this.invoke(module, "findBean", "beanB")).get(), ((Optional<?>)this.invoke(module, "findBean", "beanB")).get());
+			
+			Assertions.assertTrue(((Optional<?>)this.invoke(module, "findBean", "service")).isPresent());
+			
+			// private beans are not exposed
+			Assertions.assertFalse(((Optional<?>)this.invoke(module, "findBean", "beanC")).isPresent());
+			Assertions.assertFalse(((Optional<?>)this.invoke(module, "findBean", "unknown")).isPresent());
+		}
+		finally {
+			moduleProxy.stop();
+		}
+	}
+	
+	@Test
+	public void testFindBeans() throws IOException, WinterCompilationException, ClassNotFoundException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.beanRegistry").compile(MODULE).load(MODULE).build();
+		Object module = moduleProxy.getModule();
+		
+		try {
+			moduleProxy.start();
+			
+			Class<?> handlerType = this.loadClass(moduleProxy, "Handler");
+			List<?> handlers = (List<?>)this.invoke(module, "findBeans", handlerType);
+			// private beanC is not exposed
+			Assertions.assertEquals(2, handlers.size());
+			Assertions.assertTrue(handlers.stream().allMatch(handlerType::isInstance));
+			Assertions.assertTrue(handlers.contains(moduleProxy.getBean("beanA")));
+			
+			Assertions.assertEquals(1, ((List<?>)this.invoke(module, "findBeans", this.loadClass(moduleProxy, "AbstractService"))).size());
+			Assertions.assertEquals(3, ((List<?>)this.invoke(module, "findBeans", Object.class)).size());
+			Assertions.assertTrue(((List<?>)this.invoke(module, "findBeans", Runnable.class)).isEmpty());
+		}
+		finally {
+			moduleProxy.stop();
+		}
+	}
+	
+	@Test
+	public void testInactiveModule() throws IOException, WinterCompilationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.beanRegistry").compile(MODULE).load(MODULE).build();
+		
+		Assertions.assertThrows(IllegalArgumentException.class, () -> this.invoke(moduleProxy.getModule(), "findBean", "beanA"));
+	}
+}
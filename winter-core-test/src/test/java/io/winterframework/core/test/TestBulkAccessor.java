@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleProxy;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestBulkAccessor extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.bulk";
+	
+	@BeforeEach
+	public void clearModules() {
+		// the module is compiled with and without bulk accessors
+		this.clearModuleTarget();
+	}
+	
+	private Method getBulkAccessor(Object module, String beanName, Class<?> parameterType) throws NoSuchMethodException {
+		// module classes are loaded in a dedicated module layer
+		return module.getClass().getMethod(beanName, parameterType);
+	}
+	
+	@Test
+	public void testBulkAccessor() throws IOException, WinterCompilationException, ReflectiveOperationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.bulkAccessors").compile(MODULE).load(MODULE).build();
+		
+		moduleProxy.start();
+		
+		Object config = moduleProxy.getBean("config");
+		Object[] handlers = (Object[])this.getBulkAccessor(moduleProxy.getModule(), "handler", int.class).invoke(moduleProxy.getModule(), 3);
+		
+		Assertions.assertEquals(3, handlers.length);
+		Assertions.assertEquals("io.winterframework.test.bulk.Handler", handlers.getClass().getComponentType().getCanonicalName());
+		Assertions.assertNotSame(handlers[0], handlers[1]);
+		Assertions.assertNotSame(handlers[1], handlers[2]);
+		Assertions.assertNotSame(handlers[0], handlers[2]);
+		for(Object handler : handlers) {
+			Assertions.assertSame(config, handler.getClass().getField("config").get(handler));
+		}
+		
+		Object[] workers = (Object[])Array.newInstance(handlers.getClass().getClassLoader().loadClass("io.winterframework.test.bulk.Worker"), 2);
+		Method workerBulkAccessor = this.getBulkAccessor(moduleProxy.getModule(), "worker", workers.getClass());
+		Assertions.assertSame(workers, workerBulkAccessor.invoke(moduleProxy.getModule(), (Object)workers));
+		Assertions.assertNotNull(workers[0]);
+		Assertions.assertNotNull(workers[1]);
+		Assertions.assertNotSame(workers[0], workers[1]);
+		
+		// singletons don't have bulk accessors
+		Assertions.assertThrows(NoSuchMethodException.class, () -> this.getBulkAccessor(moduleProxy.getModule(), "config", int.class));
+		
+		moduleProxy.stop();
+		
+		// bulk created instances with destroy methods are tracked
+		for(Object worker : workers) {
+			Assertions.assertTrue((boolean)worker.getClass().getField("destroyed").get(worker));
+		}
+	}
+	
+	@Test
+	public void testBulkAccessorFailure() throws IOException, WinterCompilationException, ReflectiveOperationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.bulkAccessors").compile(MODULE).load(MODULE).build();
+		
+		moduleProxy.start();
+		
+		Class<?> flakyWorkerClass = moduleProxy.getModule().getClass().getClassLoader().loadClass("io.winterframework.test.bulk.FlakyWorker");
+		flakyWorkerClass.getField("failAt").set(null, 3);
+		
+		Object[] flakyWorkers = (Object[])Array.newInstance(flakyWorkerClass, 3);
+		Method flakyWorkerBulkAccessor = this.getBulkAccessor(moduleProxy.getModule(), "flakyWorker", flakyWorkers.getClass());
+		Assertions.assertThrows(InvocationTargetException.class, () -> flakyWorkerBulkAccessor.invoke(moduleProxy.getModule(), (Object)flakyWorkers));
+		Assertions.assertNotNull(flakyWorkers[0]);
+		Assertions.assertNotNull(flakyWorkers[1]);
+		Assertions.assertNull(flakyWorkers[2]);
+		
+		moduleProxy.stop();
+		
+		// instances created before the failure are tracked
+		Assertions.assertTrue((boolean)flakyWorkerClass.getField("destroyed").get(flakyWorkers[0]));
+		Assertions.assertTrue((boolean)flakyWorkerClass.getField("destroyed").get(flakyWorkers[1]));
+	}
+	
+	@Test
+	public void testBulkAccessorInactiveModule() throws IOException, WinterCompilationException, ReflectiveOperationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.bulkAccessors").compile(MODULE).load(MODULE).build();
+		
+		InvocationTargetException e = Assertions.assertThrows(InvocationTargetException.class, () -> this.getBulkAccessor(moduleProxy.getModule(), "handler", int.class).invoke(moduleProxy.getModule(), 2));
+		Assertions.assertEquals("Module " + MODULE + " is inactive.", e.getCause().getMessage());
+	}
+	
+	@Test
+	public void testNoBulkAccessor() throws IOException, WinterCompilationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().compile(MODULE).load(MODULE).build();
+		
+		Assertions.assertThrows(NoSuchMethodException.class, () -> this.getBulkAccessor(moduleProxy.getModule(), "handler", int.class));
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.core.v1.ApplicationArchiver;
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestClassDataSharing extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.classlist";
+	
+	private static final String MODULE_MAIN = MODULE + "/" + MODULE + ".App";
+	
+	private static final String MODULE_HANGING_MAIN = MODULE + "/" + MODULE + ".HangingApp";
+	
+	private static final String MODULE_CLASS = "io/winterframework/test/classlist/Classlist";
+	
+	private static final String CORE_PACKAGE = "io/winterframework/core/v1/";
+	
+	private File getClassListFile(WinterTestCompiler compiler) {
+		return new File(compiler.getModuleOutputPath(), MODULE + "/" + ApplicationArchiver.CLASS_LIST_RESOURCE);
+	}
+	
+	private List<Path> getApplicationModulePaths(WinterTestCompiler compiler) throws IOException {
+		// class data sharing requires modular JARs
+		Path libPath = Files.createDirectories(compiler.getModuleOutputPath().toPath().resolve("cds-lib"));
+		List<Path> modulePaths = new ArrayList<>();
+		modulePaths.add(this.createJar(new File(compiler.getModuleOutputPath(), MODULE).toPath(), libPath.resolve(MODULE + ".jar")));
+		for(File modulePath : compiler.getModulePaths()) {
+			if(new File(modulePath, "module-info.class").exists()) {
+				modulePaths.add(this.createJar(modulePath.toPath(), libPath.resolve(modulePaths.size() + ".jar")));
+			}
+			else {
+				modulePaths.add(modulePath.toPath());
+			}
+		}
+		return modulePaths;
+	}
+	
+	private Path createJar(Path classesPath, Path jarPath) throws IOException {
+		try(JarOutputStream jar = new JarOutputStream(Files.newOutputStream(jarPath)); Stream<Path> files = Files.walk(classesPath)) {
+			for(Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+				jar.putNextEntry(new ZipEntry(classesPath.relativize(file).toString().replace(File.separatorChar, '/')));
+				Files.copy(file, jar);
+				jar.closeEntry();
+			}
+		}
+		return jarPath;
+	}
+	
+	private String runApplication(List<Path> modulePaths, Path archive) throws IOException, InterruptedException {
+		List<String> command = List.of(
+			Paths.get(System.getProperty("java.home"), "bin", "java").toString(), 
+			"-XX:SharedArchiveFile=" + archive, 
+			"-Xshare:on", 
+			"-Xlog:class+load=info", 
+			"-p", modulePaths.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator)), 
+			"-m", MODULE_MAIN
+		);
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+		Assertions.assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+		Assertions.assertEquals(0, process.exitValue(), output);
+		return output;
+	}
+	
+	@Test
+	public void testClassList() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.classList");
+		compiler.compile(MODULE);
+		
+		List<String> classList = Files.readAllLines(this.getClassListFile(compiler).toPath(), StandardCharsets.UTF_8);
+		Assertions.assertTrue(classList.get(0).startsWith("#"));
+		Assertions.assertTrue(classList.contains(MODULE_CLASS));
+		Assertions.assertTrue(classList.contains(MODULE_CLASS + "$Builder"));
+		Assertions.assertTrue(classList.contains(MODULE_CLASS + "$Linker"));
+		Assertions.assertTrue(classList.contains("io/winterframework/test/classlist/BeanA"));
+		Assertions.assertTrue(classList.contains("io/winterframework/test/classlist/BeanB"));
+		Assertions.assertTrue(classList.contains("io/winterframework/test/classlist/ServiceWrapper"));
+		Assertions.assertTrue(classList.contains("io/winterframework/test/classlist/Service"));
+		Assertions.assertTrue(classList.contains(CORE_PACKAGE + "Module"));
+		Assertions.assertTrue(classList.contains(CORE_PACKAGE + "SingletonModuleBean"));
+		Assertions.assertTrue(classList.contains(CORE_PACKAGE + "PrototypeWeakModuleBean"));
+		Assertions.assertTrue(classList.contains(CORE_PACKAGE + "SingletonWrapperBean"));
+		Assertions.assertFalse(classList.contains(CORE_PACKAGE + "PrototypeModuleBean"));
+		Assertions.assertFalse(classList.contains(CORE_PACKAGE + "BeanStats"));
+		Assertions.assertFalse(classList.contains("io/winterframework/test/classlist/App"));
+		Assertions.assertEquals(classList.size(), classList.stream().distinct().count());
+	}
+	
+	@Test
+	public void testNoClassList() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		compiler.compile(MODULE);
+		
+		Assertions.assertFalse(this.getClassListFile(compiler).exists());
+	}
+	
+	@Test
+	public void testStaticArchive() throws IOException, WinterCompilationException, InterruptedException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.classList");
+		compiler.compile(MODULE);
+		
+		List<Path> modulePaths = this.getApplicationModulePaths(compiler);
+		ApplicationArchiver archiver = new ApplicationArchiver(modulePaths, MODULE_MAIN);
+		Assertions.assertTrue(archiver.getClassList().contains(MODULE_CLASS + "$Builder"));
+		
+		Path archive = archiver.createStaticArchive(compiler.getModuleOutputPath().toPath().resolve("static.jsa"));
+		Assertions.assertTrue(Files.size(archive) > 0);
+		
+		String output = this.runApplication(modulePaths, archive);
+		Assertions.assertTrue(output.contains("io.winterframework.test.classlist.Classlist$Builder source: shared objects file"), output);
+		Assertions.assertTrue(output.contains("io.winterframework.test.classlist.BeanA source: shared objects file"), output);
+		Assertions.assertTrue(output.contains("io.winterframework.core.v1.SingletonModuleBean source: shared objects file"), output);
+		Assertions.assertTrue(output.contains("beanB: io.winterframework.test.classlist.BeanA"), output);
+	}
+	
+	@Test
+	public void testDynamicArchive() throws IOException, WinterCompilationException, InterruptedException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		compiler.compile(MODULE);
+		
+		List<Path> modulePaths = this.getApplicationModulePaths(compiler);
+		Path archive = new ApplicationArchiver(modulePaths, MODULE_MAIN).createDynamicArchive(compiler.getModuleOutputPath().toPath().resolve("dynamic.jsa"));
+		Assertions.assertTrue(Files.size(archive) > 0);
+		
+		String output = this.runApplication(modulePaths, archive);
+		Assertions.assertTrue(output.contains("io.winterframework.test.classlist.Classlist$Builder source: shared objects file (top)"), output);
+		Assertions.assertTrue(output.contains("io.winterframework.test.classlist.BeanB source: shared objects file (top)"), output);
+	}
+	
+	@Test
+	public void testArchiveTimeout() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		compiler.compile(MODULE);
+		
+		// the training run never exits nor closes its output
+		ApplicationArchiver archiver = new ApplicationArchiver(this.getApplicationModulePaths(compiler), MODULE_HANGING_MAIN).timeout(2);
+		
+		long t0 = System.nanoTime();
+		IOException e = Assertions.assertThrows(IOException.class, () -> archiver.createDynamicArchive(compiler.getModuleOutputPath().toPath().resolve("timeout.jsa")));
+		Assertions.assertTrue(e.getMessage().endsWith("was not created within 2s"), e.getMessage());
+		Assertions.assertTrue(System.nanoTime() - t0 < TimeUnit.SECONDS.toNanos(30));
+	}
+	
+	@Test
+	public void testExplodedModule() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.classList");
+		compiler.compile(MODULE);
+		
+		List<Path> modulePaths = new ArrayList<>(this.getApplicationModulePaths(compiler));
+		modulePaths.set(0, new File(compiler.getModuleOutputPath(), MODULE).toPath());
+		ApplicationArchiver archiver = new ApplicationArchiver(modulePaths, MODULE_MAIN);
+		
+		IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class, () -> archiver.createStaticArchive(compiler.getModuleOutputPath().toPath().resolve("exploded.jsa")));
+		Assertions.assertTrue(e.getMessage().contains("module " + MODULE + " is exploded"));
+	}
+}
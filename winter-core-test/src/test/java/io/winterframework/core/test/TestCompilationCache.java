@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleLoader;
+import io.winterframework.test.WinterModuleProxy;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestCompilationCache extends AbstractCoreWinterTest {
+
+	private static final String MODULEA = "io.winterframework.test.multi.moduleA";
+	private static final String MODULEB = "io.winterframework.test.multi.moduleB";
+	
+	private static final String MODULE_WARNING = "io.winterframework.test.warning.moduleA";
+	
+	private static final String MODULE_ERROR = "io.winterframework.test.error.moduleC";
+	
+	private File cachePath;
+	
+	@BeforeEach
+	public void createCache() throws IOException {
+		this.clearModuleTarget();
+		this.cachePath = Files.createTempDirectory(Paths.get("target/test"), "compilation-cache").toFile();
+	}
+	
+	@AfterEach
+	public void deleteCache() throws IOException {
+		try(Stream<Path> paths = Files.walk(this.cachePath.toPath())) {
+			for(Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		}
+	}
+	
+	@Test
+	public void testCacheHit() throws IOException, WinterCompilationException {
+		this.getWinterCompiler().withCompilationCache(this.cachePath).compile(MODULEA, MODULEB);
+		Assertions.assertEquals(1, this.cachePath.listFiles().length);
+		
+		this.clearModuleTarget();
+		Assertions.assertFalse(new File(this.getWinterCompiler().getModuleOutputPath(), MODULEB).exists());
+		
+		WinterModuleLoader moduleLoader = this.getWinterCompiler().withCompilationCache(this.cachePath).compile(MODULEA, MODULEB);
+		Assertions.assertEquals(1, this.cachePath.listFiles().length);
+		Assertions.assertTrue(new File(this.getWinterCompiler().getModuleOutputPath(), MODULEB + "/module-info.class").exists());
+		
+		WinterModuleProxy moduleB = moduleLoader.load(MODULEB).build();
+		moduleB.start();
+		try {
+			Assertions.assertNotNull(moduleB.getBean("beanB"));
+		}
+		finally {
+			moduleB.stop();
+		}
+	}
+	
+	@Test
+	public void testCacheMiss() throws IOException, WinterCompilationException {
+		this.getWinterCompiler().withCompilationCache(this.cachePath).compile(MODULEA, MODULEB);
+		this.getWinterCompiler().withCompilationCache(this.cachePath).compile(MODULEA);
+		this.getWinterCompiler().withCompilationCache(this.cachePath).withCompilerOptions("-Awinter.instrument").compile(MODULEA, MODULEB);
+		
+		Assertions.assertEquals(3, this.cachePath.listFiles().length);
+	}
+	
+	@Test
+	public void testCachedDiagnostics() throws IOException, WinterCompilationException {
+		String invalidOptionalSocket = "Invalid socket method which should be a single-argument setter method, socket will be ignored";
+		
+		for(int i=0;i<2;i++) {
+			WinterTestCompiler compiler = this.getWinterCompiler().withCompilationCache(this.cachePath);
+			compiler.compile(MODULE_WARNING);
+			
+			Assertions.assertEquals(1, compiler.getDiagnostics().size());
+			Assertions.assertEquals(invalidOptionalSocket, compiler.getDiagnostics().get(0).getMessage(Locale.getDefault()));
+		}
+		Assertions.assertEquals(1, this.cachePath.listFiles().length);
+	}
+	
+	@Test
+	public void testCachedFailure() throws IOException {
+		String privateConstructorError = "No public constructor defined in bean io.winterframework.test.error.moduleC:beanA";
+		
+		for(int i=0;i<2;i++) {
+			try {
+				this.getWinterCompiler().withCompilationCache(this.cachePath).compile(MODULE_ERROR);
+				Assertions.fail("Should throw a WinterCompilationException");
+			}
+			catch(WinterCompilationException e) {
+				Assertions.assertEquals(1, e.getDiagnostics().size());
+				Assertions.assertEquals(List.of(privateConstructorError), e.getDiagnostics().stream().map(d -> d.getMessage(Locale.getDefault())).collect(Collectors.toList()));
+			}
+		}
+		Assertions.assertEquals(1, this.cachePath.listFiles().length);
+	}
+	
+	@Test
+	public void testInMemory() throws IOException, WinterCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		WinterTestCompiler compiler = this.getWinterCompiler().withInMemoryOutput();
+		WinterModuleLoader moduleLoader = compiler.compile(MODULEA, MODULEB);
+		
+		Assertions.assertFalse(new File(compiler.getModuleOutputPath(), MODULEB).exists());
+		Assertions.assertTrue(compiler.getInMemoryOutput(MODULEB + "/module-info.class").isPresent());
+		Assertions.assertTrue(compiler.getInMemoryOutput(MODULEB + "/io/winterframework/test/multi/moduleB/ModuleB.java").isPresent());
+		
+		WinterModuleProxy moduleB = moduleLoader.load(MODULEB).build();
+		moduleB.start();
+		try {
+			Object beanB = moduleB.getBean("beanB");
+			Assertions.assertNotNull(beanB);
+			Assertions.assertNotNull(beanB.getClass().getField("beanA").get(beanB));
+		}
+		finally {
+			moduleB.stop();
+		}
+	}
+	
+	@Test
+	public void testInMemoryCacheHit() throws IOException, WinterCompilationException {
+		for(int i=0;i<2;i++) {
+			WinterTestCompiler compiler = this.getWinterCompiler().withCompilationCache(this.cachePath).withInMemoryOutput();
+			WinterModuleProxy moduleA = compiler.compile(MODULEA).load(MODULEA).build();
+			moduleA.start();
+			try {
+				Assertions.assertNotNull(moduleA.getBean("beanA"));
+			}
+			finally {
+				moduleA.stop();
+			}
+		}
+		Assertions.assertEquals(1, this.cachePath.listFiles().length);
+		Assertions.assertFalse(new File(this.getWinterCompiler().getModuleOutputPath(), MODULEA).exists());
+	}
+}
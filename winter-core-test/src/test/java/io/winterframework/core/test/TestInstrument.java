@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleException;
+import io.winterframework.test.WinterModuleProxy;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestInstrument extends AbstractCoreWinterTest {
+
+	private static final String MODULEA = "io.winterframework.test.instrument.moduleA";
+	
+	private static final String MODULEB = "io.winterframework.test.instrument.moduleB";
+	
+	private static final String MODULEC = "io.winterframework.test.instrument.moduleC";
+	
+	private String getModuleSource(WinterTestCompiler compiler, String module, String moduleClass) throws IOException {
+		return Files.readString(new File(compiler.getSourceOutputPath(), module + "/" + module.replace('.', '/') + "/" + moduleClass + ".java").toPath());
+	}
+	
+	private Object getBeanStats(List<?> beanStats, String beanName) {
+		return beanStats.stream().filter(stats -> beanName.equals(this.getStat(stats, "getName"))).findFirst().orElseThrow(() -> new AssertionError("Missing stats for bean " + beanName));
+	}
+	
+	private Object getStat(Object beanStats, String getter) {
+		// module classes are loaded in a dedicated module layer
+		try {
+			return beanStats.getClass().getMethod(getter).invoke(beanStats);
+		}
+		catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	@Test
+	public void testInstrument() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.instrument");
+		WinterModuleProxy moduleProxy = compiler.compile(MODULEA).load(MODULEA).build();
+		
+		moduleProxy.start();
+		for(int i=0;i<3;i++) {
+			Assertions.assertNotNull(moduleProxy.getBean("beanA"));
+		}
+		for(int i=0;i<2;i++) {
+			Assertions.assertNotNull(moduleProxy.getBean("beanB"));
+		}
+		moduleProxy.stop();
+		
+		List<?> beanStats = (List<?>)moduleProxy.getBean("getBeanStats");
+		Assertions.assertEquals(3, beanStats.size());
+		
+		Object beanAStats = this.getBeanStats(beanStats, "beanA");
+		Assertions.assertEquals(3l, this.getStat(beanAStats, "getAccessCount"));
+		Assertions.assertEquals(1l, this.getStat(beanAStats, "getCreationCount"));
+		Assertions.assertEquals(1l, this.getStat(beanAStats, "getDestructionCount"));
+		Assertions.assertTrue((long)this.getStat(beanAStats, "getCreationTime") > 0);
+		
+		Object beanBStats = this.getBeanStats(beanStats, "beanB");
+		Assertions.assertEquals(2l, this.getStat(beanBStats, "getAccessCount"));
+		Assertions.assertEquals(2l, this.getStat(beanBStats, "getCreationCount"));
+		Assertions.assertEquals(0l, this.getStat(beanBStats, "getDestructionCount"));
+		
+		Object beanCStats = this.getBeanStats(beanStats, "beanC");
+		Assertions.assertEquals(0l, this.getStat(beanCStats, "getAccessCount"));
+		Assertions.assertEquals(1l, this.getStat(beanCStats, "getCreationCount"));
+	}
+	
+	@Test
+	public void testInstrumentFailedCreation() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.instrument");
+		WinterModuleProxy moduleProxy = compiler.compile(MODULEC).load(MODULEC).build();
+		
+		// creations must be ended even when they fail
+		String moduleSource = this.getModuleSource(compiler, MODULEC, "ModuleC");
+		Assertions.assertTrue(moduleSource.contains("finally {\n\t\t\t\t\tthis.beanA_stats.endCreation();"));
+		
+		moduleProxy.start();
+		try {
+			// beanA fails on first creation which is nested in the creation of beanB
+			Assertions.assertThrows(WinterModuleException.class, () -> moduleProxy.getBean("beanB"));
+			Assertions.assertNotNull(moduleProxy.getBean("beanB"));
+			
+			List<?> beanStats = (List<?>)moduleProxy.getBean("getBeanStats");
+			
+			Object beanAStats = this.getBeanStats(beanStats, "beanA");
+			Assertions.assertEquals(1l, this.getStat(beanAStats, "getCreationCount"));
+			
+			Object beanBStats = this.getBeanStats(beanStats, "beanB");
+			Assertions.assertEquals(2l, this.getStat(beanBStats, "getAccessCount"));
+			Assertions.assertEquals(1l, this.getStat(beanBStats, "getCreationCount"));
+			Assertions.assertTrue((long)this.getStat(beanBStats, "getSelfTime") <= (long)this.getStat(beanBStats, "getCreationTime"));
+		}
+		finally {
+			moduleProxy.stop();
+		}
+	}
+	
+	@Test
+	public void testNoInstrument() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		WinterModuleProxy moduleProxy = compiler.compile(MODULEA).load(MODULEA).build();
+		
+		String moduleSource = this.getModuleSource(compiler, MODULEA, "ModuleA");
+		Assertions.assertFalse(moduleSource.contains("BeanStats"));
+		Assertions.assertFalse(moduleSource.contains("System.nanoTime()"));
+		
+		moduleProxy.start();
+		Assertions.assertNotNull(moduleProxy.getBean("beanA"));
+		Assertions.assertEquals(0, ((List<?>)moduleProxy.getBean("getBeanStats")).size());
+		moduleProxy.stop();
+	}
+	
+	@Test
+	public void testInstrumentedComponentModule() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		this.getWinterCompiler().withCompilerOptions("-Awinter.instrument").compile(MODULEA);
+		
+		WinterTestCompiler extraCompiler = this.getWinterCompiler().withModulePaths(List.of(new File(this.getWinterCompiler().getModuleOutputPath(), MODULEA)));
+		WinterModuleProxy moduleProxy = extraCompiler.compile(MODULEB).load(MODULEB).build();
+		
+		// the stats method of an instrumented component module must not be considered as a bean
+		String moduleSource = this.getModuleSource(extraCompiler, MODULEB, "ModuleB");
+		Assertions.assertFalse(moduleSource.contains("getBeanStats"));
+		
+		moduleProxy.start();
+		Assertions.assertNotNull(moduleProxy.getBean("beanD"));
+		moduleProxy.stop();
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleProxy;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestJmhBenchmarkPlugin extends AbstractCoreWinterTest {
+
+	private static final String MODULEA = "io.winterframework.test.benchmark.moduleA";
+	
+	private static final String MODULEB = "io.winterframework.test.benchmark.moduleB";
+	
+	public TestJmhBenchmarkPlugin() {
+		// the benchmark plugin and the modules it requires are added to the annotation processor module path
+		super(file -> {
+			if(file.getName().startsWith("winter-benchmark")) {
+				return Optional.of(new File("../winter-benchmark/target/classes")).filter(File::exists).orElse(file);
+			}
+			else if(file.getName().startsWith("winter-core")) {
+				return Optional.of(new File("../winter-core/target/classes")).filter(File::exists).orElse(file);
+			}
+			else if(file.getName().startsWith("jmh-core") || file.getName().startsWith("jopt-simple") || file.getName().startsWith("commons-math3") || file.getName().startsWith("log4j-api")) {
+				return file;
+			}
+			return null;
+		});
+	}
+	
+	private File getBenchmarkSource(WinterTestCompiler compiler, String module) {
+		String moduleName = module.substring(module.lastIndexOf('.') + 1);
+		return new File(compiler.getSourceOutputPath(), module + "/" + module.replace('.', '/') + "/" + Character.toUpperCase(moduleName.charAt(0)) + moduleName.substring(1) + "Benchmark.java");
+	}
+	
+	@BeforeEach
+	public void clearModules() {
+		// the modules are compiled with and without the benchmark option
+		this.clearModuleTarget();
+	}
+	
+	@Test
+	public void testBenchmark() throws IOException, WinterCompilationException, ReflectiveOperationException {
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.benchmark");
+		WinterModuleProxy moduleProxy = compiler.compile(MODULEA).load(MODULEA).build();
+		
+		String benchmarkSource = Files.readString(this.getBenchmarkSource(compiler, MODULEA).toPath());
+		Assertions.assertTrue(benchmarkSource.contains("public void startStop()"), benchmarkSource);
+		Assertions.assertTrue(benchmarkSource.contains("public Object bean_beanA()"), benchmarkSource);
+		Assertions.assertTrue(benchmarkSource.contains("public Object prototype_beanB()"), benchmarkSource);
+		Assertions.assertFalse(benchmarkSource.contains("beanC"), benchmarkSource);
+		
+		// The generated benchmark was compiled with the module
+		Class<?> benchmarkClass = moduleProxy.getModule().getClass().getClassLoader().loadClass(MODULEA + ".ModuleABenchmark");
+		Object benchmark = benchmarkClass.getConstructor().newInstance();
+		Method setup = benchmarkClass.getMethod("setup");
+		Method tearDown = benchmarkClass.getMethod("tearDown");
+		Assertions.assertTrue(Arrays.stream(setup.getAnnotations()).anyMatch(annotation -> annotation.annotationType().getName().equals("org.openjdk.jmh.annotations.Setup")));
+		
+		setup.invoke(benchmark);
+		try {
+			Assertions.assertNotNull(benchmarkClass.getMethod("bean_beanA").invoke(benchmark));
+			Assertions.assertNotNull(benchmarkClass.getMethod("prototype_beanB").invoke(benchmark));
+			benchmarkClass.getMethod("startStop").invoke(benchmark);
+		}
+		finally {
+			tearDown.invoke(benchmark);
+		}
+	}
+	
+	@Test
+	public void testBenchmarkWithSockets() throws IOException, WinterCompilationException {
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.benchmark");
+		compiler.compile(MODULEB);
+		
+		Assertions.assertFalse(this.getBenchmarkSource(compiler, MODULEB).exists());
+		Assertions.assertTrue(compiler.getDiagnostics().stream().anyMatch(d -> d.getMessage(Locale.getDefault()).equals("Benchmark is not generated for module " + MODULEB + " which defines sockets: runnableSocket")));
+	}
+	
+	@Test
+	public void testNoBenchmark() throws IOException, WinterCompilationException {
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		compiler.compile(MODULEA);
+		
+		Assertions.assertFalse(this.getBenchmarkSource(compiler, MODULEA).exists());
+	}
+}
@@ -71,6 +71,30 @@ public class TestLazyBeanSocket extends AbstractCoreWinterTest {
 		moduleProxy.stop();
 	}
 	
+	@Test
+	public void testSingleBeanInModuleRestart() throws IOException, WinterCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().compile(MODULEA).load(MODULEA).build();
+		
+		moduleProxy.start();
+		
+		Object beanA = moduleProxy.getBean("beanA");
+		Object beanB = moduleProxy.getBean("beanB");
+		
+		Assertions.assertEquals(beanB, beanA.getClass().getField("beanB1").get(beanA));
+		
+		moduleProxy.stop();
+		moduleProxy.start();
+		
+		Object restartedBeanA = moduleProxy.getBean("beanA");
+		Object restartedBeanB = moduleProxy.getBean("beanB");
+		
+		Assertions.assertNotEquals(beanB, restartedBeanB);
+		Assertions.assertEquals(restartedBeanB, restartedBeanA.getClass().getField("beanB1").get(restartedBeanA));
+		Assertions.assertEquals(restartedBeanB, restartedBeanA.getClass().getField("beanB2").get(restartedBeanA));
+		
+		moduleProxy.stop();
+	}
+	
 	@Test
 	public void testSingleBeanInComponentModule() throws IOException, WinterCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
 		WinterModuleProxy moduleProxy = this.getWinterCompiler().compile(MODULEA, MODULEB).load(MODULEB).build();
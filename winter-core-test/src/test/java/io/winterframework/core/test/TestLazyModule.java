@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleProxy;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestLazyModule extends AbstractCoreWinterTest {
+
+	private static final String MODULEA = "io.winterframework.test.lazymodule.moduleA";
+	private static final String MODULEB = "io.winterframework.test.lazymodule.moduleB";
+	private static final String MODULEC = "io.winterframework.test.lazymodule.moduleC";
+	
+	@SuppressWarnings("unchecked")
+	private List<String> getEvents(Object beanC) throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		return (List<String>)beanC.getClass().getField("events").get(beanC);
+	}
+	
+	private Object getBeanA(Object beanC) throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		return ((Supplier<?>)beanC.getClass().getField("beanA").get(beanC)).get();
+	}
+	
+	@Test
+	public void testLazyModule() throws IOException, WinterCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		WinterModuleProxy moduleB = this.getWinterCompiler().compile(MODULEA, MODULEB).load(MODULEB).build();
+		
+		moduleB.start();
+		Object beanC = moduleB.getBean("beanC");
+		List<String> events = this.getEvents(beanC);
+		Assertions.assertEquals(List.of("init beanC"), events);
+		
+		Assertions.assertNotNull(this.getBeanA(beanC));
+		Assertions.assertEquals(List.of("init beanC", "init beanA"), events);
+		
+		Assertions.assertSame(this.getBeanA(beanC), this.getBeanA(beanC));
+		moduleB.stop();
+		Assertions.assertEquals(List.of("init beanC", "init beanA", "destroy beanC", "destroy beanA"), events);
+		
+		// the lazy module must be started again on demand after a restart
+		events.clear();
+		moduleB.start();
+		Assertions.assertEquals(List.of("init beanC"), events);
+		Assertions.assertNotNull(this.getBeanA(beanC = moduleB.getBean("beanC")));
+		moduleB.stop();
+		Assertions.assertEquals(List.of("init beanC", "init beanA", "destroy beanC", "destroy beanA"), events);
+	}
+	
+	@Test
+	public void testConcurrentLazyModule() throws IOException, WinterCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, InterruptedException, ExecutionException {
+		WinterModuleProxy moduleB = this.getWinterCompiler().compile(MODULEA, MODULEB).load(MODULEB).build();
+		
+		moduleB.start();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			Object beanC = moduleB.getBean("beanC");
+			CountDownLatch latch = new CountDownLatch(1);
+			List<Future<Object>> beanAs = new ArrayList<>();
+			for(int i=0;i<8;i++) {
+				beanAs.add(executor.submit(() -> {
+					latch.await();
+					return this.getBeanA(beanC);
+				}));
+			}
+			latch.countDown();
+			
+			Object beanA = beanAs.get(0).get();
+			Assertions.assertNotNull(beanA);
+			for(Future<Object> other : beanAs) {
+				Assertions.assertSame(beanA, other.get());
+			}
+			
+			moduleB.stop();
+			Assertions.assertEquals(List.of("init beanC", "init beanA", "destroy beanC", "destroy beanA"), this.getEvents(beanC));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void testUnusedLazyModule() throws IOException, WinterCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		WinterModuleProxy moduleB = this.getWinterCompiler().compile(MODULEA, MODULEB).load(MODULEB).build();
+		
+		moduleB.start();
+		List<String> events = this.getEvents(moduleB.getBean("beanC"));
+		moduleB.stop();
+		Assertions.assertEquals(List.of("init beanC", "destroy beanC"), events);
+	}
+	
+	@Test
+	public void testEagerModule() throws IOException, WinterCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		WinterModuleProxy moduleC = this.getWinterCompiler().compile(MODULEA, MODULEC).load(MODULEC).build();
+		
+		moduleC.start();
+		List<String> events = this.getEvents(moduleC.getBean("beanC"));
+		Assertions.assertEquals(List.of("init beanA", "init beanC"), events);
+		moduleC.stop();
+		Assertions.assertEquals(List.of("init beanA", "init beanC", "destroy beanC", "destroy beanA"), events);
+	}
+	
+	@Test
+	public void testLazyModulesOption() throws IOException, WinterCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.lazyModules");
+		WinterModuleProxy moduleC = compiler.compile(MODULEA, MODULEC).load(MODULEC).build();
+		
+		String moduleSource = Files.readString(new File(compiler.getSourceOutputPath(), MODULEC + "/" + MODULEC.replace('.', '/') + "/ModuleC.java").toPath());
+		Assertions.assertTrue(moduleSource.contains(", true);"));
+		
+		moduleC.start();
+		Object beanC = moduleC.getBean("beanC");
+		List<String> events = this.getEvents(beanC);
+		Assertions.assertEquals(List.of("init beanC"), events);
+		Assertions.assertNotNull(this.getBeanA(beanC));
+		moduleC.stop();
+		Assertions.assertEquals(List.of("init beanC", "init beanA", "destroy beanC", "destroy beanA"), events);
+	}
+}
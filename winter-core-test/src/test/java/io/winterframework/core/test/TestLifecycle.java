@@ -15,13 +15,17 @@
  */
 package io.winterframework.core.test;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleLoader;
 import io.winterframework.test.WinterModuleProxy;
+import io.winterframework.test.WinterTestCompiler;
 
 /**
  * 
@@ -101,6 +105,62 @@ public class TestLifecycle extends AbstractCoreWinterTest {
 		}
 	}
 	
+	@Test
+	public void testRestart() throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, IOException, WinterCompilationException {
+		WinterModuleProxy moduleA = this.getWinterCompiler().compile(MODULEA).load(MODULEA).build();
+		
+		moduleA.start();
+		Object singletonBean1 = moduleA.getBean("singletonStrategyBean");
+		moduleA.stop();
+		
+		Object singletonBean2 = null;
+		try {
+			moduleA.start();
+			singletonBean2 = moduleA.getBean("singletonStrategyBean");
+			
+			Assertions.assertNotSame(singletonBean1, singletonBean2);
+			Assertions.assertEquals(1, singletonBean2.getClass().getField("initCount").get(singletonBean2));
+		}
+		finally {
+			moduleA.stop();
+			Assertions.assertEquals(1, singletonBean1.getClass().getField("destroyCount").get(singletonBean1));
+			Assertions.assertEquals(1, singletonBean2.getClass().getField("destroyCount").get(singletonBean2));
+		}
+	}
+	
+	@Test
+	public void testSharedOperations() throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, IOException, WinterCompilationException {
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		WinterModuleLoader loader = compiler.compile(MODULEA);
+		WinterModuleProxy moduleA1 = loader.load(MODULEA).build();
+		WinterModuleProxy moduleA2 = loader.load(MODULEA).build();
+		Assertions.assertSame(moduleA1.getModule().getClass(), moduleA2.getModule().getClass());
+		
+		// init and destroy operations only depend on the module type and are declared statically
+		String moduleSource = Files.readString(new File(compiler.getSourceOutputPath(), MODULEA + "/" + MODULEA.replace('.', '/') + "/ModuleA.java").toPath());
+		Assertions.assertTrue(moduleSource.contains("private static final BeanBuilder.FallibleConsumer<SingletonStrategyBean>[] singletonStrategyBean_inits = new BeanBuilder.FallibleConsumer[] {(BeanBuilder.FallibleConsumer<SingletonStrategyBean>)SingletonStrategyBean::init};"), moduleSource);
+		Assertions.assertTrue(moduleSource.contains("private static final BeanBuilder.FallibleConsumer<PrototypeStrategyBean>[] prototypeStrategyBean_destroys = new BeanBuilder.FallibleConsumer[] {(BeanBuilder.FallibleConsumer<PrototypeStrategyBean>)PrototypeStrategyBean::destroy};"), moduleSource);
+		
+		Object singletonBean1 = null, singletonBean2 = null;
+		try {
+			moduleA1.start();
+			moduleA2.start();
+			
+			singletonBean1 = moduleA1.getBean("singletonStrategyBean");
+			singletonBean2 = moduleA2.getBean("singletonStrategyBean");
+			
+			Assertions.assertNotSame(singletonBean1, singletonBean2);
+			Assertions.assertEquals(1, singletonBean1.getClass().getField("initCount").get(singletonBean1));
+			Assertions.assertEquals(1, singletonBean2.getClass().getField("initCount").get(singletonBean2));
+		}
+		finally {
+			moduleA1.stop();
+			moduleA2.stop();
+			Assertions.assertEquals(1, singletonBean1.getClass().getField("destroyCount").get(singletonBean1));
+			Assertions.assertEquals(1, singletonBean2.getClass().getField("destroyCount").get(singletonBean2));
+		}
+	}
+	
 	@Test
 	public void testInitAfterDI() throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, IOException, WinterCompilationException {
 		WinterModuleProxy moduleA = this.getWinterCompiler().compile(MODULEA).load(MODULEA).build();
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestLogging extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.classlist";
+	
+	private static final String MODULE_MAIN = MODULE + "/" + MODULE + ".App";
+	
+	// logger providers are resolved once per JVM, the application is run in a forked JVM
+	private String runApplication(String... jvmArgs) throws IOException, WinterCompilationException, InterruptedException {
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		compiler.compile(MODULE);
+		
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(List.of(jvmArgs));
+		command.add("-p");
+		command.add(Stream.concat(Stream.of(new File(compiler.getModuleOutputPath(), MODULE)), compiler.getModulePaths().stream()).map(File::getPath).collect(Collectors.joining(File.pathSeparator)));
+		command.add("-m");
+		command.add(MODULE_MAIN);
+		
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+		Assertions.assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+		Assertions.assertEquals(0, process.exitValue(), output);
+		return output;
+	}
+	
+	@Test
+	public void testSystemLogger() throws IOException, WinterCompilationException, InterruptedException {
+		this.clearModuleTarget();
+		String output = this.runApplication();
+		
+		Assertions.assertTrue(output.contains("INFO: Starting Module " + MODULE + "..."), output);
+		Assertions.assertTrue(output.contains("INFO: Module " + MODULE + " started in "), output);
+		// debug is disabled by default
+		Assertions.assertFalse(output.contains("Creating singleton bean"), output);
+	}
+	
+	@Test
+	public void testNoLogger() throws IOException, WinterCompilationException, InterruptedException {
+		this.clearModuleTarget();
+		String output = this.runApplication("-Dwinter.logger=none");
+		
+		Assertions.assertFalse(output.contains("Starting Module"), output);
+		Assertions.assertTrue(output.contains("beanB: io.winterframework.test.classlist.BeanA"), output);
+	}
+	
+	@Test
+	public void testLog4jLogger() throws IOException, WinterCompilationException, InterruptedException {
+		this.clearModuleTarget();
+		String output = this.runApplication("-Dwinter.logger=log4j", "--add-modules", "org.apache.logging.log4j", "-Dorg.apache.logging.log4j.simplelog.level=DEBUG", "-Dorg.apache.logging.log4j.simplelog.logFile=system.out");
+		
+		Assertions.assertTrue(output.contains("INFO Classlist Starting Module " + MODULE + "..."), output);
+		Assertions.assertTrue(output.contains("DEBUG SingletonModuleBean Creating singleton bean " + MODULE + ":beanA"), output);
+		Assertions.assertTrue(output.contains("DEBUG PrototypeWeakModuleBean Creating prototype bean " + MODULE + ":beanB"), output);
+	}
+	
+	@Test
+	public void testLog4jLoggerNotAvailable() throws IOException, WinterCompilationException, InterruptedException {
+		this.clearModuleTarget();
+		// log4j is an optional dependency of the Winter core module which is not resolved unless explicitly added
+		String output = this.runApplication("-Dwinter.logger=log4j");
+		
+		Assertions.assertTrue(output.contains("Log4j is not available, using System.Logger"), output);
+		Assertions.assertTrue(output.contains("INFO: Starting Module " + MODULE + "..."), output);
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleAssertions;
+import io.winterframework.test.WinterModuleAssertions.StartAssertion;
+import io.winterframework.test.WinterModuleProxy;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+@Isolated("Start time and loaded classes are measured for the whole JVM")
+public class TestModuleAssertions extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.instrument.moduleA";
+	
+	@Test
+	public void testStartAssertions() throws IOException, WinterCompilationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.instrument").compile(MODULE).load(MODULE).build();
+		
+		StartAssertion startAssertion = WinterModuleAssertions.assertStart(moduleProxy);
+		try {
+			// beanA and beanC singletons, beanB is a prototype
+			Assertions.assertEquals(2, startAssertion.getCreatedBeans());
+			startAssertion
+				.maxTime(Duration.ofSeconds(5))
+				.maxCreatedBeans(2)
+				// bean classes and the few core classes used on start
+				.maxLoadedClasses(100);
+			
+			AssertionError error = Assertions.assertThrows(AssertionError.class, () -> startAssertion.maxCreatedBeans(1));
+			Assertions.assertEquals("Module io.winterframework.test.instrument.moduleA created 2 beans on start, expected at most 1", error.getMessage());
+			Assertions.assertThrows(AssertionError.class, () -> startAssertion.maxTime(Duration.ZERO));
+			Assertions.assertThrows(AssertionError.class, () -> startAssertion.maxLoadedClasses(0));
+		}
+		finally {
+			moduleProxy.stop();
+		}
+	}
+	
+	@Test
+	public void testStartAssertionsNotInstrumented() throws IOException, WinterCompilationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().compile(MODULE).load(MODULE).build();
+		
+		StartAssertion startAssertion = WinterModuleAssertions.assertStart(moduleProxy);
+		try {
+			Assertions.assertEquals(-1, startAssertion.getCreatedBeans());
+			Assertions.assertThrows(IllegalStateException.class, () -> startAssertion.maxCreatedBeans(10));
+		}
+		finally {
+			moduleProxy.stop();
+		}
+	}
+	
+	@Test
+	public void testAccessAllocation() throws IOException, WinterCompilationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().compile(MODULE).load(MODULE).build();
+		
+		moduleProxy.start();
+		try {
+			// a singleton is created once
+			WinterModuleAssertions.assertAccessAllocation(moduleProxy, "beanA", 0);
+			
+			// a prototype is created on each access
+			AssertionError error = Assertions.assertThrows(AssertionError.class, () -> WinterModuleAssertions.assertAccessAllocation(moduleProxy, "beanB", 0));
+			Assertions.assertTrue(error.getMessage().startsWith("Access to bean io.winterframework.test.instrument.moduleA:beanB allocated "));
+		}
+		finally {
+			moduleProxy.stop();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleException;
+import io.winterframework.test.WinterModuleProxy;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestModuleProxy extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.simplebean";
+	
+	public static interface Simplebean {
+		
+		String getName();
+		
+		void start();
+		
+		void stop();
+		
+		Object beanA();
+		
+		Object beanB();
+	}
+	
+	public static interface InvalidSimplebean {
+		
+		Object beanC();
+	}
+	
+	public static interface IncompatibleSimplebean {
+		
+		String beanA();
+	}
+	
+	@Test
+	public void testProxy() throws IOException, WinterCompilationException {
+		WinterModuleProxy simpleProxy = this.getWinterCompiler().compile(MODULE).load(MODULE).dependencies((Runnable)() -> {}).build();
+		
+		Assertions.assertEquals(MODULE, simpleProxy.getName());
+		simpleProxy.start();
+		try {
+			Assertions.assertSame(simpleProxy.getBean("beanA"), simpleProxy.getBean("beanA"));
+			Assertions.assertThrows(RuntimeException.class, () -> simpleProxy.getBean("beanC"));
+		}
+		finally {
+			simpleProxy.stop();
+		}
+		Assertions.assertThrows(WinterModuleException.class, () -> simpleProxy.getBean("beanA"));
+	}
+	
+	@Test
+	public void testTypedProxy() throws IOException, WinterCompilationException {
+		WinterModuleProxy simpleProxy = this.getWinterCompiler().compile(MODULE).load(MODULE).dependencies((Runnable)() -> {}).build();
+		Simplebean simplebean = simpleProxy.as(Simplebean.class, MethodHandles.lookup());
+		
+		Assertions.assertEquals(MODULE, simplebean.getName());
+		simplebean.start();
+		try {
+			Assertions.assertNotNull(simplebean.beanA());
+			Assertions.assertSame(simpleProxy.getBean("beanA"), simplebean.beanA());
+			Assertions.assertNotNull(simplebean.beanB());
+			
+			// the adapter class is generated once
+			Assertions.assertSame(simplebean.getClass(), simpleProxy.as(Simplebean.class, MethodHandles.lookup()).getClass());
+		}
+		finally {
+			simplebean.stop();
+		}
+		// exceptions are not wrapped
+		Assertions.assertThrows(IllegalArgumentException.class, () -> simplebean.beanA());
+	}
+	
+	@Test
+	public void testInvalidTypedProxy() throws IOException, WinterCompilationException {
+		WinterModuleProxy simpleProxy = this.getWinterCompiler().compile(MODULE).load(MODULE).dependencies((Runnable)() -> {}).build();
+		
+		IllegalArgumentException invalidException = Assertions.assertThrows(IllegalArgumentException.class, () -> simpleProxy.as(InvalidSimplebean.class, MethodHandles.lookup()));
+		Assertions.assertEquals("Module io.winterframework.test.simplebean.Simplebean does not define method beanC with 0 parameter(s)", invalidException.getMessage());
+		
+		Assertions.assertThrows(IllegalArgumentException.class, () -> simpleProxy.as(IncompatibleSimplebean.class, MethodHandles.lookup()));
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleProxy;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestNativeImage extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.simplebean";
+	
+	private static final String MODULE_CLASS = "io.winterframework.test.simplebean.Simplebean";
+	
+	private File getNativeImageFile(WinterTestCompiler compiler, String name) {
+		return new File(compiler.getModuleOutputPath(), MODULE + "/META-INF/native-image/" + MODULE + "/" + name);
+	}
+	
+	private String readNativeImageFile(WinterTestCompiler compiler, String name) throws IOException {
+		return Files.readString(this.getNativeImageFile(compiler, name).toPath());
+	}
+	
+	@Test
+	public void testNativeImage() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.nativeImage");
+		WinterModuleProxy moduleProxy = compiler.compile(MODULE).load(MODULE).dependencies((Runnable)() -> {}).build();
+		
+		String resourceConfig = this.readNativeImageFile(compiler, "resource-config.json");
+		Assertions.assertTrue(resourceConfig.contains("{ \"pattern\": \"\\\\QMETA-INF/winter/core/module.yml\\\\E\" }"), resourceConfig);
+		Assertions.assertTrue(resourceConfig.contains("{ \"pattern\": \"\\\\Qlog4j2.component.properties\\\\E\" }"), resourceConfig);
+		Assertions.assertTrue(resourceConfig.contains("\"bundles\": []"), resourceConfig);
+		
+		// log4j is required by the Winter core module
+		String reflectConfig = this.readNativeImageFile(compiler, "reflect-config.json");
+		Assertions.assertTrue(reflectConfig.contains("\"name\": \"org.apache.logging.log4j.message.ParameterizedMessageFactory\""), reflectConfig);
+		Assertions.assertTrue(reflectConfig.contains("\"name\": \"org.apache.logging.log4j.message.ReusableMessageFactory\""), reflectConfig);
+		Assertions.assertTrue(reflectConfig.contains("\"methods\": [ { \"name\": \"<init>\", \"parameterTypes\": [] } ]"), reflectConfig);
+		Assertions.assertFalse(reflectConfig.contains(MODULE_CLASS), reflectConfig);
+		
+		String properties = this.readNativeImageFile(compiler, "native-image.properties");
+		Assertions.assertTrue(properties.contains("Args = --initialize-at-build-time=io.winterframework.core.v1.Module,io.winterframework.core.v1.Module$ModuleBuilder,io.winterframework.core.v1.Module$ModuleLinker," + MODULE_CLASS + "," + MODULE_CLASS + "$Builder," + MODULE_CLASS + "$Linker\n"), properties);
+		Assertions.assertFalse(properties.contains("BeanA"), properties);
+		
+		moduleProxy.start();
+		Assertions.assertNotNull(moduleProxy.getBean("beanA"));
+		moduleProxy.stop();
+	}
+	
+	@Test
+	public void testNativeImageOtherModule() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.nativeImage=io.winterframework.test.other");
+		compiler.compile(MODULE);
+		
+		Assertions.assertFalse(this.getNativeImageFile(compiler, "resource-config.json").exists());
+		Assertions.assertFalse(this.getNativeImageFile(compiler, "native-image.properties").exists());
+	}
+	
+	@Test
+	public void testNoNativeImage() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		compiler.compile(MODULE);
+		
+		Assertions.assertFalse(this.getNativeImageFile(compiler, "resource-config.json").exists());
+		Assertions.assertFalse(this.getNativeImageFile(compiler, "reflect-config.json").exists());
+	}
+}
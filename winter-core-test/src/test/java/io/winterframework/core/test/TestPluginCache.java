@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestPluginCache extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.plugincache";
+	
+	private static final File PLUGIN_CACHE = new File("target/winter-plugin-cache");
+	
+	private void clearPluginCache() throws IOException {
+		if(PLUGIN_CACHE.exists()) {
+			try(Stream<Path> paths = Files.walk(PLUGIN_CACHE.toPath())) {
+				paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+			}
+		}
+	}
+	
+	private String compileAndRead(String value, boolean cache) throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withoutCompilationCache().withCompilerOptions("-A" + CacheablePlugin.OPTION_CACHEABLE_PLUGIN + "=" + value);
+		if(cache) {
+			compiler = compiler.withCompilerOptions("-Awinter.pluginCache=" + PLUGIN_CACHE.getAbsolutePath());
+		}
+		compiler.compile(MODULE);
+		return Files.readString(new File(compiler.getModuleOutputPath(), MODULE + "/" + CacheablePlugin.RESOURCE).toPath());
+	}
+	
+	@Test
+	public void testPluginCache() throws IOException, WinterCompilationException {
+		this.clearPluginCache();
+		
+		String first = this.compileAndRead("a", true);
+		Assertions.assertTrue(first.startsWith("a\n"), first);
+		Assertions.assertTrue(first.endsWith("io.winterframework.test.plugincache:beanA\n"), first);
+		Assertions.assertTrue(new File(PLUGIN_CACHE, MODULE + "/" + CacheablePlugin.class.getName() + "/index.properties").exists());
+		
+		// Same inputs: the output is replayed from the cache
+		Assertions.assertEquals(first, this.compileAndRead("a", true));
+		
+		// Plugin options are part of the fingerprint
+		String other = this.compileAndRead("b", true);
+		Assertions.assertTrue(other.startsWith("b\n"), other);
+		// A single execution is cached per module and plugin
+		Assertions.assertNotEquals(first, this.compileAndRead("a", true));
+		
+		// No cache
+		String uncached = this.compileAndRead("b", false);
+		Assertions.assertNotEquals(other, uncached);
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleProxy;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestProfile extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.profile";
+	
+	@Test
+	public void testProfile() throws IOException, WinterCompilationException {
+		File profileFile = new File(this.getWinterCompiler().getModuleOutputPath(), MODULE + "/META-INF/winter/core/profile.yml");
+		this.clearModuleTarget();
+		
+		WinterModuleProxy profileProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.profile=true").compile(MODULE).load(MODULE).dependencies((Runnable)() -> {}).build();
+		profileProxy.start();
+		Assertions.assertNotNull(profileProxy.getBean("beanA"));
+		profileProxy.stop();
+		
+		Assertions.assertTrue(profileFile.exists());
+		
+		String profile = Files.readString(profileFile.toPath());
+		Assertions.assertTrue(profile.contains("module: \"" + MODULE + "\""));
+		Assertions.assertTrue(profile.contains("heap: "));
+		for(String phase : new String[] {"modules", "beans", "sockets", "nameConflicts", "socketResolution", "cycleDetection", "build", "plugins", "descriptorGeneration", "sourceGeneration"}) {
+			Assertions.assertTrue(profile.contains("\"" + phase + "\": { count: "), "Missing phase " + phase);
+		}
+	}
+	
+	@Test
+	public void testNoProfile() throws IOException, WinterCompilationException {
+		File profileFile = new File(this.getWinterCompiler().getModuleOutputPath(), MODULE + "/META-INF/winter/core/profile.yml");
+		this.clearModuleTarget();
+		
+		this.getWinterCompiler().compile(MODULE);
+		
+		Assertions.assertFalse(profileFile.exists());
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleProxy;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestRestart extends AbstractCoreWinterTest {
+
+	private static final String MODULEA = "io.winterframework.test.restart.moduleA";
+	private static final String MODULEB = "io.winterframework.test.restart.moduleB";
+	private static final String MODULEC = "io.winterframework.test.restart.moduleC";
+	
+	@SuppressWarnings("unchecked")
+	private List<String> getEvents(Object bean) throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException, ClassNotFoundException {
+		return (List<String>)bean.getClass().getClassLoader().loadClass(MODULEA + ".Events").getField("EVENTS").get(null);
+	}
+	
+	private Object getField(Object bean, String name) throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		return bean.getClass().getField(name).get(bean);
+	}
+	
+	private void restart(WinterModuleProxy moduleProxy, String moduleName) throws Throwable {
+		Object module = moduleProxy.getModule();
+		try {
+			module.getClass().getMethod("restart", String.class).invoke(module, moduleName);
+		}
+		catch(InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+	
+	@Test
+	public void testRestart() throws Throwable {
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		WinterModuleProxy moduleC = compiler.compile(MODULEA, MODULEB, MODULEC).load(MODULEC).build();
+		
+		String moduleSource = Files.readString(new File(compiler.getSourceOutputPath(), MODULEC + "/" + MODULEC.replace('.', '/') + "/ModuleC.java").toPath());
+		Assertions.assertTrue(moduleSource.contains("getDependentModules("));
+		Assertions.assertTrue(moduleSource.contains("getDependentBeans("));
+		
+		moduleC.start();
+		try {
+			Object service = moduleC.getBean("service");
+			Object facade = moduleC.getBean("facade");
+			Object dashboard = moduleC.getBean("dashboard");
+			Object cache = moduleC.getBean("cache");
+			Object monitor = moduleC.getBean("monitor");
+			Object pool = this.getField(service, "pool");
+			Object client = this.getField(dashboard, "client");
+			Assertions.assertSame(pool, ((Supplier<?>)this.getField(monitor, "pool")).get());
+			
+			List<String> events = this.getEvents(service);
+			events.clear();
+			this.restart(moduleC, MODULEA);
+			
+			// dependents are destroyed before their dependencies and re-created after
+			Assertions.assertEquals(8, events.size());
+			List<String> destroyEvents = events.subList(0, 4);
+			Assertions.assertEquals(4, destroyEvents.stream().filter(event -> event.startsWith("destroy ")).count());
+			Assertions.assertTrue(destroyEvents.indexOf("destroy facade") < destroyEvents.indexOf("destroy service"));
+			Assertions.assertTrue(destroyEvents.indexOf("destroy service") < destroyEvents.indexOf("destroy pool"));
+			Assertions.assertTrue(destroyEvents.indexOf("destroy dashboard") < destroyEvents.indexOf("destroy pool"));
+			Assertions.assertTrue((boolean)this.getField(client, "destroyed"));
+			List<String> initEvents = events.subList(4, events.size());
+			Assertions.assertEquals("init pool", initEvents.get(0));
+			Assertions.assertTrue(initEvents.indexOf("init service") < initEvents.indexOf("init facade"));
+			Assertions.assertTrue(initEvents.contains("init dashboard"));
+			
+			// dependents are re-linked to the new instances
+			Object newService = moduleC.getBean("service");
+			Object newPool = this.getField(newService, "pool");
+			Assertions.assertNotSame(service, newService);
+			Assertions.assertNotSame(pool, newPool);
+			Assertions.assertSame(newService, this.getField(moduleC.getBean("facade"), "service"));
+			Object newClient = this.getField(moduleC.getBean("dashboard"), "client");
+			Assertions.assertNotSame(client, newClient);
+			Assertions.assertSame(newPool, this.getField(newClient, "pool"));
+			Assertions.assertNotSame(facade, moduleC.getBean("facade"));
+			
+			// independent beans and lazy sockets are left untouched
+			Assertions.assertSame(cache, moduleC.getBean("cache"));
+			Assertions.assertSame(monitor, moduleC.getBean("monitor"));
+			Assertions.assertSame(newPool, ((Supplier<?>)this.getField(monitor, "pool")).get());
+			
+			events.clear();
+			moduleC.stop();
+			Assertions.assertEquals(6, events.size());
+			Assertions.assertEquals(1, events.stream().filter(event -> event.equals("destroy pool")).count());
+			Assertions.assertEquals(1, events.stream().filter(event -> event.equals("destroy service")).count());
+		}
+		finally {
+			if(moduleC.isActive()) {
+				moduleC.stop();
+			}
+		}
+	}
+	
+	@Test
+	public void testRestartLeaf() throws Throwable {
+		WinterModuleProxy moduleC = this.getWinterCompiler().compile(MODULEA, MODULEB, MODULEC).load(MODULEC).build();
+		
+		moduleC.start();
+		try {
+			Object service = moduleC.getBean("service");
+			Object dashboard = moduleC.getBean("dashboard");
+			Object client = this.getField(dashboard, "client");
+			Object pool = this.getField(service, "pool");
+			
+			List<String> events = this.getEvents(service);
+			events.clear();
+			this.restart(moduleC, MODULEB);
+			
+			// moduleA does not depend on moduleB
+			Assertions.assertEquals(List.of("destroy dashboard", "init dashboard"), events);
+			Assertions.assertTrue((boolean)this.getField(client, "destroyed"));
+			Assertions.assertSame(service, moduleC.getBean("service"));
+			Assertions.assertNotSame(dashboard, moduleC.getBean("dashboard"));
+			Assertions.assertSame(pool, this.getField(this.getField(moduleC.getBean("dashboard"), "client"), "pool"));
+		}
+		finally {
+			moduleC.stop();
+		}
+	}
+	
+	@Test
+	public void testRestartUnknownModule() throws IOException, WinterCompilationException {
+		WinterModuleProxy moduleC = this.getWinterCompiler().compile(MODULEA, MODULEB, MODULEC).load(MODULEC).build();
+		
+		Assertions.assertThrows(IllegalStateException.class, () -> this.restart(moduleC, MODULEA));
+		moduleC.start();
+		try {
+			Assertions.assertThrows(IllegalArgumentException.class, () -> this.restart(moduleC, "io.winterframework.test.restart.unknown"));
+		}
+		finally {
+			moduleC.stop();
+		}
+	}
+}
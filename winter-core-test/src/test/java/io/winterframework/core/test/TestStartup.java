@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleProxy;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestStartup extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.startup";
+	
+	private Object getStat(Object beanStats, String getter) {
+		// module classes are loaded in a dedicated module layer
+		try {
+			return beanStats.getClass().getMethod(getter).invoke(beanStats);
+		}
+		catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	@Test
+	public void testStartupGraph() throws IOException, WinterCompilationException {
+		File descriptorFile = new File(this.getWinterCompiler().getModuleOutputPath(), MODULE + "/META-INF/winter/core/module.yml");
+		this.clearModuleTarget();
+		
+		this.getWinterCompiler().withCompilerOptions("-Awinter.generateDescriptor").compile(MODULE);
+		
+		Assertions.assertTrue(descriptorFile.exists());
+		
+		String descriptor = Files.readString(descriptorFile.toPath());
+		String startup = descriptor.substring(descriptor.indexOf("    startup:"));
+		
+		Assertions.assertTrue(startup.contains("depth: 3\n"));
+		// level 0: beanA, beanE (lazy dependency), level 1: beanB, beanD, level 2: beanC
+		Assertions.assertEquals(2, startup.split("- width: 2\n").length - 1);
+		Assertions.assertEquals(1, startup.split("- width: 1\n").length - 1);
+		Assertions.assertTrue(startup.contains("beans: [beanC]"));
+		Assertions.assertTrue(startup.contains("criticalPath:\n            - beanA\n            - beanB\n            - beanC"));
+	}
+	
+	@Test
+	public void testCriticalPath() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().withCompilerOptions("-Awinter.instrument").compile(MODULE).load(MODULE).build();
+		
+		moduleProxy.start();
+		try {
+			List<?> criticalPath = (List<?>)moduleProxy.getBean("getCriticalPath");
+			
+			// beanD takes longer to create than beanB and beanC together
+			Assertions.assertEquals(List.of("beanA", "beanD"), criticalPath.stream().map(stats -> this.getStat(stats, "getName")).collect(Collectors.toList()));
+			Assertions.assertTrue((long)this.getStat(criticalPath.get(1), "getSelfTime") >= 50000000l);
+			
+			List<?> beanStats = (List<?>)moduleProxy.getBean("getBeanStats");
+			for(Object stats : beanStats) {
+				Object name = this.getStat(stats, "getName");
+				if(name.equals("beanC")) {
+					// init methods are accounted in the self time
+					Assertions.assertTrue((long)this.getStat(stats, "getSelfTime") >= 5000000l);
+				}
+				else if(name.equals("beanE")) {
+					// lazy dependencies are not startup dependencies
+					Assertions.assertEquals(0, ((List<?>)this.getStat(stats, "getDependencies")).size());
+				}
+			}
+		}
+		finally {
+			moduleProxy.stop();
+		}
+	}
+	
+	@Test
+	public void testNoCriticalPath() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().compile(MODULE).load(MODULE).build();
+		
+		moduleProxy.start();
+		Assertions.assertEquals(0, ((List<?>)moduleProxy.getBean("getCriticalPath")).size());
+		moduleProxy.stop();
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleProxy;
+import io.winterframework.test.WinterTestCompiler;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+public class TestUnreachableBean extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.unreachable";
+	
+	private String getModuleSource(WinterTestCompiler compiler) throws IOException {
+		return Files.readString(new File(compiler.getSourceOutputPath(), MODULE + "/io/winterframework/test/unreachable/Unreachable.java").toPath());
+	}
+	
+	@Test
+	public void testIgnoreUnreachableBeans() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler();
+		compiler.compile(MODULE);
+		
+		Assertions.assertEquals(0, compiler.getDiagnostics().size());
+		
+		String moduleSource = this.getModuleSource(compiler);
+		for(String beanName : List.of("beanA", "beanB", "beanC", "beanD", "beanE", "beanF")) {
+			Assertions.assertTrue(moduleSource.contains("\"" + beanName + "\""));
+		}
+	}
+	
+	@Test
+	public void testWarnUnreachableBeans() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.unreachableBeans=warn");
+		compiler.compile(MODULE);
+		
+		Assertions.assertEquals(2, compiler.getDiagnostics().size());
+		
+		String unreachableBeanC = "Private bean io.winterframework.test.unreachable:beanC is not reachable from any public bean or component module";
+		String unreachableBeanD = "Private bean io.winterframework.test.unreachable:beanD is not reachable from any public bean or component module";
+		
+		Assertions.assertTrue(compiler.getDiagnostics().stream().map(d -> d.getMessage(Locale.getDefault())).collect(Collectors.toList()).containsAll(List.of(unreachableBeanC, unreachableBeanD)));
+		
+		String moduleSource = this.getModuleSource(compiler);
+		for(String beanName : List.of("beanA", "beanB", "beanC", "beanD", "beanE", "beanF")) {
+			Assertions.assertTrue(moduleSource.contains("\"" + beanName + "\""));
+		}
+	}
+	
+	@Test
+	public void testDropUnreachableBeans() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.unreachableBeans=drop");
+		WinterModuleProxy moduleProxy = compiler.compile(MODULE).load(MODULE).build();
+		
+		Assertions.assertEquals(2, compiler.getDiagnostics().size());
+		
+		String moduleSource = this.getModuleSource(compiler);
+		for(String beanName : List.of("beanA", "beanB", "beanE", "beanF")) {
+			Assertions.assertTrue(moduleSource.contains("\"" + beanName + "\""));
+		}
+		for(String beanName : List.of("beanC", "beanD")) {
+			Assertions.assertFalse(moduleSource.contains("\"" + beanName + "\""));
+		}
+		
+		moduleProxy.start();
+		Assertions.assertNotNull(moduleProxy.getBean("beanA"));
+		moduleProxy.stop();
+	}
+	
+	@Test
+	public void testInvalidUnreachableBeans() throws IOException, WinterCompilationException {
+		this.clearModuleTarget();
+		WinterTestCompiler compiler = this.getWinterCompiler().withCompilerOptions("-Awinter.unreachableBeans=eror");
+		compiler.compile(MODULE);
+		
+		Assertions.assertEquals(1, compiler.getDiagnostics().size());
+		Assertions.assertEquals(Diagnostic.Kind.WARNING, compiler.getDiagnostics().get(0).getKind());
+		Assertions.assertEquals("Invalid value for option winter.unreachableBeans: eror, expected one of ignore, warn, drop (unreachable beans are ignored)", compiler.getDiagnostics().get(0).getMessage(Locale.getDefault()));
+		
+		String moduleSource = this.getModuleSource(compiler);
+		for(String beanName : List.of("beanA", "beanB", "beanC", "beanD", "beanE", "beanF")) {
+			Assertions.assertTrue(moduleSource.contains("\"" + beanName + "\""));
+		}
+	}
+}
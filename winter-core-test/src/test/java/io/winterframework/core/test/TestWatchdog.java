@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.test;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import io.winterframework.test.WinterCompilationException;
+import io.winterframework.test.WinterModuleException;
+import io.winterframework.test.WinterModuleProxy;
+
+/**
+ * 
+ * @author jkuhn
+ *
+ */
+@Isolated("The watchdog is configured from JVM-wide system properties")
+@Execution(ExecutionMode.SAME_THREAD)
+public class TestWatchdog extends AbstractCoreWinterTest {
+
+	private static final String MODULE = "io.winterframework.test.watchdog";
+	
+	private static final String MODULE_FAILURE = "io.winterframework.test.watchdog.failure";
+	
+	private static final String THRESHOLD_PROPERTY = "winter.watchdog.threshold";
+	
+	private static final String DEADLINE_PROPERTY = "winter.watchdog.deadline";
+	
+	@Test
+	public void testThreshold() throws IOException, WinterCompilationException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().compile(MODULE).load(MODULE).build();
+		
+		// the watchdog is configured when the module layer creates its first bean
+		System.setProperty(THRESHOLD_PROPERTY, "500");
+		try {
+			moduleProxy.start();
+		}
+		finally {
+			System.clearProperty(THRESHOLD_PROPERTY);
+		}
+		try {
+			Object beanA = moduleProxy.getBean("beanA");
+			Object beanB = beanA.getClass().getField("beanB").get(beanA);
+			
+			// slow creations are only reported
+			Assertions.assertFalse((boolean)beanB.getClass().getField("interrupted").get(beanB));
+		}
+		finally {
+			moduleProxy.stop();
+		}
+	}
+	
+	@Test
+	public void testDeadline() throws IOException, WinterCompilationException, ClassNotFoundException, IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().compile(MODULE).load(MODULE).build();
+		
+		long t0 = System.nanoTime();
+		System.setProperty(DEADLINE_PROPERTY, "1000");
+		try {
+			WinterModuleException e = Assertions.assertThrows(WinterModuleException.class, () -> moduleProxy.start());
+			Assertions.assertEquals(IllegalStateException.class, e.getCause().getClass());
+			Assertions.assertTrue(e.getCause().getMessage().startsWith("Bean creation exceeded the deadline of 1000ms: "));
+			Assertions.assertTrue(e.getCause().getMessage().endsWith(MODULE + ":beanB"));
+		}
+		finally {
+			System.clearProperty(DEADLINE_PROPERTY);
+			moduleProxy.stop();
+		}
+		// the creating thread was interrupted
+		Assertions.assertTrue(System.nanoTime() - t0 < 2000000000l);
+		
+		// the rejected instance was released
+		Class<?> beanBClass = moduleProxy.getModule().getClass().getClassLoader().loadClass(MODULE + ".BeanB");
+		Assertions.assertTrue((boolean)beanBClass.getField("destroyed").get(null));
+	}
+	
+	@Test
+	public void testDeadlineFailure() throws IOException, WinterCompilationException {
+		WinterModuleProxy moduleProxy = this.getWinterCompiler().compile(MODULE_FAILURE).load(MODULE_FAILURE).build();
+		
+		System.setProperty(DEADLINE_PROPERTY, "1000");
+		try {
+			WinterModuleException e = Assertions.assertThrows(WinterModuleException.class, () -> moduleProxy.start());
+			// the error raised by the interrupted creation is not replaced by the deadline error
+			Assertions.assertEquals("Error initializing bean beanC", e.getCause().getMessage());
+			Assertions.assertEquals("BeanC initialization interrupted", e.getCause().getCause().getMessage());
+			Assertions.assertEquals(1, e.getCause().getSuppressed().length);
+			Assertions.assertEquals("Bean creation exceeded the deadline of 1000ms: " + MODULE_FAILURE + ":beanC", e.getCause().getSuppressed()[0].getMessage());
+		}
+		finally {
+			System.clearProperty(DEADLINE_PROPERTY);
+			moduleProxy.stop();
+		}
+	}
+}
@@ -37,4 +37,6 @@ module io.winterframework.core.test {
 	requires org.junit.platform.commons;
 	requires org.junit.jupiter.engine;
 	requires org.mockito;
+	
+	provides io.winterframework.core.compiler.spi.plugin.CompilerPlugin with io.winterframework.core.test.CacheablePlugin;
 }
\ No newline at end of file
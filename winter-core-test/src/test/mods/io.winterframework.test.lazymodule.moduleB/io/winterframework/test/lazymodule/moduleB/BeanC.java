@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.test.lazymodule.moduleB;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import io.winterframework.core.annotation.Bean;
+import io.winterframework.core.annotation.Destroy;
+import io.winterframework.core.annotation.Init;
+import io.winterframework.core.annotation.Lazy;
+import io.winterframework.test.lazymodule.moduleA.BeanA;
+import io.winterframework.test.lazymodule.moduleA.Events;
+
+@Bean
+public class BeanC {
+
+	public List<String> events = Events.EVENTS;
+	
+	public Supplier<BeanA> beanA;
+	
+	public BeanC(@Lazy Supplier<BeanA> beanA) {
+		this.beanA = beanA;
+	}
+	
+	@Init
+	public void init() {
+		Events.EVENTS.add("init beanC");
+	}
+	
+	@Destroy
+	public void destroy() {
+		Events.EVENTS.add("destroy beanC");
+	}
+}
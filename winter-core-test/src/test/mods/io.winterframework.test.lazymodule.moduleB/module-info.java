@@ -0,0 +1,24 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@io.winterframework.core.annotation.Module(lazy = "io.winterframework.test.lazymodule.moduleA")
+module io.winterframework.test.lazymodule.moduleB {
+	requires io.winterframework.core;
+	requires io.winterframework.core.annotation;
+	
+	requires io.winterframework.test.lazymodule.moduleA;
+	
+	exports io.winterframework.test.lazymodule.moduleB;
+}
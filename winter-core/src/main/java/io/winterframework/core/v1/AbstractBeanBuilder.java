@@ -15,8 +15,7 @@
  */
 package io.winterframework.core.v1;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.function.Supplier;
 
 import io.winterframework.core.v1.Module.Bean;
@@ -38,6 +37,12 @@ import io.winterframework.core.v1.Module.BeanBuilder;
  */
 abstract class AbstractBeanBuilder<T, B extends BeanBuilder<T,B>> implements BeanBuilder<T, B> {
 
+	/**
+	 * The empty array of operations shared by all beans without initialization or
+	 * destruction operations.
+	 */
+	private static final FallibleConsumer<?>[] NO_OPERATIONS = new FallibleConsumer<?>[0];
+
 	/**
 	 * The bean name.
 	 */
@@ -49,16 +54,16 @@ abstract class AbstractBeanBuilder<T, B extends BeanBuilder<T,B>> implements Bea
 	protected Supplier<T> constructor;
 
 	/**
-	 * The list of bean initialization operations that must be executed after bean
+	 * The bean initialization operations that must be executed after bean
 	 * instance creation and dependency injection.
 	 */
-	protected List<FallibleConsumer<T>> inits;
+	protected FallibleConsumer<T>[] inits;
 
 	/**
-	 * The list of bean destructions operations that must be executed after a bean
+	 * The bean destructions operations that must be executed after a bean
 	 * instance creation and dependency injection.
 	 */
-	protected List<FallibleConsumer<T>> destroys;
+	protected FallibleConsumer<T>[] destroys;
 	
 	/**
 	 * <p>
@@ -68,12 +73,43 @@ abstract class AbstractBeanBuilder<T, B extends BeanBuilder<T,B>> implements Bea
 	 * @param beanName    the bean name
 	 * @param constructor the bean constructor
 	 */
+	@SuppressWarnings("unchecked")
 	protected AbstractBeanBuilder(String beanName, Supplier<T> constructor) {
 		this.beanName = beanName;
 		this.constructor = constructor;
 
-		this.inits = new ArrayList<>();
-		this.destroys = new ArrayList<>();
+		this.inits = (FallibleConsumer<T>[])NO_OPERATIONS;
+		this.destroys = (FallibleConsumer<T>[])NO_OPERATIONS;
+	}
+
+	/**
+	 * <p>
+	 * Appends operations to an array of operations.
+	 * </p>
+	 * 
+	 * <p>
+	 * Built beans retain the resulting array instead of the builder itself so that
+	 * a bean instance only holds what it needs. The added operations are returned
+	 * as is when there are no previous operations so that an array declared in a
+	 * static field of a generated module is shared by all its instances.
+	 * </p>
+	 * 
+	 * @param <U>        the type of instance the operations apply to
+	 * @param operations the previous operations
+	 * @param added      the operations to add
+	 * 
+	 * @return an array of operations
+	 */
+	private static <U> FallibleConsumer<U>[] append(FallibleConsumer<U>[] operations, FallibleConsumer<U>[] added) {
+		if(operations.length == 0) {
+			return added;
+		}
+		if(added.length == 0) {
+			return operations;
+		}
+		FallibleConsumer<U>[] result = Arrays.copyOf(operations, operations.length + added.length);
+		System.arraycopy(added, 0, result, operations.length, added.length);
+		return result;
 	}
 
 	/**
@@ -82,7 +118,8 @@ abstract class AbstractBeanBuilder<T, B extends BeanBuilder<T,B>> implements Bea
 	@SuppressWarnings("unchecked")
 	@Override
 	public B init(FallibleConsumer<T> init) {
-		this.inits.add(init);
+		this.inits = Arrays.copyOf(this.inits, this.inits.length + 1);
+		this.inits[this.inits.length - 1] = init;
 		return (B)this;
 	}
 
@@ -92,7 +129,28 @@ abstract class AbstractBeanBuilder<T, B extends BeanBuilder<T,B>> implements Bea
 	@SuppressWarnings("unchecked")
 	@Override
 	public B destroy(FallibleConsumer<T> destroy) {
-		this.destroys.add(destroy);
+		this.destroys = Arrays.copyOf(this.destroys, this.destroys.length + 1);
+		this.destroys[this.destroys.length - 1] = destroy;
+		return (B)this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public B inits(FallibleConsumer<T>[] inits) {
+		this.inits = append(this.inits, inits);
+		return (B)this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public B destroys(FallibleConsumer<T>[] destroys) {
+		this.destroys = append(this.destroys, destroys);
 		return (B)this;
 	}
 }
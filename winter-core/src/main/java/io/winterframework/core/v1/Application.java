@@ -18,9 +18,6 @@ package io.winterframework.core.v1;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 /**
  * <p>
  * A module wrapper which starts it as an application and stops it when the
@@ -38,6 +35,13 @@ import org.apache.logging.log4j.Logger;
  * stops the module when the virtual machine shuts down.
  * </p>
  * 
+ * <p>
+ * When the {@link #TRAINING_PROPERTY} system property is set to true, the
+ * virtual machine is exited as soon as the module is started. This is
+ * typically used to create a class data sharing archive from a training run of
+ * the application (see {@link ApplicationArchiver}).
+ * </p>
+ * 
  * @author jkuhn
  * @since 1.0
  * 
@@ -45,10 +49,18 @@ import org.apache.logging.log4j.Logger;
  */
 public class Application<T extends Module> {
 
+	/**
+	 * The system property indicating that the application is run to train a
+	 * class data sharing archive.
+	 * 
+	 * @since 1.0.2
+	 */
+	public static final String TRAINING_PROPERTY = "winter.application.training";
+
 	/**
 	 * Application logger.
 	 */
-	private static Logger LOGGER = LogManager.getLogger(Application.class);
+	private static final Logger LOGGER = Logger.getLogger(Application.class);
 
 	/**
 	 * The wrapped module builder.
@@ -141,14 +153,19 @@ public class Application<T extends Module> {
 			this.module.stop();
 		}));
 
-		if (this.banner != null) {
-			LOGGER.info(() -> {
-				ByteArrayOutputStream bannerStream = new ByteArrayOutputStream();
-				this.banner.print(new PrintStream(bannerStream));
-				return bannerStream.toString();
-			});
+		if (this.banner != null && LOGGER.isEnabled(Logger.Level.INFO)) {
+			ByteArrayOutputStream bannerStream = new ByteArrayOutputStream();
+			this.banner.print(new PrintStream(bannerStream));
+			LOGGER.log(Logger.Level.INFO, bannerStream.toString());
 		}
 		this.module.start();
+		
+		if (Boolean.getBoolean(TRAINING_PROPERTY)) {
+			if (LOGGER.isEnabled(Logger.Level.INFO)) {
+				LOGGER.log(Logger.Level.INFO, "Training run of module " + this.module.getName() + " completed");
+			}
+			System.exit(0);
+		}
 
 		return this.module;
 	}
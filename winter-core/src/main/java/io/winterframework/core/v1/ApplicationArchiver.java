@@ -0,0 +1,337 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.v1;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.module.Configuration;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReader;
+import java.lang.module.ModuleReference;
+import java.lang.module.ResolvedModule;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Creates class data sharing (AppCDS) archives for a Winter application in
+ * order to reduce its startup time.
+ * </p>
+ * 
+ * <p>
+ * A static archive is created from the class lists generated by the Winter
+ * compiler when the {@code winter.classList} option is specified. The class
+ * lists of the modules resolved from the application module are merged with
+ * the default class list of the JDK and the archive is dumped with
+ * {@code -Xshare:dump}. This doesn't require to run the application.
+ * </p>
+ * 
+ * <p>
+ * A dynamic archive is created from a training run of the application: the
+ * application is run with {@code -XX:ArchiveClassesAtExit} and the
+ * {@link Application#TRAINING_PROPERTY} system property so that
+ * {@link Application#run()} exits as soon as the module is started. A dynamic
+ * archive also includes the lambdas and the classes loaded during the
+ * initialization of the beans.
+ * </p>
+ * 
+ * <p>
+ * The resulting archive is used by running the application with
+ * {@code -XX:SharedArchiveFile=<archive>} and the same module path. Class data
+ * sharing only supports modular JARs, exploded modules are rejected.
+ * </p>
+ * 
+ * <p>
+ * It can be run from the command line:
+ * </p>
+ * 
+ * <blockquote><pre>
+ * $ java -p lib -m io.winterframework.core/io.winterframework.core.v1.ApplicationArchiver --modulePath=lib --module=app/app.Main --archive=app.jsa --dynamic
+ * </pre></blockquote>
+ * 
+ * <p>
+ * Supported arguments are {@code --modulePath}, {@code --module} (the
+ * application module optionally followed by {@code /} and its main class),
+ * {@code --archive}, {@code --dynamic}, {@code --jvmArgs} (space separated list
+ * of arguments passed to the forked JVM) and {@code --timeout} (in seconds).
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ */
+public class ApplicationArchiver {
+
+	/**
+	 * The path of the class list generated by the Winter compiler for each module.
+	 */
+	public static final String CLASS_LIST_RESOURCE = "META-INF/winter/core/classlist";
+	
+	private final List<Path> modulePaths;
+	
+	private final String module;
+	
+	private final String moduleName;
+	
+	private final Path javaHome;
+	
+	private List<String> jvmArgs = List.of();
+	
+	private long timeout = 300;
+	
+	/**
+	 * <p>
+	 * Creates an application archiver.
+	 * </p>
+	 * 
+	 * @param modulePaths the module path of the application
+	 * @param module      the application module optionally followed by
+	 *                    {@code /} and the main class
+	 */
+	public ApplicationArchiver(List<Path> modulePaths, String module) {
+		this.modulePaths = modulePaths;
+		this.module = module;
+		int index = module.indexOf('/');
+		this.moduleName = index > 0 ? module.substring(0, index) : module;
+		this.javaHome = Paths.get(System.getProperty("java.home"));
+	}
+	
+	/**
+	 * <p>
+	 * Sets the arguments passed to the forked JVM.
+	 * </p>
+	 * 
+	 * @param jvmArgs a list of JVM arguments
+	 * 
+	 * @return this archiver
+	 */
+	public ApplicationArchiver jvmArgs(List<String> jvmArgs) {
+		this.jvmArgs = jvmArgs != null ? jvmArgs : List.of();
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Sets the maximum time to wait for the forked JVM to create the archive.
+	 * </p>
+	 * 
+	 * @param timeout a timeout in seconds
+	 * 
+	 * @return this archiver
+	 */
+	public ApplicationArchiver timeout(long timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the classes listed by the modules resolved from the application
+	 * module.
+	 * </p>
+	 * 
+	 * @return a list of binary class names using {@code /} as separator
+	 * @throws IOException              if a class list can't be read
+	 * @throws IllegalArgumentException if the module path contains exploded
+	 *                                  modules
+	 */
+	public List<String> getClassList() throws IOException, IllegalArgumentException {
+		Set<String> classList = new LinkedHashSet<>();
+		for(ModuleReference moduleReference : this.getApplicationModules()) {
+			try(ModuleReader moduleReader = moduleReference.open()) {
+				Optional<InputStream> classListResource = moduleReader.open(CLASS_LIST_RESOURCE);
+				if(classListResource.isPresent()) {
+					try(BufferedReader reader = new BufferedReader(new InputStreamReader(classListResource.get(), StandardCharsets.UTF_8))) {
+						reader.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#")).forEach(classList::add);
+					}
+				}
+			}
+		}
+		return new ArrayList<>(classList);
+	}
+	
+	private List<ModuleReference> getApplicationModules() throws IllegalArgumentException {
+		Configuration configuration = Configuration.empty().resolve(ModuleFinder.of(this.modulePaths.toArray(Path[]::new)), ModuleFinder.ofSystem(), Set.of(this.moduleName));
+		List<ModuleReference> applicationModules = configuration.modules().stream()
+			.map(ResolvedModule::reference)
+			.filter(reference -> reference.location().filter(location -> !location.getScheme().equals("jrt")).isPresent())
+			.sorted(Comparator.comparing(reference -> reference.descriptor().name()))
+			.collect(Collectors.toList());
+		
+		for(ModuleReference reference : applicationModules) {
+			if(reference.location().filter(location -> location.getScheme().equals("file") && Files.isDirectory(Paths.get(location))).isPresent()) {
+				throw new IllegalArgumentException("Class data sharing requires modular JARs, module " + reference.descriptor().name() + " is exploded: " + reference.location().get());
+			}
+		}
+		return applicationModules;
+	}
+	
+	/**
+	 * <p>
+	 * Creates a static archive from the class lists generated by the Winter
+	 * compiler and the default class list of the JDK.
+	 * </p>
+	 * 
+	 * <p>
+	 * The merged class list is written next to the archive with a
+	 * {@code .classlist} extension.
+	 * </p>
+	 * 
+	 * @param archive the path of the archive to create
+	 * 
+	 * @return the path of the archive
+	 * @throws IOException              if the archive can't be created
+	 * @throws IllegalArgumentException if the module path contains exploded
+	 *                                  modules
+	 */
+	public Path createStaticArchive(Path archive) throws IOException, IllegalArgumentException {
+		Set<String> classList = new LinkedHashSet<>();
+		Path jdkClassList = this.javaHome.resolve("lib").resolve("classlist");
+		if(Files.exists(jdkClassList)) {
+			classList.addAll(Files.readAllLines(jdkClassList, StandardCharsets.UTF_8));
+		}
+		classList.addAll(this.getClassList());
+		
+		Path classListFile = archive.resolveSibling(archive.getFileName() + ".classlist");
+		Files.write(classListFile, classList, StandardCharsets.UTF_8);
+		
+		List<String> command = new ArrayList<>();
+		command.add(this.getJavaCommand());
+		command.addAll(this.jvmArgs);
+		command.add("-Xshare:dump");
+		command.add("-XX:SharedClassListFile=" + classListFile);
+		command.add("-XX:SharedArchiveFile=" + archive);
+		command.add("-p");
+		command.add(this.getModulePath());
+		command.add("--add-modules");
+		command.add(this.moduleName);
+		
+		return this.createArchive(command, archive);
+	}
+	
+	/**
+	 * <p>
+	 * Creates a dynamic archive from a training run of the application.
+	 * </p>
+	 * 
+	 * <p>
+	 * The application module must specify a main class running the module with
+	 * {@link Application#run()}.
+	 * </p>
+	 * 
+	 * @param archive the path of the archive to create
+	 * 
+	 * @return the path of the archive
+	 * @throws IOException              if the archive can't be created
+	 * @throws IllegalArgumentException if the module path contains exploded
+	 *                                  modules
+	 */
+	public Path createDynamicArchive(Path archive) throws IOException, IllegalArgumentException {
+		List<String> command = new ArrayList<>();
+		command.add(this.getJavaCommand());
+		command.addAll(this.jvmArgs);
+		command.add("-XX:ArchiveClassesAtExit=" + archive);
+		command.add("-D" + Application.TRAINING_PROPERTY + "=true");
+		command.add("-p");
+		command.add(this.getModulePath());
+		command.add("-m");
+		command.add(this.module);
+		
+		return this.createArchive(command, archive);
+	}
+	
+	private String getJavaCommand() {
+		return this.javaHome.resolve("bin").resolve("java").toString();
+	}
+	
+	private String getModulePath() throws IllegalArgumentException {
+		// make sure the application can be resolved with modular JARs before forking
+		this.getApplicationModules();
+		return this.modulePaths.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator));
+	}
+	
+	private Path createArchive(List<String> command, Path archive) throws IOException {
+		Files.deleteIfExists(archive);
+		// the output is redirected to a file so that a hanging training run can't block before the timeout
+		Path output = Files.createTempFile("winter-archive", ".log");
+		try {
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output.toFile()).start();
+			try {
+				if(!process.waitFor(this.timeout, TimeUnit.SECONDS)) {
+					throw new IOException("Archive " + archive + " was not created within " + this.timeout + "s");
+				}
+				if(process.exitValue() != 0 || !Files.exists(archive)) {
+					throw new IOException("Error creating archive " + archive + ":\n" + Files.readString(output, StandardCharsets.UTF_8));
+				}
+				return archive;
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while creating archive " + archive, e);
+			}
+			finally {
+				process.destroyForcibly();
+			}
+		}
+		finally {
+			Files.deleteIfExists(output);
+		}
+	}
+	
+	public static void main(String[] args) throws IOException {
+		Map<String, String> arguments = new HashMap<>();
+		for(String arg : args) {
+			if(!arg.startsWith("--")) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			int index = arg.indexOf('=');
+			arguments.put(index > 0 ? arg.substring(2, index) : arg.substring(2), index > 0 ? arg.substring(index + 1) : "true");
+		}
+		if(!arguments.containsKey("module") || !arguments.containsKey("archive")) {
+			throw new IllegalArgumentException("Missing --module or --archive argument");
+		}
+		
+		String modulePath = arguments.getOrDefault("modulePath", System.getProperty("jdk.module.path", System.getProperty("java.class.path")));
+		String jvmArgs = arguments.getOrDefault("jvmArgs", "").trim();
+		ApplicationArchiver archiver = new ApplicationArchiver(Arrays.stream(modulePath.split(File.pathSeparator)).map(Paths::get).collect(Collectors.toList()), arguments.get("module"))
+			.jvmArgs(jvmArgs.isEmpty() ? List.of() : Arrays.asList(jvmArgs.split("\\s+")))
+			.timeout(Long.parseLong(arguments.getOrDefault("timeout", "300")));
+		
+		Path archive = Paths.get(arguments.get("archive"));
+		if(Boolean.parseBoolean(arguments.getOrDefault("dynamic", "false"))) {
+			archiver.createDynamicArchive(archive);
+		}
+		else {
+			archiver.createStaticArchive(archive);
+		}
+		System.out.println("Archive created: " + archive.toAbsolutePath());
+	}
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.v1;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.winterframework.core.v1.Module.Bean;
+
+/**
+ * <p>
+ * A watchdog reporting bean creations that take too long to complete.
+ * </p>
+ * 
+ * <p>
+ * The watchdog is disabled by default, it is enabled by setting the
+ * {@link #THRESHOLD_PROPERTY} and/or the {@link #DEADLINE_PROPERTY} system
+ * properties to a duration in milliseconds:
+ * </p>
+ * 
+ * <ul>
+ * <li>when a bean creation, including its initialization, exceeds the
+ * threshold, the chain of bean creations in progress in the creating thread
+ * (eg. {@code moduleA:beanA > moduleB:beanB}) is logged as a warning with the
+ * stack of the thread.</li>
+ * <li>when a bean creation exceeds the deadline, the chain is logged as an
+ * error, the creating thread is interrupted and the creation fails with an
+ * {@link IllegalStateException} once it returns, which eventually fails the
+ * startup of the module.</li>
+ * </ul>
+ * 
+ * <p>
+ * In-flight creations are tracked per thread and checked periodically by a
+ * daemon thread started on the first bean creation. When the watchdog is
+ * disabled, tracking a creation comes down to a static field check.
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ */
+public final class BeanCreationWatchdog {
+
+	/**
+	 * The system property specifying the duration in milliseconds after which a
+	 * bean creation is reported.
+	 */
+	public static final String THRESHOLD_PROPERTY = "winter.watchdog.threshold";
+	
+	/**
+	 * The system property specifying the duration in milliseconds after which a
+	 * bean creation is failed.
+	 */
+	public static final String DEADLINE_PROPERTY = "winter.watchdog.deadline";
+	
+	private static final Logger LOGGER = Logger.getLogger(BeanCreationWatchdog.class);
+	
+	private static final BeanCreationWatchdog WATCHDOG = createWatchdog();
+	
+	private final long threshold;
+	
+	private final long deadline;
+	
+	private final Map<Thread, Creation> creations;
+	
+	private volatile Thread watchdogThread;
+	
+	private BeanCreationWatchdog(long threshold, long deadline) {
+		this.threshold = threshold;
+		this.deadline = deadline;
+		this.creations = new ConcurrentHashMap<>();
+	}
+	
+	private static BeanCreationWatchdog createWatchdog() {
+		long threshold = getDuration(THRESHOLD_PROPERTY);
+		long deadline = getDuration(DEADLINE_PROPERTY);
+		if(threshold > 0 || deadline > 0) {
+			return new BeanCreationWatchdog(threshold, deadline);
+		}
+		return null;
+	}
+	
+	private static long getDuration(String property) {
+		String value = System.getProperty(property);
+		if(value == null || value.isBlank()) {
+			return 0;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		}
+		catch(NumberFormatException e) {
+			LOGGER.log(Logger.Level.WARNING, "Ignoring invalid " + property + " value: " + value);
+			return 0;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Starts tracking the creation of the specified bean in the current thread.
+	 * </p>
+	 * 
+	 * @param bean the bean being created
+	 * 
+	 * @return a creation to pass to {@link #exit(Creation)} when the creation
+	 *         completes or null if the watchdog is disabled
+	 */
+	static Creation enter(Bean<?> bean) {
+		if(WATCHDOG == null) {
+			return null;
+		}
+		return WATCHDOG.track(bean);
+	}
+	
+	/**
+	 * <p>
+	 * Stops tracking the specified creation which completed normally.
+	 * </p>
+	 * 
+	 * @param creation a creation returned by {@link #enter(Bean)} or null
+	 * 
+	 * @throws IllegalStateException if the creation exceeded the deadline
+	 */
+	static void exit(Creation creation) throws IllegalStateException {
+		if(creation != null) {
+			IllegalStateException deadlineError = WATCHDOG.untrack(creation);
+			if(deadlineError != null) {
+				throw deadlineError;
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Stops tracking the specified creation which failed with the specified error.
+	 * </p>
+	 * 
+	 * <p>
+	 * If the creation exceeded the deadline, the deadline error is added to the
+	 * specified error as a suppressed exception so that the original failure
+	 * (which might result from the interrupt issued by the watchdog) is not lost.
+	 * </p>
+	 * 
+	 * @param creation a creation returned by {@link #enter(Bean)} or null
+	 * @param error    the error that made the creation fail
+	 */
+	static void exit(Creation creation, Throwable error) {
+		if(creation != null) {
+			IllegalStateException deadlineError = WATCHDOG.untrack(creation);
+			if(deadlineError != null) {
+				error.addSuppressed(deadlineError);
+			}
+		}
+	}
+	
+	private Creation track(Bean<?> bean) {
+		if(this.watchdogThread == null) {
+			this.startWatchdogThread();
+		}
+		Thread thread = Thread.currentThread();
+		Creation creation = new Creation(bean, thread, this.creations.get(thread));
+		this.creations.put(thread, creation);
+		return creation;
+	}
+	
+	private IllegalStateException untrack(Creation creation) {
+		if(creation.parent != null) {
+			this.creations.put(creation.thread, creation.parent);
+		}
+		else {
+			this.creations.remove(creation.thread);
+		}
+		String expiredPath;
+		synchronized(creation) {
+			creation.completed = true;
+			expiredPath = creation.expiredPath;
+		}
+		if(expiredPath != null) {
+			// Clear the interrupt issued by the watchdog, the failure is reported by the exception
+			Thread.interrupted();
+			return new IllegalStateException("Bean creation exceeded the deadline of " + this.deadline + "ms: " + expiredPath);
+		}
+		return null;
+	}
+	
+	private synchronized void startWatchdogThread() {
+		if(this.watchdogThread == null) {
+			long period = Math.max(1, Math.min(this.threshold > 0 ? this.threshold : Long.MAX_VALUE, this.deadline > 0 ? this.deadline : Long.MAX_VALUE) / 4);
+			Thread thread = new Thread(() -> {
+				try {
+					while(true) {
+						Thread.sleep(period);
+						this.check();
+					}
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, "winter-watchdog");
+			thread.setDaemon(true);
+			thread.start();
+			this.watchdogThread = thread;
+		}
+	}
+	
+	private void check() {
+		long now = System.nanoTime();
+		// Only the innermost creation of each thread is tracked, enclosing creations are reached through parents
+		for(Creation creation : this.creations.values()) {
+			if(this.deadline > 0) {
+				Creation root = creation;
+				while(root.parent != null) {
+					root = root.parent;
+				}
+				if(root.expiredPath == null && (now - root.startTime) / 1000000 > this.deadline) {
+					String path = creation.getPath();
+					if(LOGGER.isEnabled(Logger.Level.ERROR)) {
+						LOGGER.log(Logger.Level.ERROR, "Bean creation exceeded the deadline of " + this.deadline + "ms: " + path + ", interrupting thread " + creation.thread.getName() + creation.getStackTrace());
+					}
+					for(Creation current = creation.parent;current != null;current = current.parent) {
+						current.expiredPath = path;
+						current.reported = true;
+					}
+					// Make sure the creation is still in progress so we don't interrupt the thread doing something else
+					synchronized(creation) {
+						if(!creation.completed) {
+							creation.expiredPath = path;
+							creation.reported = true;
+							creation.thread.interrupt();
+						}
+					}
+					continue;
+				}
+			}
+			if(this.threshold > 0) {
+				for(Creation current = creation;current != null;current = current.parent) {
+					long elapsed = (now - current.startTime) / 1000000;
+					if(elapsed > this.threshold) {
+						if(!current.reported) {
+							if(LOGGER.isEnabled(Logger.Level.WARNING)) {
+								LOGGER.log(Logger.Level.WARNING, "Bean creation is taking more than " + this.threshold + "ms (" + elapsed + "ms): " + creation.getPath() + " in thread " + creation.thread.getName() + creation.getStackTrace());
+							}
+							// Enclosing creations are necessarily slow as well
+							for(Creation reported = current;reported != null;reported = reported.parent) {
+								reported.reported = true;
+							}
+						}
+						break;
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * A bean creation in progress in a thread.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 *
+	 */
+	static final class Creation {
+		
+		private final Bean<?> bean;
+		
+		private final Thread thread;
+		
+		private final Creation parent;
+		
+		private final long startTime;
+		
+		private volatile boolean reported;
+		
+		private volatile String expiredPath;
+		
+		private boolean completed;
+		
+		private Creation(Bean<?> bean, Thread thread, Creation parent) {
+			this.bean = bean;
+			this.thread = thread;
+			this.parent = parent;
+			this.startTime = System.nanoTime();
+		}
+		
+		private String getPath() {
+			String beanPath = (this.bean.parent != null ? this.bean.parent.getName() + ":" : "") + this.bean.name;
+			return this.parent != null ? this.parent.getPath() + " > " + beanPath : beanPath;
+		}
+		
+		private String getStackTrace() {
+			StringBuilder stackTrace = new StringBuilder();
+			for(StackTraceElement element : this.thread.getStackTrace()) {
+				stackTrace.append("\n\tat ").append(element);
+			}
+			return stackTrace.toString();
+		}
+	}
+}
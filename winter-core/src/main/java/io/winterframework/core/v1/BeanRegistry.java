@@ -0,0 +1,263 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.v1;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * An index-based registry describing the beans of a module.
+ * </p>
+ * 
+ * <p>
+ * A registry is generated by the Winter compiler as a static constant of the
+ * module class: beans are identified by their index in the module and the
+ * registry provides their names, provided types, strategies and visibilities.
+ * The types a bean can be assigned to are computed at compile time which allows
+ * to lookup beans by name or by type in constant time without reflection.
+ * </p>
+ * 
+ * <p>
+ * Types are indexed by their binary name, beans providing array types can only
+ * be looked up by name.
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ * 
+ * @see Module#getBeanRegistry()
+ * @see Module#findBean(String)
+ * @see Module#findBeans(Class)
+ */
+public final class BeanRegistry {
+
+	/**
+	 * <p>
+	 * The strategy of a bean.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 * @since 1.0.2
+	 */
+	public static enum Strategy {
+		/**
+		 * A single instance is created.
+		 */
+		SINGLETON,
+		/**
+		 * A new instance is created each time the bean is requested.
+		 */
+		PROTOTYPE;
+	}
+	
+	/**
+	 * <p>
+	 * The visibility of a bean.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 * @since 1.0.2
+	 */
+	public static enum Visibility {
+		/**
+		 * The bean is exposed by the module.
+		 */
+		PUBLIC,
+		/**
+		 * The bean is only visible inside the module.
+		 */
+		PRIVATE;
+	}
+	
+	/**
+	 * The registry of a module without beans or compiled without registry.
+	 */
+	static final BeanRegistry EMPTY = new BeanRegistry(new String[0], new Class<?>[0], new Strategy[0], new Visibility[0], Map.of());
+	
+	private static final int[] NO_INDICES = new int[0];
+	
+	private final String[] names;
+	
+	private final Class<?>[] types;
+	
+	private final Strategy[] strategies;
+	
+	private final Visibility[] visibilities;
+	
+	private final Map<String, Integer> nameIndex;
+	
+	private final Map<String, int[]> typeIndex;
+	
+	/**
+	 * <p>
+	 * Creates a bean registry.
+	 * </p>
+	 * 
+	 * <p>
+	 * The bean at index {@code i} is described by the i-th element of each array.
+	 * </p>
+	 * 
+	 * @param names        the bean names
+	 * @param types        the types provided by the beans
+	 * @param strategies   the bean strategies
+	 * @param visibilities the bean visibilities
+	 * @param typeIndex    the indices of the beans assignable to a type indexed by
+	 *                     the binary name of that type
+	 * 
+	 * @throws IllegalArgumentException if arrays have different lengths
+	 */
+	public BeanRegistry(String[] names, Class<?>[] types, Strategy[] strategies, Visibility[] visibilities, Map<String, int[]> typeIndex) throws IllegalArgumentException {
+		if(types.length != names.length || strategies.length != names.length || visibilities.length != names.length) {
+			throw new IllegalArgumentException("Invalid bean registry");
+		}
+		this.names = names;
+		this.types = types;
+		this.strategies = strategies;
+		this.visibilities = visibilities;
+		this.typeIndex = typeIndex;
+		this.nameIndex = new HashMap<>();
+		for(int i=0;i<names.length;i++) {
+			this.nameIndex.put(names[i], i);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of beans in the registry.
+	 * </p>
+	 * 
+	 * @return the number of beans
+	 */
+	public int size() {
+		return this.names.length;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the name of the bean at the specified index.
+	 * </p>
+	 * 
+	 * @param index a bean index
+	 * 
+	 * @return the bean name
+	 * @throws IndexOutOfBoundsException if there's no bean at the specified index
+	 */
+	public String getName(int index) throws IndexOutOfBoundsException {
+		return this.names[index];
+	}
+	
+	/**
+	 * <p>
+	 * Returns the type provided by the bean at the specified index.
+	 * </p>
+	 * 
+	 * @param index a bean index
+	 * 
+	 * @return the bean type
+	 * @throws IndexOutOfBoundsException if there's no bean at the specified index
+	 */
+	public Class<?> getType(int index) throws IndexOutOfBoundsException {
+		return this.types[index];
+	}
+	
+	/**
+	 * <p>
+	 * Returns the strategy of the bean at the specified index.
+	 * </p>
+	 * 
+	 * @param index a bean index
+	 * 
+	 * @return the bean strategy
+	 * @throws IndexOutOfBoundsException if there's no bean at the specified index
+	 */
+	public Strategy getStrategy(int index) throws IndexOutOfBoundsException {
+		return this.strategies[index];
+	}
+	
+	/**
+	 * <p>
+	 * Returns the visibility of the bean at the specified index.
+	 * </p>
+	 * 
+	 * @param index a bean index
+	 * 
+	 * @return the bean visibility
+	 * @throws IndexOutOfBoundsException if there's no bean at the specified index
+	 */
+	public Visibility getVisibility(int index) throws IndexOutOfBoundsException {
+		return this.visibilities[index];
+	}
+	
+	/**
+	 * <p>
+	 * Returns the index of the bean with the specified name.
+	 * </p>
+	 * 
+	 * @param name a bean name
+	 * 
+	 * @return the index of the bean or -1 if there's no such bean
+	 */
+	public int indexOf(String name) {
+		Integer index = this.nameIndex.get(name);
+		return index != null ? index : -1;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the indices of the beans assignable to the specified type.
+	 * </p>
+	 * 
+	 * @param type a type
+	 * 
+	 * @return an array of bean indices, empty if there's no such bean
+	 */
+	public int[] indicesOf(Class<?> type) {
+		int[] indices = this.getIndices(type);
+		return indices.length > 0 ? indices.clone() : indices;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the indices of the beans assignable to the specified type without
+	 * copying the registry array.
+	 * </p>
+	 * 
+	 * @param type a type
+	 * 
+	 * @return an array of bean indices that must not be modified
+	 */
+	int[] getIndices(Class<?> type) {
+		if(type == Object.class) {
+			int[] indices = new int[this.names.length];
+			for(int i=0;i<indices.length;i++) {
+				indices[i] = i;
+			}
+			return indices;
+		}
+		int[] indices = this.typeIndex.get(type.getName());
+		if(indices == null) {
+			return NO_INDICES;
+		}
+		for(int index : indices) {
+			// a type with the same name might have been loaded by another class loader
+			if(!type.isAssignableFrom(this.types[index])) {
+				return NO_INDICES;
+			}
+		}
+		return indices;
+	}
+}
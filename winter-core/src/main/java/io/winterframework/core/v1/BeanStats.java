@@ -0,0 +1,345 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.v1;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Runtime statistics of a module bean.
+ * </p>
+ * 
+ * <p>
+ * Statistics are only collected by modules compiled in instrumentation mode
+ * ({@code -Awinter.instrument}) which count the calls to the bean accessor and
+ * record the number of instances created and the time spent to create,
+ * initialize and destroy them. Initialization and destruction are only recorded
+ * for beans defining init or destroy methods.
+ * </p>
+ * 
+ * <p>
+ * The time spent to create a bean instance includes the creation of the
+ * dependencies which were not yet created, the self time of a bean excludes it
+ * and includes the time spent in init methods. Self times are used to determine
+ * the startup critical path of a module: the chain of dependent beans with the
+ * highest cumulative self time which bounds the startup time of the module
+ * regardless of how beans are scheduled.
+ * </p>
+ * 
+ * <p>
+ * Counters are backed by {@link LongAdder} in order to limit contention when a
+ * bean is accessed concurrently, values returned by the getters are therefore
+ * not an atomic snapshot.
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ * 
+ * @see Module#getBeanStats()
+ */
+public final class BeanStats {
+
+	private static final ThreadLocal<Creation> CURRENT_CREATION = new ThreadLocal<>();
+	
+	private final String name;
+	
+	private final BeanStats[] dependencies;
+	
+	private final LongAdder accessCount = new LongAdder();
+	
+	private final LongAdder creationCount = new LongAdder();
+	
+	private final LongAdder creationTime = new LongAdder();
+	
+	private final LongAdder initTime = new LongAdder();
+	
+	private final LongAdder selfTime = new LongAdder();
+	
+	private final LongAdder destructionCount = new LongAdder();
+	
+	private final LongAdder destructionTime = new LongAdder();
+	
+	/**
+	 * <p>
+	 * Creates the statistics of the specified bean.
+	 * </p>
+	 * 
+	 * @param name         the bean name
+	 * @param dependencies the statistics of the beans of the module the bean
+	 *                     depends on at startup
+	 */
+	public BeanStats(String name, BeanStats... dependencies) {
+		this.name = name;
+		this.dependencies = dependencies;
+	}
+	
+	/**
+	 * <p>
+	 * Records a call to the bean accessor.
+	 * </p>
+	 */
+	public void recordAccess() {
+		this.accessCount.increment();
+	}
+	
+	/**
+	 * <p>
+	 * Starts the creation of a bean instance in the current thread.
+	 * </p>
+	 * 
+	 * <p>
+	 * Creations started while another creation is in progress in the current
+	 * thread are considered as nested and excluded from the self time of the
+	 * enclosing creation.
+	 * </p>
+	 * 
+	 * <p>
+	 * A creation must always be ended with {@link #endCreation()} in order to
+	 * restore the enclosing creation, including when it fails with an exception.
+	 * </p>
+	 * 
+	 * @return the creation start time in nanoseconds
+	 */
+	public long startCreation() {
+		CURRENT_CREATION.set(new Creation(this, CURRENT_CREATION.get()));
+		return System.nanoTime();
+	}
+	
+	/**
+	 * <p>
+	 * Records the creation of a bean instance.
+	 * </p>
+	 * 
+	 * <p>
+	 * This must be invoked before the creation is ended with
+	 * {@link #endCreation()}.
+	 * </p>
+	 * 
+	 * @param time the time spent to create the instance in nanoseconds
+	 */
+	public void recordCreation(long time) {
+		this.creationCount.increment();
+		this.creationTime.add(time);
+		
+		Creation creation = CURRENT_CREATION.get();
+		if(creation != null && creation.stats == this) {
+			this.selfTime.add(time - creation.nestedTime);
+			if(creation.parent != null) {
+				creation.parent.nestedTime += time;
+			}
+		}
+		else {
+			this.selfTime.add(time);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Ends the creation of a bean instance in the current thread whether it
+	 * succeeded or not.
+	 * </p>
+	 */
+	public void endCreation() {
+		Creation creation = CURRENT_CREATION.get();
+		if(creation != null && creation.stats == this) {
+			if(creation.parent != null) {
+				CURRENT_CREATION.set(creation.parent);
+			}
+			else {
+				CURRENT_CREATION.remove();
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Records the initialization of a bean instance.
+	 * </p>
+	 * 
+	 * @param time the time spent in init methods in nanoseconds
+	 */
+	public void recordInit(long time) {
+		this.initTime.add(time);
+		this.selfTime.add(time);
+		
+		Creation creation = CURRENT_CREATION.get();
+		if(creation != null) {
+			creation.nestedTime += time;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Records the destruction of a bean instance.
+	 * </p>
+	 * 
+	 * @param time the time spent in destroy methods in nanoseconds
+	 */
+	public void recordDestruction(long time) {
+		this.destructionCount.increment();
+		this.destructionTime.add(time);
+	}
+	
+	/**
+	 * <p>
+	 * Returns the bean name.
+	 * </p>
+	 * 
+	 * @return the bean name
+	 */
+	public String getName() {
+		return this.name;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of calls to the bean accessor.
+	 * </p>
+	 * 
+	 * @return a number of calls
+	 */
+	public long getAccessCount() {
+		return this.accessCount.sum();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of bean instances created.
+	 * </p>
+	 * 
+	 * @return a number of instances
+	 */
+	public long getCreationCount() {
+		return this.creationCount.sum();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the total time spent to create bean instances, including the
+	 * resolution of their dependencies.
+	 * </p>
+	 * 
+	 * @return a time in nanoseconds
+	 */
+	public long getCreationTime() {
+		return this.creationTime.sum();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the total time spent in init methods.
+	 * </p>
+	 * 
+	 * @return a time in nanoseconds
+	 */
+	public long getInitTime() {
+		return this.initTime.sum();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the total time spent to create and initialize bean instances,
+	 * excluding the creation and initialization of their dependencies.
+	 * </p>
+	 * 
+	 * @return a time in nanoseconds
+	 */
+	public long getSelfTime() {
+		return this.selfTime.sum();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the statistics of the beans of the module the bean depends on at
+	 * startup.
+	 * </p>
+	 * 
+	 * <p>
+	 * Dependencies are determined at compile time, lazy dependencies and beans
+	 * from component modules are not considered.
+	 * </p>
+	 * 
+	 * @return a list of bean statistics
+	 */
+	public List<BeanStats> getDependencies() {
+		return List.of(this.dependencies);
+	}
+	
+	/**
+	 * <p>
+	 * Returns the number of bean instances destroyed.
+	 * </p>
+	 * 
+	 * @return a number of instances
+	 */
+	public long getDestructionCount() {
+		return this.destructionCount.sum();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the total time spent in destroy methods.
+	 * </p>
+	 * 
+	 * @return a time in nanoseconds
+	 */
+	public long getDestructionTime() {
+		return this.destructionTime.sum();
+	}
+	
+	/**
+	 * <p>
+	 * Resets all counters.
+	 * </p>
+	 */
+	public void reset() {
+		this.accessCount.reset();
+		this.creationCount.reset();
+		this.creationTime.reset();
+		this.initTime.reset();
+		this.selfTime.reset();
+		this.destructionCount.reset();
+		this.destructionTime.reset();
+	}
+	
+	@Override
+	public String toString() {
+		return this.name + " { accesses: " + this.getAccessCount() + ", creations: " + this.getCreationCount() + ", creationTime: " + this.getCreationTime() + ", initTime: " + this.getInitTime() + ", selfTime: " + this.getSelfTime() + ", destructions: " + this.getDestructionCount() + ", destructionTime: " + this.getDestructionTime() + " }";
+	}
+	
+	/**
+	 * <p>
+	 * A bean creation in progress in a thread.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 *
+	 */
+	private static final class Creation {
+		
+		private final BeanStats stats;
+		
+		private final Creation parent;
+		
+		private long nestedTime;
+		
+		public Creation(BeanStats stats, Creation parent) {
+			this.stats = stats;
+			this.parent = parent;
+		}
+	}
+}
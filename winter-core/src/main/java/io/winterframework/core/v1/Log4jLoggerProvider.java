@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.v1;
+
+import org.apache.logging.log4j.LogManager;
+
+/**
+ * <p>
+ * A {@link Logger.Provider} logging to Log4j 2.
+ * </p>
+ * 
+ * <p>
+ * The {@code org.apache.logging.log4j} module is optional, a
+ * {@link LinkageError} is thrown when creating this provider if it is not
+ * available.
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ */
+class Log4jLoggerProvider implements Logger.Provider {
+
+	private static final org.apache.logging.log4j.Level[] LEVELS = { org.apache.logging.log4j.Level.DEBUG, org.apache.logging.log4j.Level.INFO, org.apache.logging.log4j.Level.WARN, org.apache.logging.log4j.Level.ERROR };
+	
+	@Override
+	public Logger getLogger(String name) {
+		org.apache.logging.log4j.Logger logger = LogManager.getLogger(name);
+		return new Logger() {
+			
+			@Override
+			public boolean isEnabled(Level level) {
+				return logger.isEnabled(LEVELS[level.ordinal()]);
+			}
+			
+			@Override
+			public void log(Level level, String message, Throwable thrown) {
+				logger.log(LEVELS[level.ordinal()], message, thrown);
+			}
+		};
+	}
+}
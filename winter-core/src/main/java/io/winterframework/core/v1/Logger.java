@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.v1;
+
+/**
+ * <p>
+ * A logger used by the Winter core module to report module and bean
+ * lifecycle events.
+ * </p>
+ * 
+ * <p>
+ * Loggers are obtained from a {@link Provider} which is resolved once when the
+ * first logger is requested:
+ * </p>
+ * 
+ * <ul>
+ * <li>the {@link #PROVIDER_PROPERTY} system property can be set to
+ * {@code system} to log to the platform {@link System.Logger} (default),
+ * {@code log4j} to log to Log4j 2 when the {@code org.apache.logging.log4j}
+ * module is available or {@code none} to disable logging.</li>
+ * <li>otherwise the first provider registered as a service is used.</li>
+ * <li>otherwise the platform {@link System.Logger} is used.</li>
+ * </ul>
+ * 
+ * <p>
+ * Callers are expected to check whether a level is enabled before building a
+ * message so that nothing is allocated when logging is disabled.
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ */
+public interface Logger {
+
+	/**
+	 * The system property specifying the logger provider.
+	 */
+	public static final String PROVIDER_PROPERTY = "winter.logger";
+	
+	/**
+	 * <p>
+	 * Logging levels.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 * @since 1.0.2
+	 */
+	public static enum Level {
+		DEBUG,
+		INFO,
+		WARNING,
+		ERROR;
+	}
+	
+	/**
+	 * <p>
+	 * A logger provider used to plug a logging backend.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 * @since 1.0.2
+	 */
+	@FunctionalInterface
+	public static interface Provider {
+		
+		/**
+		 * <p>
+		 * Returns the logger with the specified name.
+		 * </p>
+		 * 
+		 * @param name the logger name
+		 * 
+		 * @return a logger
+		 */
+		Logger getLogger(String name);
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether the specified level is enabled.
+	 * </p>
+	 * 
+	 * @param level a logging level
+	 * 
+	 * @return true if messages are logged at the specified level, false otherwise
+	 */
+	boolean isEnabled(Level level);
+	
+	/**
+	 * <p>
+	 * Logs a message at the specified level.
+	 * </p>
+	 * 
+	 * @param level   a logging level
+	 * @param message the message to log
+	 */
+	default void log(Level level, String message) {
+		this.log(level, message, null);
+	}
+	
+	/**
+	 * <p>
+	 * Logs a message and an error at the specified level.
+	 * </p>
+	 * 
+	 * @param level   a logging level
+	 * @param message the message to log
+	 * @param thrown  the error to log or null
+	 */
+	void log(Level level, String message, Throwable thrown);
+	
+	/**
+	 * <p>
+	 * Returns the logger for the specified type.
+	 * </p>
+	 * 
+	 * @param type a type
+	 * 
+	 * @return a logger
+	 */
+	static Logger getLogger(Class<?> type) {
+		return getLogger(type.getName());
+	}
+	
+	/**
+	 * <p>
+	 * Returns the logger with the specified name.
+	 * </p>
+	 * 
+	 * @param name the logger name
+	 * 
+	 * @return a logger
+	 */
+	static Logger getLogger(String name) {
+		return LoggerProviders.PROVIDER.getLogger(name);
+	}
+}
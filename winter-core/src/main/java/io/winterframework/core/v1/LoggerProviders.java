@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.v1;
+
+import java.util.ServiceLoader;
+
+/**
+ * <p>
+ * Resolves the {@link Logger.Provider} used by the Winter core module.
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ */
+final class LoggerProviders {
+
+	/**
+	 * The resolved logger provider.
+	 */
+	static final Logger.Provider PROVIDER = resolve();
+	
+	private LoggerProviders() {}
+	
+	private static Logger.Provider resolve() {
+		String provider = System.getProperty(Logger.PROVIDER_PROPERTY);
+		if (provider != null) {
+			switch (provider.trim().toLowerCase()) {
+				case "none":
+					return NoopLogger.PROVIDER;
+				case "log4j":
+					try {
+						return new Log4jLoggerProvider();
+					}
+					catch (LinkageError e) {
+						// log4j is not available, fall back to the system logger
+						System.getLogger(Logger.class.getName()).log(System.Logger.Level.WARNING, "Log4j is not available, using System.Logger");
+						return new SystemLoggerProvider();
+					}
+				case "system":
+					return new SystemLoggerProvider();
+				default:
+					// resolved as a service
+			}
+		}
+		return ServiceLoader.load(Logger.Provider.class, LoggerProviders.class.getClassLoader()).findFirst().orElseGet(SystemLoggerProvider::new);
+	}
+	
+	/**
+	 * <p>
+	 * A logger for which all levels are disabled.
+	 * </p>
+	 */
+	static final class NoopLogger implements Logger {
+		
+		static final NoopLogger INSTANCE = new NoopLogger();
+		
+		static final Logger.Provider PROVIDER = name -> INSTANCE;
+		
+		@Override
+		public boolean isEnabled(Level level) {
+			return false;
+		}
+
+		@Override
+		public void log(Level level, String message, Throwable thrown) {
+		}
+	}
+}
@@ -25,7 +25,12 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -35,9 +40,6 @@ import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 /**
  * <p>
  * The Module base class.
@@ -53,7 +55,9 @@ import org.apache.logging.log4j.Logger;
  * </p>
  * 
  * <ol>
- * <li>Start the required Winter modules included in the module.</li>
+ * <li>Start the required Winter modules included in the module, except for
+ * lazy modules which are started when one of their beans is first
+ * requested.</li>
  * <li>Create the module beans that weren't already created.</li>
  * </ol>
  * 
@@ -81,10 +85,15 @@ import org.apache.logging.log4j.Logger;
 public abstract class Module {
 
 	/**
-	 * The module logger.
+	 * The module loggers, one per module class.
 	 */
-	private Logger logger = LogManager.getLogger(this.getClass());
-
+	private static final ClassValue<Logger> LOGGERS = new ClassValue<Logger>() {
+		@Override
+		protected Logger computeValue(Class<?> type) {
+			return Logger.getLogger(type);
+		}
+	};
+	
 	/**
 	 * The module name.
 	 */
@@ -96,7 +105,8 @@ public abstract class Module {
 	private Module parent;
 
 	/**
-	 * The list of required Winter modules include in the module.
+	 * The list of required Winter modules include in the module, allocated when
+	 * the first module is registered.
 	 */
 	private List<Module> modules;
 
@@ -106,14 +116,28 @@ public abstract class Module {
 	private List<Bean<?>> beans;
 
 	/**
-	 * The bean stack used to track bean creation order.
+	 * The bean stack used to track bean creation order, allocated when the first
+	 * bean is created and released when the module is stopped, guarded by the
+	 * lock of the top module.
 	 */
 	private Deque<Bean<?>> beansStack;
 
 	/**
-	 * THe module's state
+	 * THe module's state, set once the module is fully started.
+	 */
+	private volatile boolean active;
+
+	/**
+	 * Indicates whether the module is being started, guarded by the lock of the
+	 * top module.
+	 */
+	private boolean starting;
+
+	/**
+	 * Indicates whether the module is started when one of its beans is first
+	 * requested instead of when its parent module is started.
 	 */
-	private boolean active;
+	private boolean lazy;
 
 	/**
 	 * <p>
@@ -125,8 +149,20 @@ public abstract class Module {
 	protected Module(String moduleName) {
 		this.name = moduleName;
 		this.beans = new ArrayList<>();
-		this.beansStack = new ArrayDeque<>();
-		this.modules = new ArrayList<>();
+		this.modules = List.of();
+	}
+
+	/**
+	 * <p>
+	 * Trims the lists of beans and modules once the module has been fully built
+	 * so that a module instance only retains what it needs.
+	 * </p>
+	 */
+	private void compact() {
+		((ArrayList<Bean<?>>)this.beans).trimToSize();
+		if(this.modules instanceof ArrayList) {
+			((ArrayList<Module>)this.modules).trimToSize();
+		}
 	}
 
 	/**
@@ -141,7 +177,74 @@ public abstract class Module {
 		if (this.parent != null) {
 			this.parent.recordBean(bean);
 		} else {
-			this.beansStack.push(bean);
+			// lazy modules can be started by any thread
+			synchronized(this) {
+				if(this.beansStack == null) {
+					this.beansStack = new ArrayDeque<>();
+				}
+				this.beansStack.push(bean);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns the top module whose lock guards the lifecycle of the whole module
+	 * tree.
+	 * </p>
+	 * 
+	 * @return the top module
+	 */
+	private Module getRoot() {
+		Module root = this;
+		while(root.parent != null) {
+			root = root.parent;
+		}
+		return root;
+	}
+
+	/**
+	 * <p>
+	 * Returns the number of lazy modules from this module to the top module.
+	 * </p>
+	 * 
+	 * @return the number of lazy modules enclosing this module including itself
+	 */
+	private int getLazyDepth() {
+		int depth = 0;
+		for(Module module = this;module != null;module = module.parent) {
+			if(module.lazy) {
+				depth++;
+			}
+		}
+		return depth;
+	}
+
+	/**
+	 * <p>
+	 * Destroys the specified beans.
+	 * </p>
+	 * 
+	 * <p>
+	 * Beans are destroyed in the reverse order of their creation except for the
+	 * beans of lazy modules: a lazy module being started on demand after the beans
+	 * holding a lazy socket wired to its beans, its beans are destroyed after the
+	 * beans of the enclosing modules.
+	 * </p>
+	 * 
+	 * @param beans  the beans to destroy in the reverse order of their creation
+	 * @param logger the logger used to report destruction errors
+	 */
+	private static void destroyBeans(Collection<Bean<?>> beans, Logger logger) {
+		List<Bean<?>> orderedBeans = new ArrayList<>(beans);
+		// the sort is stable so beans of the same lazy depth are kept in reverse creation order
+		orderedBeans.sort(Comparator.comparingInt((Bean<?> bean) -> bean.parent.getLazyDepth()));
+		for(Bean<?> bean : orderedBeans) {
+			try {
+				bean.destroy();
+			} catch (Exception e) {
+				logger.log(Logger.Level.WARNING, "Error destroying Bean " + (bean.parent != null ? bean.parent.getName() + ":" : "") + bean.name, e);
+			}
 		}
 	}
 
@@ -161,9 +264,45 @@ public abstract class Module {
 	 * @return the registered module.
 	 */
 	protected <T extends Module> T with(ModuleLinker<T> moduleLinker) {
+		return this.with(moduleLinker, false);
+	}
+
+	/**
+	 * <p>
+	 * Creates a module with the specified module linker and register it in this
+	 * module.
+	 * </p>
+	 * 
+	 * <p>
+	 * A lazy module is not started with this module, it is started when one of its
+	 * beans is first requested, possibly after the beans holding a lazy socket
+	 * wired to its beans have been created. The beans of a lazy module are
+	 * therefore destroyed after the beans of the enclosing modules when this
+	 * module is stopped.
+	 * </p>
+	 * 
+	 * <p>
+	 * A module can only be registered once to exactly one module.
+	 * </p>
+	 * 
+	 * @param <T>          the type of the module to create
+	 * @param moduleLinker the module linker to use to create the module.
+	 * @param lazy         true to start the module when one of its beans is first
+	 *                     requested, false to start it with this module
+	 * 
+	 * @return the registered module.
+	 * 
+	 * @since 1.0.2
+	 */
+	protected <T extends Module> T with(ModuleLinker<T> moduleLinker, boolean lazy) {
 		T module = moduleLinker.link();
 
 		((Module) module).parent = this;
+		((Module) module).lazy = lazy;
+		((Module) module).compact();
+		if(this.modules.isEmpty()) {
+			this.modules = new ArrayList<>();
+		}
 		this.modules.add(module);
 
 		return module;
@@ -238,6 +377,199 @@ public abstract class Module {
 		return active;
 	}
 	
+	/**
+	 * <p>
+	 * Returns the runtime statistics of the beans defined in the module.
+	 * </p>
+	 * 
+	 * <p>
+	 * Statistics are only collected when the module has been compiled in
+	 * instrumentation mode ({@code -Awinter.instrument}), an empty list is
+	 * returned otherwise.
+	 * </p>
+	 * 
+	 * @return a list of bean statistics
+	 * 
+	 * @since 1.0.2
+	 */
+	public List<BeanStats> getBeanStats() {
+		return List.of();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the startup critical path of the module.
+	 * </p>
+	 * 
+	 * <p>
+	 * The critical path is the chain of dependent beans of the module whose
+	 * cumulative self time is the highest, it is ordered from the first bean
+	 * created to the last one. Its duration is a lower bound of the time required
+	 * to create the beans of the module: making one of its beans lazy or creating
+	 * it asynchronously is the only way to significantly reduce startup time.
+	 * </p>
+	 * 
+	 * <p>
+	 * The critical path is determined from bean statistics and is therefore only
+	 * available when the module has been compiled in instrumentation mode
+	 * ({@code -Awinter.instrument}), an empty list is returned otherwise.
+	 * </p>
+	 * 
+	 * @return a list of bean statistics
+	 * 
+	 * @see BeanStats#getSelfTime()
+	 * 
+	 * @since 1.0.2
+	 */
+	public final List<BeanStats> getCriticalPath() {
+		List<BeanStats> beanStats = this.getBeanStats();
+		if(beanStats.isEmpty()) {
+			return List.of();
+		}
+		Map<BeanStats, Long> pathTimes = new IdentityHashMap<>();
+		BeanStats last = null;
+		long lastPathTime = -1;
+		for(BeanStats stats : beanStats) {
+			long pathTime = getPathTime(stats, pathTimes);
+			if(pathTime > lastPathTime) {
+				last = stats;
+				lastPathTime = pathTime;
+			}
+		}
+		
+		LinkedList<BeanStats> criticalPath = new LinkedList<>();
+		for(BeanStats current = last;current != null;) {
+			criticalPath.addFirst(current);
+			BeanStats next = null;
+			for(BeanStats dependency : current.getDependencies()) {
+				if(next == null || pathTimes.get(dependency) > pathTimes.get(next)) {
+					next = dependency;
+				}
+			}
+			current = next;
+		}
+		return criticalPath;
+	}
+	
+	private static long getPathTime(BeanStats stats, Map<BeanStats, Long> pathTimes) {
+		// Dependencies are resolved with an explicit stack in order to support long chains of beans
+		Deque<BeanStats> stack = new ArrayDeque<>();
+		stack.push(stats);
+		while(!stack.isEmpty()) {
+			BeanStats current = stack.peek();
+			if(pathTimes.containsKey(current)) {
+				stack.pop();
+				continue;
+			}
+			long dependenciesPathTime = 0;
+			boolean resolved = true;
+			for(BeanStats dependency : current.getDependencies()) {
+				Long dependencyPathTime = pathTimes.get(dependency);
+				if(dependencyPathTime == null) {
+					stack.push(dependency);
+					resolved = false;
+				}
+				else {
+					dependenciesPathTime = Math.max(dependenciesPathTime, dependencyPathTime);
+				}
+			}
+			if(resolved) {
+				stack.pop();
+				pathTimes.put(current, current.getSelfTime() + dependenciesPathTime);
+			}
+		}
+		return pathTimes.get(stats);
+	}
+	
+	/**
+	 * <p>
+	 * Returns the registry describing the beans defined in the module.
+	 * </p>
+	 * 
+	 * <p>
+	 * The registry is generated by the Winter compiler when the
+	 * {@code winter.beanRegistry} option is set, an empty registry is returned
+	 * for modules compiled without registry.
+	 * </p>
+	 * 
+	 * @return a bean registry
+	 * 
+	 * @since 1.0.2
+	 */
+	public BeanRegistry getBeanRegistry() {
+		return BeanRegistry.EMPTY;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the public bean at the specified index in the module's bean
+	 * registry.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method is implemented by generated module classes which dispatch the
+	 * index to the corresponding bean accessor. Private beans are registered but
+	 * can't be retrieved by index.
+	 * </p>
+	 * 
+	 * @param index a bean index
+	 * 
+	 * @return a bean instance
+	 * @throws IndexOutOfBoundsException if there's no public bean at the specified
+	 *                                   index
+	 * 
+	 * @since 1.0.2
+	 */
+	protected Object getBean(int index) throws IndexOutOfBoundsException {
+		throw new IndexOutOfBoundsException(index);
+	}
+	
+	/**
+	 * <p>
+	 * Returns the public bean with the specified name.
+	 * </p>
+	 * 
+	 * @param name a bean name
+	 * 
+	 * @return an optional containing the bean instance or an empty optional if
+	 *         there's no public bean with that name in the module
+	 * 
+	 * @since 1.0.2
+	 */
+	public final Optional<Object> findBean(String name) {
+		BeanRegistry registry = this.getBeanRegistry();
+		int index = registry.indexOf(name);
+		if(index < 0 || registry.getVisibility(index) != BeanRegistry.Visibility.PUBLIC) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(this.getBean(index));
+	}
+	
+	/**
+	 * <p>
+	 * Returns the public beans assignable to the specified type.
+	 * </p>
+	 * 
+	 * @param <T>  the type of bean
+	 * @param type the type of bean
+	 * 
+	 * @return a list of bean instances in the order they are defined in the
+	 *         module's bean registry
+	 * 
+	 * @since 1.0.2
+	 */
+	public final <T> List<T> findBeans(Class<T> type) {
+		BeanRegistry registry = this.getBeanRegistry();
+		int[] indices = registry.getIndices(type);
+		List<T> beans = new ArrayList<>(indices.length);
+		for(int index : indices) {
+			if(registry.getVisibility(index) == BeanRegistry.Visibility.PUBLIC) {
+				beans.add(type.cast(this.getBean(index)));
+			}
+		}
+		return beans;
+	}
+	
 	/**
 	 * <p>
 	 * Determines whether this module or one of its ancestors is active which would
@@ -248,7 +580,102 @@ public abstract class Module {
 	 * @return true if an ancestor module is active, false otherwise.
 	 */
 	private boolean isSuperActive() {
-		return this.active || (this.parent != null && this.parent.isSuperActive());
+		return this.active || this.starting || (this.parent != null && this.parent.isSuperActive());
+	}
+	
+	/**
+	 * <p>
+	 * Returns the component modules of the module which depend on the specified
+	 * component module and must therefore be restarted with it.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method is implemented by generated module classes. Dependencies are
+	 * transitive: a component module wired to a bean of the module which depends
+	 * on the specified component module is also returned.
+	 * </p>
+	 * 
+	 * @param module a component module of the module
+	 * 
+	 * @return a list of component modules
+	 * 
+	 * @since 1.0.2
+	 */
+	protected List<Module> getDependentModules(Module module) {
+		return List.of();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the beans of the module which depend on the specified component
+	 * module and must therefore be re-created when it is restarted.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method is implemented by generated module classes. Dependencies are
+	 * transitive: a bean depending on a bean or a component module which depends
+	 * on the specified component module is also returned.
+	 * </p>
+	 * 
+	 * @param module a component module of the module
+	 * 
+	 * @return a list of beans
+	 * 
+	 * @since 1.0.2
+	 */
+	protected List<Bean<?>> getDependentBeans(Module module) {
+		return List.of();
+	}
+	
+	/**
+	 * <p>
+	 * Determines whether public beans of the module depend on the specified
+	 * component module, in which case the beans of the enclosing module wired to
+	 * them must be re-created as well when it is restarted.
+	 * </p>
+	 * 
+	 * <p>
+	 * This method is implemented by generated module classes.
+	 * </p>
+	 * 
+	 * @param module a component module of the module
+	 * 
+	 * @return true if public beans depend on the component module, false otherwise
+	 * 
+	 * @since 1.0.2
+	 */
+	protected boolean hasPublicDependentBeans(Module module) {
+		return false;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the first component module with the specified name found in the
+	 * module tree.
+	 * </p>
+	 * 
+	 * @param moduleName a module name
+	 * 
+	 * @return an optional containing the component module or an empty optional
+	 */
+	private Optional<Module> getComponentModule(String moduleName) {
+		for(Module module : this.modules) {
+			if(module.name.equals(moduleName)) {
+				return Optional.of(module);
+			}
+			Optional<Module> componentModule = module.getComponentModule(moduleName);
+			if(componentModule.isPresent()) {
+				return componentModule;
+			}
+		}
+		return Optional.empty();
+	}
+	
+	private void collectModules(Set<Module> modules) {
+		modules.add(this);
+		for(Module module : this.modules) {
+			module.collectModules(modules);
+		}
 	}
 
 	/**
@@ -266,15 +693,58 @@ public abstract class Module {
 	 * @throws IllegalStateException if the module is active.
 	 */
 	public void start() throws IllegalStateException {
-		if (this.isActive()) {
+		synchronized(this.getRoot()) {
+			this.doStart();
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Starts the module while holding the lock of the top module.
+	 * </p>
+	 * 
+	 * <p>
+	 * The module is only flagged as active once all its beans have been created so
+	 * that other threads can't access a module being started.
+	 * </p>
+	 * 
+	 * @throws IllegalStateException if the module is active.
+	 */
+	private void doStart() throws IllegalStateException {
+		if (this.active || this.starting) {
 			throw new IllegalStateException("Module " + this.name + " is already active");
 		}
-		this.active = true;
+		this.starting = true;
 		long t0 = System.nanoTime();
-		this.logger.info("Starting Module " + this.name + "...");
-		this.modules.stream().filter(module -> !module.isActive()).forEach(module -> module.start());
-		this.beans.stream().forEach(bean -> bean.create());
-		this.logger.info("Module {} started in {}ms", this.name, ((System.nanoTime() - t0) / 1000000));
+		Logger logger = LOGGERS.get(this.getClass());
+		if (logger.isEnabled(Logger.Level.INFO)) {
+			logger.log(Logger.Level.INFO, "Starting Module " + this.name + "...");
+		}
+		try {
+			for(Module module : this.modules) {
+				if(!module.active && !module.starting && !module.lazy) {
+					module.doStart();
+				}
+			}
+			for(Bean<?> bean : this.beans) {
+				bean.create();
+			}
+			this.active = true;
+		}
+		finally {
+			this.starting = false;
+		}
+		if (logger.isEnabled(Logger.Level.INFO)) {
+			logger.log(Logger.Level.INFO, "Module " + this.name + " started in " + ((System.nanoTime() - t0) / 1000000) + "ms");
+			List<BeanStats> criticalPath = this.getCriticalPath();
+			if(!criticalPath.isEmpty()) {
+				long criticalPathTime = 0;
+				for(BeanStats stats : criticalPath) {
+					criticalPathTime += stats.getSelfTime();
+				}
+				logger.log(Logger.Level.INFO, "Module " + this.name + " critical path (" + String.format("%.3f", criticalPathTime / 1000000.0) + "ms): " + criticalPath.stream().map(stats -> stats.getName() + " (" + String.format("%.3f", stats.getSelfTime() / 1000000.0) + "ms)").collect(Collectors.joining(" > ")));
+			}
+		}
 //		this.logger.info(this.beansStack.stream().map(bean -> bean.name.toString()).collect(Collectors.joining(", "))); // TEST
 	}
 
@@ -289,19 +759,179 @@ public abstract class Module {
 	 * </p>
 	 */
 	public void stop() {
-		long t0 = System.nanoTime();
-		this.logger.info("Stopping Module " + this.name + "...");
-		this.beansStack.forEach(bean -> {
-			try {
-				bean.destroy();
-			} catch (Exception e) {
-				this.logger.warn("Error destroying Bean {}", () -> (bean.parent != null ? bean.parent.getName() + ":" : "") + bean.name);
+		synchronized(this.getRoot()) {
+			long t0 = System.nanoTime();
+			Logger logger = LOGGERS.get(this.getClass());
+			if (logger.isEnabled(Logger.Level.INFO)) {
+				logger.log(Logger.Level.INFO, "Stopping Module " + this.name + "...");
+			}
+			if(this.beansStack != null) {
+				destroyBeans(this.beansStack, logger);
+				this.beansStack = null;
+			}
+			for(Module module : this.modules) {
+				if(module.active || !module.lazy) {
+					module.stop();
+				}
+			}
+			if (logger.isEnabled(Logger.Level.INFO)) {
+				logger.log(Logger.Level.INFO, "Module " + this.name + " stopped in " + ((System.nanoTime() - t0) / 1000000) + "ms");
+			}
+			this.active = false;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Restarts the specified component module while leaving the rest of the
+	 * application untouched.
+	 * </p>
+	 * 
+	 * <p>
+	 * The beans of the component module and of its own component modules are
+	 * destroyed and re-created as well as the beans that depend on them: the
+	 * component modules and the beans of the enclosing module wired to the
+	 * restarted module are restarted with it, and so on up to the top module as
+	 * long as public beans are re-created. Beans are destroyed in the reverse
+	 * order of their creation and re-created following the bean dependency graph,
+	 * any other bean is kept as is.
+	 * </p>
+	 * 
+	 * <p>
+	 * Dependent beans are determined at compile time. A lazy socket resolves the
+	 * bean each time it is accessed and is therefore not considered as a
+	 * dependency, except when it is wired to a singleton bean of the same module:
+	 * the instance is then memoized and the bean holding the socket is re-created
+	 * with the restarted beans. Beans of the restarted modules should not be
+	 * requested while the restart is in progress.
+	 * </p>
+	 * 
+	 * @param moduleName the name of a component module of this module or of one
+	 *                   of its descendants
+	 * 
+	 * @throws IllegalArgumentException if there's no component module with the
+	 *                                  specified name
+	 * @throws IllegalStateException    if the module is inactive
+	 * 
+	 * @since 1.0.2
+	 */
+	public final void restart(String moduleName) throws IllegalArgumentException, IllegalStateException {
+		if(!this.isActive()) {
+			throw new IllegalStateException("Module " + this.name + " is inactive");
+		}
+		Module module = this.getComponentModule(moduleName).orElseThrow(() -> new IllegalArgumentException("Module " + this.name + " has no component module " + moduleName));
+		Module root = this.getRoot();
+		
+		synchronized(root) {
+			long t0 = System.nanoTime();
+			Logger logger = LOGGERS.get(module.getClass());
+			if (logger.isEnabled(Logger.Level.INFO)) {
+				logger.log(Logger.Level.INFO, "Restarting Module " + module.name + "...");
+			}
+			
+			// Determine the modules and the beans to restart
+			Set<Module> modules = Collections.newSetFromMap(new IdentityHashMap<>());
+			List<Module> restartedModules = new ArrayList<>();
+			Set<Bean<?>> beans = Collections.newSetFromMap(new IdentityHashMap<>());
+			List<Bean<?>> restartedBeans = new ArrayList<>();
+			
+			module.collectModules(modules);
+			restartedModules.add(module);
+			for(Module current = module;current.parent != null;current = current.parent) {
+				for(Module dependentModule : current.parent.getDependentModules(current)) {
+					if(!modules.contains(dependentModule)) {
+						dependentModule.collectModules(modules);
+						restartedModules.add(dependentModule);
+					}
+				}
+				for(Bean<?> dependentBean : current.parent.getDependentBeans(current)) {
+					if(beans.add(dependentBean)) {
+						restartedBeans.add(dependentBean);
+					}
+				}
+				// Beans of an enclosing module can only depend on public beans
+				if(!current.parent.hasPublicDependentBeans(current)) {
+					break;
+				}
+			}
+			int dependentModuleCount = restartedModules.size() - 1;
+			restartedModules.removeIf(restartedModule -> !restartedModule.isActive());
+			
+			// Beans are recorded in the top module in creation order
+			if(root.beansStack != null) {
+				List<Bean<?>> destroyedBeans = new ArrayList<>();
+				for(Iterator<Bean<?>> beansIterator = root.beansStack.iterator();beansIterator.hasNext();) {
+					Bean<?> bean = beansIterator.next();
+					if(beans.contains(bean) || modules.contains(bean.parent)) {
+						destroyedBeans.add(bean);
+						beansIterator.remove();
+					}
+				}
+				destroyBeans(destroyedBeans, logger);
+			}
+			for(Module restartedModule : modules) {
+				restartedModule.active = false;
+			}
+			
+			// Dependencies being created on demand, modules and beans can be started in any order
+			for(Module restartedModule : restartedModules) {
+				if(!restartedModule.active && !restartedModule.starting) {
+					restartedModule.doStart();
+				}
+			}
+			for(Bean<?> bean : restartedBeans) {
+				bean.create();
 			}
-		});
-		this.modules.stream().forEach(module -> module.stop());
-		this.beansStack.clear();
-		this.logger.info("Module {} stopped in {}ms", this.name, ((System.nanoTime() - t0) / 1000000));
-		this.active = false;
+			if (logger.isEnabled(Logger.Level.INFO)) {
+				logger.log(Logger.Level.INFO, "Module " + module.name + " restarted in " + ((System.nanoTime() - t0) / 1000000) + "ms (" + dependentModuleCount + " dependent module(s), " + restartedBeans.size() + " dependent bean(s))");
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * A supplier memoizing the instance of a singleton bean.
+	 * </p>
+	 * 
+	 * <p>
+	 * Generated module classes use it to resolve lazy sockets wired to singleton
+	 * beans of the module: the bean is requested on first access and the
+	 * resulting instance is then returned directly. A memoized supplier is
+	 * created with the dependent bean instance which therefore keeps the same
+	 * singleton instance as if it had been injected directly.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 * @since 1.0.2
+	 *
+	 * @param <T> the bean type
+	 */
+	protected static final class MemoizedSupplier<T> implements Supplier<T> {
+		
+		private final Supplier<? extends T> supplier;
+		
+		private volatile T instance;
+		
+		/**
+		 * <p>
+		 * Creates a memoized supplier.
+		 * </p>
+		 * 
+		 * @param supplier the supplier of a singleton bean
+		 */
+		public MemoizedSupplier(Supplier<? extends T> supplier) {
+			this.supplier = supplier;
+		}
+		
+		@Override
+		public T get() {
+			T result = this.instance;
+			if(result == null) {
+				result = this.supplier.get();
+				this.instance = result;
+			}
+			return result;
+		}
 	}
 
 	/**
@@ -509,6 +1139,7 @@ public abstract class Module {
 		 */
 		public final T build() {
 			T thisModule = this.doBuild();
+			((Module) thisModule).compact();
 			return thisModule;
 		}
 
@@ -587,15 +1218,58 @@ public abstract class Module {
 		 */
 		@Override
 		public final T get() throws IllegalStateException {
-			if (!this.parent.isActive()) {
-				if(this.parent.isSuperActive()) {
-					this.parent.start();
-				}
-				else {
-					throw new IllegalArgumentException("Module " + this.parent.getName() + " is inactive.");
+			this.activate();
+			return this.doGet();
+		}
+		
+		/**
+		 * <p>
+		 * Fills the specified array with requested bean instances while making sure
+		 * the enclosing module is active.
+		 * </p>
+		 * 
+		 * <p>
+		 * A prototype bean creates as many instances as the length of the array,
+		 * module activation checks, overrides and instance tracking being processed
+		 * once for the whole batch. Any other bean fills the array with the same
+		 * instance.
+		 * </p>
+		 * 
+		 * @param <E>       the component type of the array which must be a super type
+		 *                  of the bean type
+		 * @param instances the array to fill
+		 * 
+		 * @return the specified array
+		 * 
+		 * @throws IllegalStateException if the enclosing module is inactive and not
+		 *                               part of a module initialization process.
+		 * 
+		 * @since 1.0.2
+		 */
+		public final <E> E[] get(E[] instances) throws IllegalStateException {
+			this.activate();
+			if(instances.length > 0) {
+				this.doGet(instances);
+			}
+			return instances;
+		}
+		
+		private void activate() throws IllegalStateException {
+			if (!this.parent.active) {
+				// lazy modules can be started concurrently by different threads, the module
+				// is then started while holding the lock used to start, stop and restart the
+				// whole module tree
+				synchronized(this.parent.getRoot()) {
+					if(!this.parent.active && !this.parent.starting) {
+						if(this.parent.isSuperActive()) {
+							this.parent.doStart();
+						}
+						else {
+							throw new IllegalArgumentException("Module " + this.parent.getName() + " is inactive.");
+						}
+					}
 				}
 			}
-			return this.doGet();
 		}
 
 		/**
@@ -606,6 +1280,27 @@ public abstract class Module {
 		 * @return a bean instance
 		 */
 		public abstract T doGet();
+		
+		/**
+		 * <p>
+		 * Fills the specified array with supplied bean instances.
+		 * </p>
+		 * 
+		 * <p>
+		 * The default implementation invokes {@link #doGet()} for each element,
+		 * prototype beans override it to create instances in bulk.
+		 * </p>
+		 * 
+		 * @param instances a non-empty array whose component type is a super type of
+		 *                  the bean type
+		 * 
+		 * @since 1.0.2
+		 */
+		protected void doGet(Object[] instances) {
+			for(int i=0;i<instances.length;i++) {
+				instances[i] = this.doGet();
+			}
+		}
 
 		/**
 		 * <p>
@@ -678,6 +1373,56 @@ public abstract class Module {
 		 * @return this builder
 		 */
 		B destroy(FallibleConsumer<T> destroy);
+		
+		/**
+		 * <p>
+		 * Adds bean initialization operations.
+		 * </p>
+		 * 
+		 * <p>
+		 * The default implementation adds the operations one by one, the module bean
+		 * builders retain the specified array instead so that it can be shared by all
+		 * the instances of a module type.
+		 * </p>
+		 * 
+		 * @param inits the bean initialization operations
+		 * 
+		 * @return this builder
+		 * 
+		 * @since 1.0.2
+		 */
+		@SuppressWarnings("unchecked")
+		default B inits(FallibleConsumer<T>[] inits) {
+			for(FallibleConsumer<T> init : inits) {
+				this.init(init);
+			}
+			return (B)this;
+		}
+		
+		/**
+		 * <p>
+		 * Adds bean destruction operations.
+		 * </p>
+		 * 
+		 * <p>
+		 * The default implementation adds the operations one by one, the module bean
+		 * builders retain the specified array instead so that it can be shared by all
+		 * the instances of a module type.
+		 * </p>
+		 * 
+		 * @param destroys the bean destruction operations
+		 * 
+		 * @return this builder
+		 * 
+		 * @since 1.0.2
+		 */
+		@SuppressWarnings("unchecked")
+		default B destroys(FallibleConsumer<T>[] destroys) {
+			for(FallibleConsumer<T> destroy : destroys) {
+				this.destroy(destroy);
+			}
+			return (B)this;
+		}
 	}
 	
 	/**
@@ -18,9 +18,6 @@ package io.winterframework.core.v1;
 import java.util.Optional;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.winterframework.core.v1.Module.Bean;
 
 /**
@@ -54,7 +51,7 @@ abstract class PrototypeModuleBean<T> extends AbstractModuleBean<T> {
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(PrototypeModuleBean.class);
+	protected static final Logger LOGGER = Logger.getLogger(PrototypeModuleBean.class);
 
 	private boolean created;
 	
@@ -85,7 +82,9 @@ abstract class PrototypeModuleBean<T> extends AbstractModuleBean<T> {
 	public final void create() {
 		if (!this.created) {
 			synchronized(this) {
-				LOGGER.debug("Creating prototype bean {} {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Creating prototype bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name + this.override.map(s -> " (overridden)").orElse(""));
+				}
 				this.parent.recordBean(this);
 				this.created = true;
 			}
@@ -107,11 +106,52 @@ abstract class PrototypeModuleBean<T> extends AbstractModuleBean<T> {
 	@Override
 	public final T doGet() {
 		this.create();
-		return this.override
-			.map(Supplier::get)
-			.orElseGet(() -> {
-				return this.createInstance();
-			});
+		BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+		T beanInstance;
+		try {
+			beanInstance = this.override
+				.map(Supplier::get)
+				.orElseGet(() -> {
+					return this.createInstance();
+				});
+		}
+		catch(Throwable t) {
+			BeanCreationWatchdog.exit(creation, t);
+			throw t;
+		}
+		BeanCreationWatchdog.exit(creation);
+		return beanInstance;
+	}
+
+	/**
+	 * <p>
+	 * Creates new bean instances in bulk.
+	 * </p>
+	 * 
+	 * @param instances the array to fill with new instances
+	 */
+	@Override
+	protected final void doGet(Object[] instances) {
+		this.create();
+		BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+		try {
+			if(this.override.isPresent()) {
+				Supplier<T> override = this.override.get();
+				for(int i=0;i<instances.length;i++) {
+					instances[i] = override.get();
+				}
+			}
+			else {
+				for(int i=0;i<instances.length;i++) {
+					instances[i] = this.createInstance();
+				}
+			}
+		}
+		catch(Throwable t) {
+			BeanCreationWatchdog.exit(creation, t);
+			throw t;
+		}
+		BeanCreationWatchdog.exit(creation);
 	}
 
 	/**
@@ -127,7 +167,10 @@ abstract class PrototypeModuleBean<T> extends AbstractModuleBean<T> {
 	@Override
 	public final void destroy() {
 		synchronized(this) {
-			LOGGER.debug("Destroying prototype bean {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+			if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+				LOGGER.log(Logger.Level.DEBUG, "Destroying prototype bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+			}
+			this.created = false;
 		}
 	}
 	
@@ -15,6 +15,7 @@
  */
 package io.winterframework.core.v1;
 
+import java.util.Optional;
 import java.util.function.Supplier;
 
 import io.winterframework.core.v1.Module.Bean;
@@ -64,50 +65,68 @@ class PrototypeModuleBeanBuilder<T> extends AbstractModuleBeanBuilder<T> {
 	 */
 	@Override
 	public Bean<T> build() {
-		if(this.destroys.isEmpty()) {
-			return new PrototypeModuleBean<T>(this.beanName, this.override) {
+		return build(this.beanName, this.override, this.constructor, this.inits, this.destroys);
+	}
+
+	/**
+	 * <p>
+	 * Creates a prototype module bean which only retains its name, override, constructor
+	 * and operations instead of the whole builder.
+	 * </p>
+	 * 
+	 * @param beanName    the bean name
+	 * @param override    an optional override
+	 * @param constructor the bean constructor
+	 * @param inits       the bean initialization operations
+	 * @param destroys    the bean destruction operations
+	 * 
+	 * @return a prototype bean
+	 */
+	private static <T> Bean<T> build(String beanName, Optional<Supplier<T>> override, Supplier<T> constructor, FallibleConsumer<T>[] inits, FallibleConsumer<T>[] destroys) {
+		if(destroys.length == 0) {
+			return new PrototypeModuleBean<T>(beanName, override) {
 
 				@Override
 				protected T createInstance() {
 					T instance = constructor.get();
-					inits.stream().forEach(init -> {
+					for(FallibleConsumer<T> init : inits) {
 						try {
 							init.accept(instance);
 						} catch (Exception e) {
-							LOGGER.fatal(() -> "Error initializing bean " + name, e);
+							LOGGER.log(Logger.Level.ERROR, "Error initializing bean " + name, e);
 							throw new RuntimeException("Error initializing bean " + name, e);
 						}
-					});
+					}
 					return instance;
 				}
 			};
 		}
 		else {
-			return new PrototypeWeakModuleBean<T>(this.beanName, this.override) {
+			return new PrototypeWeakModuleBean<T>(beanName, override) {
 
 				@Override
 				protected T createInstance() {
 					T instance = constructor.get();
-					inits.stream().forEach(init -> {
+					for(FallibleConsumer<T> init : inits) {
 						try {
 							init.accept(instance);
 						} catch (Exception e) {
-							LOGGER.fatal(() -> "Error initializing bean " + name, e);
+							LOGGER.log(Logger.Level.ERROR, "Error initializing bean " + name, e);
 							throw new RuntimeException("Error initializing bean " + name, e);
 						}
-					});
+					}
 					return instance;
 				}
 
 				@Override
 				protected void destroyInstance(T instance) {
-					destroys.stream().forEach(destroy -> {
+					for(FallibleConsumer<T> destroy : destroys) {
 						try {
 							destroy.accept(instance);
 						} catch (Exception e) {
-							LOGGER.warn(() -> "Error destroying bean " + name, e);
+							LOGGER.log(Logger.Level.WARNING, "Error destroying bean " + name, e);
 						}
-					});
+					}
 				}
 			};
 		}
@@ -17,15 +17,14 @@ package io.winterframework.core.v1;
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.winterframework.core.v1.Module.Bean;
 
 /**
@@ -81,7 +80,7 @@ abstract class PrototypeWeakModuleBean<T> extends AbstractModuleBean<T> {
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(PrototypeWeakModuleBean.class);
+	protected static final Logger LOGGER = Logger.getLogger(PrototypeWeakModuleBean.class);
 
 	/**
 	 * The list of instances issued by the bean.
@@ -127,7 +126,9 @@ abstract class PrototypeWeakModuleBean<T> extends AbstractModuleBean<T> {
 	public final void create() {
 		if (this.instances == null) {
 			synchronized(this) {
-				LOGGER.debug("Creating prototype bean {} {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Creating prototype bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name + this.override.map(s -> " (overridden)").orElse(""));
+				}
 				this.instances = new HashSet<>();
 				this.referenceQueue = new ReferenceQueue<T>();
 				this.parent.recordBean(this);
@@ -150,18 +151,76 @@ abstract class PrototypeWeakModuleBean<T> extends AbstractModuleBean<T> {
 	@Override
 	public final T doGet() {
 		this.create();
-		return this.override
-			.map(Supplier::get)
-			.orElseGet(() -> {
+		BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+		T beanInstance;
+		try {
+			beanInstance = this.override
+				.map(Supplier::get)
+				.orElseGet(() -> {
+					this.expungeStaleInstances();
+					T instance = this.createInstance();
+					WeakReference<T> reference = new WeakReference<>(instance, this.referenceQueue);
+					synchronized (this) {
+						this.instances.add(reference);
+					}
+		
+					return instance;
+				});
+		}
+		catch(Throwable t) {
+			BeanCreationWatchdog.exit(creation, t);
+			throw t;
+		}
+		BeanCreationWatchdog.exit(creation);
+		return beanInstance;
+	}
+
+	/**
+	 * <p>
+	 * Creates new bean instances in bulk.
+	 * </p>
+	 * 
+	 * <p>
+	 * Stale instances are expunged and the lock guarding the list of issued
+	 * instances acquired once for the whole batch.
+	 * </p>
+	 * 
+	 * @param instances the array to fill with new instances
+	 */
+	@Override
+	protected final void doGet(Object[] instances) {
+		this.create();
+		BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+		try {
+			if(this.override.isPresent()) {
+				Supplier<T> override = this.override.get();
+				for(int i=0;i<instances.length;i++) {
+					instances[i] = override.get();
+				}
+			}
+			else {
 				this.expungeStaleInstances();
-				T instance = this.createInstance();
-				WeakReference<T> reference = new WeakReference<>(instance, this.referenceQueue);
-				synchronized (this) {
-					this.instances.add(reference);
+				List<WeakReference<T>> references = new ArrayList<>(instances.length);
+				try {
+					for(int i=0;i<instances.length;i++) {
+						T instance = this.createInstance();
+						references.add(new WeakReference<>(instance, this.referenceQueue));
+						instances[i] = instance;
+					}
 				}
-		
-				return instance;
-			});
+				finally {
+					// Instances created before a failure must be destroyed with the bean as well
+					synchronized (this) {
+						this.instances.addAll(references);
+					}
+				}
+			}
+		}
+		catch(Throwable t) {
+			BeanCreationWatchdog.exit(creation, t);
+			throw t;
+		}
+		BeanCreationWatchdog.exit(creation);
 	}
 
 	/**
@@ -178,7 +237,9 @@ abstract class PrototypeWeakModuleBean<T> extends AbstractModuleBean<T> {
 	public final void destroy() {
 		if (this.instances != null) {
 			synchronized(this) {
-				LOGGER.debug("Destroying prototype bean {}", () ->  (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Destroying prototype bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+				}
 				if(!this.override.isPresent()) {
 					this.expungeStaleInstances();
 					this.instances.stream()
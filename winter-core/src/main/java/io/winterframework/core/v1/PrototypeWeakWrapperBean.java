@@ -15,13 +15,12 @@
  */
 package io.winterframework.core.v1;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.WeakHashMap;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.winterframework.core.v1.Module.Bean;
 
 /**
@@ -71,7 +70,7 @@ abstract class PrototypeWeakWrapperBean<W extends Supplier<T>, T> extends Abstra
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(PrototypeWeakWrapperBean.class);
+	protected static final Logger LOGGER = Logger.getLogger(PrototypeWeakWrapperBean.class);
 	
 	/**
 	 * A weak hash map holding the bean instances issued by the bean as keys and
@@ -106,7 +105,9 @@ abstract class PrototypeWeakWrapperBean<W extends Supplier<T>, T> extends Abstra
 	public final void create() {
 		if (this.instances == null) {
 			synchronized(this) {
-				LOGGER.debug("Creating prototype bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Creating prototype bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name + this.override.map(s -> " (overridden)").orElse(""));
+				}
 				this.instances = new WeakHashMap<>();
 				this.parent.recordBean(this);
 			}
@@ -129,16 +130,78 @@ abstract class PrototypeWeakWrapperBean<W extends Supplier<T>, T> extends Abstra
 	public final T doGet() {
 		this.create();
 		
-		return this.override
-			.map(Supplier::get)
-			.orElseGet(() -> {
-				W wrapper = this.createWrapper();
-				T instance = wrapper.get();
-				synchronized (this) {
-					this.instances.put(instance, wrapper);
+		BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+		T beanInstance;
+		try {
+			beanInstance = this.override
+				.map(Supplier::get)
+				.orElseGet(() -> {
+					W wrapper = this.createWrapper();
+					T instance = wrapper.get();
+					synchronized (this) {
+						this.instances.put(instance, wrapper);
+					}
+					return instance;
+				});
+		}
+		catch(Throwable t) {
+			BeanCreationWatchdog.exit(creation, t);
+			throw t;
+		}
+		BeanCreationWatchdog.exit(creation);
+		return beanInstance;
+	}
+
+	/**
+	 * <p>
+	 * Creates new bean instances in bulk.
+	 * </p>
+	 * 
+	 * <p>
+	 * The lock guarding the map of issued instances is acquired once for the whole
+	 * batch.
+	 * </p>
+	 * 
+	 * @param instances the array to fill with new instances
+	 */
+	@Override
+	protected final void doGet(Object[] instances) {
+		this.create();
+		BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+		try {
+			if(this.override.isPresent()) {
+				Supplier<T> override = this.override.get();
+				for(int i=0;i<instances.length;i++) {
+					instances[i] = override.get();
+				}
+			}
+			else {
+				List<T> createdInstances = new ArrayList<>(instances.length);
+				List<W> wrappers = new ArrayList<>(instances.length);
+				try {
+					for(int i=0;i<instances.length;i++) {
+						W wrapper = this.createWrapper();
+						T instance = wrapper.get();
+						createdInstances.add(instance);
+						wrappers.add(wrapper);
+						instances[i] = instance;
+					}
 				}
-				return instance;
-			});
+				finally {
+					// Instances created before a failure must be destroyed with the bean as well
+					synchronized (this) {
+						for(int i=0;i<createdInstances.size();i++) {
+							this.instances.put(createdInstances.get(i), wrappers.get(i));
+						}
+					}
+				}
+			}
+		}
+		catch(Throwable t) {
+			BeanCreationWatchdog.exit(creation, t);
+			throw t;
+		}
+		BeanCreationWatchdog.exit(creation);
 	}
 
 	/**
@@ -156,7 +219,9 @@ abstract class PrototypeWeakWrapperBean<W extends Supplier<T>, T> extends Abstra
 	public final void destroy() {
 		if (this.instances != null) {
 			synchronized(this) {
-				LOGGER.debug("Destroying prototype bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Destroying prototype bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+				}
 				if(!this.override.isPresent()) {
 					this.instances.values().stream().forEach(wrapper -> this.destroyWrapper(wrapper));
 					this.instances.clear();
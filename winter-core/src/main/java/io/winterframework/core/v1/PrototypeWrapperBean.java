@@ -19,9 +19,6 @@ import java.lang.ref.WeakReference;
 import java.util.Optional;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.winterframework.core.v1.Module.Bean;
 
 /**
@@ -70,7 +67,7 @@ abstract class PrototypeWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(PrototypeWrapperBean.class);
+	protected static final Logger LOGGER = Logger.getLogger(PrototypeWrapperBean.class);
 	
 	private boolean created;
 	
@@ -101,7 +98,9 @@ abstract class PrototypeWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	public final void create() {
 		if (!this.created) {
 			synchronized(this) {
-				LOGGER.debug("Creating prototype bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Creating prototype bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name + this.override.map(s -> " (overridden)").orElse(""));
+				}
 				this.parent.recordBean(this);
 				this.created = true;
 			}
@@ -124,12 +123,53 @@ abstract class PrototypeWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	public final T doGet() {
 		this.create();
 		
-		return this.override
-			.map(Supplier::get)
-			.orElseGet(() -> {
-				W wrapper = this.createWrapper();
-				return wrapper.get();
-			});
+		BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+		T beanInstance;
+		try {
+			beanInstance = this.override
+				.map(Supplier::get)
+				.orElseGet(() -> {
+					W wrapper = this.createWrapper();
+					return wrapper.get();
+				});
+		}
+		catch(Throwable t) {
+			BeanCreationWatchdog.exit(creation, t);
+			throw t;
+		}
+		BeanCreationWatchdog.exit(creation);
+		return beanInstance;
+	}
+
+	/**
+	 * <p>
+	 * Creates new bean instances in bulk.
+	 * </p>
+	 * 
+	 * @param instances the array to fill with new instances
+	 */
+	@Override
+	protected final void doGet(Object[] instances) {
+		this.create();
+		BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+		try {
+			if(this.override.isPresent()) {
+				Supplier<T> override = this.override.get();
+				for(int i=0;i<instances.length;i++) {
+					instances[i] = override.get();
+				}
+			}
+			else {
+				for(int i=0;i<instances.length;i++) {
+					instances[i] = this.createWrapper().get();
+				}
+			}
+		}
+		catch(Throwable t) {
+			BeanCreationWatchdog.exit(creation, t);
+			throw t;
+		}
+		BeanCreationWatchdog.exit(creation);
 	}
 
 	/**
@@ -145,7 +185,10 @@ abstract class PrototypeWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	@Override
 	public final void destroy() {
 		synchronized(this) {
-			LOGGER.debug("Destroying prototype bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+			if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+				LOGGER.log(Logger.Level.DEBUG, "Destroying prototype bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+			}
+			this.created = false;
 		}
 	}
 	
@@ -15,6 +15,7 @@
  */
 package io.winterframework.core.v1;
 
+import java.util.Optional;
 import java.util.function.Supplier;
 
 import io.winterframework.core.v1.Module.Bean;
@@ -65,52 +66,68 @@ class PrototypeWrapperBeanBuilder<T, W extends Supplier<T>> extends AbstractWrap
 	 */
 	@Override
 	public Bean<T> build() {
-		if(this.destroys.isEmpty()) {
-			return new PrototypeWrapperBean<W, T>(this.beanName, this.override) {
+		return build(this.beanName, this.override, this.constructor, this.inits, this.destroys);
+	}
+
+	/**
+	 * <p>
+	 * Creates a prototype wrapper bean which only retains its name, override, constructor
+	 * and operations instead of the whole builder.
+	 * </p>
+	 * 
+	 * @param beanName    the bean name
+	 * @param override    an optional override
+	 * @param constructor the bean constructor
+	 * @param inits       the bean initialization operations
+	 * @param destroys    the bean destruction operations
+	 * 
+	 * @return a prototype bean
+	 */
+	private static <T, W extends Supplier<T>> Bean<T> build(String beanName, Optional<Supplier<T>> override, Supplier<W> constructor, FallibleConsumer<W>[] inits, FallibleConsumer<W>[] destroys) {
+		if(destroys.length == 0) {
+			return new PrototypeWrapperBean<W, T>(beanName, override) {
 
 				@Override
 				protected W createWrapper() {
 					W wrapper = constructor.get();
-					inits.stream().forEach(init -> {
+					for(FallibleConsumer<W> init : inits) {
 						try {
 							init.accept(wrapper);
-						} 
-						catch (Exception e) {
-							LOGGER.fatal(() -> "Error initializing bean " + name, e);
+						} catch (Exception e) {
+							LOGGER.log(Logger.Level.ERROR, "Error initializing bean " + name, e);
 							throw new RuntimeException("Error initializing bean " + name, e);
 						}
-					});
+					}
 					return wrapper;
 				}
 			};
 		}
 		else {
-			return new PrototypeWeakWrapperBean<W, T>(this.beanName, this.override) {
+			return new PrototypeWeakWrapperBean<W, T>(beanName, override) {
 
 				@Override
 				protected W createWrapper() {
 					W wrapper = constructor.get();
-					inits.stream().forEach(init -> {
+					for(FallibleConsumer<W> init : inits) {
 						try {
 							init.accept(wrapper);
-						} 
-						catch (Exception e) {
-							LOGGER.fatal(() -> "Error initializing bean " + name, e);
+						} catch (Exception e) {
+							LOGGER.log(Logger.Level.ERROR, "Error initializing bean " + name, e);
 							throw new RuntimeException("Error initializing bean " + name, e);
 						}
-					});
+					}
 					return wrapper;
 				}
 
 				@Override
 				protected void destroyWrapper(W wrapper) {
-					destroys.stream().forEach(destroy -> {
+					for(FallibleConsumer<W> destroy : destroys) {
 						try {
 							destroy.accept(wrapper);
 						} catch (Exception e) {
-							LOGGER.warn(() -> "Error destroying bean " + name, e);
+							LOGGER.log(Logger.Level.WARNING, "Error destroying bean " + name, e);
 						}
-					});
+					}
 				}
 			};
 		}
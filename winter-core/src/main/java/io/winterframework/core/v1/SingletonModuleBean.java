@@ -18,9 +18,6 @@ package io.winterframework.core.v1;
 import java.util.Optional;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.winterframework.core.v1.Module.Bean;
 
 /**
@@ -44,7 +41,7 @@ abstract class SingletonModuleBean<T> extends AbstractModuleBean<T> {
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(SingletonModuleBean.class);
+	protected static final Logger LOGGER = Logger.getLogger(SingletonModuleBean.class);
 
 	/**
 	 * The bean instance.
@@ -76,8 +73,34 @@ abstract class SingletonModuleBean<T> extends AbstractModuleBean<T> {
 	public final void create() {
 		if (this.instance == null) {
 			synchronized(this) {
-				LOGGER.debug("Creating singleton bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
-				this.instance = this.override.map(Supplier::get).orElseGet(this::createInstance);
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Creating singleton bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name + this.override.map(s -> " (overridden)").orElse(""));
+				}
+				BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+				T instance;
+				try {
+					instance = this.override.map(Supplier::get).orElseGet(this::createInstance);
+				}
+				catch(Throwable t) {
+					BeanCreationWatchdog.exit(creation, t);
+					throw t;
+				}
+				try {
+					BeanCreationWatchdog.exit(creation);
+				}
+				catch(IllegalStateException e) {
+					// The creation is rejected: the instance is released and never published
+					if(!this.override.isPresent()) {
+						try {
+							this.destroyInstance(instance);
+						}
+						catch(Throwable t) {
+							e.addSuppressed(t);
+						}
+					}
+					throw e;
+				}
+				this.instance = instance;
 				this.parent.recordBean(this);
 			}
 		}
@@ -108,7 +131,9 @@ abstract class SingletonModuleBean<T> extends AbstractModuleBean<T> {
 	public final void destroy() {
 		if (this.instance != null) {
 			synchronized(this) {
-				LOGGER.debug("Destroying singleton bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Destroying singleton bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+				}
 				if(!this.override.isPresent()) {
 					this.destroyInstance(this.instance);
 				}
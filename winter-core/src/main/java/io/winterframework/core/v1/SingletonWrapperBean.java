@@ -18,9 +18,6 @@ package io.winterframework.core.v1;
 import java.util.Optional;
 import java.util.function.Supplier;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 import io.winterframework.core.v1.Module.Bean;
 
 /**
@@ -45,7 +42,7 @@ abstract class SingletonWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	/**
 	 * The bean logger.
 	 */
-	protected static final Logger LOGGER = LogManager.getLogger(SingletonWrapperBean.class);
+	protected static final Logger LOGGER = Logger.getLogger(SingletonWrapperBean.class);
 
 	/**
 	 * The wrapper instance.
@@ -82,11 +79,42 @@ abstract class SingletonWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	public final void create() {
 		if (this.wrapper == null) {
 			synchronized(this) {
-				LOGGER.debug("Creating singleton bean {} {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name, () -> this.override.map(s -> "(overridden)").orElse(""));
-				this.instance = this.override.map(Supplier::get).orElseGet(() -> {
-					this.wrapper = this.createWrapper();
-					return this.wrapper.get();
-				});
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Creating singleton bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name + this.override.map(s -> " (overridden)").orElse(""));
+				}
+				BeanCreationWatchdog.Creation creation = BeanCreationWatchdog.enter(this);
+				W wrapper = null;
+				T instance;
+				try {
+					if(this.override.isPresent()) {
+						instance = this.override.get().get();
+					}
+					else {
+						wrapper = this.createWrapper();
+						instance = wrapper.get();
+					}
+				}
+				catch(Throwable t) {
+					BeanCreationWatchdog.exit(creation, t);
+					throw t;
+				}
+				try {
+					BeanCreationWatchdog.exit(creation);
+				}
+				catch(IllegalStateException e) {
+					// The creation is rejected: the wrapper is released and never published
+					if(wrapper != null) {
+						try {
+							this.destroyWrapper(wrapper);
+						}
+						catch(Throwable t) {
+							e.addSuppressed(t);
+						}
+					}
+					throw e;
+				}
+				this.wrapper = wrapper;
+				this.instance = instance;
 				this.parent.recordBean(this);
 			}
 		}
@@ -118,7 +146,9 @@ abstract class SingletonWrapperBean<W extends Supplier<T>, T> extends AbstractWr
 	public final void destroy() {
 		if (this.wrapper != null) {
 			synchronized(this) {
-				LOGGER.debug("Destroying singleton bean {}", () -> (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+				if (LOGGER.isEnabled(Logger.Level.DEBUG)) {
+					LOGGER.log(Logger.Level.DEBUG, "Destroying singleton bean " + (this.parent != null ? this.parent.getName() + ":" : "") + this.name);
+				}
 				if(!this.override.isPresent()) {
 					this.destroyWrapper(this.wrapper);
 					this.wrapper = null;
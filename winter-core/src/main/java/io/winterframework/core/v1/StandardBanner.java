@@ -34,6 +34,10 @@ import java.util.Optional;
  * <li>The list of modules in the application module layer.</li>
  * </ul>
  * 
+ * <p>
+ * The banner is computed the first time it is printed.
+ * </p>
+ * 
  * @author jkuhn
  * @since 1.0
  */
@@ -77,6 +81,9 @@ public class StandardBanner implements Banner {
 	 * </p>
 	 */
 	public StandardBanner() {
+	}
+
+	private String createBanner() {
 		String version = "<< n/a >>";
 
 		java.lang.Module thisModule = this.getClass().getModule();
@@ -119,11 +126,14 @@ public class StandardBanner implements Banner {
 
 		bannerBuilder.append(BANNER_FOOTER);
 
-		this.banner = bannerBuilder.toString();
+		return bannerBuilder.toString();
 	}
 
 	@Override
 	public void print(PrintStream out) {
+		if (this.banner == null) {
+			this.banner = this.createBanner();
+		}
 		out.println(this.banner);
 	}
 }
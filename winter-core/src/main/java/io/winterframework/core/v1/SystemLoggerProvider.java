@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.core.v1;
+
+/**
+ * <p>
+ * A {@link Logger.Provider} logging to the platform {@link System.Logger}.
+ * </p>
+ * 
+ * @author jkuhn
+ * @since 1.0.2
+ */
+class SystemLoggerProvider implements Logger.Provider {
+
+	private static final System.Logger.Level[] LEVELS = { System.Logger.Level.DEBUG, System.Logger.Level.INFO, System.Logger.Level.WARNING, System.Logger.Level.ERROR };
+	
+	@Override
+	public Logger getLogger(String name) {
+		System.Logger logger = System.getLogger(name);
+		return new Logger() {
+			
+			@Override
+			public boolean isEnabled(Level level) {
+				return logger.isLoggable(LEVELS[level.ordinal()]);
+			}
+			
+			@Override
+			public void log(Level level, String message, Throwable thrown) {
+				logger.log(LEVELS[level.ordinal()], message, thrown);
+			}
+		};
+	}
+}
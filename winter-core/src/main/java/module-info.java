@@ -31,10 +31,12 @@
  * @since 1.0
  */
 module io.winterframework.core {
-	requires org.apache.logging.log4j;
+	requires static org.apache.logging.log4j;
 	requires transitive java.compiler;
 	
 	requires static transitive io.winterframework.core.annotation;
 
 	exports io.winterframework.core.v1;
+	
+	uses io.winterframework.core.v1.Logger.Provider;
 }
\ No newline at end of file
@@ -17,13 +17,30 @@ package io.winterframework.test;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.TestInfo;
+
 /**
+ * <p>
+ * Base class for tests compiling and running Winter modules.
+ * </p>
+ * 
+ * <p>
+ * Modules are compiled to output directories allocated for each test class and
+ * deleted once all its tests have been executed, test classes can then safely
+ * be executed in parallel.
+ * </p>
+ * 
  * @author jkuhn
  *
  */
@@ -36,14 +53,29 @@ public abstract class AbstractWinterTest {
 	
 	private WinterTestCompiler winterCompiler;
 	
+	private File moduleTarget;
+	
+	private File moduleSourceTarget;
+	
 	private static final String MODULE_SOURCE = "src/test/mods";
 
 	private static final String MODULE_SOURCE_TARGET = "target/generated-test-sources";
 	
 	private static final String MODULE_TARGET = "target/test/mods";
 	
+	private static final String MODULE_CACHE = "target/test/cache";
+	
+	/**
+	 * <p>
+	 * The system property to set to false to disable the compilation cache.
+	 * </p>
+	 */
+	public static final String COMPILATION_CACHE_PROPERTY = "winter.test.compilationCache";
+	
 	private static final String TEST_DEPENDENCIES = "target/dependency";
 	
+	private static final Map<Class<?>, File> MODULE_TARGETS = new ConcurrentHashMap<>();
+	
 	protected AbstractWinterTest(Function<File, File> moduleOverride, Function<File, File> annotationProcessorModuleOverride) {
 		moduleOverride = moduleOverride != null ? moduleOverride : file -> file;
 		annotationProcessorModuleOverride = annotationProcessorModuleOverride != null ? annotationProcessorModuleOverride : file -> {
@@ -60,9 +92,24 @@ public abstract class AbstractWinterTest {
 		}
 		
 		try {
-			this.winterCompiler = new WinterTestCompiler(new File(MODULE_SOURCE), new File(MODULE_SOURCE_TARGET), new File(MODULE_TARGET), modulePaths, annotationProcessorModulePath);
+			// Each test class gets its own output directories so that test classes can run in parallel
+			this.moduleTarget = MODULE_TARGETS.computeIfAbsent(this.getClass(), testClass -> {
+				try {
+					new File(MODULE_TARGET).mkdirs();
+					return Files.createTempDirectory(Paths.get(MODULE_TARGET), testClass.getSimpleName() + "_").toFile();
+				}
+				catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			this.moduleSourceTarget = new File(MODULE_SOURCE_TARGET, this.moduleTarget.getName());
+			
+			this.winterCompiler = new WinterTestCompiler(new File(MODULE_SOURCE), this.moduleSourceTarget, this.moduleTarget, modulePaths, annotationProcessorModulePath);
+			if(Boolean.parseBoolean(System.getProperty(COMPILATION_CACHE_PROPERTY, "true"))) {
+				this.winterCompiler = this.winterCompiler.withCompilationCache(new File(MODULE_CACHE));
+			}
 		}
-		catch (IOException e) {
+		catch (IOException | UncheckedIOException e) {
 			throw new RuntimeException("Can't initialize Winter Compiler", e);
 		}
 	}
@@ -75,11 +122,33 @@ public abstract class AbstractWinterTest {
 		return this.winterCompiler;
 	}
 	
+	/**
+	 * <p>
+	 * Deletes the modules and the sources compiled by this test class.
+	 * </p>
+	 */
 	protected void clearModuleTarget() {
-		this.deleteDir(new File(MODULE_TARGET));
+		deleteDir(this.moduleTarget);
+		deleteDir(this.moduleSourceTarget);
+	}
+	
+	/**
+	 * <p>
+	 * Deletes the output directories of a test class once all its tests have been
+	 * executed.
+	 * </p>
+	 * 
+	 * @param testInfo the test info of the test class
+	 */
+	@AfterAll
+	public static void deleteModuleTargets(TestInfo testInfo) {
+		testInfo.getTestClass().map(MODULE_TARGETS::remove).ifPresent(moduleTarget -> {
+			deleteDir(moduleTarget);
+			deleteDir(new File(MODULE_SOURCE_TARGET, moduleTarget.getName()));
+		});
 	}
 	
-	private void deleteDir(File file) {
+	private static void deleteDir(File file) {
 	    File[] contents = file.listFiles();
 	    if (contents != null) {
 	        for (File f : contents) {
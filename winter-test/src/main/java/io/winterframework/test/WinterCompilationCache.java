@@ -0,0 +1,343 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * <p>
+ * A content-addressed cache of compilation outputs.
+ * </p>
+ * 
+ * <p>
+ * A compilation is identified by a hash of the compiler options and of the
+ * content of the module source path, module path and annotation processor
+ * module path. When a module set is compiled again with the exact same inputs,
+ * the generated files and the reported diagnostics are restored from the cache
+ * and javac is not invoked.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+class WinterCompilationCache {
+	
+	private static final Map<Path, FileHash> FILE_HASHES = new ConcurrentHashMap<>();
+
+	private File cachePath;
+	
+	public WinterCompilationCache(File cachePath) {
+		this.cachePath = cachePath;
+	}
+	
+	public File getCachePath() {
+		return cachePath;
+	}
+	
+	/**
+	 * <p>
+	 * Computes the key identifying a compilation.
+	 * </p>
+	 * 
+	 * @param options    the compiler options
+	 * @param inputPaths the files and directories the compilation depends on
+	 * 
+	 * @return a compilation key
+	 * @throws IOException if an input file could not be read
+	 */
+	public String getKey(List<String> options, Collection<File> inputPaths) throws IOException {
+		MessageDigest digest = createDigest();
+		update(digest, Runtime.version().toString());
+		for(String option : options) {
+			update(digest, option);
+		}
+		// the location of an input is irrelevant, only its content matters so that isolated tests can share cached compilations
+		int index = 0;
+		for(File inputPath : inputPaths) {
+			update(digest, "#" + index++);
+			this.hash(digest, inputPath.toPath(), inputPath.toPath());
+		}
+		return toHex(digest.digest());
+	}
+	
+	private void hash(MessageDigest digest, Path root, Path path) throws IOException {
+		if(Files.isDirectory(path)) {
+			try(Stream<Path> children = Files.list(path)) {
+				for(Path child : children.sorted().collect(Collectors.toList())) {
+					this.hash(digest, root, child);
+				}
+			}
+		}
+		else if(Files.isRegularFile(path)) {
+			update(digest, root.relativize(path).toString());
+			digest.update(this.getFileHash(path));
+		}
+	}
+	
+	private byte[] getFileHash(Path path) throws IOException {
+		long size = Files.size(path);
+		long lastModified = Files.getLastModifiedTime(path).toMillis();
+		FileHash fileHash = FILE_HASHES.get(path);
+		if(fileHash == null || fileHash.size != size || fileHash.lastModified != lastModified) {
+			MessageDigest fileDigest = createDigest();
+			try(InputStream in = Files.newInputStream(path)) {
+				byte[] buffer = new byte[8192];
+				int read;
+				while( (read = in.read(buffer)) != -1) {
+					fileDigest.update(buffer, 0, read);
+				}
+			}
+			fileHash = new FileHash(size, lastModified, fileDigest.digest());
+			FILE_HASHES.put(path, fileHash);
+		}
+		return fileHash.hash;
+	}
+	
+	public Optional<CachedCompilation> get(String key) {
+		File cacheFile = new File(this.cachePath, key);
+		if(!cacheFile.isFile()) {
+			return Optional.empty();
+		}
+		try(ObjectInputStream in = new ObjectInputStream(Files.newInputStream(cacheFile.toPath()))) {
+			return Optional.of((CachedCompilation)in.readObject());
+		}
+		catch (IOException | ClassNotFoundException e) {
+			// corrupted or incompatible entry, compile again
+			return Optional.empty();
+		}
+	}
+	
+	public void put(String key, CachedCompilation compilation) throws IOException {
+		this.cachePath.mkdirs();
+		Path cacheFile = new File(this.cachePath, key).toPath();
+		Path tmpFile = Files.createTempFile(this.cachePath.toPath(), key, ".tmp");
+		try {
+			try(OutputStream out = Files.newOutputStream(tmpFile); ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+				objectOut.writeObject(compilation);
+			}
+			try {
+				Files.move(tmpFile, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch(AtomicMoveNotSupportedException e) {
+				Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally {
+			Files.deleteIfExists(tmpFile);
+		}
+	}
+	
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} 
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte)0);
+	}
+	
+	private static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder();
+		for(byte b : bytes) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+	
+	private static class FileHash {
+		
+		private long size;
+		
+		private long lastModified;
+		
+		private byte[] hash;
+		
+		public FileHash(long size, long lastModified, byte[] hash) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.hash = hash;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * The result of a compilation stored in the cache.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 *
+	 */
+	static class CachedCompilation implements Serializable {
+		
+		private static final long serialVersionUID = -2411526497346287542L;
+
+		private boolean success;
+		
+		private WinterCompilationOutput output;
+		
+		private List<CachedDiagnostic> diagnostics;
+		
+		public CachedCompilation(boolean success, WinterCompilationOutput output, List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+			this.success = success;
+			this.output = output;
+			this.diagnostics = diagnostics.stream().map(CachedDiagnostic::new).collect(Collectors.toList());
+		}
+		
+		public boolean isSuccess() {
+			return success;
+		}
+		
+		public WinterCompilationOutput getOutput() {
+			return output;
+		}
+		
+		public List<? extends Diagnostic<? extends JavaFileObject>> getDiagnostics() {
+			return diagnostics;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * A detached copy of a diagnostic reported by the compiler, the source file
+	 * object is not retained.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 *
+	 */
+	private static class CachedDiagnostic implements Diagnostic<JavaFileObject>, Serializable {
+		
+		private static final long serialVersionUID = 3474862377939834561L;
+
+		private Kind kind;
+		
+		private String sourceName;
+		
+		private long position;
+		
+		private long startPosition;
+		
+		private long endPosition;
+		
+		private long lineNumber;
+		
+		private long columnNumber;
+		
+		private String code;
+		
+		private String message;
+		
+		public CachedDiagnostic(Diagnostic<? extends JavaFileObject> diagnostic) {
+			this.kind = diagnostic.getKind();
+			this.sourceName = diagnostic.getSource() != null ? diagnostic.getSource().getName() : null;
+			this.position = diagnostic.getPosition();
+			this.startPosition = diagnostic.getStartPosition();
+			this.endPosition = diagnostic.getEndPosition();
+			this.lineNumber = diagnostic.getLineNumber();
+			this.columnNumber = diagnostic.getColumnNumber();
+			this.code = diagnostic.getCode();
+			this.message = diagnostic.getMessage(Locale.getDefault());
+		}
+
+		@Override
+		public Kind getKind() {
+			return this.kind;
+		}
+
+		@Override
+		public JavaFileObject getSource() {
+			return null;
+		}
+
+		@Override
+		public long getPosition() {
+			return this.position;
+		}
+
+		@Override
+		public long getStartPosition() {
+			return this.startPosition;
+		}
+
+		@Override
+		public long getEndPosition() {
+			return this.endPosition;
+		}
+
+		@Override
+		public long getLineNumber() {
+			return this.lineNumber;
+		}
+
+		@Override
+		public long getColumnNumber() {
+			return this.columnNumber;
+		}
+
+		@Override
+		public String getCode() {
+			return this.code;
+		}
+
+		@Override
+		public String getMessage(Locale locale) {
+			return this.message;
+		}
+		
+		@Override
+		public String toString() {
+			StringBuilder str = new StringBuilder();
+			if(this.sourceName != null) {
+				str.append(this.sourceName).append(":");
+				if(this.lineNumber != NOPOS) {
+					str.append(this.lineNumber).append(":");
+				}
+				str.append(" ");
+			}
+			str.append(this.kind.toString().toLowerCase()).append(": ").append(this.message);
+			return str.toString();
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.module.ModuleDescriptor;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReader;
+import java.lang.module.ModuleReference;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * The files generated by a compilation: class files and resources in the class
+ * output and generated sources in the source output, indexed by their path
+ * relative to the output root (ie. {@code <module>/<package path>/<name>}).
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+class WinterCompilationOutput implements Serializable {
+
+	private static final long serialVersionUID = 5011236574637431358L;
+	
+	private static final String MODULE_INFO = "module-info.class";
+
+	private Map<String, byte[]> classes;
+	
+	private Map<String, byte[]> sources;
+	
+	public WinterCompilationOutput() {
+		this.classes = new ConcurrentSkipListMap<>();
+		this.sources = new ConcurrentSkipListMap<>();
+	}
+	
+	public Map<String, byte[]> getClasses() {
+		return classes;
+	}
+	
+	public Map<String, byte[]> getSources() {
+		return sources;
+	}
+	
+	public void putAll(WinterCompilationOutput output) {
+		this.classes.putAll(output.classes);
+		this.sources.putAll(output.sources);
+	}
+	
+	public void writeTo(File classOutputPath, File sourceOutputPath) throws IOException {
+		this.writeTo(this.classes, classOutputPath);
+		this.writeTo(this.sources, sourceOutputPath);
+	}
+	
+	private void writeTo(Map<String, byte[]> files, File outputPath) throws IOException {
+		for(Map.Entry<String, byte[]> e : files.entrySet()) {
+			File file = new File(outputPath, e.getKey());
+			file.getParentFile().mkdirs();
+			Files.write(file.toPath(), e.getValue());
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Returns a module finder locating the modules compiled in memory.
+	 * </p>
+	 * 
+	 * <p>
+	 * Classes are read directly from memory, resources can't be located by URL
+	 * (eg. {@link ClassLoader#getResource(String)}) and module annotations are
+	 * therefore not accessible at runtime.
+	 * </p>
+	 * 
+	 * @return a module finder
+	 */
+	public ModuleFinder getModuleFinder() {
+		Map<String, ModuleReference> moduleReferences = this.classes.keySet().stream()
+			.filter(path -> path.endsWith("/" + MODULE_INFO))
+			.map(path -> path.substring(0, path.length() - MODULE_INFO.length() - 1))
+			.filter(module -> module.indexOf('/') == -1)
+			.map(this::createModuleReference)
+			.collect(Collectors.toMap(reference -> reference.descriptor().name(), reference -> reference));
+		
+		return new ModuleFinder() {
+			
+			@Override
+			public Optional<ModuleReference> find(String name) {
+				return Optional.ofNullable(moduleReferences.get(name));
+			}
+			
+			@Override
+			public Set<ModuleReference> findAll() {
+				return Set.copyOf(moduleReferences.values());
+			}
+		};
+	}
+	
+	private ModuleReference createModuleReference(String module) {
+		String modulePrefix = module + "/";
+		Map<String, byte[]> moduleEntries = this.classes.entrySet().stream()
+			.filter(e -> e.getKey().startsWith(modulePrefix))
+			.collect(Collectors.toMap(e -> e.getKey().substring(modulePrefix.length()), Map.Entry::getValue));
+		
+		Set<String> packages = moduleEntries.keySet().stream()
+			.filter(name -> name.endsWith(".class") && !name.equals(MODULE_INFO) && name.lastIndexOf('/') > 0)
+			.map(name -> name.substring(0, name.lastIndexOf('/')).replace('/', '.'))
+			.collect(Collectors.toSet());
+		
+		ModuleDescriptor descriptor = ModuleDescriptor.read(ByteBuffer.wrap(moduleEntries.get(MODULE_INFO)), () -> packages);
+		return new ModuleReference(descriptor, null) {
+			
+			@Override
+			public ModuleReader open() throws IOException {
+				return new ModuleReader() {
+					
+					@Override
+					public Optional<URI> find(String name) throws IOException {
+						// in-memory entries can't be converted to URLs
+						return Optional.empty();
+					}
+					
+					@Override
+					public Optional<InputStream> open(String name) throws IOException {
+						return Optional.ofNullable(moduleEntries.get(name)).map(ByteArrayInputStream::new);
+					}
+					
+					@Override
+					public Optional<ByteBuffer> read(String name) throws IOException {
+						return Optional.ofNullable(moduleEntries.get(name)).map(ByteBuffer::wrap);
+					}
+					
+					@Override
+					public Stream<String> list() throws IOException {
+						return moduleEntries.keySet().stream();
+					}
+					
+					@Override
+					public void close() throws IOException {
+						
+					}
+				};
+			}
+		};
+	}
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Generates classes adapting a module to an interface provided by a test.
+ * </p>
+ * 
+ * <p>
+ * An adapter class implements the interface and holds an array of method
+ * handles bound to the module instance, each interface method simply loads its
+ * arguments and calls {@link MethodHandle#invokeExact(Object...)} on the
+ * corresponding handle. Unlike a {@link java.lang.reflect.Proxy}, no array is
+ * allocated and no arguments are boxed on invocation.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+final class WinterModuleAdapterGenerator {
+
+	private static final String ADAPTER_SUFFIX = "$$WinterAdapter$";
+	
+	private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+	
+	private static final String HANDLES_FIELD = "handles";
+	
+	private static final String HANDLES_DESCRIPTOR = "[L" + METHOD_HANDLE + ";";
+	
+	private static final AtomicInteger ADAPTER_COUNT = new AtomicInteger();
+	
+	private static final ClassValue<AdapterClass> ADAPTER_CLASSES = new ClassValue<>() {
+		
+		@Override
+		protected AdapterClass computeValue(Class<?> type) {
+			return new AdapterClass(type);
+		}
+	};
+	
+	private WinterModuleAdapterGenerator() {}
+	
+	public static <T> T createAdapter(Class<T> moduleType, MethodHandles.Lookup lookup, Object module) throws IllegalArgumentException {
+		if(!moduleType.isInterface()) {
+			throw new IllegalArgumentException(moduleType.getCanonicalName() + " is not an interface");
+		}
+		AdapterClass adapterClass = ADAPTER_CLASSES.get(moduleType);
+		
+		MethodHandle[] handles = new MethodHandle[adapterClass.methods.size()];
+		for(int i=0;i<handles.length;i++) {
+			handles[i] = resolveHandle(adapterClass.methods.get(i), module);
+		}
+		try {
+			return moduleType.cast((Object)adapterClass.getConstructor(lookup).invokeExact(handles));
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException("Error creating adapter " + moduleType.getCanonicalName(), e);
+		}
+	}
+	
+	private static MethodHandle resolveHandle(Method method, Object module) throws IllegalArgumentException {
+		List<Method> moduleMethods = Arrays.stream(module.getClass().getMethods())
+			.filter(m -> !Modifier.isStatic(m.getModifiers()) && m.getName().equals(method.getName()) && m.getParameterCount() == method.getParameterCount())
+			.collect(Collectors.toList());
+		if(moduleMethods.isEmpty()) {
+			throw new IllegalArgumentException("Module " + module.getClass().getCanonicalName() + " does not define method " + method.getName() + " with " + method.getParameterCount() + " parameter(s)");
+		}
+		else if(moduleMethods.size() > 1) {
+			throw new IllegalArgumentException("Module " + module.getClass().getCanonicalName() + " defines multiple methods " + method.getName() + " with " + method.getParameterCount() + " parameter(s)");
+		}
+		Class<?> moduleReturnType = moduleMethods.get(0).getReturnType();
+		if(!method.getReturnType().isPrimitive() && !moduleReturnType.isPrimitive() && !method.getReturnType().isAssignableFrom(moduleReturnType)) {
+			// asType() would otherwise insert a cast failing on invocation
+			throw new IllegalArgumentException("Method " + method + " is not compatible with " + moduleMethods.get(0));
+		}
+		try {
+			return MethodHandles.lookup().unreflect(moduleMethods.get(0)).bindTo(module).asType(MethodType.methodType(method.getReturnType(), method.getParameterTypes()));
+		}
+		catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Can't access method " + method.getName() + " of module " + module.getClass().getCanonicalName(), e);
+		}
+		catch (WrongMethodTypeException e) {
+			throw new IllegalArgumentException("Method " + method + " is not compatible with " + moduleMethods.get(0), e);
+		}
+	}
+	
+	private static class AdapterClass {
+		
+		private Class<?> moduleType;
+		
+		private List<Method> methods;
+		
+		private volatile MethodHandle constructor;
+		
+		public AdapterClass(Class<?> moduleType) {
+			this.moduleType = moduleType;
+			// a method inherited from several interfaces must be implemented once
+			this.methods = List.copyOf(Arrays.stream(moduleType.getMethods())
+				.filter(m -> Modifier.isAbstract(m.getModifiers()))
+				.collect(Collectors.toMap(m -> m.getName() + MethodType.methodType(m.getReturnType(), m.getParameterTypes()).toMethodDescriptorString(), m -> m, (m1, m2) -> m1, LinkedHashMap::new))
+				.values());
+		}
+		
+		public MethodHandle getConstructor(MethodHandles.Lookup lookup) throws IllegalAccessException, NoSuchMethodException {
+			if(this.constructor == null) {
+				synchronized(this) {
+					if(this.constructor == null) {
+						String adapterClassName = lookup.lookupClass().getPackageName().replace('.', '/') + "/" + this.moduleType.getSimpleName() + ADAPTER_SUFFIX + ADAPTER_COUNT.incrementAndGet();
+						Class<?> adapterClass = lookup.defineClass(generate(adapterClassName, this.moduleType, this.methods));
+						this.constructor = lookup.findConstructor(adapterClass, MethodType.methodType(void.class, MethodHandle[].class)).asType(MethodType.methodType(Object.class, MethodHandle[].class));
+					}
+				}
+			}
+			return this.constructor;
+		}
+	}
+	
+	private static byte[] generate(String className, Class<?> moduleType, List<Method> methods) {
+		try {
+			ConstantPool constantPool = new ConstantPool();
+			ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+			DataOutputStream body = new DataOutputStream(bodyBytes);
+			
+			body.writeShort(0x1030); // ACC_SYNTHETIC | ACC_FINAL | ACC_SUPER
+			body.writeShort(constantPool.classRef(className));
+			body.writeShort(constantPool.classRef("java/lang/Object"));
+			body.writeShort(1);
+			body.writeShort(constantPool.classRef(moduleType.getName().replace('.', '/')));
+			
+			// private final MethodHandle[] handles;
+			body.writeShort(1);
+			body.writeShort(0x0012); // ACC_PRIVATE | ACC_FINAL
+			body.writeShort(constantPool.utf8(HANDLES_FIELD));
+			body.writeShort(constantPool.utf8(HANDLES_DESCRIPTOR));
+			body.writeShort(0);
+			
+			int handlesField = constantPool.fieldRef(className, HANDLES_FIELD, HANDLES_DESCRIPTOR);
+			
+			body.writeShort(methods.size() + 1);
+			
+			// constructor
+			ByteArrayOutputStream code = new ByteArrayOutputStream();
+			DataOutputStream codeOut = new DataOutputStream(code);
+			codeOut.writeByte(0x2a); // aload_0
+			codeOut.writeByte(0xb7); // invokespecial
+			codeOut.writeShort(constantPool.methodRef("java/lang/Object", "<init>", "()V"));
+			codeOut.writeByte(0x2a); // aload_0
+			codeOut.writeByte(0x2b); // aload_1
+			codeOut.writeByte(0xb5); // putfield
+			codeOut.writeShort(handlesField);
+			codeOut.writeByte(0xb1); // return
+			writeMethod(body, constantPool, 0x0001, "<init>", "(" + HANDLES_DESCRIPTOR + ")V", 2, 2, code.toByteArray());
+			
+			for(int i=0;i<methods.size();i++) {
+				Method method = methods.get(i);
+				String methodDescriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+				
+				code = new ByteArrayOutputStream();
+				codeOut = new DataOutputStream(code);
+				codeOut.writeByte(0x2a); // aload_0
+				codeOut.writeByte(0xb4); // getfield
+				codeOut.writeShort(handlesField);
+				if(i <= 5) {
+					codeOut.writeByte(0x03 + i); // iconst_<i>
+				}
+				else if(i <= Byte.MAX_VALUE) {
+					codeOut.writeByte(0x10); // bipush
+					codeOut.writeByte(i);
+				}
+				else {
+					codeOut.writeByte(0x11); // sipush
+					codeOut.writeShort(i);
+				}
+				codeOut.writeByte(0x32); // aaload
+				int slot = 1;
+				for(Class<?> parameterType : method.getParameterTypes()) {
+					if(slot > 255) {
+						throw new IllegalArgumentException("Too many parameters in method " + method);
+					}
+					codeOut.writeByte(getLoadOpcode(parameterType));
+					codeOut.writeByte(slot);
+					slot += parameterType == long.class || parameterType == double.class ? 2 : 1;
+				}
+				codeOut.writeByte(0xb6); // invokevirtual
+				codeOut.writeShort(constantPool.methodRef(METHOD_HANDLE, "invokeExact", methodDescriptor));
+				codeOut.writeByte(getReturnOpcode(method.getReturnType()));
+				
+				writeMethod(body, constantPool, 0x0001, method.getName(), methodDescriptor, slot + 2, slot, code.toByteArray());
+			}
+			
+			body.writeShort(0); // attributes
+			
+			ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+			DataOutputStream classOut = new DataOutputStream(classBytes);
+			classOut.writeInt(0xCAFEBABE);
+			classOut.writeShort(0);
+			classOut.writeShort(55); // Java 11
+			constantPool.writeTo(classOut);
+			bodyBytes.writeTo(classOut);
+			return classBytes.toByteArray();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static void writeMethod(DataOutputStream out, ConstantPool constantPool, int access, String name, String descriptor, int maxStack, int maxLocals, byte[] code) throws IOException {
+		out.writeShort(access);
+		out.writeShort(constantPool.utf8(name));
+		out.writeShort(constantPool.utf8(descriptor));
+		out.writeShort(1);
+		out.writeShort(constantPool.utf8("Code"));
+		out.writeInt(12 + code.length);
+		out.writeShort(maxStack);
+		out.writeShort(maxLocals);
+		out.writeInt(code.length);
+		out.write(code);
+		out.writeShort(0); // exception table
+		out.writeShort(0); // attributes
+	}
+	
+	private static int getLoadOpcode(Class<?> type) {
+		if(type == long.class) {
+			return 0x16; // lload
+		}
+		else if(type == float.class) {
+			return 0x17; // fload
+		}
+		else if(type == double.class) {
+			return 0x18; // dload
+		}
+		else if(type.isPrimitive()) {
+			return 0x15; // iload
+		}
+		return 0x19; // aload
+	}
+	
+	private static int getReturnOpcode(Class<?> type) {
+		if(type == void.class) {
+			return 0xb1; // return
+		}
+		else if(type == long.class) {
+			return 0xad; // lreturn
+		}
+		else if(type == float.class) {
+			return 0xae; // freturn
+		}
+		else if(type == double.class) {
+			return 0xaf; // dreturn
+		}
+		else if(type.isPrimitive()) {
+			return 0xac; // ireturn
+		}
+		return 0xb0; // areturn
+	}
+	
+	private static class ConstantPool {
+		
+		private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		
+		private DataOutputStream out = new DataOutputStream(this.bytes);
+		
+		private Map<String, Integer> entries = new HashMap<>();
+		
+		private int count = 1;
+		
+		private int add(String key, int tag, int... indexes) throws IOException {
+			Integer index = this.entries.get(key);
+			if(index == null) {
+				this.out.writeByte(tag);
+				for(int i : indexes) {
+					this.out.writeShort(i);
+				}
+				index = this.count++;
+				this.entries.put(key, index);
+			}
+			return index;
+		}
+		
+		public int utf8(String value) throws IOException {
+			Integer index = this.entries.get("U" + value);
+			if(index == null) {
+				this.out.writeByte(1);
+				this.out.writeUTF(value);
+				index = this.count++;
+				this.entries.put("U" + value, index);
+			}
+			return index;
+		}
+		
+		public int classRef(String internalName) throws IOException {
+			return this.add("C" + internalName, 7, this.utf8(internalName));
+		}
+		
+		private int nameAndType(String name, String descriptor) throws IOException {
+			return this.add("N" + name + ":" + descriptor, 12, this.utf8(name), this.utf8(descriptor));
+		}
+		
+		public int fieldRef(String owner, String name, String descriptor) throws IOException {
+			return this.add("F" + owner + "." + name + ":" + descriptor, 9, this.classRef(owner), this.nameAndType(name, descriptor));
+		}
+		
+		public int methodRef(String owner, String name, String descriptor) throws IOException {
+			return this.add("M" + owner + "." + name + ":" + descriptor, 10, this.classRef(owner), this.nameAndType(name, descriptor));
+		}
+		
+		public void writeTo(DataOutputStream classOut) throws IOException {
+			classOut.writeShort(this.count);
+			this.bytes.writeTo(classOut);
+		}
+	}
+}
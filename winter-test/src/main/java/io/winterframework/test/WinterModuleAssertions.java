@@ -0,0 +1,294 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.test;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * <p>
+ * Performance assertions on compiled modules.
+ * </p>
+ * 
+ * <p>
+ * These assertions allow to define a performance budget for a module next to
+ * functional tests, a failed assertion throws an {@link AssertionError}.
+ * </p>
+ * 
+ * <pre>
+ * WinterModuleProxy module = this.getWinterCompiler().withCompilerOptions("-Awinter.instrument").compile(MODULE).load(MODULE).build();
+ * 
+ * WinterModuleAssertions.assertStart(module)
+ *     .maxTime(Duration.ofMillis(50))
+ *     .maxCreatedBeans(10)
+ *     .maxLoadedClasses(200);
+ * 
+ * WinterModuleAssertions.assertAccessAllocation(module, "beanA", 0);
+ * module.stop();
+ * </pre>
+ * 
+ * <p>
+ * The start time and the number of loaded classes are measured for the whole
+ * JVM, tests asserting on them must not be executed concurrently with other
+ * tests: when JUnit parallel execution is enabled, they should be annotated
+ * with {@code @Isolated}.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+public final class WinterModuleAssertions {
+
+	private static final int ACCESS_WARMUP_ITERATIONS = 10000;
+	
+	private static final int ACCESS_ITERATIONS = 10000;
+	
+	private WinterModuleAssertions() {}
+	
+	/**
+	 * <p>
+	 * Starts the specified module and returns the resulting start measures.
+	 * </p>
+	 * 
+	 * <p>
+	 * The module is left active and must be stopped by the caller.
+	 * </p>
+	 * 
+	 * @param module an inactive module
+	 * 
+	 * @return start assertions
+	 * @throws WinterModuleException if there was an error starting the module
+	 */
+	public static StartAssertion assertStart(WinterModuleProxy module) throws WinterModuleException {
+		ClassLoadingMXBean classLoadingMXBean = ManagementFactory.getClassLoadingMXBean();
+		
+		long createdBeansBefore = getCreatedBeans(module);
+		long loadedClassesBefore = classLoadingMXBean.getTotalLoadedClassCount();
+		long t0 = System.nanoTime();
+		module.start();
+		long time = System.nanoTime() - t0;
+		long loadedClasses = classLoadingMXBean.getTotalLoadedClassCount() - loadedClassesBefore;
+		long createdBeans = createdBeansBefore >= 0 ? getCreatedBeans(module) - createdBeansBefore : -1;
+		
+		return new StartAssertion(module.getName(), Duration.ofNanos(time), createdBeans, loadedClasses);
+	}
+	
+	/**
+	 * <p>
+	 * Asserts that an access to the specified bean allocates at most the
+	 * specified number of bytes on average.
+	 * </p>
+	 * 
+	 * <p>
+	 * The accessor is invoked repeatedly on the current thread, once to warm up
+	 * and then to measure the bytes allocated by the thread as reported by
+	 * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+	 * </p>
+	 * 
+	 * @param module   an active module
+	 * @param beanName the name of the bean accessor
+	 * @param maxBytes the maximum number of bytes allocated per access
+	 * 
+	 * @return the average number of bytes allocated per access
+	 * @throws AssertionError        if more bytes than expected were allocated
+	 * @throws IllegalStateException if the JVM does not support thread
+	 *                               allocation accounting
+	 */
+	public static long assertAccessAllocation(WinterModuleProxy module, String beanName, long maxBytes) throws AssertionError, IllegalStateException {
+		com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		
+		for(int i=0;i<ACCESS_WARMUP_ITERATIONS;i++) {
+			module.getBean(beanName);
+		}
+		
+		// substract the allocations of the measure itself
+		long baselineStart = threadMXBean.getThreadAllocatedBytes(threadId);
+		long baseline = threadMXBean.getThreadAllocatedBytes(threadId) - baselineStart;
+		
+		long start = threadMXBean.getThreadAllocatedBytes(threadId);
+		for(int i=0;i<ACCESS_ITERATIONS;i++) {
+			module.getBean(beanName);
+		}
+		long allocation = Math.max(0, (threadMXBean.getThreadAllocatedBytes(threadId) - start - baseline) / ACCESS_ITERATIONS);
+		
+		if(allocation > maxBytes) {
+			throw new AssertionError("Access to bean " + module.getName() + ":" + beanName + " allocated " + allocation + " bytes, expected at most " + maxBytes + " bytes");
+		}
+		return allocation;
+	}
+	
+	private static com.sun.management.ThreadMXBean getThreadMXBean() throws IllegalStateException {
+		try {
+			if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+				if(threadMXBean.isThreadAllocatedMemorySupported()) {
+					threadMXBean.setThreadAllocatedMemoryEnabled(true);
+					return threadMXBean;
+				}
+			}
+		}
+		catch(Throwable t) {
+			// jdk.management is not available
+		}
+		throw new IllegalStateException("Thread allocation accounting is not supported");
+	}
+	
+	private static long getCreatedBeans(WinterModuleProxy module) {
+		List<?> beanStats = (List<?>)module.getBean("getBeanStats");
+		if(beanStats.isEmpty()) {
+			return -1;
+		}
+		long createdBeans = 0;
+		for(Object stats : beanStats) {
+			try {
+				// BeanStats is defined in the module layer
+				createdBeans += (long)stats.getClass().getMethod("getCreationCount").invoke(stats);
+			}
+			catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+				throw new IllegalStateException("Can't read bean statistics of module " + module.getName(), e);
+			}
+		}
+		return createdBeans;
+	}
+	
+	/**
+	 * <p>
+	 * Assertions on the measures of a module start.
+	 * </p>
+	 * 
+	 * @author jkuhn
+	 *
+	 */
+	public static class StartAssertion {
+		
+		private String moduleName;
+		
+		private Duration time;
+		
+		private long createdBeans;
+		
+		private long loadedClasses;
+		
+		private StartAssertion(String moduleName, Duration time, long createdBeans, long loadedClasses) {
+			this.moduleName = moduleName;
+			this.time = time;
+			this.createdBeans = createdBeans;
+			this.loadedClasses = loadedClasses;
+		}
+		
+		/**
+		 * <p>
+		 * Returns the time it took to start the module.
+		 * </p>
+		 * 
+		 * @return the start time
+		 */
+		public Duration getTime() {
+			return time;
+		}
+		
+		/**
+		 * <p>
+		 * Returns the number of beans created when starting the module.
+		 * </p>
+		 * 
+		 * @return the number of created beans or -1 if the module was not compiled
+		 *         with -Awinter.instrument
+		 */
+		public long getCreatedBeans() {
+			return createdBeans;
+		}
+		
+		/**
+		 * <p>
+		 * Returns the number of classes loaded in the JVM while starting the
+		 * module.
+		 * </p>
+		 * 
+		 * @return the number of loaded classes
+		 */
+		public long getLoadedClasses() {
+			return loadedClasses;
+		}
+		
+		/**
+		 * <p>
+		 * Asserts that the module started within the specified time.
+		 * </p>
+		 * 
+		 * @param maxTime the maximum start time
+		 * 
+		 * @return this assertion
+		 * @throws AssertionError if the module took longer to start
+		 */
+		public StartAssertion maxTime(Duration maxTime) throws AssertionError {
+			if(this.time.compareTo(maxTime) > 0) {
+				throw new AssertionError("Module " + this.moduleName + " started in " + this.time.toMillis() + "ms, expected at most " + maxTime.toMillis() + "ms");
+			}
+			return this;
+		}
+		
+		/**
+		 * <p>
+		 * Asserts that at most the specified number of beans were created when
+		 * starting the module.
+		 * </p>
+		 * 
+		 * <p>
+		 * Beans are counted from the statistics collected by modules compiled
+		 * with -Awinter.instrument, beans created by component modules are not
+		 * counted.
+		 * </p>
+		 * 
+		 * @param maxCreatedBeans the maximum number of created beans
+		 * 
+		 * @return this assertion
+		 * @throws AssertionError        if more beans were created
+		 * @throws IllegalStateException if the module is not instrumented
+		 */
+		public StartAssertion maxCreatedBeans(long maxCreatedBeans) throws AssertionError, IllegalStateException {
+			if(this.createdBeans < 0) {
+				throw new IllegalStateException("Module " + this.moduleName + " must be compiled with -Awinter.instrument to count created beans");
+			}
+			if(this.createdBeans > maxCreatedBeans) {
+				throw new AssertionError("Module " + this.moduleName + " created " + this.createdBeans + " beans on start, expected at most " + maxCreatedBeans);
+			}
+			return this;
+		}
+		
+		/**
+		 * <p>
+		 * Asserts that at most the specified number of classes were loaded when
+		 * starting the module.
+		 * </p>
+		 * 
+		 * @param maxLoadedClasses the maximum number of loaded classes
+		 * 
+		 * @return this assertion
+		 * @throws AssertionError if more classes were loaded
+		 */
+		public StartAssertion maxLoadedClasses(long maxLoadedClasses) throws AssertionError {
+			if(this.loadedClasses > maxLoadedClasses) {
+				throw new AssertionError("Module " + this.moduleName + " loaded " + this.loadedClasses + " classes on start, expected at most " + maxLoadedClasses);
+			}
+			return this;
+		}
+	}
+}
@@ -15,17 +15,23 @@
  */
 package io.winterframework.test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
 import java.lang.module.Configuration;
 import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReader;
+import java.lang.module.ModuleReference;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -36,7 +42,13 @@ public class WinterModuleLoader {
 	
 	private ModuleLayer layer;
 	
+	private Map<String, Class<?>> moduleBuilderClasses;
+	
 	public WinterModuleLoader(Collection<Path> modulePaths, Collection<String> modules) throws MalformedURLException {
+		this(ModuleFinder.of(), modulePaths, modules);
+	}
+	
+	public WinterModuleLoader(ModuleFinder inMemoryFinder, Collection<Path> modulePaths, Collection<String> modules) throws MalformedURLException {
 		ModuleFinder finder = ModuleFinder.of(modulePaths.toArray(new Path[modulePaths.size()]));
 		ModuleLayer parent = ModuleLayer.boot();
 		
@@ -49,25 +61,58 @@ public class WinterModuleLoader {
 			.filter(ref -> ref.location().isPresent())
 			.map(ref -> Paths.get(ref.location().get()))
 			.toArray(Path[]::new));
+		finder = ModuleFinder.compose(inMemoryFinder, finder);
 		
 		Configuration cf = parent.configuration().resolve(finder, ModuleFinder.of(), modules);
 		
 		this.layer = parent.defineModulesWithOneLoader(cf, ClassLoader.getPlatformClassLoader());
+		this.moduleBuilderClasses = new ConcurrentHashMap<>();
 	}
 	
 	public Class<?> loadClass(String moduleName, String className) throws ClassNotFoundException {
 		return this.layer.findLoader(moduleName).loadClass(className);
 	}
 	
+	private String findInMemoryModuleClassName(String moduleName) {
+		ModuleReference moduleReference = this.layer.configuration().findModule(moduleName).get().reference();
+		if(moduleReference.location().isPresent()) {
+			return null;
+		}
+		// module-info.class can't be read by the class loader when the module was compiled in memory: look for the generated module class instead
+		try(ModuleReader moduleReader = moduleReference.open()) {
+			return moduleReader.list()
+				.filter(name -> name.endsWith("$Builder.class"))
+				.map(name -> name.substring(0, name.length() - "$Builder.class".length()).replace('/', '.'))
+				.filter(className -> {
+					try {
+						Class<?> superClass = this.loadClass(moduleName, className).getSuperclass();
+						return superClass != null && superClass.getCanonicalName().equals(io.winterframework.core.v1.Module.class.getCanonicalName());
+					} 
+					catch (ClassNotFoundException e) {
+						return false;
+					}
+				})
+				.findFirst()
+				.orElse(null);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
 	public WinterModuleProxyBuilder load(String moduleName) {
+		return new WinterModuleProxyBuilder(moduleName, this.moduleBuilderClasses.computeIfAbsent(moduleName, this::loadModuleBuilderClass));
+	}
+	
+	private Class<?> loadModuleBuilderClass(String moduleName) {
 		Optional<Module> module = this.layer.findModule(moduleName);
 		if(module.isPresent()) {
 			Optional<Annotation> moduleAnnotation = Arrays.stream(module.get().getAnnotations())
 				.filter(a -> a.annotationType().getCanonicalName().equals(io.winterframework.core.annotation.Module.class.getCanonicalName()))
 				.findFirst();
 			
+			String moduleClassName = null;
 			if(moduleAnnotation.isPresent()) {
-				String moduleClassName = null;
 				try {
 					moduleClassName = (String)moduleAnnotation.get().getClass().getMethod("className").invoke(moduleAnnotation.get());
 				} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
@@ -79,11 +124,14 @@ public class WinterModuleLoader {
 					moduleClassName = moduleNameParts[moduleNameParts.length-1];
 					moduleClassName = moduleName + "." + Character.toUpperCase(moduleClassName.charAt(0)) + moduleClassName.substring(1);
 				}
-				
+			}
+			else {
+				moduleClassName = this.findInMemoryModuleClassName(moduleName);
+			}
+			
+			if(moduleClassName != null) {
 				try {
-					Class<?> moduleBuilderClass = layer.findLoader(moduleName).loadClass(moduleClassName + "$Builder");
-					return new WinterModuleProxyBuilder(moduleName, moduleBuilderClass);
-					
+					return layer.findLoader(moduleName).loadClass(moduleClassName + "$Builder");
 				} catch (ClassNotFoundException e) {
 					throw new RuntimeException("Error loading module " +  moduleName);
 				}
@@ -15,74 +15,154 @@
  */
 package io.winterframework.test;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.winterframework.core.v1.Module;
 
 /**
+ * <p>
+ * A proxy to a module loaded in a test module layer.
+ * </p>
+ * 
+ * <p>
+ * Module methods are resolved once to method handles which are then cached so
+ * that invoking a bean accessor through the proxy costs little more than a
+ * direct call. Tests can also access the module through an interface of their
+ * own using {@link #as(Class)}.
+ * </p>
+ * 
  * @author jkuhn
  *
  */
 public class WinterModuleProxy extends Module {
 
+	private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class);
+	
 	private Object module;
 	
+	private Map<String, MethodHandle> accessors;
+	
 	public WinterModuleProxy(Object module) {
 		super(null);
 		this.module = module;
+		this.accessors = new ConcurrentHashMap<>();
 	}
-
-	@Override
-	public String getName() throws WinterModuleException {
+	
+	private MethodHandle getAccessor(String name) {
+		MethodHandle accessor = this.accessors.get(name);
+		if(accessor == null) {
+			try {
+				accessor = MethodHandles.lookup().unreflect(this.module.getClass().getMethod(name)).bindTo(this.module).asType(ACCESSOR_TYPE);
+			}
+			catch (IllegalAccessException | NoSuchMethodException | SecurityException e) {
+				throw new RuntimeException(e);
+			}
+			this.accessors.put(name, accessor);
+		}
+		return accessor;
+	}
+	
+	private Object invoke(String name) throws WinterModuleException {
+		MethodHandle accessor = this.getAccessor(name);
 		try {
-			return (String)this.module.getClass().getMethod("getName").invoke(this.module);
-		} 
-		catch(InvocationTargetException e) {
-			throw new WinterModuleException(e.getCause());
+			return (Object)accessor.invokeExact();
 		}
-		catch (IllegalAccessException | IllegalArgumentException | NoSuchMethodException
-				| SecurityException e) {
-			throw new RuntimeException(e);
+		catch (Throwable e) {
+			throw new WinterModuleException(e);
 		}
 	}
 
+	@Override
+	public String getName() throws WinterModuleException {
+		return (String)this.invoke("getName");
+	}
+
 	@Override
 	public void start() throws WinterModuleException {
-		try {
-			this.module.getClass().getMethod("start").invoke(this.module);
-		} 
-		catch (InvocationTargetException e) {
-			throw new WinterModuleException(e.getCause());
-		}
-		catch (IllegalAccessException | IllegalArgumentException | NoSuchMethodException
-				| SecurityException e) {
-			throw new RuntimeException(e);
-		}
+		this.invoke("start");
 	}
 
 	@Override
 	public void stop() throws WinterModuleException {
-		try {
-			this.module.getClass().getMethod("stop").invoke(this.module);
-		}
-		catch (InvocationTargetException e) {
-			throw new WinterModuleException(e.getCause());
-		}
-		catch (IllegalAccessException | IllegalArgumentException | NoSuchMethodException
-				| SecurityException e) {
-			throw new RuntimeException(e);
-		}
+		this.invoke("stop");
 	}
 	
 	public Object getBean(String name) throws WinterModuleException {
+		return this.invoke(name);
+	}
+	
+	/**
+	 * <p>
+	 * Returns the underlying module instance.
+	 * </p>
+	 * 
+	 * @return the module
+	 */
+	public Object getModule() {
+		return this.module;
+	}
+	
+	/**
+	 * <p>
+	 * Returns an adapter exposing the module through the specified interface.
+	 * </p>
+	 * 
+	 * <p>
+	 * The adapter is a class generated in the package of the interface which
+	 * must then be open to the winter test module, when this is not the case
+	 * {@link #as(Class, java.lang.invoke.MethodHandles.Lookup)} must be used
+	 * instead.
+	 * </p>
+	 * 
+	 * @param <T>        the interface type
+	 * @param moduleType the interface
+	 * 
+	 * @return an adapter to the module
+	 * @throws IllegalArgumentException if the interface doesn't match the module
+	 */
+	public <T> T as(Class<T> moduleType) throws IllegalArgumentException {
+		MethodHandles.Lookup lookup;
 		try {
-			return this.module.getClass().getMethod(name).invoke(this.module);
+			WinterModuleProxy.class.getModule().addReads(moduleType.getModule());
+			lookup = MethodHandles.privateLookupIn(moduleType, MethodHandles.lookup());
 		}
-		catch (InvocationTargetException e) {
-			throw new WinterModuleException(e.getCause());
-		}
-		catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException e) {
-			throw new RuntimeException(e);
+		catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Package " + moduleType.getPackageName() + " is not open to " + WinterModuleProxy.class.getModule() + ", a lookup with package access must be provided", e);
 		}
+		return this.as(moduleType, lookup);
+	}
+	
+	/**
+	 * <p>
+	 * Returns an adapter exposing the module through the specified interface.
+	 * </p>
+	 * 
+	 * <p>
+	 * Each abstract method of the interface is bound to the public method of
+	 * the module with the same name and number of parameters. The returned
+	 * adapter directly invokes the resulting method handles: exceptions thrown
+	 * by the module are propagated as is.
+	 * </p>
+	 * 
+	 * <p>
+	 * Bean types are defined in the module layer and are generally not visible
+	 * to the test, a bean accessor should then be declared with a type visible
+	 * to both, such as {@code Object} or a JDK interface.
+	 * </p>
+	 * 
+	 * @param <T>        the interface type
+	 * @param moduleType the interface
+	 * @param lookup     a lookup with package access used to define the adapter
+	 *                   class in the package of the lookup class
+	 * 
+	 * @return an adapter to the module
+	 * @throws IllegalArgumentException if the interface doesn't match the module
+	 */
+	public <T> T as(Class<T> moduleType, MethodHandles.Lookup lookup) throws IllegalArgumentException {
+		return WinterModuleAdapterGenerator.createAdapter(moduleType, lookup, this.module);
 	}
 }
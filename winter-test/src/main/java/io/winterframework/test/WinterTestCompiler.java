@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,6 +35,8 @@ import javax.tools.StandardJavaFileManager;
 import javax.tools.StandardLocation;
 import javax.tools.ToolProvider;
 
+import io.winterframework.test.WinterCompilationCache.CachedCompilation;
+
 /**
  * @author jkuhn
  *
@@ -41,7 +44,7 @@ import javax.tools.ToolProvider;
 public class WinterTestCompiler {
 	
 	private JavaCompiler compiler;
-	private StandardJavaFileManager fileManager;
+	private WinterTestFileManager fileManager;
 	
 	private List<File> modulePaths;
 	private List<File> annotationProcessorModulePaths;
@@ -49,6 +52,9 @@ public class WinterTestCompiler {
 	private File moduleSourcePath;
 	private File moduleOutputPath;
 	private File sourceOutputPath;
+	private List<String> compilerOptions;
+	private WinterCompilationCache compilationCache;
+	private WinterCompilationOutput inMemoryOutput;
 	
 	private WinterCompilerDiagnosticListener diagnosticListener;
 	
@@ -57,6 +63,14 @@ public class WinterTestCompiler {
 	}
 	
 	public WinterTestCompiler(File moduleSourcePath, File sourceOutputPath, File moduleOutputPath, List<File> modulePaths, List<File> annotationProcessorModulePaths, List<File> classPaths) throws IOException {
+		this(moduleSourcePath, sourceOutputPath, moduleOutputPath, modulePaths, annotationProcessorModulePaths, classPaths, List.of());
+	}
+	
+	public WinterTestCompiler(File moduleSourcePath, File sourceOutputPath, File moduleOutputPath, List<File> modulePaths, List<File> annotationProcessorModulePaths, List<File> classPaths, List<String> compilerOptions) throws IOException {
+		this(moduleSourcePath, sourceOutputPath, moduleOutputPath, modulePaths, annotationProcessorModulePaths, classPaths, compilerOptions, null, null);
+	}
+	
+	private WinterTestCompiler(File moduleSourcePath, File sourceOutputPath, File moduleOutputPath, List<File> modulePaths, List<File> annotationProcessorModulePaths, List<File> classPaths, List<String> compilerOptions, WinterCompilationCache compilationCache, WinterCompilationOutput inMemoryOutput) throws IOException {
 		this.diagnosticListener = new WinterCompilerDiagnosticListener();
 		
 		this.modulePaths = modulePaths;
@@ -64,24 +78,64 @@ public class WinterTestCompiler {
 		this.moduleSourcePath = moduleSourcePath;
 		this.sourceOutputPath = sourceOutputPath;
 		this.moduleOutputPath = moduleOutputPath;
+		this.compilerOptions = compilerOptions;
+		this.compilationCache = compilationCache;
+		this.inMemoryOutput = inMemoryOutput;
 		
 		this.compiler = ToolProvider.getSystemJavaCompiler();
 		
-		this.fileManager = this.compiler.getStandardFileManager(null, null, null);
+		StandardJavaFileManager standardFileManager = this.compiler.getStandardFileManager(null, null, null);
 
-		this.fileManager.setLocation(StandardLocation.CLASS_PATH, this.classPaths);
-		this.fileManager.setLocation(StandardLocation.MODULE_PATH, Stream.concat(this.modulePaths.stream(), this.annotationProcessorModulePaths.stream()).collect(Collectors.toList()));
-//		this.fileManager.setLocation(StandardLocation.ANNOTATION_PROCESSOR_PATH, this.annotationProcessorModulePaths);
-		this.fileManager.setLocation(StandardLocation.MODULE_SOURCE_PATH, List.of(this.moduleSourcePath));
+		standardFileManager.setLocation(StandardLocation.CLASS_PATH, this.classPaths);
+		standardFileManager.setLocation(StandardLocation.MODULE_PATH, Stream.concat(this.modulePaths.stream(), this.annotationProcessorModulePaths.stream()).collect(Collectors.toList()));
+//		standardFileManager.setLocation(StandardLocation.ANNOTATION_PROCESSOR_PATH, this.annotationProcessorModulePaths);
+		standardFileManager.setLocation(StandardLocation.MODULE_SOURCE_PATH, List.of(this.moduleSourcePath));
 		this.sourceOutputPath.mkdirs();
-		this.fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(this.sourceOutputPath));
+		standardFileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(this.sourceOutputPath));
 		this.moduleOutputPath.mkdirs();
-		this.fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(this.moduleOutputPath));
+		standardFileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(this.moduleOutputPath));
+		
+		this.fileManager = new WinterTestFileManager(standardFileManager, this.moduleOutputPath, this.sourceOutputPath, this.inMemoryOutput, this.compilationCache != null);
 	}
 	
 	public WinterModuleLoader compile(String... modules) throws IOException, WinterCompilationException {
-		CompilationTask task = this.compiler.getTask(new PrintWriter(System.out), this.fileManager, this.diagnosticListener, Arrays.asList("--module", Arrays.stream(modules).collect(Collectors.joining(",")), "-Awinter.debug=true", "-Awinter.verbose=true", "-Awinter.generateDescriptor=true"), null, null);
-		if(!task.call()) {
+		List<String> options = Stream.concat(Stream.of("--module", Arrays.stream(modules).collect(Collectors.joining(",")), "-Awinter.debug=true", "-Awinter.verbose=true", "-Awinter.generateDescriptor=true"), this.compilerOptions.stream()).collect(Collectors.toList());
+		
+		String cacheKey = null;
+		CachedCompilation compilation = null;
+		if(this.compilationCache != null) {
+			cacheKey = this.compilationCache.getKey(options, this.getInputPaths());
+			compilation = this.compilationCache.get(cacheKey).orElse(null);
+		}
+		
+		if(compilation != null) {
+			if(this.inMemoryOutput != null) {
+				this.inMemoryOutput.putAll(compilation.getOutput());
+			}
+			else {
+				compilation.getOutput().writeTo(this.moduleOutputPath, this.sourceOutputPath);
+			}
+			compilation.getDiagnostics().forEach(this.diagnosticListener::report);
+		}
+		else {
+			int diagnosticsIndex = this.diagnosticListener.getDiagnotics().size();
+			CompilationTask task = this.compiler.getTask(new PrintWriter(System.out), this.fileManager, this.diagnosticListener, options, null, null);
+			boolean success;
+			WinterCompilationOutput output;
+			try {
+				success = task.call();
+			}
+			finally {
+				// make sure recorded files don't leak into the next compilation
+				output = this.fileManager.flushOutput();
+			}
+			compilation = new CachedCompilation(success, output, this.diagnosticListener.getDiagnotics().subList(diagnosticsIndex, this.diagnosticListener.getDiagnotics().size()));
+			if(this.compilationCache != null) {
+				this.compilationCache.put(cacheKey, compilation);
+			}
+		}
+		
+		if(!compilation.isSuccess()) {
 			for(Diagnostic<? extends JavaFileObject> d : this.diagnosticListener.getDiagnotics()) {
 				System.err.println(d.toString());
 			}
@@ -90,15 +144,94 @@ public class WinterTestCompiler {
 		Collection<String> modulesWithLibs = new HashSet<>();
 		modulesWithLibs.addAll(Arrays.asList(modules));
 		
+		if(this.inMemoryOutput != null) {
+			return new WinterModuleLoader(this.inMemoryOutput.getModuleFinder(), this.modulePaths.stream().map(File::toURI).map(Paths::get).collect(Collectors.toList()), modulesWithLibs);
+		}
 		return new WinterModuleLoader(Stream.concat(Stream.of(Paths.get(this.moduleOutputPath.toURI())), this.modulePaths.stream().map(File::toURI).map(Paths::get)).collect(Collectors.toList()), modulesWithLibs);
 	}
 	
+	private List<File> getInputPaths() {
+		return Stream.of(Stream.of(this.moduleSourcePath), this.modulePaths.stream(), this.annotationProcessorModulePaths.stream(), this.classPaths != null ? this.classPaths.stream() : Stream.<File>empty())
+			.flatMap(s -> s)
+			.collect(Collectors.toList());
+	}
+	
 	public List<Diagnostic<? extends JavaFileObject>> getDiagnostics() {
 		return this.diagnosticListener.getDiagnotics();
 	}
 	
 	public WinterTestCompiler withModulePaths(List<File> modulePaths) throws IOException {
-		return new WinterTestCompiler(this.moduleSourcePath, this.sourceOutputPath, this.moduleOutputPath, Stream.concat(this.modulePaths.stream(), modulePaths.stream()).collect(Collectors.toList()), this.annotationProcessorModulePaths, this.classPaths);
+		return new WinterTestCompiler(this.moduleSourcePath, this.sourceOutputPath, this.moduleOutputPath, Stream.concat(this.modulePaths.stream(), modulePaths.stream()).collect(Collectors.toList()), this.annotationProcessorModulePaths, this.classPaths, this.compilerOptions, this.compilationCache, this.inMemoryOutput);
+	}
+	
+	public WinterTestCompiler withCompilerOptions(String... compilerOptions) throws IOException {
+		return new WinterTestCompiler(this.moduleSourcePath, this.sourceOutputPath, this.moduleOutputPath, this.modulePaths, this.annotationProcessorModulePaths, this.classPaths, Stream.concat(this.compilerOptions.stream(), Arrays.stream(compilerOptions)).collect(Collectors.toList()), this.compilationCache, this.inMemoryOutput);
+	}
+	
+	/**
+	 * <p>
+	 * Returns a compiler which reuses the outputs of previous compilations of the
+	 * same modules with the same inputs and options instead of invoking javac.
+	 * </p>
+	 * 
+	 * @param cachePath the directory where compilation outputs are stored
+	 * 
+	 * @return a caching compiler
+	 * @throws IOException
+	 */
+	public WinterTestCompiler withCompilationCache(File cachePath) throws IOException {
+		return new WinterTestCompiler(this.moduleSourcePath, this.sourceOutputPath, this.moduleOutputPath, this.modulePaths, this.annotationProcessorModulePaths, this.classPaths, this.compilerOptions, new WinterCompilationCache(cachePath), this.inMemoryOutput);
+	}
+	
+	/**
+	 * <p>
+	 * Returns a compiler which always invokes javac.
+	 * </p>
+	 * 
+	 * @return a non-caching compiler
+	 * @throws IOException
+	 */
+	public WinterTestCompiler withoutCompilationCache() throws IOException {
+		return new WinterTestCompiler(this.moduleSourcePath, this.sourceOutputPath, this.moduleOutputPath, this.modulePaths, this.annotationProcessorModulePaths, this.classPaths, this.compilerOptions, null, this.inMemoryOutput);
+	}
+	
+	/**
+	 * <p>
+	 * Returns a compiler which keeps generated classes, resources and sources in
+	 * memory instead of writing them to the output directories, compiled modules
+	 * are then loaded from memory.
+	 * </p>
+	 * 
+	 * <p>
+	 * Modules compiled in memory can't be added to the module path of another
+	 * compiler and their resources can't be located by URL.
+	 * </p>
+	 * 
+	 * @return an in-memory compiler
+	 * @throws IOException
+	 */
+	public WinterTestCompiler withInMemoryOutput() throws IOException {
+		return new WinterTestCompiler(this.moduleSourcePath, this.sourceOutputPath, this.moduleOutputPath, this.modulePaths, this.annotationProcessorModulePaths, this.classPaths, this.compilerOptions, this.compilationCache, new WinterCompilationOutput());
+	}
+	
+	public boolean isInMemoryOutput() {
+		return this.inMemoryOutput != null;
+	}
+	
+	/**
+	 * <p>
+	 * Returns the content of a file generated in memory.
+	 * </p>
+	 * 
+	 * @param path the path of the file relative to the class or source output (eg. {@code <module>/<package path>/<name>})
+	 * 
+	 * @return an optional returning the content of the file or an empty optional if no such file was generated
+	 */
+	public Optional<byte[]> getInMemoryOutput(String path) {
+		if(this.inMemoryOutput == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(this.inMemoryOutput.getClasses().get(path)).or(() -> Optional.ofNullable(this.inMemoryOutput.getSources().get(path)));
 	}
 
 	public List<File> getModulePaths() {
@@ -124,4 +257,8 @@ public class WinterTestCompiler {
 	public File getSourceOutputPath() {
 		return sourceOutputPath;
 	}
+
+	public List<String> getCompilerOptions() {
+		return compilerOptions;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2021 Jeremy KUHN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.winterframework.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
+/**
+ * <p>
+ * A file manager which records the files generated during a compilation.
+ * </p>
+ * 
+ * <p>
+ * Generated files are either written to the class and source output
+ * directories or, in memory mode, kept in a {@link WinterCompilationOutput}
+ * which is then used to load compiled modules without ever touching the file
+ * system.
+ * </p>
+ * 
+ * @author jkuhn
+ *
+ */
+class WinterTestFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+	private File classOutputPath;
+	
+	private File sourceOutputPath;
+	
+	private WinterCompilationOutput inMemoryOutput;
+	
+	private boolean recordOutput;
+	
+	private Map<Location, OutputLocation> outputLocations;
+	
+	private Set<String> recordedClasses;
+	
+	private Set<String> recordedSources;
+	
+	public WinterTestFileManager(StandardJavaFileManager fileManager, File classOutputPath, File sourceOutputPath, WinterCompilationOutput inMemoryOutput, boolean recordOutput) {
+		super(fileManager);
+		this.classOutputPath = classOutputPath;
+		this.sourceOutputPath = sourceOutputPath;
+		this.inMemoryOutput = inMemoryOutput;
+		this.recordOutput = recordOutput;
+		this.outputLocations = new HashMap<>();
+		this.recordedClasses = new HashSet<>();
+		this.recordedSources = new HashSet<>();
+	}
+	
+	/**
+	 * <p>
+	 * Returns the files generated since the last call to this method.
+	 * </p>
+	 * 
+	 * <p>
+	 * The returned output is empty when the file manager doesn't record
+	 * generated files.
+	 * </p>
+	 * 
+	 * @return the compilation output
+	 * @throws IOException if generated files could not be read from the output directories
+	 */
+	public WinterCompilationOutput flushOutput() throws IOException {
+		WinterCompilationOutput output = new WinterCompilationOutput();
+		this.flush(this.recordedClasses, this.classOutputPath, output.getClasses());
+		this.flush(this.recordedSources, this.sourceOutputPath, output.getSources());
+		return output;
+	}
+	
+	private void flush(Set<String> recordedFiles, File outputPath, Map<String, byte[]> outputFiles) throws IOException {
+		for(String path : recordedFiles) {
+			if(this.inMemoryOutput != null) {
+				byte[] content = this.getOutputFiles(outputPath).get(path);
+				if(content != null) {
+					outputFiles.put(path, content);
+				}
+			}
+			else {
+				File file = new File(outputPath, path);
+				if(file.isFile()) {
+					outputFiles.put(path, Files.readAllBytes(file.toPath()));
+				}
+			}
+		}
+		recordedFiles.clear();
+	}
+	
+	private Map<String, byte[]> getOutputFiles(File outputPath) {
+		return outputPath == this.classOutputPath ? this.inMemoryOutput.getClasses() : this.inMemoryOutput.getSources();
+	}
+	
+	private OutputLocation getOutputLocation(Location location) {
+		if(location == StandardLocation.CLASS_OUTPUT) {
+			return new OutputLocation(this.classOutputPath, null);
+		}
+		else if(location == StandardLocation.SOURCE_OUTPUT) {
+			return new OutputLocation(this.sourceOutputPath, null);
+		}
+		return this.outputLocations.get(location);
+	}
+	
+	private FileObject createOutputFile(OutputLocation outputLocation, Location location, String relativePath, FileObject delegateFile) {
+		String path = outputLocation.getPath(relativePath);
+		if(this.recordOutput) {
+			if(outputLocation.root == this.classOutputPath) {
+				this.recordedClasses.add(path);
+			}
+			else {
+				this.recordedSources.add(path);
+			}
+		}
+		if(delegateFile != null) {
+			return delegateFile;
+		}
+		return new InMemoryFileObject(location, outputLocation, this.getOutputFiles(outputLocation.root), path);
+	}
+	
+	private static String toRelativePath(String className, Kind kind) {
+		return className.replace('.', '/') + kind.extension;
+	}
+	
+	private static String toRelativePath(String packageName, String relativeName) {
+		return packageName.isEmpty() ? relativeName : packageName.replace('.', '/') + "/" + relativeName;
+	}
+	
+	@Override
+	public Location getLocationForModule(Location location, String moduleName) throws IOException {
+		Location moduleLocation = super.getLocationForModule(location, moduleName);
+		if(moduleLocation != null && (location == StandardLocation.CLASS_OUTPUT || location == StandardLocation.SOURCE_OUTPUT)) {
+			this.outputLocations.putIfAbsent(moduleLocation, new OutputLocation(location == StandardLocation.CLASS_OUTPUT ? this.classOutputPath : this.sourceOutputPath, moduleName));
+		}
+		return moduleLocation;
+	}
+	
+	@Override
+	public Location getLocationForModule(Location location, JavaFileObject fo) throws IOException {
+		if(fo instanceof InMemoryFileObject) {
+			String module = ((InMemoryFileObject)fo).outputLocation.module;
+			return module != null ? this.getLocationForModule(location, module) : null;
+		}
+		return super.getLocationForModule(location, fo);
+	}
+	
+	@Override
+	public Iterable<Set<Location>> listLocationsForModules(Location location) throws IOException {
+		Iterable<Set<Location>> locations = super.listLocationsForModules(location);
+		if(location == StandardLocation.CLASS_OUTPUT || location == StandardLocation.SOURCE_OUTPUT) {
+			for(Set<Location> moduleLocations : locations) {
+				for(Location moduleLocation : moduleLocations) {
+					this.getLocationForModule(location, this.inferModuleName(moduleLocation));
+				}
+			}
+		}
+		return locations;
+	}
+	
+	@Override
+	public String inferModuleName(Location location) throws IOException {
+		OutputLocation outputLocation = this.outputLocations.get(location);
+		if(outputLocation != null) {
+			return outputLocation.module;
+		}
+		return super.inferModuleName(location);
+	}
+	
+	@Override
+	public Iterable<JavaFileObject> list(Location location, String packageName, Set<Kind> kinds, boolean recurse) throws IOException {
+		OutputLocation outputLocation;
+		if(this.inMemoryOutput == null || (outputLocation = this.getOutputLocation(location)) == null) {
+			return super.list(location, packageName, kinds, recurse);
+		}
+		String prefix = outputLocation.getPath(packageName.isEmpty() ? "" : packageName.replace('.', '/') + "/");
+		Map<String, byte[]> outputFiles = this.getOutputFiles(outputLocation.root);
+		List<JavaFileObject> files = new LinkedList<>();
+		for(String path : outputFiles.keySet()) {
+			if(path.startsWith(prefix) && (recurse || path.indexOf('/', prefix.length()) == -1)) {
+				InMemoryFileObject file = new InMemoryFileObject(location, outputLocation, outputFiles, path);
+				if(kinds.contains(file.getKind())) {
+					files.add(file);
+				}
+			}
+		}
+		return files;
+	}
+	
+	@Override
+	public String inferBinaryName(Location location, JavaFileObject file) {
+		if(file instanceof InMemoryFileObject) {
+			return ((InMemoryFileObject)file).getBinaryName();
+		}
+		return super.inferBinaryName(location, file);
+	}
+	
+	@Override
+	public boolean isSameFile(FileObject a, FileObject b) {
+		if(a instanceof InMemoryFileObject || b instanceof InMemoryFileObject) {
+			return a.toUri().equals(b.toUri());
+		}
+		return super.isSameFile(a, b);
+	}
+	
+	@Override
+	public boolean contains(Location location, FileObject fo) throws IOException {
+		if(fo instanceof InMemoryFileObject) {
+			return ((InMemoryFileObject)fo).location.equals(location);
+		}
+		return super.contains(location, fo);
+	}
+	
+	@Override
+	public JavaFileObject getJavaFileForInput(Location location, String className, Kind kind) throws IOException {
+		OutputLocation outputLocation;
+		if(this.inMemoryOutput == null || (outputLocation = this.getOutputLocation(location)) == null) {
+			return super.getJavaFileForInput(location, className, kind);
+		}
+		String path = outputLocation.getPath(toRelativePath(className, kind));
+		Map<String, byte[]> outputFiles = this.getOutputFiles(outputLocation.root);
+		return outputFiles.containsKey(path) ? new InMemoryFileObject(location, outputLocation, outputFiles, path) : null;
+	}
+	
+	@Override
+	public FileObject getFileForInput(Location location, String packageName, String relativeName) throws IOException {
+		OutputLocation outputLocation;
+		if(this.inMemoryOutput == null || (outputLocation = this.getOutputLocation(location)) == null) {
+			return super.getFileForInput(location, packageName, relativeName);
+		}
+		String path = outputLocation.getPath(toRelativePath(packageName, relativeName));
+		Map<String, byte[]> outputFiles = this.getOutputFiles(outputLocation.root);
+		return outputFiles.containsKey(path) ? new InMemoryFileObject(location, outputLocation, outputFiles, path) : null;
+	}
+	
+	@Override
+	public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind, FileObject sibling) throws IOException {
+		OutputLocation outputLocation = this.getOutputLocation(location);
+		if(outputLocation == null) {
+			return super.getJavaFileForOutput(location, className, kind, sibling);
+		}
+		return (JavaFileObject)this.createOutputFile(outputLocation, location, toRelativePath(className, kind), this.inMemoryOutput == null ? super.getJavaFileForOutput(location, className, kind, sibling) : null);
+	}
+	
+	@Override
+	public FileObject getFileForOutput(Location location, String packageName, String relativeName, FileObject sibling) throws IOException {
+		OutputLocation outputLocation = this.getOutputLocation(location);
+		if(outputLocation == null) {
+			return super.getFileForOutput(location, packageName, relativeName, sibling);
+		}
+		return this.createOutputFile(outputLocation, location, toRelativePath(packageName, relativeName), this.inMemoryOutput == null ? super.getFileForOutput(location, packageName, relativeName, sibling) : null);
+	}
+	
+	// Introduced in Java 18, ForwardingJavaFileManager would otherwise bypass getJavaFileForOutput()
+	public JavaFileObject getJavaFileForOutputForOriginatingFiles(Location location, String className, Kind kind, FileObject... originatingFiles) throws IOException {
+		return this.getJavaFileForOutput(location, className, kind, originatingFiles != null && originatingFiles.length > 0 ? originatingFiles[0] : null);
+	}
+	
+	// Introduced in Java 18, ForwardingJavaFileManager would otherwise bypass getFileForOutput()
+	public FileObject getFileForOutputForOriginatingFiles(Location location, String packageName, String relativeName, FileObject... originatingFiles) throws IOException {
+		return this.getFileForOutput(location, packageName, relativeName, originatingFiles != null && originatingFiles.length > 0 ? originatingFiles[0] : null);
+	}
+	
+	private static class OutputLocation {
+		
+		private File root;
+		
+		private String module;
+		
+		public OutputLocation(File root, String module) {
+			this.root = root;
+			this.module = module;
+		}
+		
+		public String getPath(String relativePath) {
+			return this.module != null ? this.module + "/" + relativePath : relativePath;
+		}
+	}
+	
+	private static class InMemoryFileObject extends SimpleJavaFileObject {
+		
+		private Location location;
+		
+		private OutputLocation outputLocation;
+		
+		private Map<String, byte[]> outputFiles;
+		
+		private String path;
+		
+		public InMemoryFileObject(Location location, OutputLocation outputLocation, Map<String, byte[]> outputFiles, String path) {
+			super(URI.create("memory:///" + path), getKind(path));
+			this.location = location;
+			this.outputLocation = outputLocation;
+			this.outputFiles = outputFiles;
+			this.path = path;
+		}
+		
+		private static Kind getKind(String path) {
+			for(Kind kind : Kind.values()) {
+				if(kind != Kind.OTHER && path.endsWith(kind.extension)) {
+					return kind;
+				}
+			}
+			return Kind.OTHER;
+		}
+		
+		public String getBinaryName() {
+			String binaryPath = this.path.substring(this.outputLocation.getPath("").length(), this.path.length() - this.kind.extension.length());
+			return binaryPath.replace('/', '.');
+		}
+		
+		private byte[] getContent() throws IOException {
+			byte[] content = this.outputFiles.get(this.path);
+			if(content == null) {
+				throw new IOException("File not found: " + this.path);
+			}
+			return content;
+		}
+		
+		@Override
+		public InputStream openInputStream() throws IOException {
+			return new ByteArrayInputStream(this.getContent());
+		}
+		
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
+			return new String(this.getContent(), StandardCharsets.UTF_8);
+		}
+		
+		@Override
+		public OutputStream openOutputStream() throws IOException {
+			return new ByteArrayOutputStream() {
+				
+				@Override
+				public void close() throws IOException {
+					outputFiles.put(path, this.toByteArray());
+				}
+			};
+		}
+		
+		@Override
+		public Writer openWriter() throws IOException {
+			return new OutputStreamWriter(this.openOutputStream(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -24,8 +24,11 @@
  */
 module io.winterframework.test {
 	requires transitive java.compiler;
+	requires java.management;
+	requires static jdk.management;
 	
 	requires io.winterframework.core;
+	requires org.junit.jupiter.api;
 	
 	exports io.winterframework.test;
 }
\ No newline at end of file